@@ -7,6 +7,7 @@ import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
 
 import java.io.Serializable;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface BotExecutor {
     <T extends Serializable, Method extends BotApiMethod<T>> T execute(Method method) throws TelegramApiException;
@@ -22,9 +23,29 @@ public interface BotExecutor {
      */
     void deleteMessage(Long chatId, Integer messageId);
 
+    /**
+     * 🔥 Асинхронное удаление через очередь отправки (false - не удалось удалить).
+     */
+    CompletableFuture<Boolean> deleteMessageAsync(Long chatId, Integer messageId, OutboundMessageQueue.Priority priority);
+
     void editMessageWithHtml(Long chatId, Integer messageId, String text, InlineKeyboardMarkup keyboard);
 
-    Integer sendHtmlMessageReturnId(Long chatId, String text, InlineKeyboardMarkup keyboard);
+    /**
+     * 🔥 Отправляет экран новым главным сообщением; ID попадет в сессию после ответа Telegram.
+     */
+    void sendMainHtmlMessage(Long chatId, String text, InlineKeyboardMarkup keyboard);
+
+    /**
+     * 🔥 Временное сообщение (карточки, навигация): не ждет ответа Telegram,
+     * удаляется следующим deletePreviousMessages, даже если еще не успело отправиться.
+     */
+    void sendTemporaryHtmlMessage(Long chatId, String text, InlineKeyboardMarkup keyboard);
+
+    /**
+     * 🔥 Асинхронная отправка HTML-сообщения. Future содержит messageId или null при ошибке.
+     */
+    CompletableFuture<Integer> sendHtmlMessageAsync(Long chatId, String text, InlineKeyboardMarkup keyboard,
+                                                    OutboundMessageQueue.Priority priority);
 
     void sendTemporaryErrorMessage(Long chatId, String errorText, int delaySeconds);
 
@@ -34,6 +55,10 @@ public interface BotExecutor {
 
     void deletePreviousMessages(Long chatId);
 
+    /**
+     * ID главного сообщения или null, если его еще нет: editMessageWithHtml с null
+     * отправит экран новым сообщением и запомнит его главным.
+     */
     Integer getOrCreateMainMessageId(Long chatId);
 
     void sendTemporaryErrorMessageWithHtml(Long chatId, String errorText, int delaySeconds);
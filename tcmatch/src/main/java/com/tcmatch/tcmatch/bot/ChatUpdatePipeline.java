@@ -0,0 +1,100 @@
+package com.tcmatch.tcmatch.bot;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 🔥 Конвейер обработки апдейтов: шардирует задачи по chatId на полосы (stripe).
+ * Каждая полоса - однопоточный executor, поэтому апдейты одного чата
+ * выполняются строго по порядку, а разные чаты - параллельно.
+ */
+@Component
+@Slf4j
+public class ChatUpdatePipeline {
+
+    private final ExecutorService[] stripes;
+
+    public ChatUpdatePipeline(@Value("${telegram.bot.update-workers:8}") int workers) {
+        int size = Math.max(1, workers);
+        this.stripes = new ExecutorService[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = Executors.newSingleThreadExecutor(namedThreadFactory(i));
+        }
+        log.info("🚀 Update pipeline started with {} workers", size);
+    }
+
+    /** 🔥 Ставит задачу в очередь полосы чата (без chatId - в нулевую полосу) */
+    public void submit(Long chatId, Runnable task) {
+        ExecutorService stripe = stripes[stripeFor(chatId)];
+        try {
+            stripe.execute(() -> {
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    log.error("❌ Error processing update for user {}: {}", chatId, e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("⚠️ Update pipeline is shutting down, update for user {} dropped", chatId);
+        }
+    }
+
+    /**
+     * 🔥 Выполняет задачу на полосе чата и отдает результат: так фоновые потоки читают сессию
+     * без гонок с апдейтами. После остановки конвейера полосы уже не меняют сессии - задача идет в вызывающем потоке.
+     */
+    public <T> CompletableFuture<T> supply(Long chatId, Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, stripes[stripeFor(chatId)]);
+        } catch (RejectedExecutionException e) {
+            try {
+                return CompletableFuture.completedFuture(task.get());
+            } catch (Exception taskError) {
+                return CompletableFuture.failedFuture(taskError);
+            }
+        }
+    }
+
+    private int stripeFor(Long chatId) {
+        if (chatId == null) return 0;
+        return Math.floorMod(Long.hashCode(chatId), stripes.length);
+    }
+
+    private static ThreadFactory namedThreadFactory(int index) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "update-worker-" + index + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ExecutorService stripe : stripes) {
+            stripe.shutdown();
+        }
+        for (ExecutorService stripe : stripes) {
+            try {
+                if (!stripe.awaitTermination(5, TimeUnit.SECONDS)) {
+                    stripe.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                stripe.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+        log.info("🛑 Update pipeline stopped");
+    }
+}
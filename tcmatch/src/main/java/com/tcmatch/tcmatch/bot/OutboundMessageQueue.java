@@ -0,0 +1,350 @@
+package com.tcmatch.tcmatch.bot;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.telegram.telegrambots.meta.api.methods.BotApiMethod;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiRequestException;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 🔥 Очередь исходящих запросов к Telegram.
+ * Токен-бакеты (глобальный ~30/с и на чат ~1/с), приоритеты
+ * (интерактивные правки раньше массовых уведомлений) и повтор после 429 retry_after.
+ * У каждого чата своя FIFO-очередь (lane), и в общей очереди всегда только ее первый запрос:
+ * следующий встает туда, когда предыдущий отправлен или окончательно упал. Поэтому порядок внутри чата
+ * не ломают ни приоритеты, ни ожидание токена, ни повторы после 429.
+ */
+@Component
+@Slf4j
+public class OutboundMessageQueue {
+
+    public enum Priority {
+        INTERACTIVE, // ответы на действия пользователя
+        BULK         // массовые уведомления и пуши
+    }
+
+    private static final int MAX_RETRIES = 3;
+    private static final long CHAT_BUCKET_IDLE_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    // 🔥 РАЗРЫВАЕМ ЦИКЛ: сама отправка идет через бот
+    @Lazy
+    @Autowired
+    private BotExecutor botExecutor;
+
+    private final TokenBucket globalBucket;
+    private final double chatRatePerSecond;
+    private final int chatBurst;
+    private final Map<Long, TokenBucket> chatBuckets = new ConcurrentHashMap<>();
+    // 🔥 Чат "заморожен" до момента, когда у него появится токен или кончится пауза после 429
+    private final Map<Long, Long> chatBlockedUntil = new ConcurrentHashMap<>();
+
+    // 🔥 Порядок между чатами; внутри чата порядок задает lane (по seq)
+    private static final Comparator<OutboundTask<?>> TASK_ORDER =
+            Comparator.<OutboundTask<?>>comparingInt(t -> t.priority.ordinal())
+                    .thenComparingLong(t -> t.seq);
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final PriorityBlockingQueue<OutboundTask<?>> queue = new PriorityBlockingQueue<>(256, TASK_ORDER);
+    // 🔥 Очереди чатов: первый элемент - запрос, который сейчас в общей очереди или в отправке (guarded by itself)
+    private final Map<Long, ArrayDeque<OutboundTask<?>>> chatLanes = new HashMap<>();
+
+    private final ScheduledExecutorService delayScheduler = Executors.newSingleThreadScheduledExecutor(
+            daemonFactory("outbound-delay"));
+    // 🔥 Отправка по полосам chatId: сетевые вызовы одного чата идут строго по порядку
+    private final ExecutorService[] senders;
+    private final Thread dispatcherThread;
+
+    private volatile long globalPausedUntil;
+    private volatile boolean running = true;
+
+    public OutboundMessageQueue(
+            @Value("${telegram.send.global-rate:30}") double globalRatePerSecond,
+            @Value("${telegram.send.chat-rate:1}") double chatRatePerSecond,
+            @Value("${telegram.send.chat-burst:5}") int chatBurst,
+            @Value("${telegram.send.workers:4}") int workers) {
+        this.globalBucket = new TokenBucket(Math.max(1, (int) globalRatePerSecond), globalRatePerSecond);
+        this.chatRatePerSecond = chatRatePerSecond;
+        this.chatBurst = Math.max(1, chatBurst);
+        this.globalPausedUntil = System.nanoTime();
+
+        this.senders = new ExecutorService[Math.max(1, workers)];
+        for (int i = 0; i < senders.length; i++) {
+            senders[i] = Executors.newSingleThreadExecutor(daemonFactory("outbound-sender-" + i));
+        }
+
+        this.dispatcherThread = daemonFactory("outbound-dispatcher").newThread(this::dispatchLoop);
+        this.dispatcherThread.start();
+        log.info("📤 Outbound queue started: global {}/s, per chat {}/s (burst {})",
+                globalRatePerSecond, chatRatePerSecond, this.chatBurst);
+    }
+
+    /**
+     * 🔥 Ставит запрос в очередь. Future завершается результатом Telegram или ошибкой.
+     */
+    public <T extends Serializable> CompletableFuture<T> submit(Long chatId, BotApiMethod<T> method, Priority priority) {
+        OutboundTask<T> task = new OutboundTask<>(chatId, method, priority, sequence.incrementAndGet());
+        if (!running) {
+            task.future.completeExceptionally(new IllegalStateException("Очередь отправки остановлена"));
+            return task.future;
+        }
+        if (task.chatId == null) {
+            queue.offer(task);
+            return task.future;
+        }
+        synchronized (chatLanes) {
+            ArrayDeque<OutboundTask<?>> lane = chatLanes.computeIfAbsent(task.chatId, id -> new ArrayDeque<>());
+            lane.addLast(task);
+            // Только первый запрос чата попадает в общую очередь, остальные ждут в lane
+            if (lane.size() == 1) {
+                queue.offer(task);
+            }
+        }
+        return task.future;
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            try {
+                OutboundTask<?> task = queue.take();
+
+                // 🔥 1. ЛИМИТ ЧАТА: если токена нет - откладываем, не занимая глобальный лимит
+                long chatWait = reserveChatToken(task.chatId);
+                if (chatWait > 0) {
+                    delay(task, chatWait);
+                    continue;
+                }
+
+                // 🔥 2. ГЛОБАЛЬНЫЙ ЛИМИТ И ПАУЗА ПОСЛЕ 429
+                waitForGlobalToken();
+
+                senders[stripeFor(task.chatId)].execute(() -> send(task));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("❌ Error in outbound dispatcher: {}", e.getMessage());
+            }
+        }
+    }
+
+    private long reserveChatToken(Long chatId) {
+        if (chatId == null) return 0;
+
+        long now = System.nanoTime();
+        Long blockedUntil = chatBlockedUntil.get(chatId);
+        if (blockedUntil != null && blockedUntil - now > 0) {
+            return blockedUntil - now;
+        }
+
+        TokenBucket bucket = chatBuckets.computeIfAbsent(chatId, id -> new TokenBucket(chatBurst, chatRatePerSecond));
+        long wait = bucket.tryAcquire(now);
+        if (wait > 0) {
+            chatBlockedUntil.put(chatId, now + wait);
+        } else {
+            chatBlockedUntil.remove(chatId);
+        }
+        return wait;
+    }
+
+    private void waitForGlobalToken() throws InterruptedException {
+        while (true) {
+            long now = System.nanoTime();
+            long pause = globalPausedUntil - now;
+            if (pause > 0) {
+                TimeUnit.NANOSECONDS.sleep(pause);
+                continue;
+            }
+            long wait = globalBucket.tryAcquire(now);
+            if (wait == 0) return;
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+
+    private <T extends Serializable> void send(OutboundTask<T> task) {
+        boolean retrying = false;
+        try {
+            T result = botExecutor.execute(task.method);
+            task.future.complete(result);
+        } catch (TelegramApiRequestException e) {
+            Integer retryAfter = e.getParameters() != null ? e.getParameters().getRetryAfter() : null;
+            if (e.getErrorCode() != null && e.getErrorCode() == 429 && task.attempts < MAX_RETRIES) {
+                long pauseNanos = TimeUnit.SECONDS.toNanos(retryAfter != null ? retryAfter : 1);
+                long pausedUntil = System.nanoTime() + pauseNanos;
+                // 🔥 Пауза только удлиняется: короткий retry_after не отменяет более длинную
+                extendGlobalPause(pausedUntil);
+                if (task.chatId != null) {
+                    chatBlockedUntil.merge(task.chatId, pausedUntil, (current, next) -> next - current > 0 ? next : current);
+                }
+                task.attempts++;
+                log.warn("⚠️ Telegram 429 for chat {}, retry {} after {}s",
+                        task.chatId, task.attempts, TimeUnit.NANOSECONDS.toSeconds(pauseNanos));
+                // Запрос остается первым в lane чата - следующие его не обгонят
+                retrying = true;
+                delay(task, pauseNanos);
+            } else {
+                task.future.completeExceptionally(e);
+            }
+        } catch (TelegramApiException e) {
+            task.future.completeExceptionally(e);
+        } catch (Exception e) {
+            log.error("❌ Unexpected error sending {} to chat {}: {}",
+                    task.method.getMethod(), task.chatId, e.getMessage());
+            task.future.completeExceptionally(e);
+        } finally {
+            if (!retrying) {
+                advanceLane(task);
+            }
+        }
+    }
+
+    private synchronized void extendGlobalPause(long pausedUntil) {
+        if (pausedUntil - globalPausedUntil > 0) {
+            globalPausedUntil = pausedUntil;
+        }
+    }
+
+    private void delay(OutboundTask<?> task, long nanos) {
+        delayScheduler.schedule(() -> queue.offer(task), nanos, TimeUnit.NANOSECONDS);
+    }
+
+    // Запрос завершен - в общую очередь встает следующий запрос его чата
+    private void advanceLane(OutboundTask<?> task) {
+        if (task.chatId == null) return;
+        synchronized (chatLanes) {
+            ArrayDeque<OutboundTask<?>> lane = chatLanes.get(task.chatId);
+            if (lane == null || lane.peekFirst() != task) return;
+            lane.pollFirst();
+            OutboundTask<?> next = lane.peekFirst();
+            if (next != null) {
+                queue.offer(next);
+            } else {
+                chatLanes.remove(task.chatId);
+            }
+        }
+    }
+
+    private int stripeFor(Long chatId) {
+        if (chatId == null) return 0;
+        return Math.floorMod(Long.hashCode(chatId), senders.length);
+    }
+
+    // 🔥 ОЧИСТКА БАКЕТОВ НЕАКТИВНЫХ ЧАТОВ
+    @Scheduled(fixedRate = 300000)
+    public void cleanupIdleChatBuckets() {
+        long now = System.nanoTime();
+        int before = chatBuckets.size();
+        chatBuckets.entrySet().removeIf(entry -> entry.getValue().isIdle(now, CHAT_BUCKET_IDLE_NANOS));
+        chatBlockedUntil.entrySet().removeIf(entry -> entry.getValue() - now <= 0);
+
+        int removed = before - chatBuckets.size();
+        if (removed > 0) {
+            log.debug("🧹 Removed {} idle chat rate buckets", removed);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        dispatcherThread.interrupt();
+        delayScheduler.shutdownNow();
+        for (ExecutorService sender : senders) {
+            sender.shutdown();
+        }
+        synchronized (chatLanes) {
+            // Ждущие в lane и отложенные планировщиком запросы тоже завершаем
+            chatLanes.values().forEach(queue::addAll);
+            chatLanes.clear();
+        }
+        OutboundTask<?> task;
+        while ((task = queue.poll()) != null) {
+            task.future.completeExceptionally(new IllegalStateException("Очередь отправки остановлена"));
+        }
+        log.info("🛑 Outbound queue stopped");
+    }
+
+    private static ThreadFactory daemonFactory(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class OutboundTask<T extends Serializable> {
+        private final Long chatId;
+        private final BotApiMethod<T> method;
+        private final Priority priority;
+        private final long seq;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private int attempts;
+
+        private OutboundTask(Long chatId, BotApiMethod<T> method, Priority priority, long seq) {
+            this.chatId = chatId;
+            this.method = method;
+            this.priority = priority;
+            this.seq = seq;
+        }
+    }
+
+    /**
+     * 🔥 Классический токен-бакет: capacity токенов, пополнение ratePerSecond.
+     * tryAcquire возвращает 0 при успехе или время ожидания следующего токена в наносекундах.
+     */
+    private static final class TokenBucket {
+        private final double capacity;
+        private final double tokensPerNano;
+        private double tokens;
+        private long lastRefill;
+        private long lastAcquire;
+
+        private TokenBucket(int capacity, double ratePerSecond) {
+            this.capacity = capacity;
+            this.tokensPerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+            this.tokens = capacity;
+            this.lastRefill = System.nanoTime();
+            this.lastAcquire = this.lastRefill;
+        }
+
+        private synchronized long tryAcquire(long now) {
+            refill(now);
+            if (tokens >= 1) {
+                tokens -= 1;
+                lastAcquire = now;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / tokensPerNano);
+        }
+
+        private synchronized boolean isIdle(long now, long idleNanos) {
+            return now - lastAcquire >= idleNanos;
+        }
+
+        private void refill(long now) {
+            long elapsed = now - lastRefill;
+            if (elapsed > 0) {
+                tokens = Math.min(capacity, tokens + elapsed * tokensPerNano);
+                lastRefill = now;
+            }
+        }
+    }
+}
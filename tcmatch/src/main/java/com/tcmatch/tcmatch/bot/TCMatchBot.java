@@ -1,5 +1,6 @@
 package com.tcmatch.tcmatch.bot;
 
+import com.tcmatch.tcmatch.bot.OutboundMessageQueue.Priority;
 import com.tcmatch.tcmatch.bot.dispatcher.CommandDispatcher;
 import com.tcmatch.tcmatch.bot.dispatcher.TextCommandDispatcher;
 import com.tcmatch.tcmatch.bot.keyboards.CommonKeyboards;
@@ -11,13 +12,13 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Primary;
 import org.springframework.core.io.Resource;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.telegram.telegrambots.bots.TelegramLongPollingBot;
 import org.telegram.telegrambots.meta.api.methods.AnswerCallbackQuery;
 import org.telegram.telegrambots.meta.api.methods.send.SendDocument;
 import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
 import org.telegram.telegrambots.meta.api.methods.updatingmessages.DeleteMessage;
+import org.telegram.telegrambots.meta.api.methods.updatingmessages.DeleteMessages;
 import org.telegram.telegrambots.meta.api.methods.updatingmessages.EditMessageText;
 import org.telegram.telegrambots.meta.api.objects.CallbackQuery;
 import org.telegram.telegrambots.meta.api.objects.InputFile;
@@ -27,9 +28,15 @@ import org.telegram.telegrambots.meta.api.objects.replykeyboard.InlineKeyboardMa
 import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -46,11 +53,19 @@ public class TCMatchBot extends TelegramLongPollingBot implements BotExecutor{
     private final CommandDispatcher commandDispatcher;
     private final TextCommandDispatcher textCommandDispatcher;
 
-    private final Map<Long, Boolean> userLocks = new ConcurrentHashMap<>();
-    private final Map<Long, Long> lastProcessingTime = new ConcurrentHashMap<>();
+    // 🔥 Апдейты одного чата обрабатываются по порядку, разные чаты - параллельно
+    private final ChatUpdatePipeline updatePipeline;
+    // 🔥 Все исходящие запросы идут через очередь с лимитами Telegram
+    private final OutboundMessageQueue outboundQueue;
 
     private static final long CLICK_COOLDOWN_MS = 200;
-    private final Map<Long, Long> lastClickTime = new ConcurrentHashMap<>();
+    private static final int DELETE_BATCH_SIZE = 100;
+    // 🔥 Последний обработанный клик чата: гасим только повтор той же кнопки (двойной тап)
+    private final Map<Long, LastClick> lastClicks = new ConcurrentHashMap<>();
+    // 🔥 Временные сообщения, которые еще в очереди отправки (ID появится в сессии после ответа Telegram)
+    private final Map<Long, Queue<CompletableFuture<Integer>>> pendingTemporaryMessages = new ConcurrentHashMap<>();
+    // 🔥 Отправляемое главное сообщение: правки до ответа Telegram ждут его ID, а не создают второе
+    private final Map<Long, CompletableFuture<Integer>> pendingMainMessages = new ConcurrentHashMap<>();
 
     private final String botUsername;
     private final String botToken;
@@ -65,7 +80,9 @@ public class TCMatchBot extends TelegramLongPollingBot implements BotExecutor{
             @Value("${telegram.bot.token}") String botToken,
             UserService userService,
             TextMessageService textMessageService,
-            CommonKeyboards commonKeyboards) {
+            CommonKeyboards commonKeyboards,
+            ChatUpdatePipeline updatePipeline,
+            OutboundMessageQueue outboundQueue) {
         super(botToken); // Передаем токен в родительский класс
         this.userSessionService = userSessionService;
         this.commandDispatcher = commandDispatcher;
@@ -75,6 +92,8 @@ public class TCMatchBot extends TelegramLongPollingBot implements BotExecutor{
         this.userService = userService;
         this.commonKeyboards =  commonKeyboards;
         this.textMessageService = textMessageService;
+        this.updatePipeline = updatePipeline;
+        this.outboundQueue = outboundQueue;
         log.info("🤖 Bot initialized: {}", botUsername);
     }
 
@@ -85,37 +104,31 @@ public class TCMatchBot extends TelegramLongPollingBot implements BotExecutor{
 
     @Override
     public void onUpdateReceived(Update update) {
-        System.out.println(userLocks);
-
         Long chatId = getChatIdFromUpdate(update);
 
-        // 🔥 ПРОВЕРКА COOLDOWN (от последнего ЗАВЕРШЕННОГО клика)
-        if (isClickCooldown(chatId)) {
-            return;
-        }
-
-        // 🔥 БЛОКИРОВКА НА УРОВНЕ ВХОДЯЩИХ СООБЩЕНИЙ
-        if (isUserProcessing(chatId)) {
-            log.warn("🚫 User {} is already processing another request - ignoring", chatId);
-            return;
-        }
+        // 🔥 НЕ БЛОКИРУЕМ LONG-POLLING ПОТОК: ставим апдейт в очередь чата
+        updatePipeline.submit(chatId, () -> processUpdate(chatId, update));
+    }
 
+    private void processUpdate(Long chatId, Update update) {
         try {
-            lockUser(chatId);
-
             // Проверяем, что это текстовое сообщение
             if (update.hasCallbackQuery()) {
-                handleCallbackQuery(update.getCallbackQuery());
+                String callbackData = update.getCallbackQuery().getData();
+                // 🔥 COOLDOWN только для повтора той же кнопки; другие апдейты из очереди чата не теряются
+                if (isRepeatedClick(chatId, callbackData)) {
+                    return;
+                }
+                try {
+                    handleCallbackQuery(update.getCallbackQuery());
+                } finally {
+                    updateLastClick(chatId, callbackData);
+                }
             } else if (update.hasMessage() && update.getMessage().hasText()) {
                 handleTextMessage(update.getMessage());
             }
         } catch (Exception e) {
             log.error("❌ Error in onUpdateReceived for user {}: {},", chatId, e.getMessage());
-
-        } finally {
-            // 🔥 ГАРАНТИРОВАННАЯ РАЗБЛОКИРОВКА
-            unlockUser(chatId);
-            updateLastClickTime(chatId);
         }
     }
 
@@ -128,76 +141,29 @@ public class TCMatchBot extends TelegramLongPollingBot implements BotExecutor{
         return null;
     }
 
-    private boolean isUserProcessing(Long chatId) {
-        if (chatId == null) return false;
-        return userLocks.getOrDefault(chatId, false);
-    }
-
-    private void lockUser(Long chatId) {
-        if (chatId != null) {
-            userLocks.put(chatId, true);
-            lastProcessingTime.put(chatId, System.currentTimeMillis());
-            log.debug("🔒 Bot locked user: {}", chatId);
-        }
-    }
-
-    private void unlockUser(Long chatId) {
-        if (chatId != null) {
-            userLocks.put(chatId, false);
-            log.debug("🔓 Bot unlocked user: {}", chatId);
-        }
-    }
-
-    // 🔥 ОЧИСТКА ВИСЯЩИХ БЛОКИРОВОК
-    @Scheduled(fixedRate = 90000)
-    public void cleanupStaleLocks() {
-        synchronized (userLocks) {
-            long now = System.currentTimeMillis();
-            int removed = 0;
-
-            for (Map.Entry<Long, Boolean> entry : userLocks.entrySet()) {
-                if (entry.getValue()) { // если заблокирован
-                    Long chatId = entry.getKey();
-                    Long lockTime = lastProcessingTime.get(chatId);
-
-                    if (lockTime != null && (now - lockTime) > 60000) { // 60 секунд
-                        userLocks.remove(chatId);
-                        removed++;
-                        log.warn("🕒 Bot removed stale lock for user: {}", chatId);
-                    }
-                }
-            }
-
-            if (removed > 0) {
-                log.info("🧹 Bot cleaned up {} stale locks", removed);
-            }
-        }
-    }
-
-    private boolean isClickCooldown(Long chatId) {
+    private boolean isRepeatedClick(Long chatId, String callbackData) {
         if (chatId == null) return false;
 
-        long currentTime = System.currentTimeMillis();
-        Long lastTime = lastClickTime.get(chatId);
+        LastClick last = lastClicks.get(chatId);
+        long elapsed = System.currentTimeMillis() - (last != null ? last.finishedAt() : 0);
 
-        // 🔥 ПРОВЕРЯЕМ, ПРОШЛО ЛИ ДОСТАТОЧНО ВРЕМЕНИ С ПОСЛЕДНЕГО ЗАВЕРШЕННОГО КЛИКА
-        if (lastTime != null && (currentTime - lastTime) < CLICK_COOLDOWN_MS) {
-            log.debug("⏳ Cooldown active for user: {} ({}ms remaining)",
-                    chatId, CLICK_COOLDOWN_MS - (currentTime - lastTime));
+        // 🔥 ТА ЖЕ КНОПКА В ПРЕДЕЛАХ COOLDOWN ОТ ЗАВЕРШЕНИЯ ПРОШЛОГО КЛИКА
+        if (last != null && elapsed < CLICK_COOLDOWN_MS && Objects.equals(last.callbackData(), callbackData)) {
+            log.debug("⏳ Repeated click {} ignored for user: {} ({}ms after previous)", callbackData, chatId, elapsed);
             return true;
         }
-
-        // 🔥 НЕ ОБНОВЛЯЕМ ВРЕМЯ ЗДЕСЬ - сделаем это после выполнения логики
         return false;
     }
 
-    private void updateLastClickTime(Long chatId) {
+    private void updateLastClick(Long chatId, String callbackData) {
         if (chatId != null) {
-            lastClickTime.put(chatId, System.currentTimeMillis());
-            log.debug("🕒 Updated last click time for user: {}", chatId);
+            lastClicks.put(chatId, new LastClick(callbackData, System.currentTimeMillis()));
         }
     }
 
+    private record LastClick(String callbackData, long finishedAt) {
+    }
+
 
     private void handleTextMessage(Message message) {
         textCommandDispatcher.handleTextMessage(message);
@@ -304,65 +270,131 @@ public class TCMatchBot extends TelegramLongPollingBot implements BotExecutor{
     // 🔥 Реализация sendMessage (из BotExecutor)
     @Override
     public void sendMessage(Long chatId, String text) {
-        try {
-            SendMessage message = new SendMessage(chatId.toString(), text);
-            execute(message);
-        } catch (TelegramApiException e) {
-            log.error("Ошибка при отправке сообщения в TCMatchBot: {}", e.getMessage());
-        }
+        outboundQueue.submit(chatId, new SendMessage(chatId.toString(), text), Priority.INTERACTIVE)
+                .exceptionally(e -> {
+                    log.error("Ошибка при отправке сообщения в TCMatchBot: {}", unwrap(e).getMessage());
+                    return null;
+                });
     }
 
     // 🔥 Реализация deleteMessage (из BotExecutor)
     @Override
     public void deleteMessage(Long chatId, Integer messageId) {
-        if (messageId == null) return;
-        try {
-            DeleteMessage deleteMessage = new DeleteMessage(chatId.toString(), messageId);
-            execute(deleteMessage);
-        } catch (TelegramApiException e) {
-            // Обычно не логируем, чтобы не засорять логи при нормальном поведении (например, сообщение уже удалено)
-            log.warn("Ошибка при удалении сообщения: {}", e.getMessage());
-        }
+        deleteMessageAsync(chatId, messageId, Priority.INTERACTIVE);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteMessageAsync(Long chatId, Integer messageId, Priority priority) {
+        if (messageId == null) return CompletableFuture.completedFuture(false);
+
+        return outboundQueue.submit(chatId, new DeleteMessage(chatId.toString(), messageId), priority)
+                .exceptionally(e -> {
+                    // Обычно не логируем, чтобы не засорять логи при нормальном поведении (например, сообщение уже удалено)
+                    log.warn("Ошибка при удалении сообщения: {}", unwrap(e).getMessage());
+                    return false;
+                });
     }
 
     @Override
     public void editMessageWithHtml(Long chatId, Integer messageId, String text, InlineKeyboardMarkup keyboard) {
-        try {
-            EditMessageText editMessage = new EditMessageText();
-            editMessage.setChatId(chatId.toString());
-            editMessage.setMessageId(messageId);
-            editMessage.setText(text);
-            editMessage.setParseMode("HTML"); // 🔥 ВКЛЮЧАЕМ HTML-ПАРСИНГ
-            editMessage.setReplyMarkup(keyboard);
-            editMessage.setDisableWebPagePreview(true);
-
-            execute(editMessage);
-            log.debug("✅ HTML Message edited for: {}", chatId);
-        } catch (TelegramApiException e) {
-            if (e.getMessage().contains("message to edit not found")) {
-                // 🔥 ПРОВЕРЯЕМ, ЭТО ГЛАВНОЕ СООБЩЕНИЕ ИЛИ ОБЫЧНОЕ?
-                Integer mainMessageId = userSessionService.getMainMessageId(chatId);
-
-                if (messageId.equals(mainMessageId) || mainMessageId == null) {
-                    // 🔥 УДАЛЕНО ГЛАВНОЕ СООБЩЕНИЕ - СОЗДАЕМ НОВОЕ
-                    log.warn("⚠️ Главное сообщение {} удалено, создаем новое", messageId);
-                    userSessionService.setMainMessageId(chatId, null);
-                    Integer newMessageId = sendHtmlMessageReturnId(chatId, text, keyboard);
-                    if (newMessageId != null) {
-                        userSessionService.setMainMessageId(chatId, newMessageId);
-                    }
-                } else {
-                    // 🔥 УДАЛЕНО ОБЫЧНОЕ СООБЩЕНИЕ - ПРОСТО ЛОГИРУЕМ
-                    log.warn("⚠️ Сообщение {} удалено, но это не главное сообщение", messageId);
-                }
+        if (messageId == null) {
+            // 🔥 ГЛАВНОГО СООБЩЕНИЯ ЕЩЕ НЕТ - ЭКРАН УХОДИТ НОВЫМ СООБЩЕНИЕМ
+            sendMainHtmlMessage(chatId, text, keyboard);
+            return;
+        }
+
+        EditMessageText editMessage = new EditMessageText();
+        editMessage.setChatId(chatId.toString());
+        editMessage.setMessageId(messageId);
+        editMessage.setText(text);
+        editMessage.setParseMode("HTML"); // 🔥 ВКЛЮЧАЕМ HTML-ПАРСИНГ
+        editMessage.setReplyMarkup(keyboard);
+        editMessage.setDisableWebPagePreview(true);
+
+        outboundQueue.submit(chatId, editMessage, Priority.INTERACTIVE).whenComplete((result, error) -> {
+            if (error == null) {
+                log.debug("✅ HTML Message edited for: {}", chatId);
+                return;
+            }
+
+            Throwable cause = unwrap(error);
+            if (cause.getMessage() != null && cause.getMessage().contains("message to edit not found")) {
+                // 🔥 СЕССИЮ ТРОГАЕМ ТОЛЬКО НА ПОЛОСЕ ЧАТА, А НЕ В ПОТОКЕ ОТПРАВКИ
+                updatePipeline.submit(chatId, () -> recoverDeletedMessage(chatId, messageId, text, keyboard));
             } else {
-                log.error("❌ Ошибка редактирования сообщения: {}", e.getMessage());
+                log.error("❌ Ошибка редактирования сообщения: {}", cause.getMessage());
             }
+        });
+    }
+
+    private void recoverDeletedMessage(Long chatId, Integer messageId, String text, InlineKeyboardMarkup keyboard) {
+        // 🔥 ПРОВЕРЯЕМ, ЭТО ГЛАВНОЕ СООБЩЕНИЕ ИЛИ ОБЫЧНОЕ?
+        Integer mainMessageId = userSessionService.getMainMessageId(chatId);
+
+        if (messageId.equals(mainMessageId) || mainMessageId == null) {
+            // 🔥 УДАЛЕНО ГЛАВНОЕ СООБЩЕНИЕ - СОЗДАЕМ НОВОЕ
+            log.warn("⚠️ Главное сообщение {} удалено, создаем новое", messageId);
+            userSessionService.setMainMessageId(chatId, null);
+            sendMainHtmlMessage(chatId, text, keyboard);
+        } else {
+            // 🔥 УДАЛЕНО ОБЫЧНОЕ СООБЩЕНИЕ - ПРОСТО ЛОГИРУЕМ
+            log.warn("⚠️ Сообщение {} удалено, но это не главное сообщение", messageId);
+        }
+    }
+
+    @Override
+    public void sendMainHtmlMessage(Long chatId, String text, InlineKeyboardMarkup keyboard) {
+        CompletableFuture<Integer> pendingMain = pendingMainMessages.get(chatId);
+        if (pendingMain != null) {
+            // Главное сообщение уже отправляется - правим его, когда придет ID
+            pendingMain.thenAccept(mainMessageId -> {
+                if (mainMessageId != null) {
+                    editMessageWithHtml(chatId, mainMessageId, text, keyboard);
+                }
+            });
+            return;
         }
+
+        CompletableFuture<Integer> sent = sendHtmlMessageAsync(chatId, text, keyboard, Priority.INTERACTIVE);
+        pendingMainMessages.put(chatId, sent);
+        sent.thenAccept(newMessageId -> updatePipeline.submit(chatId, () -> {
+            pendingMainMessages.remove(chatId, sent);
+            if (newMessageId != null) {
+                userSessionService.setMainMessageId(chatId, newMessageId);
+                log.info("🔄 Created new main message for user {}: messageId {}", chatId, newMessageId);
+            }
+        }));
+    }
+
+    @Override
+    public void sendTemporaryHtmlMessage(Long chatId, String text, InlineKeyboardMarkup keyboard) {
+        CompletableFuture<Integer> sent = sendHtmlMessageAsync(chatId, text, keyboard, Priority.INTERACTIVE);
+        pendingTemporaryMessages.compute(chatId, (id, pending) -> {
+            Queue<CompletableFuture<Integer>> queue = pending != null ? pending : new ConcurrentLinkedQueue<>();
+            queue.add(sent);
+            return queue;
+        });
+
+        // 🔥 ID кладем в сессию на полосе чата; если экран уже очистили - удаление сделает deletePreviousMessages
+        sent.thenAccept(messageId -> updatePipeline.submit(chatId, () -> {
+            if (forgetPendingTemporary(chatId, sent) && messageId != null) {
+                userSessionService.addTemporaryMessageId(chatId, messageId);
+            }
+        }));
+    }
+
+    private boolean forgetPendingTemporary(Long chatId, CompletableFuture<Integer> sent) {
+        boolean[] removed = new boolean[1];
+        pendingTemporaryMessages.computeIfPresent(chatId, (id, pending) -> {
+            removed[0] = pending.remove(sent);
+            return pending.isEmpty() ? null : pending;
+        });
+        return removed[0];
     }
 
     @Override
-    public Integer sendHtmlMessageReturnId(Long chatId, String text, InlineKeyboardMarkup keyboard) {
+    public CompletableFuture<Integer> sendHtmlMessageAsync(Long chatId, String text, InlineKeyboardMarkup keyboard,
+                                                           Priority priority) {
         SendMessage message = new SendMessage();
         message.setChatId(chatId.toString());
         message.setText(text);
@@ -370,41 +402,38 @@ public class TCMatchBot extends TelegramLongPollingBot implements BotExecutor{
         message.setReplyMarkup(keyboard);
         message.setDisableWebPagePreview(true);
 
-        try {
-            org.telegram.telegrambots.meta.api.objects.Message sentMessage = execute(message);
-            return sentMessage.getMessageId();
-        } catch (TelegramApiException e) {
-            log.error("❌ Error sending HTML message: {}", e.getMessage());
-            return null;
-        }
+        return outboundQueue.submit(chatId, message, priority)
+                .thenApply(Message::getMessageId)
+                .exceptionally(e -> {
+                    log.error("❌ Error sending HTML message: {}", unwrap(e).getMessage());
+                    return null;
+                });
     }
 
     @Override
     public void sendTemporaryErrorMessage(Long chatId, String errorText, int delaySeconds) {
-        try {
-            SendMessage message = new SendMessage();
-            message.setChatId(chatId.toString());
-            message.setText(errorText);
+        SendMessage message = new SendMessage();
+        message.setChatId(chatId.toString());
+        message.setText(errorText);
 
-            org.telegram.telegrambots.meta.api.objects.Message sentMessage = execute(message);
-            Integer messageId = sentMessage.getMessageId();
+        sendTemporaryMessage(chatId, message, delaySeconds);
+    }
 
-            // 🔥 ПЛАНИРУЕМ УДАЛЕНИЕ ЧЕРЕЗ SCHEDULED EXECUTOR
-            scheduler.schedule(() -> {
-                try {
-                    DeleteMessage deleteMessage = new DeleteMessage();
-                    deleteMessage.setChatId(chatId.toString());
-                    deleteMessage.setMessageId(messageId);
-                    execute(deleteMessage);
-                    log.debug("🗑️ Auto-deleted error message for user {}", chatId);
-                } catch (Exception e) {
-                    log.error("❌ Error auto-deleting message: {}", e.getMessage());
-                }
-            }, delaySeconds, TimeUnit.SECONDS);
+    // 🔥 ОТПРАВКА + ПЛАНИРОВАНИЕ УДАЛЕНИЯ ЧЕРЕЗ SCHEDULED EXECUTOR
+    private void sendTemporaryMessage(Long chatId, SendMessage message, int delaySeconds) {
+        outboundQueue.submit(chatId, message, Priority.INTERACTIVE)
+                .thenAccept(sentMessage -> scheduler.schedule(
+                        () -> deleteMessageAsync(chatId, sentMessage.getMessageId(), Priority.BULK)
+                                .thenAccept(deleted -> log.debug("🗑️ Auto-deleted error message for user {}", chatId)),
+                        delaySeconds, TimeUnit.SECONDS))
+                .exceptionally(e -> {
+                    log.error("❌ Error sending temporary error message: {}", unwrap(e).getMessage());
+                    return null;
+                });
+    }
 
-        } catch (TelegramApiException e) {
-            log.error("❌ Error sending temporary error message: {}", e.getMessage());
-        }
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
     }
 
     @Override
@@ -431,23 +460,47 @@ public class TCMatchBot extends TelegramLongPollingBot implements BotExecutor{
 
     @Override
     public void deleteMessages(Long chatId, List<Integer> messageIds) {
-        try {
-            log.info("🗑️ Deleting {} temporary messages for user {}", messageIds.size(), chatId);
-
-            // 🔥 Выполнение команд Telegram
-            for (Integer msgId : messageIds) {
-                // Используем execute из библиотеки Telegram, как в вашем BaseHandler
-                execute(new DeleteMessage(chatId.toString(), msgId));
-            }
-        } catch (TelegramApiException e) {
-            log.error("❌ Error sending temporary error message: {}", e.getMessage());
+        List<Integer> ids = messageIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (ids.isEmpty()) return;
+
+        log.info("🗑️ Deleting {} temporary messages for user {}", ids.size(), chatId);
+
+        // 🔥 Один запрос deleteMessages на пачку до 100 id (лимит Telegram)
+        for (int from = 0; from < ids.size(); from += DELETE_BATCH_SIZE) {
+            List<Integer> chunk = ids.subList(from, Math.min(from + DELETE_BATCH_SIZE, ids.size()));
+
+            DeleteMessages deleteMessages = DeleteMessages.builder()
+                    .chatId(chatId.toString())
+                    .messageIds(chunk)
+                    .build();
+
+            outboundQueue.submit(chatId, deleteMessages, Priority.INTERACTIVE)
+                    .exceptionally(e -> {
+                        // 🔥 Пачка не прошла целиком - удаляем по одному, ошибки отдельных id не мешают остальным
+                        log.warn("⚠️ Batch delete failed for user {} ({}), falling back to single deletes",
+                                chatId, unwrap(e).getMessage());
+                        chunk.forEach(msgId -> deleteMessageAsync(chatId, msgId, Priority.INTERACTIVE));
+                        return false;
+                    });
         }
     }
 
     @Override
     public void deletePreviousMessages(Long chatId) {
         // 1. Получаем ID и очищаем сессию в одном вызове из сервиса
-        List<Integer> messageIds = userSessionService.getAndClearTemporaryMessageIds(chatId);
+        List<Integer> messageIds = new ArrayList<>(userSessionService.getAndClearTemporaryMessageIds(chatId));
+
+        // 🔥 Временные сообщения, которые еще отправляются: готовые - в общую пачку, остальные - после отправки
+        Queue<CompletableFuture<Integer>> pending = pendingTemporaryMessages.remove(chatId);
+        if (pending != null) {
+            for (CompletableFuture<Integer> sent : pending) {
+                if (sent.isDone()) {
+                    messageIds.add(sent.getNow(null));
+                } else {
+                    sent.thenAccept(messageId -> deleteMessageAsync(chatId, messageId, Priority.INTERACTIVE));
+                }
+            }
+        }
 
         // 2. Если ID есть, используем BotExecutor для отправки команды
         if (!messageIds.isEmpty()) {
@@ -462,7 +515,11 @@ public class TCMatchBot extends TelegramLongPollingBot implements BotExecutor{
 
         // 🔥 ПРОСТО ВОЗВРАЩАЕМ ID ИЗ СЕССИИ
         // Ошибки будем обрабатывать при редактировании
-        return mainMessageId != null ? mainMessageId : createNewMainMessage(chatId);
+        if (mainMessageId == null && !pendingMainMessages.containsKey(chatId)) {
+            // Главного нет: чистим временные, экран уйдет новым сообщением из editMessageWithHtml
+            deletePreviousMessages(chatId);
+        }
+        return mainMessageId;
     }
 
     private boolean isMessageExists(Long chatId, Integer messageId) {
@@ -479,53 +536,13 @@ public class TCMatchBot extends TelegramLongPollingBot implements BotExecutor{
         }
     }
 
-    private Integer createNewMainMessage(Long chatId) {
-        try {
-            // Удаляем все временные сообщения
-            deletePreviousMessages(chatId);
-
-            // Создаем новое главное сообщение
-            String text = textMessageService.getMainMenuText();
-            InlineKeyboardMarkup keyboard = commonKeyboards.createMainMenuKeyboard(chatId);
-
-            Integer newMainMessageId = sendHtmlMessageReturnId(chatId, text, keyboard);
-            if (newMainMessageId != null) {
-                userSessionService.setMainMessageId(chatId, newMainMessageId);
-                log.info("🔄 Created new main message for user {}: messageId {}", chatId, newMainMessageId);
-                return newMainMessageId;
-            }
-        } catch (Exception e) {
-            log.error("❌ Error creating new main message for user {}: {}", chatId, e.getMessage());
-        }
-        return null;
-    }
-
     @Override
     public void sendTemporaryErrorMessageWithHtml(Long chatId, String errorText, int delaySeconds) {
-        try {
-            SendMessage message = new SendMessage();
-            message.setParseMode("HTML");
-            message.setChatId(chatId.toString());
-            message.setText(errorText);
-
-            org.telegram.telegrambots.meta.api.objects.Message sentMessage = execute(message);
-            Integer messageId = sentMessage.getMessageId();
-
-            // 🔥 ПЛАНИРУЕМ УДАЛЕНИЕ ЧЕРЕЗ SCHEDULED EXECUTOR
-            scheduler.schedule(() -> {
-                try {
-                    DeleteMessage deleteMessage = new DeleteMessage();
-                    deleteMessage.setChatId(chatId.toString());
-                    deleteMessage.setMessageId(messageId);
-                    execute(deleteMessage);
-                    log.debug("🗑️ Auto-deleted error message for user {}", chatId);
-                } catch (Exception e) {
-                    log.error("❌ Error auto-deleting message: {}", e.getMessage());
-                }
-            }, delaySeconds, TimeUnit.SECONDS);
+        SendMessage message = new SendMessage();
+        message.setParseMode("HTML");
+        message.setChatId(chatId.toString());
+        message.setText(errorText);
 
-        } catch (TelegramApiException e) {
-            log.error("❌ Error sending temporary error message: {}", e.getMessage());
-        }
+        sendTemporaryMessage(chatId, message, delaySeconds);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,19 @@
+package com.tcmatch.tcmatch.bot.commands;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 🔥 Ключ маршрутизации callback-команды: actionType:action.
+ * По этим ключам CommandDispatcher строит хеш-таблицу при старте.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CallbackRoute {
+    String actionType();
+    String action();
+}
@@ -1,6 +1,17 @@
 package com.tcmatch.tcmatch.bot.commands;
 
+import org.springframework.core.annotation.AnnotationUtils;
+
 public interface Command {
-    boolean canHandle(String actionType, String action);
+
+    /**
+     * 🔥 Команды с {@link CallbackRoute} маршрутизируются по таблице и этот метод не переопределяют.
+     * Переопределять нужно только для нестандартных (префиксных) совпадений.
+     */
+    default boolean canHandle(String actionType, String action) {
+        CallbackRoute route = AnnotationUtils.findAnnotation(getClass(), CallbackRoute.class);
+        return route != null && route.actionType().equals(actionType) && route.action().equals(action);
+    }
+
     void execute(CommandContext context);
 }
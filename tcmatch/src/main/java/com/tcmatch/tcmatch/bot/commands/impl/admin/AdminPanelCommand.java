@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.admin;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.keyboards.AdminKeyboards;
@@ -14,6 +15,7 @@ import org.telegram.telegrambots.meta.api.objects.replykeyboard.InlineKeyboardMa
 @Component
 @RequiredArgsConstructor
 @Slf4j
+@CallbackRoute(actionType = "admin", action = "panel")
 public class AdminPanelCommand implements Command {
 
     private final BotExecutor botExecutor;
@@ -21,11 +23,6 @@ public class AdminPanelCommand implements Command {
     private final AdminKeyboards adminKeyboards;
     private final CommonKeyboards commonKeyboards;
 
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        return "admin".equals(actionType) && "panel".equals(action);
-    }
-
     @Override
     public void execute(CommandContext context) {
         Long chatId = context.getChatId();
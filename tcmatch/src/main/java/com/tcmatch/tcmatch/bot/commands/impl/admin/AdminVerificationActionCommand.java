@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.admin;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.model.VerificationRequest;
@@ -16,6 +17,7 @@ import java.util.Optional;
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@CallbackRoute(actionType = "admin", action = "verification")
 public class AdminVerificationActionCommand implements Command {
 
     private final BotExecutor botExecutor;
@@ -23,11 +25,6 @@ public class AdminVerificationActionCommand implements Command {
     private final AdminService adminService;
     private final UserSessionService userSessionService;
 
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        return "admin".equals(actionType) && action.equals("verification");
-    }
-
     @Override
     public void execute(CommandContext context) {
         Long adminChatId = context.getChatId();
@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.application;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.commands.impl.order.OrderWizardStartCommand;
@@ -13,6 +14,7 @@ import org.springframework.stereotype.Component;
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@CallbackRoute(actionType = "application", action = "accept")
 public class AcceptApplicationCommand implements Command {
 
     private final ApplicationService applicationService;
@@ -20,11 +22,6 @@ public class AcceptApplicationCommand implements Command {
     private final CommonKeyboards commonKeyboards;
     private final OrderWizardStartCommand orderWizardStartCommand;
 
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        return "application".equals(actionType) && "accept".equals(action);
-    }
-
     @Override
     public void execute(CommandContext context) {
         Long chatId = context.getChatId();
@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.application;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.commands.impl.order.OrderDetailsCommand;
@@ -23,6 +24,7 @@ import java.util.Optional;
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@CallbackRoute(actionType = "application", action = "details")
 public class ApplicationDetailsCommand implements Command {
 
     private final BotExecutor botExecutor;
@@ -32,11 +34,6 @@ public class ApplicationDetailsCommand implements Command {
     private final OrderService orderService;
     private final OrderDetailsCommand orderDetailsCommand;
 
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        return "application".equals(actionType) && "details".equals(action);
-    }
-
     @Override
     public void execute(CommandContext context) {
         try {
@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.application;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.keyboards.ApplicationKeyboards;
@@ -17,7 +18,6 @@ import org.springframework.stereotype.Component;
 import org.telegram.telegrambots.meta.api.objects.replykeyboard.InlineKeyboardMarkup;
 
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
 import java.util.List;
 
 import static com.tcmatch.tcmatch.util.PaginationContextKeys.APPLICATIONS_PER_PAGE;
@@ -25,6 +25,7 @@ import static com.tcmatch.tcmatch.util.PaginationContextKeys.APPLICATIONS_PER_PA
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@CallbackRoute(actionType = "application", action = "menu")
 public class ApplicationMenuCommand implements Command {
 
     private final BotExecutor botExecutor;
@@ -35,11 +36,6 @@ public class ApplicationMenuCommand implements Command {
     private final ProjectService projectService;
     private final PaginationManager paginationManager;
 
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        return "application".equals(actionType) && "menu".equals(action);
-    }
-
     @Override
     public void execute(CommandContext context) {
         Long chatId = context.getChatId();
@@ -101,23 +97,22 @@ public class ApplicationMenuCommand implements Command {
     public void handleShowMyApplications(Long chatId, Integer messageId) {
         try {
 
-            // 1. Получаем ID всех откликов фрилансера
-            List<Long> applicationIds = applicationService.getApplicationsByFreelancerChatId(chatId)
-                    .stream().map(Application::getId).toList();
+            // 1. Keyset-источник откликов фрилансера (без загрузки всех ID)
+            KeysetPageSource source = applicationService.freelancerApplicationPageSource(chatId);
 
-            if (applicationIds.isEmpty()) {
+            if (source.count() == 0) {
                 showNoApplicationsMessage(chatId, messageId, UserRole.FREELANCER);
                 return;
             }
 
             // 2. Запускаем пагинацию
-            paginationManager.renderIdBasedPage(
+            paginationManager.renderKeysetPage(
                     chatId,
-                    PaginationContextKeys.PROJECT_APPLICATIONS_CONTEXT_KEY,
-                    applicationIds,
+                    PaginationContextKeys.FREELANCER_APPLICATIONS_CONTEXT_KEY,
                     "APPLICATION",
                     "init",
                     APPLICATIONS_PER_PAGE,
+                    source,
                     this::renderFreelancerApplicationsPage // 🔥 Передаем рендерер фрилансера
             );
 
@@ -155,9 +150,8 @@ public class ApplicationMenuCommand implements Command {
         botExecutor.editMessageWithHtml(chatId, messageId, text, commonKeyboards.createBackButton());
     }
 
-    public List<Integer> renderFreelancerApplicationsPage(List<Long> pageApplicationIds, PaginationContext context) {
+    public void renderFreelancerApplicationsPage(List<Long> pageApplicationIds, PaginationContext context) {
         Long chatId = context.chatId();
-        List<Integer> messageIds = new ArrayList<>();
 
         List<ApplicationDto> pageApplications = applicationService.getApplicationsByIds(pageApplicationIds);
 
@@ -166,11 +160,10 @@ public class ApplicationMenuCommand implements Command {
             📨 <b>МОИ ОТКЛИКИ</b>
             
             <i>Найдено %d откликов. Страница %d из %d</i>
-            """, context.entityIds().size(), context.currentPage() + 1, context.getTotalPages());
+            """, context.getTotalCount(), context.currentPage() + 1, context.getTotalPages());
 
         Integer headerId = botExecutor.getOrCreateMainMessageId(chatId);
         botExecutor.editMessageWithHtml(chatId, headerId, headerText, null);
-//        if (headerId != null) messageIds.add(headerId);
 
         for (int i = 0; i < pageApplications.size(); i++) {
             ApplicationDto application = pageApplications.get(i);
@@ -178,24 +171,19 @@ public class ApplicationMenuCommand implements Command {
 
             InlineKeyboardMarkup keyboard = applicationKeyboards.createApplicationItemKeyboard(application.getId());
 
-            Integer cardId = botExecutor.sendHtmlMessageReturnId(chatId, applicationCardText, keyboard);
-            if (cardId != null) messageIds.add(cardId);
+            botExecutor.sendTemporaryHtmlMessage(chatId, applicationCardText, keyboard);
         }
 
         // Пагинация
 
         InlineKeyboardMarkup paginationKeyboard = commonKeyboards.createPaginationKeyboardForContext(context);
 
-        Integer navId = botExecutor.sendHtmlMessageReturnId(chatId, "<b>— Навигация —</b>", paginationKeyboard);
-        if (navId != null) messageIds.add(navId);
-
-        return messageIds;
+        botExecutor.sendTemporaryHtmlMessage(chatId, "<b>— Навигация —</b>", paginationKeyboard);
     }
 
     // 🔥 МЕТОД РЕНДЕРИНГА ДЛЯ ОТКЛИКОВ НА ПРОЕКТ (ИСПОЛЬЗУЕТ DTO)
-    private List<Integer> renderProjectApplicationsPage(List<Long> pageApplicationIds, PaginationContext context) {
+    private void renderProjectApplicationsPage(List<Long> pageApplicationIds, PaginationContext context) {
         Long chatId = context.chatId();
-        List<Integer> messageIds = new ArrayList<>();
 
         // 🔥 ПОЛУЧАЕМ DTO ВМЕСТО ПОЛНЫХ СУЩНОСТЕЙ
         List<ApplicationDto> pageApplications = applicationService.getApplicationsByIds(pageApplicationIds);
@@ -205,11 +193,10 @@ public class ApplicationMenuCommand implements Command {
             📨 <b>ОТКЛИКИ НА ПРОЕКТ</b>
             
             <i>Найдено %d откликов. Страница %d из %d</i>
-            """, context.entityIds().size(), context.currentPage() + 1, context.getTotalPages());
+            """, context.getTotalCount(), context.currentPage() + 1, context.getTotalPages());
 
         Integer headerId = botExecutor.getOrCreateMainMessageId(chatId);
         botExecutor.editMessageWithHtml(chatId, headerId, headerText, null);
-//        if (headerId != null) messageIds.add(headerId);
 
         // Карточки откликов (используем DTO)
         for (int i = 0; i < pageApplications.size(); i++) {
@@ -217,17 +204,12 @@ public class ApplicationMenuCommand implements Command {
             String applicationText = formatApplicationForCustomer(application, (context.currentPage() * context.pageSize()) + i + 1);
 //            InlineKeyboardMarkup keyboard = keyboardFactory.createApplicationResponseKeyboard(application.getId());
 
-            Integer cardId = botExecutor.sendHtmlMessageReturnId(chatId, applicationText, null);
-            if (cardId != null) messageIds.add(cardId);
+            botExecutor.sendTemporaryHtmlMessage(chatId, applicationText, null);
         }
 
         InlineKeyboardMarkup paginationKeyboard = commonKeyboards.createPaginationKeyboardForContext(context);
 
-        Integer navId = botExecutor.sendHtmlMessageReturnId(chatId, "<b>— Навигация —</b>", paginationKeyboard);
-        if (navId != null) messageIds.add(navId);
-
-
-        return messageIds;
+        botExecutor.sendTemporaryHtmlMessage(chatId, "<b>— Навигация —</b>", paginationKeyboard);
     }
 
     private String formatApplicationForCustomer(ApplicationDto application, int number) {
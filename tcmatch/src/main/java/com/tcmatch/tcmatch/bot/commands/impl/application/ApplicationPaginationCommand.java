@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.application;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.keyboards.ApplicationKeyboards;
@@ -18,15 +19,15 @@ import org.springframework.stereotype.Component;
 import org.telegram.telegrambots.meta.api.objects.replykeyboard.InlineKeyboardMarkup;
 
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.function.BiFunction;
+import java.util.function.BiConsumer;
 
 import static com.tcmatch.tcmatch.util.PaginationContextKeys.APPLICATIONS_PER_PAGE;
 
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@CallbackRoute(actionType = "application", action = "pagination")
 public class ApplicationPaginationCommand implements Command {
 
     private final BotExecutor botExecutor;
@@ -36,11 +37,6 @@ public class ApplicationPaginationCommand implements Command {
     private final ApplicationService applicationService;
     private final ProjectService projectService;
 
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        return "application".equals(actionType) && "pagination".equals(action);
-    }
-
     @Override
     public void execute(CommandContext context) {
         try {
@@ -53,7 +49,7 @@ public class ApplicationPaginationCommand implements Command {
             String entityType = parts[2];
 
             // 🔥 ОПРЕДЕЛЯЕМ РЕНДЕРЕР ДЛЯ КОНТЕКСТА
-            BiFunction<List<Long>, PaginationContext, List<Integer>> renderer = null;
+            BiConsumer<List<Long>, PaginationContext> renderer = null;
 
             if (PaginationContextKeys.FREELANCER_APPLICATIONS_CONTEXT_KEY.equals(contextKey)) {
                 renderer = this::renderFreelancerApplicationsPage;
@@ -68,6 +64,20 @@ public class ApplicationPaginationCommand implements Command {
                 return;
             }
 
+            // 🔥 "МОИ ОТКЛИКИ" - KEYSET-ПАГИНАЦИЯ
+            if (PaginationContextKeys.FREELANCER_APPLICATIONS_CONTEXT_KEY.equals(contextKey)) {
+                paginationManager.renderKeysetPage(
+                        context.getChatId(),
+                        contextKey,
+                        entityType,
+                        direction,
+                        APPLICATIONS_PER_PAGE,
+                        applicationService.freelancerApplicationPageSource(context.getChatId()),
+                        renderer
+                );
+                return;
+            }
+
             // 🔥 ВЫЗЫВАЕМ PAGINATION MANAGER
             paginationManager.renderIdBasedPage(
                     context.getChatId(),
@@ -86,9 +96,8 @@ public class ApplicationPaginationCommand implements Command {
     }
 
     // 🔥 МЕТОД РЕНДЕРИНГА ДЛЯ ПРИНЯТЫХ ОТКЛИКОВ (ВЫПОЛНЯЕМЫЕ ЗАКАЗЫ)
-    public List<Integer> renderAcceptedApplicationsPage(List<Long> pageApplicationIds, PaginationContext context) {
+    public void renderAcceptedApplicationsPage(List<Long> pageApplicationIds, PaginationContext context) {
         Long chatId = context.chatId();
-        List<Integer> messageIds = new ArrayList<>();
 
         // 1. Получаем DTO
         List<ApplicationDto> pageApplications = applicationService.getApplicationsByIds(pageApplicationIds);
@@ -98,7 +107,7 @@ public class ApplicationPaginationCommand implements Command {
         ⚙️ <b>ВЫПОЛНЯЕМЫЕ ЗАКАЗЫ</b>
         
         <i>Найдено %d заказов. Страница %d из %d</i>
-        """, context.entityIds().size(), context.currentPage() + 1, context.getTotalPages());
+        """, context.getTotalCount(), context.currentPage() + 1, context.getTotalPages());
 
         Integer headerId = botExecutor.getOrCreateMainMessageId(chatId);
         botExecutor.editMessageWithHtml(chatId, headerId, headerText, null);
@@ -113,17 +122,13 @@ public class ApplicationPaginationCommand implements Command {
             // (который затем перенаправит на OrderDetailsCommand)
             InlineKeyboardMarkup keyboard = applicationKeyboards.createApplicationItemKeyboard(application.getId());
 
-            Integer cardId = botExecutor.sendHtmlMessageReturnId(chatId, applicationCardText, keyboard);
-            if (cardId != null) messageIds.add(cardId);
+            botExecutor.sendTemporaryHtmlMessage(chatId, applicationCardText, keyboard);
         }
 
         // 4. Пагинация
         InlineKeyboardMarkup paginationKeyboard = commonKeyboards.createPaginationKeyboardForContext(context);
 
-        Integer navId = botExecutor.sendHtmlMessageReturnId(chatId, "<b>— Навигация —</b>", paginationKeyboard);
-        if (navId != null) messageIds.add(navId);
-
-        return messageIds;
+        botExecutor.sendTemporaryHtmlMessage(chatId, "<b>— Навигация —</b>", paginationKeyboard);
     }
 
     // 🔥 Новый формат для Accepted Application
@@ -148,9 +153,8 @@ public class ApplicationPaginationCommand implements Command {
         );
     }
 
-    public List<Integer> renderFreelancerApplicationsPage(List<Long> pageApplicationIds, PaginationContext context) {
+    public void renderFreelancerApplicationsPage(List<Long> pageApplicationIds, PaginationContext context) {
         Long chatId = context.chatId();
-        List<Integer> messageIds = new ArrayList<>();
 
         List<ApplicationDto> pageApplications = applicationService.getApplicationsByIds(pageApplicationIds);
 
@@ -159,13 +163,12 @@ public class ApplicationPaginationCommand implements Command {
             📨 <b>МОИ ОТКЛИКИ</b>
             
             <i>Найдено %d откликов. Страница %d из %d</i>
-            """, context.entityIds().size(), context.currentPage() + 1, context.getTotalPages());
+            """, context.getTotalCount(), context.currentPage() + 1, context.getTotalPages());
 
 
 
         Integer headerId = botExecutor.getOrCreateMainMessageId(chatId);
         botExecutor.editMessageWithHtml(chatId, headerId, headerText, null);
-//        if (headerId != null) messageIds.add(headerId);
 
         for (int i = 0; i < pageApplications.size(); i++) {
             ApplicationDto application = pageApplications.get(i);
@@ -173,25 +176,19 @@ public class ApplicationPaginationCommand implements Command {
 
             InlineKeyboardMarkup keyboard = applicationKeyboards.createApplicationItemKeyboard(application.getId());
 
-            Integer cardId = botExecutor.sendHtmlMessageReturnId(chatId, applicationCardText, keyboard);
-            if (cardId != null) messageIds.add(cardId);
+            botExecutor.sendTemporaryHtmlMessage(chatId, applicationCardText, keyboard);
         }
 
         // Пагинация
 
         InlineKeyboardMarkup paginationKeyboard = commonKeyboards.createPaginationKeyboardForContext(context);
 
-        Integer navId = botExecutor.sendHtmlMessageReturnId(chatId, "<b>— Навигация —</b>", paginationKeyboard);
-        if (navId != null) messageIds.add(navId);
-
-
-        return messageIds;
+        botExecutor.sendTemporaryHtmlMessage(chatId, "<b>— Навигация —</b>", paginationKeyboard);
     }
 
     // 🔥 МЕТОД РЕНДЕРИНГА ДЛЯ ОТКЛИКОВ НА ПРОЕКТ (ИСПОЛЬЗУЕТ DTO)
-    private List<Integer> renderProjectApplicationsPage(List<Long> pageApplicationIds, PaginationContext context) {
+    private void renderProjectApplicationsPage(List<Long> pageApplicationIds, PaginationContext context) {
         Long chatId = context.chatId();
-        List<Integer> messageIds = new ArrayList<>();
 
         // 🔥 ПОЛУЧАЕМ DTO ВМЕСТО ПОЛНЫХ СУЩНОСТЕЙ
         List<ApplicationDto> pageApplications = applicationService.getApplicationsByIds(pageApplicationIds);
@@ -201,7 +198,7 @@ public class ApplicationPaginationCommand implements Command {
             📨 <b>ОТКЛИКИ НА ПРОЕКТ</b>
             
             <i>Найдено %d откликов. Страница %d из %d</i>
-            """, context.entityIds().size(), context.currentPage() + 1, context.getTotalPages());
+            """, context.getTotalCount(), context.currentPage() + 1, context.getTotalPages());
 
         Integer headerId = botExecutor.getOrCreateMainMessageId(chatId);
         botExecutor.editMessageWithHtml(chatId, headerId, headerText, null);
@@ -212,19 +209,14 @@ public class ApplicationPaginationCommand implements Command {
             String applicationText = formatApplicationForCustomer(application, (context.currentPage() * context.pageSize()) + i + 1);
 //            InlineKeyboardMarkup keyboard = keyboardFactory.createApplicationResponseKeyboard(application.getId());
 
-            Integer cardId = botExecutor.sendHtmlMessageReturnId(chatId, applicationText, null);
-            if (cardId != null) messageIds.add(cardId);
+            botExecutor.sendTemporaryHtmlMessage(chatId, applicationText, null);
         }
 
         // Пагинация
 
         InlineKeyboardMarkup paginationKeyboard = commonKeyboards.createPaginationKeyboardForContext(context);
 
-        Integer navId = botExecutor.sendHtmlMessageReturnId(chatId, "<b>— Навигация —</b>", paginationKeyboard);
-        if (navId != null) messageIds.add(navId);
-
-
-        return messageIds;
+        botExecutor.sendTemporaryHtmlMessage(chatId, "<b>— Навигация —</b>", paginationKeyboard);
     }
 
     private String formatApplicationForCustomer(ApplicationDto application, int number) {
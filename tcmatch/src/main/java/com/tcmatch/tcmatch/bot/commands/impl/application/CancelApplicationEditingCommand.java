@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.application;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.keyboards.ApplicationKeyboards;
@@ -17,6 +18,7 @@ import org.telegram.telegrambots.meta.api.objects.replykeyboard.InlineKeyboardMa
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@CallbackRoute(actionType = "application", action = "edit_cancel")
 public class CancelApplicationEditingCommand implements Command {
 
     private final BotExecutor botExecutor;
@@ -25,11 +27,6 @@ public class CancelApplicationEditingCommand implements Command {
     private final CommonKeyboards commonKeyboards;
     private final ApplicationKeyboards applicationKeyboards;
 
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        return "application".equals(actionType) && "edit_cancel".equals(action);
-    }
-
     @Override
     public void execute(CommandContext context) {
         try {
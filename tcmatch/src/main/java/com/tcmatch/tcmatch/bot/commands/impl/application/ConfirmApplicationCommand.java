@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.application;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.keyboards.ApplicationKeyboards;
@@ -20,6 +21,7 @@ import java.time.format.DateTimeFormatter;
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@CallbackRoute(actionType = "application", action = "confirm")
 public class ConfirmApplicationCommand implements Command {
 
     private final BotExecutor botExecutor;
@@ -32,11 +34,6 @@ public class ConfirmApplicationCommand implements Command {
     private final ApplicationKeyboards applicationKeyboards;
     private final UserSessionService userSessionService;
 
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        return "application".equals(actionType) && "confirm".equals(action);
-    }
-
     @Override
     public void execute(CommandContext context) {
         try {
@@ -63,17 +60,7 @@ public class ConfirmApplicationCommand implements Command {
                 return;
             }
 
-            // 🔥 ШАГ 2: ИСПОЛЬЗУЕМ ОТКЛИК (уменьшаем лимит)
-            // Мы заменили логику checkApplicationLimits и useApplication на наши методы
-            boolean applicationUsed = subscriptionService.useApplication(chatId);
-
-            if (!applicationUsed) {
-                // Если useApplication вернул false, значит decrementApplicationCount провалился (IllegalStateException)
-                botExecutor.sendTemporaryErrorMessage(chatId, "❌ Не удалось использовать отклик. Повторите попытку.", 5);
-                return;
-            }
-
-            // СОЗДАЕМ ОТКЛИК
+            // 🔥 ШАГ 2: СОЗДАЕМ ОТКЛИК (лимит списывается атомарно внутри createApplication)
             Application application = applicationService.createApplication(
                     state.getProjectId(),
                     chatId,
@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.application;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.keyboards.ApplicationKeyboards;
@@ -19,6 +20,7 @@ import java.time.format.DateTimeFormatter;
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@CallbackRoute(actionType = "application", action = "confirm_withdraw")
 public class ConfirmWithdrawApplicationCommand implements Command {
 
     private final BotExecutor botExecutor;
@@ -26,10 +28,6 @@ public class ConfirmWithdrawApplicationCommand implements Command {
     private final ProjectService projectService;
     private final CommonKeyboards commonKeyboards;
     private final ApplicationKeyboards applicationKeyboards;
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        return "application".equals(actionType) && "confirm_withdraw".equals(action);
-    }
 
     @Override
     public void execute(CommandContext context) {
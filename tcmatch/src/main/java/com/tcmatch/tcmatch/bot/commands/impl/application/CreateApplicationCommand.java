@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.application;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.keyboards.ApplicationKeyboards;
@@ -19,6 +20,7 @@ import org.telegram.telegrambots.meta.api.objects.replykeyboard.InlineKeyboardMa
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@CallbackRoute(actionType = "application", action = "create")
 public class CreateApplicationCommand implements Command {
 
     private final BotExecutor botExecutor;
@@ -31,11 +33,6 @@ public class CreateApplicationCommand implements Command {
     private final SubscriptionKeyboards subscriptionKeyboards;
     private final ApplicationKeyboards applicationKeyboards;    private final UserSessionService userSessionService;
 
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        return "application".equals(actionType) && "create".equals(action);
-    }
-
     @Override
     public void execute(CommandContext context) {
         try {
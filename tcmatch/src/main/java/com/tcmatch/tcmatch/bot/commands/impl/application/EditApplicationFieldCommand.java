@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.application;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.keyboards.ApplicationKeyboards;
@@ -17,6 +18,7 @@ import org.telegram.telegrambots.meta.api.objects.replykeyboard.InlineKeyboardMa
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@CallbackRoute(actionType = "application", action = "edit_field")
 public class EditApplicationFieldCommand implements Command {
 
     private final BotExecutor botExecutor;
@@ -24,10 +26,6 @@ public class EditApplicationFieldCommand implements Command {
     private final ProjectService projectService;
     private final CommonKeyboards commonKeyboards;
     private final ApplicationKeyboards applicationKeyboards;
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        return "application".equals(actionType) && "edit_field".equals(action);
-    }
 
     @Override
     public void execute(CommandContext context) {
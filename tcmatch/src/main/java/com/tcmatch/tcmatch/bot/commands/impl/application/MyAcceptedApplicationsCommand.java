@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.application;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.keyboards.ApplicationKeyboards;
@@ -24,6 +25,7 @@ import static com.tcmatch.tcmatch.util.PaginationContextKeys.APPLICATIONS_PER_PA
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@CallbackRoute(actionType = "application", action = "accepted")
 public class MyAcceptedApplicationsCommand implements Command {
 
     private final BotExecutor botExecutor;
@@ -35,12 +37,6 @@ public class MyAcceptedApplicationsCommand implements Command {
 
     private static final int PAGE_SIZE = 5;
 
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        // actionType = application, action = accepted
-        return "application".equals(actionType) && "accepted".equals(action);
-    }
-
     @Override
     public void execute(CommandContext context) {
         Long chatId = context.getChatId();
@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.application;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.keyboards.CommonKeyboards;
@@ -12,17 +13,13 @@ import org.springframework.stereotype.Component;
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@CallbackRoute(actionType = "application", action = "reject")
 public class RejectApplicationCommand implements Command {
 
     private final ApplicationService applicationService;
     private final BotExecutor botExecutor;
     private final CommonKeyboards commonKeyboards;
 
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        return "application".equals(actionType) && "reject".equals(action);
-    }
-
     @Override
     public void execute(CommandContext context) {
         Long chatId = context.getChatId();
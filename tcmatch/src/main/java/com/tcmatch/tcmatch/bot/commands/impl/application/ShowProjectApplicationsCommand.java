@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.application;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.keyboards.ApplicationKeyboards;
@@ -19,7 +20,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.telegram.telegrambots.meta.api.objects.replykeyboard.InlineKeyboardMarkup;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import static com.tcmatch.tcmatch.util.PaginationContextKeys.APPLICATIONS_PER_PAGE;
@@ -27,6 +27,7 @@ import static com.tcmatch.tcmatch.util.PaginationContextKeys.APPLICATIONS_PER_PA
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@CallbackRoute(actionType = "application", action = "show_applications")
 public class ShowProjectApplicationsCommand implements Command {
 
     private final UserService userService;
@@ -38,11 +39,6 @@ public class ShowProjectApplicationsCommand implements Command {
 
     private static final String PROJECT_APPLICATIONS_CONTEXT_KEY = "PROJECT_APPLICATIONS_CONTEXT_KEY";
 
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        return "application".equals(actionType) && "show_applications".equals(action);
-    }
-
     @Override
     public void execute(CommandContext context) {
         try {
@@ -87,9 +83,8 @@ public class ShowProjectApplicationsCommand implements Command {
     }
 
     // 🔥 РЕНДЕРЕР ДЛЯ ОТКЛИКОВ НА ПРОЕКТ (ДЛЯ ЗАКАЗЧИКА)
-    private List<Integer> renderProjectApplicationsPage(List<Long> pageApplicationIds, PaginationContext context) {
+    private void renderProjectApplicationsPage(List<Long> pageApplicationIds, PaginationContext context) {
         Long chatId = context.chatId();
-        List<Integer> messageIds = new ArrayList<>();
 
         // 🔥 ПОЛУЧАЕМ DTO ВМЕСТО ПОЛНЫХ СУЩНОСТЕЙ
         List<ApplicationDto> pageApplications = applicationService.getApplicationsByIds(pageApplicationIds);
@@ -99,7 +94,7 @@ public class ShowProjectApplicationsCommand implements Command {
             📨 <b>ОТКЛИКИ НА ПРОЕКТ</b>
             
             <i>Найдено %d откликов. Страница %d из %d</i>
-            """, context.entityIds().size(), context.currentPage() + 1, context.getTotalPages());
+            """, context.getTotalCount(), context.currentPage() + 1, context.getTotalPages());
 
         Integer headerId = botExecutor.getOrCreateMainMessageId(chatId);
         botExecutor.editMessageWithHtml(chatId, headerId, headerText, null);
@@ -110,19 +105,14 @@ public class ShowProjectApplicationsCommand implements Command {
             String applicationText = formatApplicationForCustomer(application, (context.currentPage() * context.pageSize()) + i + 1);
             InlineKeyboardMarkup keyboard = applicationKeyboards.createApplicationItemKeyboard(application.getId());
 
-            Integer cardId = botExecutor.sendHtmlMessageReturnId(chatId, applicationText, keyboard);
-            if (cardId != null) messageIds.add(cardId);
+            botExecutor.sendTemporaryHtmlMessage(chatId, applicationText, keyboard);
         }
 
         // Пагинация
 
         InlineKeyboardMarkup paginationKeyboard = commonKeyboards.createPaginationKeyboardForContext(context);
 
-        Integer navId = botExecutor.sendHtmlMessageReturnId(chatId, "<b>— Навигация —</b>", paginationKeyboard);
-        if (navId != null) messageIds.add(navId);
-
-
-        return messageIds;
+        botExecutor.sendTemporaryHtmlMessage(chatId, "<b>— Навигация —</b>", paginationKeyboard);
     }
 
 //    private Long extractProjectIdFromContext(PaginationContext context) {
@@ -145,7 +135,7 @@ public class ShowProjectApplicationsCommand implements Command {
                 📨 <b>ОТКЛИКИ НА ПРОЕКТ</b>
                 
                 <i>Найдено %d откликов. Страница %d из %d</i>
-                """, context.entityIds().size(), context.currentPage() + 1, context.getTotalPages());
+                """, context.getTotalCount(), context.currentPage() + 1, context.getTotalPages());
         }
 
         return String.format("""
@@ -160,7 +150,7 @@ public class ShowProjectApplicationsCommand implements Command {
                 escapeHtml(project.getTitle()),
                 project.getBudget(),
                 project.getEstimatedDays(),
-                context.entityIds().size(),
+                context.getTotalCount(),
                 context.currentPage() + 1,
                 context.getTotalPages()
         );
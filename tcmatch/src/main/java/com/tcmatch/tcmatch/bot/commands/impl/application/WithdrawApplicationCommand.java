@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.application;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.keyboards.ApplicationKeyboards;
@@ -14,6 +15,7 @@ import org.telegram.telegrambots.meta.api.objects.replykeyboard.InlineKeyboardMa
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@CallbackRoute(actionType = "application", action = "withdraw")
 public class WithdrawApplicationCommand implements Command {
 
     private final BotExecutor botExecutor;
@@ -21,11 +23,6 @@ public class WithdrawApplicationCommand implements Command {
     private final CommonKeyboards commonKeyboards;
     private final ApplicationKeyboards applicationKeyboards;
 
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        return "application".equals(actionType) && "withdraw".equals(action);
-    }
-
     @Override
     public void execute(CommandContext context) {
         try {
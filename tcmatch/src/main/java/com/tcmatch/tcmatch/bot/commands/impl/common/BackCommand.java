@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.common;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.dispatcher.CommandDispatcher;
@@ -19,6 +20,7 @@ import java.util.List;
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@CallbackRoute(actionType = "navigation", action = "back")
 public class BackCommand implements Command {
 
     private final UserSessionService userSessionService;
@@ -30,11 +32,6 @@ public class BackCommand implements Command {
     @Autowired
     private CommandDispatcher commandDispatcher;
 
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        return "navigation".equals(actionType) && "back".equals(action);
-    }
-
     public void execute(CommandContext context) {
         Long chatId = context.getChatId();
         Integer messageId = context.getMessageId();
@@ -72,8 +69,6 @@ public class BackCommand implements Command {
         navigateToScreen(chatId, previousScreen, messageId, userName);
     }
 
-
-
     private void showMainMenu(Long chatId) {
         try {
             String text = textMessageService.getMainMenuText();
@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.common;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.keyboards.CommonKeyboards;
@@ -14,6 +15,7 @@ import org.telegram.telegrambots.meta.api.objects.replykeyboard.InlineKeyboardMa
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@CallbackRoute(actionType = "main", action = "menu")
 public class MainMenuCommand implements Command {
 
     private final UserSessionService userSessionService;
@@ -22,10 +24,6 @@ public class MainMenuCommand implements Command {
     private final CommonKeyboards commonKeyboards;
     private final TextMessageService textMessageService;
 
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        return "main".equals(actionType) && "menu".equals(action);    }
-
     @Override
     public void execute(CommandContext context) {
         try {
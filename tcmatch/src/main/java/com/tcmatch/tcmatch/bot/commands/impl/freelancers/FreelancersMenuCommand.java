@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.freelancers;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.keyboards.FreelancersKeyboards;
@@ -12,16 +13,12 @@ import org.telegram.telegrambots.meta.api.objects.replykeyboard.InlineKeyboardMa
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@CallbackRoute(actionType = "freelancers", action = "menu")
 public class FreelancersMenuCommand implements Command {
 
     private final BotExecutor botExecutor;
     private final FreelancersKeyboards freelancersKeyboards;
 
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        return "freelancers".equals(actionType) && "menu".equals(action);
-    }
-
     @Override
     public void execute(CommandContext context) {
         try {
@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.help;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.keyboards.HelpKeyboards;
@@ -12,16 +13,12 @@ import org.telegram.telegrambots.meta.api.objects.replykeyboard.InlineKeyboardMa
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@CallbackRoute(actionType = "help", action = "menu")
 public class HelpMenuCommand implements Command {
 
     private final BotExecutor botExecutor;
     private final HelpKeyboards helpKeyboards;
 
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        return "help".equals(actionType) && "menu".equals(action);
-    }
-
     @Override
     public void execute(CommandContext context) {
         try {
@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.help;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.keyboards.CommonKeyboards;
@@ -15,6 +16,7 @@ import org.telegram.telegrambots.meta.api.objects.replykeyboard.InlineKeyboardMa
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@CallbackRoute(actionType = "help", action = "rules")
 public class ShowHelpRulesCommand implements Command {
 
     private final BotExecutor botExecutor;
@@ -22,11 +24,6 @@ public class ShowHelpRulesCommand implements Command {
     private final ResourceLoader resourceLoader;
     private final UserSessionService userSessionService;
 
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        return "help".equals(actionType) && "rules".equals(action);
-    }
-
     @Override
     public void execute(CommandContext context) {
         try {
@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.help;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.keyboards.CommonKeyboards;
@@ -12,16 +13,12 @@ import org.telegram.telegrambots.meta.api.objects.replykeyboard.InlineKeyboardMa
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@CallbackRoute(actionType = "help", action = "info")
 public class ShowInfoCommand implements Command {
 
     private final BotExecutor botExecutor;
     private final CommonKeyboards commonKeyboards;
 
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        return "help".equals(actionType) && "info".equals(action);
-    }
-
     @Override
     public void execute(CommandContext context) {
         try {
@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.notification;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.dispatcher.CommandDispatcher;
@@ -15,6 +16,7 @@ import org.springframework.stereotype.Component;
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@CallbackRoute(actionType = "notification", action = "delete")
 public class DeleteNotificationCommand implements Command {
 
     private final NotificationService notificationService;
@@ -24,12 +26,6 @@ public class DeleteNotificationCommand implements Command {
     @Autowired
     private CommandDispatcher commandDispatcher;
 
-
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        return "notification".equals(actionType) && "delete".equals(action);
-    }
-
     @Override
     public void execute(CommandContext context) {
         Long chatId = context.getChatId();
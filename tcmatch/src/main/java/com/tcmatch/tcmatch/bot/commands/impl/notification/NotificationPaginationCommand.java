@@ -1,11 +1,12 @@
 package com.tcmatch.tcmatch.bot.commands.impl.notification;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.keyboards.CommonKeyboards;
 import com.tcmatch.tcmatch.bot.keyboards.NotificationKeyboards;
-import com.tcmatch.tcmatch.model.Notification;
+import com.tcmatch.tcmatch.model.dto.NotificationPreview;
 import com.tcmatch.tcmatch.model.dto.PaginationContext;
 import com.tcmatch.tcmatch.service.NotificationService;
 import com.tcmatch.tcmatch.service.PaginationManager;
@@ -15,10 +16,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.telegram.telegrambots.meta.api.objects.replykeyboard.InlineKeyboardMarkup;
 
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.function.BiFunction;
+import java.util.function.BiConsumer;
 
 import static com.tcmatch.tcmatch.util.PaginationContextKeys.NOTIFICATIONS_PER_PAGE;
 import static com.tcmatch.tcmatch.util.PaginationContextKeys.NOTIFICATION_CENTER_CONTEXT_KEY;
@@ -26,6 +27,7 @@ import static com.tcmatch.tcmatch.util.PaginationContextKeys.NOTIFICATION_CENTER
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@CallbackRoute(actionType = "notification", action = "pagination")
 public class NotificationPaginationCommand implements Command {
 
     private final BotExecutor botExecutor;
@@ -35,10 +37,7 @@ public class NotificationPaginationCommand implements Command {
     private final NotificationService notificationService;
     private final UserSessionService userSessionService;
 
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        return "notification".equals(actionType) && "pagination".equals(action);
-    }
+    private static final DateTimeFormatter CARD_DATE_FORMAT = DateTimeFormatter.ofPattern("dd.MM HH:mm");
 
     @Override
     public void execute(CommandContext context) {
@@ -52,7 +51,7 @@ public class NotificationPaginationCommand implements Command {
             String entityType = parts[2];
 
             // 🔥 ОПРЕДЕЛЯЕМ РЕНДЕРЕР (логика пагинации откликов, которую ты прислал)
-            BiFunction<List<Long>, PaginationContext, List<Integer>> renderer = null;
+            BiConsumer<List<Long>, PaginationContext> renderer = null;
 
             if (NOTIFICATION_CENTER_CONTEXT_KEY.equals(contextKey)) {
                 renderer = this::renderNotificationPage;
@@ -64,13 +63,13 @@ public class NotificationPaginationCommand implements Command {
             }
 
             // 🔥 ВЫЗЫВАЕМ PAGINATION MANAGER
-            paginationManager.renderIdBasedPage(
+            paginationManager.renderKeysetPage(
                     context.getChatId(),
                     contextKey,
-                    null, // ID уже в контексте
                     entityType,
                     direction,
                     NOTIFICATIONS_PER_PAGE,
+                    notificationService.notificationPageSource(context.getChatId()),
                     renderer
             );
 
@@ -81,57 +80,56 @@ public class NotificationPaginationCommand implements Command {
     }
 
     // 🔥 МЕТОД РЕНДЕРИНГА
-    public List<Integer> renderNotificationPage(List<Long> pageNotificationIds, PaginationContext context) {
+    public void renderNotificationPage(List<Long> pageNotificationIds, PaginationContext context) {
         Long chatId = context.chatId();
-        List<Integer> messageIds = new ArrayList<>();
 
         // 1. Очистка предыдущих сообщений (по твоей логике из ApplicationPaginationCommand)
         botExecutor.deletePreviousMessages(chatId);
 
-        // 2. Получаем DTO/Entity по ID
-        List<Notification> notifications = notificationService.getNotificationsByIds(pageNotificationIds);
+        // 2. Превью страницы одним упорядоченным запросом (без полного текста)
+        List<NotificationPreview> notifications = notificationService.getNotificationPreviews(pageNotificationIds);
 
         // 3. Заголовок
         String headerText = String.format("""
             🔔 <b>ЦЕНТР УВЕДОМЛЕНИЙ</b>
             
-            <i>Найдено %d уведомлений. Страница %d из %d</i>
-            """, context.entityIds().size(), context.currentPage() + 1, context.getTotalPages());
+            <i>Найдено %d уведомлений, непрочитанных: %d. Страница %d из %d</i>
+            """, context.getTotalCount(), notificationService.getUnreadCount(chatId),
+                context.currentPage() + 1, context.getTotalPages());
 
         Integer headerId = botExecutor.getOrCreateMainMessageId(chatId);
         botExecutor.editMessageWithHtml(chatId, headerId, headerText, null);
 
         // 4. Карточки уведомлений
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd.MM HH:mm");
-
-        for (Notification n : notifications) {
-            String statusIcon = n.getStatus().name().equals("READ") ? "⚫" : "🔴";
-
-            String notificationText = String.format("""
-                %s <b>#%d </b> (<i>%s</i>)
-                
-                <b>%s</b>
-                """,
-                    statusIcon,
-                    n.getId(),
-                    n.getCreatedAt().format(formatter),
-                    n.getText()
-            );
+        for (NotificationPreview n : notifications) {
+            String notificationText = formatNotificationCard(n.id(), n.isRead(), n.createdAt(), n.previewHtml());
 
-            // Клавиатура действий (Посмотреть/Удалить)
-            InlineKeyboardMarkup keyboard = notificationKeyboards.createNotificationItemKeyboard(n.getId());
+            // Клавиатура действий (Посмотреть/Удалить); "Посмотреть" - если есть переход или текст обрезан
+            InlineKeyboardMarkup keyboard = notificationKeyboards.createNotificationItemKeyboard(
+                    n.id(), n.hasCallback() || n.isTruncated());
 
-            Integer cardId = botExecutor.sendHtmlMessageReturnId(chatId, notificationText, keyboard);
+            botExecutor.sendTemporaryHtmlMessage(chatId, notificationText, keyboard);
 
-            if (cardId != null) messageIds.add(cardId);
         }
 
         // 5. Пагинация
         InlineKeyboardMarkup paginationKeyboard = commonKeyboards.createPaginationKeyboardForContext(context);
 
-        Integer navId = botExecutor.sendHtmlMessageReturnId(chatId, "<b>— Навигация —</b>", paginationKeyboard);
-        if (navId != null) messageIds.add(navId);
+        botExecutor.sendTemporaryHtmlMessage(chatId, "<b>— Навигация —</b>", paginationKeyboard);
+    }
+
+    public static String formatNotificationCard(Long notificationId, boolean read, LocalDateTime createdAt, String text) {
+        String statusIcon = read ? "⚫" : "🔴";
 
-        return messageIds;
+        return String.format("""
+            %s <b>#%d </b> (<i>%s</i>)
+            
+            <b>%s</b>
+            """,
+                statusIcon,
+                notificationId,
+                createdAt.format(CARD_DATE_FORMAT),
+                text
+        );
     }
 }
\ No newline at end of file
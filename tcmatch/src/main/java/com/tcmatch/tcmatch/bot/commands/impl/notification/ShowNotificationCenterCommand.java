@@ -1,9 +1,11 @@
 package com.tcmatch.tcmatch.bot.commands.impl.notification;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.keyboards.CommonKeyboards;
+import com.tcmatch.tcmatch.service.KeysetPageSource;
 import com.tcmatch.tcmatch.service.NotificationService;
 import com.tcmatch.tcmatch.service.PaginationManager;
 import com.tcmatch.tcmatch.service.UserService;
@@ -13,13 +15,12 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
-
 import static com.tcmatch.tcmatch.util.PaginationContextKeys.NOTIFICATION_CENTER_CONTEXT_KEY;
 
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@CallbackRoute(actionType = "notification", action = "main")
 public class ShowNotificationCenterCommand implements Command {
 
     private final BotExecutor botExecutor;
@@ -32,11 +33,6 @@ public class ShowNotificationCenterCommand implements Command {
 
     private static final String ENTITY_TYPE = "NOTIFICATION";
 
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        return "notification".equals(actionType) && "main".equals(action);
-    }
-
     @Override
     public void execute(CommandContext context) {
         Long chatId = context.getChatId();
@@ -50,11 +46,10 @@ public class ShowNotificationCenterCommand implements Command {
 
             userSessionService.removeScreensOfType(chatId, "subscription");
 
-            // 2. Получаем все ID уведомлений
-            // (Вам нужно добавить в NotificationRepository метод findIdByUserIdOrderByCreatedAtDesc)
-            List<Long> allNotificationIds = notificationService.getAllNotificationIds(chatId);
+            // 2. Keyset-источник: в сессии хранятся только границы страницы
+            KeysetPageSource source = notificationService.notificationPageSource(chatId);
 
-            if (allNotificationIds.isEmpty()) {
+            if (source.count() == 0) {
                 botExecutor.deletePreviousMessages(chatId);
                 Integer mainMessageId = botExecutor.getOrCreateMainMessageId(chatId);
                 botExecutor.editMessageWithHtml(
@@ -67,13 +62,13 @@ public class ShowNotificationCenterCommand implements Command {
             }
 
             // 3. Редирект на команду пагинации, чтобы отобразить ПЕРВУЮ страницу (0)
-            paginationManager.renderIdBasedPage(
+            paginationManager.renderKeysetPage(
                     chatId,
                     NOTIFICATION_CENTER_CONTEXT_KEY,
-                    allNotificationIds,
                     ENTITY_TYPE,
                     "init",
                     PaginationContextKeys.NOTIFICATIONS_PER_PAGE,
+                    source,
                     notificationPaginationCommand::renderNotificationPage // Передаем метод рендерера
             );
 
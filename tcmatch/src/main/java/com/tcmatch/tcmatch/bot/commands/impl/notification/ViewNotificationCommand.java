@@ -1,9 +1,11 @@
 package com.tcmatch.tcmatch.bot.commands.impl.notification;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.dispatcher.CommandDispatcher;
+import com.tcmatch.tcmatch.bot.keyboards.NotificationKeyboards;
 import com.tcmatch.tcmatch.model.Notification;
 import com.tcmatch.tcmatch.service.NotificationService;
 import lombok.RequiredArgsConstructor;
@@ -15,21 +17,18 @@ import org.springframework.stereotype.Component;
 @Component
 @Slf4j
 @RequiredArgsConstructor // Создаст конструктор для final-полей (Service и Executor)
+@CallbackRoute(actionType = "notification", action = "view")
 public class ViewNotificationCommand implements Command {
 
     private final NotificationService notificationService;
     private final BotExecutor botExecutor;
+    private final NotificationKeyboards notificationKeyboards;
 
     // 🔥 РАЗРЫВАЕМ ЦИКЛ: Field Injection + @Lazy + @Autowired (не final)
     @Lazy
     @Autowired
     private CommandDispatcher commandDispatcher;
 
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        return "notification".equals(actionType) && "view".equals(action);
-    }
-
     @Override
     public void execute(CommandContext context) {
         Long chatId = context.getChatId();
@@ -41,10 +40,22 @@ public class ViewNotificationCommand implements Command {
             // 1. ПОМЕЧАЕМ УВЕДОМЛЕНИЕ КАК ПРОЧИТАННОЕ
             notificationService.markAsRead(notificationId);
 
-            // 2. ПОЛУЧАЕМ КОЛБЭК ДЛЯ ПЕРЕНАПРАВЛЕНИЯ
+            // 2. ПОЛУЧАЕМ КОЛБЭК ДЛЯ ПЕРЕНАПРАВЛЕНИЯ (полный текст грузится только здесь)
             Notification notification = notificationService.findById(notificationId);
             String redirectCallbackData = notification.getCallbackData();
 
+            // 🔥 Без перехода - раскрываем карточку полным текстом вместо обрезанного превью
+            if (redirectCallbackData == null || redirectCallbackData.trim().isEmpty()) {
+                botExecutor.editMessageWithHtml(
+                        chatId,
+                        messageId,
+                        NotificationPaginationCommand.formatNotificationCard(
+                                notification.getId(), true, notification.getCreatedAt(), notification.getText()),
+                        notificationKeyboards.createNotificationItemKeyboard(notificationId, false)
+                );
+                return;
+            }
+
 //            // 3. ОТВЕЧАЕМ НА КОЛБЭК (убираем "часики")
 //            botExecutor.answerCallbackQuery(context.getCallbackQueryId(), "Переход...");
 
@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.order;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.keyboards.CommonKeyboards;
@@ -20,6 +21,7 @@ import org.springframework.stereotype.Component;
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@CallbackRoute(actionType = "order", action = "confirm_creation")
 public class ConfirmOrderCreationCommand implements Command {
 
     private final BotExecutor botExecutor;
@@ -28,12 +30,6 @@ public class ConfirmOrderCreationCommand implements Command {
     private final UserService userService; // 🔥 Нужен для получения контактов
     private final CommonKeyboards commonKeyboards;
 
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        // actionType = order, action = confirm_creation
-        return "order".equals(actionType) && "confirm_creation".equals(action);
-    }
-
     @Override
     public void execute(CommandContext context) {
         Long customerChatId = context.getChatId();
@@ -1,5 +1,6 @@
 package com.tcmatch.tcmatch.bot.commands.impl.order;
 
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import lombok.RequiredArgsConstructor;
@@ -9,6 +10,7 @@ import org.springframework.stereotype.Component;
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@CallbackRoute(actionType = "order", action = "back_to_type")
 public class OrderBackToPaymentTypeCommand implements Command {
 
     // 🔥 Инжектируем команду, на которую нужно перенаправить
@@ -18,12 +20,6 @@ public class OrderBackToPaymentTypeCommand implements Command {
     // МЕТОДЫ ИНТЕРФЕЙСА COMMAND
     // -------------------------------------------------------------------
 
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        // actionType = order, action = back_to_type
-        return "order".equals(actionType) && "back_to_type".equals(action);
-    }
-
     @Override
     public void execute(CommandContext context) {
         Long chatId = context.getChatId();
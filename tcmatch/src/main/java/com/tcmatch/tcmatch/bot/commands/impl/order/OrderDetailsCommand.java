@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.order;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.keyboards.CommonKeyboards;
@@ -20,6 +21,7 @@ import org.telegram.telegrambots.meta.api.objects.replykeyboard.InlineKeyboardMa
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@CallbackRoute(actionType = "order", action = "details")
 public class OrderDetailsCommand implements Command {
 
     private final BotExecutor botExecutor;
@@ -30,15 +32,6 @@ public class OrderDetailsCommand implements Command {
     private final OrderKeyboards orderKeyboards; // 🔥 Для кнопок ("Оплатить", "Завершить")
     private final CommonKeyboards commonKeyboards;
 
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        // Эта команда может вызываться либо напрямую (order:details)
-        // Либо через перенаправление (тогда actionType/action могут быть от проекта/отклика)
-        // Для простоты сделаем ее только для прямого вызова,
-        // а в execute() будем использовать context.getParameter()
-        return "order".equals(actionType) && "details".equals(action);
-    }
-
     @Override
     public void execute(CommandContext context) {
         Long chatId = context.getChatId();
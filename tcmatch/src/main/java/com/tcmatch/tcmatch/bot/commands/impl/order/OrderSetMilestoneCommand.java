@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.order;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.keyboards.OrderKeyboards;
@@ -16,6 +17,7 @@ import org.springframework.stereotype.Component;
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@CallbackRoute(actionType = "order", action = "set_milestones")
 public class OrderSetMilestoneCommand implements Command {
 
     private final BotExecutor botExecutor;
@@ -24,12 +26,6 @@ public class OrderSetMilestoneCommand implements Command {
     private final ProjectService projectService;
     private final OrderKeyboards orderKeyboards;
 
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        // actionType = order, action = set_milestones
-        return "order".equals(actionType) && "set_milestones".equals(action);
-    }
-
     @Override
     public void execute(CommandContext context) {
         Long chatId = context.getChatId();
@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.order;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.keyboards.OrderKeyboards;
@@ -20,6 +21,7 @@ import org.springframework.stereotype.Component;
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@CallbackRoute(actionType = "order", action = "set_type")
 public class OrderSetPaymentTypeCommand implements Command {
 
     private final BotExecutor botExecutor;
@@ -28,12 +30,6 @@ public class OrderSetPaymentTypeCommand implements Command {
     private final ProjectService projectService;
     private final OrderKeyboards orderKeyboards;
 
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        // actionType = order, action = set_type
-        return "order".equals(actionType) && "set_type".equals(action);
-    }
-
     @Override
     public void execute(CommandContext context) {
         Long chatId = context.getChatId();
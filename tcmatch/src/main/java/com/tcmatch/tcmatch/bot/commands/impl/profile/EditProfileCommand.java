@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.profile;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.keyboards.CommonKeyboards;
@@ -12,17 +13,13 @@ import org.springframework.stereotype.Component;
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@CallbackRoute(actionType = "user_profile", action = "edit")
 public class EditProfileCommand implements Command {
 
     private final CommonKeyboards commonKeyboards;
     private final ProfileKeyboards profileKeyboards;
     private final BotExecutor botExecutor;
 
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        return "user_profile".equals(actionType) && "edit".equals(action);
-    }
-
     @Override
     public void execute(CommandContext context) {
         String editText = """
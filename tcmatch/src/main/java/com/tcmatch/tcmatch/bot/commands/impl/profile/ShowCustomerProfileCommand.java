@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.profile;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.keyboards.CommonKeyboards;
@@ -22,6 +23,7 @@ import java.util.List;
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@CallbackRoute(actionType = "profile", action = "show_customer")
 public class ShowCustomerProfileCommand implements Command {
 
     private final BotExecutor botExecutor;
@@ -29,10 +31,6 @@ public class ShowCustomerProfileCommand implements Command {
     private final UserService userService;
     private final CommonKeyboards commonKeyboards;
     private final ProfileKeyboards profileKeyboards;
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        return "profile".equals(actionType) && "show_customer".equals(action);
-    }
 
     @Override
     public void execute(CommandContext context) {
@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.profile;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.keyboards.CommonKeyboards;
@@ -19,6 +20,7 @@ import java.time.format.DateTimeFormatter;
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@CallbackRoute(actionType = "profile", action = "show_freelancer")
 public class ShowFreelancerProfileCommand implements Command {
 
     private final BotExecutor botExecutor;
@@ -26,11 +28,6 @@ public class ShowFreelancerProfileCommand implements Command {
     private final CommonKeyboards commonKeyboards;
     private final ProfileKeyboards profileKeyboards;
 
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        return "profile".equals(actionType) && "show_freelancer".equals(action);
-    }
-
     @Override
     public void execute(CommandContext context) {
         try {
@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.profile;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.keyboards.CommonKeyboards;
@@ -18,6 +19,7 @@ import java.util.Map;
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@CallbackRoute(actionType = "user_profile", action = "statistics")
 public class StatisticsCommand implements Command {
 
     private final UserService userService;
@@ -25,11 +27,6 @@ public class StatisticsCommand implements Command {
     private final ProfileKeyboards profileKeyboards;
     private final BotExecutor botExecutor;
 
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        return "user_profile".equals(actionType) && "statistics".equals(action);
-    }
-
     @Override
     public void execute(CommandContext context) {
         User user = userService.findByChatId(context.getChatId()).orElseThrow();
@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.project;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.keyboards.CommonKeyboards;
@@ -14,17 +15,13 @@ import org.springframework.stereotype.Component;
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@CallbackRoute(actionType = "project", action = "cancel_creation")
 public class CancelCreateProjectCommand implements Command {
 
     private final ProjectCreationService projectCreationService;
     private final BotExecutor botExecutor;
     private final CommonKeyboards commonKeyboards;
 
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        return "project".equals(actionType) && "cancel_creation".equals(action);
-    }
-
     @Override
     public void execute(CommandContext context) {
         projectCreationService.cancelCreation(context.getChatId());
@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.project;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.keyboards.CommonKeyboards;
@@ -15,6 +16,7 @@ import org.telegram.telegrambots.meta.api.objects.replykeyboard.InlineKeyboardMa
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@CallbackRoute(actionType = "project", action = "edit_cancel")
 public class CancelProjectEditingCommand implements Command {
 
     private final BotExecutor botExecutor;
@@ -22,11 +24,6 @@ public class CancelProjectEditingCommand implements Command {
     private final CommonKeyboards commonKeyboards;
     private final ProjectKeyboards projectKeyboards;
 
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        return "project".equals(actionType) && "edit_cancel".equals(action);
-    }
-
     @Override
     public void execute(CommandContext context) {
         try {
@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.project;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.keyboards.CommonKeyboards;
@@ -17,6 +18,7 @@ import org.springframework.stereotype.Component;
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@CallbackRoute(actionType = "project", action = "confirm")
 public class ConfirmProjectCommand implements Command {
 
     private final BotExecutor botExecutor;
@@ -26,11 +28,6 @@ public class ConfirmProjectCommand implements Command {
     private final ProjectKeyboards projectKeyboards;
     private final UserSessionService userSessionService;
 
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        return "project".equals(actionType) && "confirm".equals(action);
-    }
-
     @Override
     public void execute(CommandContext context) {
         try {
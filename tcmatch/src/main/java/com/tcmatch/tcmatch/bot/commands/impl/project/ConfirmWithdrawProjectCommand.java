@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.project;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.keyboards.CommonKeyboards;
@@ -18,6 +19,7 @@ import java.time.format.DateTimeFormatter;
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@CallbackRoute(actionType = "project", action = "confirm_withdraw")
 public class ConfirmWithdrawProjectCommand implements Command {
 
     private final ProjectService projectService;
@@ -25,11 +27,6 @@ public class ConfirmWithdrawProjectCommand implements Command {
     private final CommonKeyboards commonKeyboards;
     private final ProjectKeyboards projectKeyboards;
 
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        return "project".equals(actionType) && "confirm_withdraw".equals(action);
-    }
-
     @Override
     public void execute(CommandContext context) {
         Long chatId = context.getChatId();
@@ -115,7 +112,6 @@ public class ConfirmWithdrawProjectCommand implements Command {
         return warning.toString();
     }
 
-
     private boolean canWithdrawProject(UserRole.ProjectStatus projectStatus) {
         // 🔥 ПРОЕКТ МОЖНО УДАЛИТЬ ТОЛЬКО В ОПРЕДЕЛЕННЫХ СТАТУСАХ
         return switch (projectStatus) {
@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.project;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.keyboards.CommonKeyboards;
@@ -16,6 +17,7 @@ import org.telegram.telegrambots.meta.api.objects.replykeyboard.InlineKeyboardMa
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@CallbackRoute(actionType = "project", action = "create")
 public class CreateProjectCommand implements Command {
 
     private final BotExecutor botExecutor;
@@ -23,11 +25,6 @@ public class CreateProjectCommand implements Command {
     private final CommonKeyboards commonKeyboards;
     private final ProjectKeyboards projectKeyboards;    private final UserSessionService userSessionService;
 
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        return "project".equals(actionType) && "create".equals(action);
-    }
-
     @Override
     public void execute(CommandContext context) {
         Long chatId = context.getChatId();
@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.project;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.keyboards.CommonKeyboards;
@@ -15,9 +16,10 @@ import org.telegram.telegrambots.meta.api.objects.replykeyboard.InlineKeyboardMa
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@CallbackRoute(actionType = "project", action = "favorite")
 public class FavoriteProjectCommand implements Command {
 
-    private final UserService userService;
+    private final FavoriteProjectService favoriteProjectService;
     private final BotExecutor botExecutor;
     private final ProjectService projectService;
     private final ApplicationService applicationService;
@@ -26,11 +28,6 @@ public class FavoriteProjectCommand implements Command {
     private final CommonKeyboards commonKeyboards;
     private final ProjectKeyboards projectKeyboards;
 
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        return "project".equals(actionType) && "favorite".equals(action);
-    }
-
     @Override
     public void execute(CommandContext context) {
         Long chatId = context.getChatId();
@@ -56,10 +53,10 @@ public class FavoriteProjectCommand implements Command {
 
         try {
             if ("add".equals(actionType)) {
-                userService.addFavoriteProject(chatId, projectId);
+                favoriteProjectService.addFavoriteProject(chatId, projectId);
                 log.warn("Пользователь {} добавил в избранное проект {}", chatId, projectId);
             } else if ("remove".equals(actionType)) {
-                userService.removeFavoriteProject(chatId, projectId);
+                favoriteProjectService.removeFavoriteProject(chatId, projectId);
                 log.warn("Пользователь {} удалил из избранного проект {}", chatId, projectId);
             } else {
                 log.warn("❌ Неизвестный тип действия для избранного: {}", actionType);
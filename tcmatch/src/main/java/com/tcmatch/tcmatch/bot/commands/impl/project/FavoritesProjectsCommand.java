@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.project;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.keyboards.CommonKeyboards;
@@ -15,7 +16,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.telegram.telegrambots.meta.api.objects.replykeyboard.InlineKeyboardMarkup;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import static com.tcmatch.tcmatch.util.PaginationContextKeys.PROJECTS_PER_PAGE;
@@ -23,6 +23,7 @@ import static com.tcmatch.tcmatch.util.PaginationContextKeys.PROJECTS_PER_PAGE;
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@CallbackRoute(actionType = "project", action = "favorites")
 public class FavoritesProjectsCommand implements Command {
 
     private final ProjectService projectService;
@@ -32,11 +33,6 @@ public class FavoritesProjectsCommand implements Command {
     private final ProjectKeyboards projectKeyboards;
     private final UserSessionService userSessionService;
 
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        return "project".equals(actionType) && "favorites".equals(action);
-    }
-
     @Override
     public void execute(CommandContext context) {
         Long chatId = context.getChatId();
@@ -78,10 +74,9 @@ public class FavoritesProjectsCommand implements Command {
         }
     }
 
-    // 🔥 Функция рендеринга: принимает данные и возвращает список ID отправленных сообщений
-    public List<Integer> renderFavoritesPage(List<Long> pageProjectIds, PaginationContext context) {
+    // 🔥 Функция рендеринга: отправляет карточки страницы временными сообщениями
+    public void renderFavoritesPage(List<Long> pageProjectIds, PaginationContext context) {
         Long chatId = context.chatId();
-        List<Integer> messageIds = new ArrayList<>();
 
         // Получаем проекты по ID
         List<ProjectDto> pageProjects = projectService.getProjectsByIds(pageProjectIds);
@@ -91,7 +86,7 @@ public class FavoritesProjectsCommand implements Command {
                 ⭐ <b>ИЗБРАННЫЕ ПРОЕКТЫ</b>
 
                 <i>Найдено %d проектов. Страница %d из %d</i>
-                """, context.entityIds().size(), context.currentPage() + 1, context.getTotalPages());
+                """, context.getTotalCount(), context.currentPage() + 1, context.getTotalPages());
 
 
         botExecutor.editMessageWithHtml(chatId, userSessionService.getMainMessageId(chatId), headerText, null);
@@ -102,17 +97,13 @@ public class FavoritesProjectsCommand implements Command {
             String projectCardText = formatProjectPreview(project, (context.currentPage() * context.pageSize()) + i + 1);
 
             InlineKeyboardMarkup keyboard = projectKeyboards.createProjectPreviewKeyboard(project.getId());
-            Integer cardId = botExecutor.sendHtmlMessageReturnId(chatId, projectCardText, keyboard);
-            if (cardId != null) messageIds.add(cardId);
+            botExecutor.sendTemporaryHtmlMessage(chatId, projectCardText, keyboard);
         }
 
         // Пагинация
 
         InlineKeyboardMarkup paginationKeyboard = commonKeyboards.createPaginationKeyboardForContext(context);
-        Integer navId = botExecutor.sendHtmlMessageReturnId(chatId, "<b>— Навигация —</b>", paginationKeyboard);
-        if (navId != null) messageIds.add(navId);
-
-        return messageIds;
+        botExecutor.sendTemporaryHtmlMessage(chatId, "<b>— Навигация —</b>", paginationKeyboard);
     }
 
     private String formatProjectPreview(ProjectDto project, int number) {
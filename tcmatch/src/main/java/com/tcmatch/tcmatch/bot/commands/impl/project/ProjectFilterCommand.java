@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.project;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.keyboards.CommonKeyboards;
@@ -8,22 +9,26 @@ import com.tcmatch.tcmatch.bot.keyboards.ProjectKeyboards;
 import com.tcmatch.tcmatch.model.dto.PaginationContext;
 import com.tcmatch.tcmatch.model.dto.ProjectDto;
 import com.tcmatch.tcmatch.model.dto.SearchRequest;
+import com.tcmatch.tcmatch.service.FavoriteProjectService;
+import com.tcmatch.tcmatch.service.KeysetPageSource;
 import com.tcmatch.tcmatch.service.PaginationManager;
 import com.tcmatch.tcmatch.service.ProjectService;
 import com.tcmatch.tcmatch.service.UserSessionService;
+import com.tcmatch.tcmatch.util.PaginationContextKeys;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.telegram.telegrambots.meta.api.objects.replykeyboard.InlineKeyboardMarkup;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 import static com.tcmatch.tcmatch.util.PaginationContextKeys.PROJECTS_PER_PAGE;
 
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@CallbackRoute(actionType = "project", action = "filter")
 public class ProjectFilterCommand implements Command {
 
     private final UserSessionService userSessionService;
@@ -32,13 +37,9 @@ public class ProjectFilterCommand implements Command {
     private final ProjectKeyboards projectKeyboards;
     private final PaginationManager paginationManager;
     private final ProjectService projectService;
+    private final FavoriteProjectService favoriteProjectService;
 
-    private static final String SEARCH_STATE_KEY = "search_request_data";
-
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        return "project".equals(actionType) && "filter".equals(action);
-    }
+    private static final String SEARCH_STATE_KEY = PaginationContextKeys.PROJECT_SEARCH_REQUEST_KEY;
 
     @Override
     public void execute(CommandContext context) {
@@ -84,6 +85,34 @@ public class ProjectFilterCommand implements Command {
     }
 
     private void handleFilterApply(CommandContext context, SearchRequest searchRequest) {
+        if (searchRequest.hasKeyword()) {
+            handleKeywordSearch(context, searchRequest);
+            return;
+        }
+
+        // 🔥 Keyset: вместо списка всех ID - COUNT и выборка одной страницы
+        KeysetPageSource source = projectService.searchPageSource(searchRequest);
+
+        if (source.count() == 0) {
+            showNoResults(context);
+            return;
+        }
+
+        userSessionService.putToContext(context.getChatId(), SEARCH_STATE_KEY, searchRequest);
+
+        paginationManager.renderKeysetPage(
+                context.getChatId(),
+                PaginationContextKeys.PROJECT_SEARCH_CONTEXT_KEY,
+                "PROJECT",
+                "init",
+                PROJECTS_PER_PAGE,
+                source,
+                this::renderSearchPage
+        );
+    }
+
+    // 🔥 Поиск по словам: ID уже отсортированы по релевантности и ограничены сверху
+    private void handleKeywordSearch(CommandContext context, SearchRequest searchRequest) {
         List<Long> searchResultIds = projectService.searchActiveProjectIds(searchRequest);
 
         if (searchResultIds.isEmpty()) {
@@ -95,7 +124,7 @@ public class ProjectFilterCommand implements Command {
 
         paginationManager.renderIdBasedPage(
                 context.getChatId(),
-                "project_search",
+                PaginationContextKeys.PROJECT_SEARCH_CONTEXT_KEY,
                 searchResultIds,
                 "PROJECT",
                 "init",
@@ -151,44 +180,41 @@ public class ProjectFilterCommand implements Command {
         botExecutor.editMessageWithHtml(context.getChatId(), context.getMessageId(), text, keyboard);
     }
 
-    public List<Integer> renderSearchPage(List<Long> pageProjectIds, PaginationContext context) {
+    public void renderSearchPage(List<Long> pageProjectIds, PaginationContext context) {
         Long chatId = context.chatId();
-        List<Integer> messageIds = new ArrayList<>();
 
         Integer mainMessageId = botExecutor.getOrCreateMainMessageId(chatId);
 
         // Получаем проекты по ID
         List<ProjectDto> pageProjects = projectService.getProjectsByIds(pageProjectIds);
 
+        // 🔥 Отметки избранного для всей страницы - одним запросом
+        Set<Long> favoriteIds = favoriteProjectService.findFavoriteProjectIds(chatId, pageProjectIds);
+
         //Карточки Проектов
         for (int i = 0; i < pageProjects.size(); i++) {
             ProjectDto project = pageProjects.get(i);
             // Расчет номера проекта для форматирования
-            String projectText = formatProjectPreview(project, (context.currentPage() * context.pageSize()) + i + 1);
+            String projectText = formatProjectPreview(project, (context.currentPage() * context.pageSize()) + i + 1,
+                    favoriteIds.contains(project.getId()));
 
             // Клавиатура: "Детали" / "Откликнуться"
             InlineKeyboardMarkup projectKeyboard = projectKeyboards.createProjectPreviewKeyboard(project.getId());
 
-            Integer newMessageId = botExecutor.sendHtmlMessageReturnId(chatId, projectText, projectKeyboard);
-            if (newMessageId != null) {
-                messageIds.add(newMessageId);
-            }
+            botExecutor.sendTemporaryHtmlMessage(chatId, projectText, projectKeyboard);
         }
 
         // Пагинация
 
         InlineKeyboardMarkup paginationKeyboard = commonKeyboards.createPaginationKeyboardForContext(context);
-        Integer navId = botExecutor.sendHtmlMessageReturnId(chatId, "<b>— Навигация —</b>", paginationKeyboard);
-        if (navId != null) messageIds.add(navId);
-
-        botExecutor.editMessageWithHtml(chatId, mainMessageId, "<b>🔍Найдено проектов: %d</b>".formatted(context.entityIds().size()), null);
+        botExecutor.sendTemporaryHtmlMessage(chatId, "<b>— Навигация —</b>", paginationKeyboard);
 
-        return messageIds;
+        botExecutor.editMessageWithHtml(chatId, mainMessageId, "<b>🔍Найдено проектов: %d</b>".formatted(context.getTotalCount()), null);
     }
 
-    private String formatProjectPreview(ProjectDto project, int number) {
+    private String formatProjectPreview(ProjectDto project, int number, boolean favorite) {
         return """
-            🎯 <b>**Проект #%d**</b>
+            🎯 <b>**Проект #%d**</b>%s
 
             <blockquote><b>💼 *%s*</b>
             <b>💰 Бюджет:</b> *%.0f руб*
@@ -199,6 +225,7 @@ public class ProjectFilterCommand implements Command {
             📝 <i>%s</i></blockquote>
             """.formatted(
                 number,
+                favorite ? " ⭐" : "",
                 project.getTitle(),
                 project.getBudget(),
                 project.getEstimatedDays(),
@@ -1,13 +1,16 @@
 package com.tcmatch.tcmatch.bot.commands.impl.project;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.keyboards.CommonKeyboards;
 import com.tcmatch.tcmatch.bot.keyboards.ProjectKeyboards;
 import com.tcmatch.tcmatch.model.dto.PaginationContext;
 import com.tcmatch.tcmatch.model.dto.ProjectDto;
+import com.tcmatch.tcmatch.model.dto.SearchRequest;
 import com.tcmatch.tcmatch.model.enums.UserRole;
+import com.tcmatch.tcmatch.service.FavoriteProjectService;
 import com.tcmatch.tcmatch.service.PaginationManager;
 import com.tcmatch.tcmatch.service.ProjectService;
 import com.tcmatch.tcmatch.service.UserSessionService;
@@ -17,15 +20,16 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.telegram.telegrambots.meta.api.objects.replykeyboard.InlineKeyboardMarkup;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.function.BiFunction;
+import java.util.Set;
+import java.util.function.BiConsumer;
 
 import static com.tcmatch.tcmatch.util.PaginationContextKeys.PROJECTS_PER_PAGE;
 
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@CallbackRoute(actionType = "project", action = "pagination")
 public class ProjectPaginationCommand implements Command {
 
     private final BotExecutor botExecutor;
@@ -33,13 +37,9 @@ public class ProjectPaginationCommand implements Command {
     private final CommonKeyboards commonKeyboards;
     private final ProjectKeyboards projectKeyboards;
     private final ProjectService projectService;
+    private final FavoriteProjectService favoriteProjectService;
     private final UserSessionService userSessionService;
 
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        return "project".equals(actionType) && "pagination".equals(action);
-    }
-
     @Override
     public void execute(CommandContext context) {
         try {
@@ -52,7 +52,7 @@ public class ProjectPaginationCommand implements Command {
             String entityType = parts[2];
 
             // 🔥 ОПРЕДЕЛЯЕМ РЕНДЕРЕР ДЛЯ КОНТЕКСТА
-            BiFunction<List<Long>, PaginationContext, List<Integer>> renderer = null;
+            BiConsumer<List<Long>, PaginationContext> renderer = null;
             int pageSize = PROJECTS_PER_PAGE;
 
             if (PaginationContextKeys.PROJECT_FAVORITES_CONTEXT_KEY.equals(contextKey)) {
@@ -68,6 +68,24 @@ public class ProjectPaginationCommand implements Command {
                 return;
             }
 
+            // 🔥 ПОИСК БЕЗ КЛЮЧЕВОГО СЛОВА - KEYSET-ПАГИНАЦИЯ ПО СОХРАНЕННОМУ ФИЛЬТРУ
+            // (результаты полнотекстового поиска - ранжированный список ID в контексте)
+            SearchRequest searchRequest = userSessionService.getFromContext(
+                    context.getChatId(), PaginationContextKeys.PROJECT_SEARCH_REQUEST_KEY, SearchRequest.class);
+            if (PaginationContextKeys.PROJECT_SEARCH_CONTEXT_KEY.equals(contextKey)
+                    && (searchRequest == null || !searchRequest.hasKeyword())) {
+                paginationManager.renderKeysetPage(
+                        context.getChatId(),
+                        contextKey,
+                        entityType,
+                        direction,
+                        pageSize,
+                        projectService.searchPageSource(searchRequest),
+                        renderer
+                );
+                return;
+            }
+
             // 🔥 ВЫЗЫВАЕМ PAGINATION MANAGER
             paginationManager.renderIdBasedPage(
                     context.getChatId(),
@@ -85,9 +103,8 @@ public class ProjectPaginationCommand implements Command {
         }
     }
 
-    public List<Integer> renderCustomerProjectsPage(List<Long> pageProjectIds, PaginationContext context) {
+    public void renderCustomerProjectsPage(List<Long> pageProjectIds, PaginationContext context) {
         Long chatId = context.chatId();
-        List<Integer> messageIds = new ArrayList<>();
 
         // Получаем проекты по ID
         List<ProjectDto> pageProjects = projectService.getProjectsByIds(pageProjectIds);
@@ -100,59 +117,49 @@ public class ProjectPaginationCommand implements Command {
             // Клавиатура для карточки проекта
             InlineKeyboardMarkup projectKeyboard = projectKeyboards.createProjectPreviewKeyboard(project.getId());
 
-            Integer cardId = botExecutor.sendHtmlMessageReturnId(chatId, projectText, projectKeyboard);
-            if (cardId != null) messageIds.add(cardId);
+            botExecutor.sendTemporaryHtmlMessage(chatId, projectText, projectKeyboard);
         }
 
         // Пагинация
         InlineKeyboardMarkup paginationKeyboard = commonKeyboards.createPaginationKeyboardForContext(context);
-        Integer navId = botExecutor.sendHtmlMessageReturnId(chatId, "<b>— Навигация —</b>", paginationKeyboard);
-        if (navId != null) messageIds.add(navId);
-
-        return messageIds;
+        botExecutor.sendTemporaryHtmlMessage(chatId, "<b>— Навигация —</b>", paginationKeyboard);
     }
 
-    public List<Integer> renderSearchPage(List<Long> pageProjectIds, PaginationContext context) {
+    public void renderSearchPage(List<Long> pageProjectIds, PaginationContext context) {
         Long chatId = context.chatId();
         Integer messageId = botExecutor.getOrCreateMainMessageId(chatId);
 
-        List<Integer> messageIds = new ArrayList<>();
 
         // Получаем проекты по ID
         List<ProjectDto> pageProjects = projectService.getProjectsByIds(pageProjectIds);
 
-        botExecutor.editMessageWithHtml(chatId, messageId, "<b>🔍Найдено проектов: %d</b>".formatted(context.entityIds().size()), null);
+        botExecutor.editMessageWithHtml(chatId, messageId, "<b>🔍Найдено проектов: %d</b>".formatted(context.getTotalCount()), null);
 
 
+        // 🔥 Отметки избранного для всей страницы - одним запросом
+        Set<Long> favoriteIds = favoriteProjectService.findFavoriteProjectIds(chatId, pageProjectIds);
+
         //Карточки Проектов
         for (int i = 0; i < pageProjects.size(); i++) {
             ProjectDto project = pageProjects.get(i);
             // Расчет номера проекта для форматирования
-            String projectText = formatProjectPreview(project, (context.currentPage() * context.pageSize()) + i + 1);
+            String projectText = formatProjectPreview(project, (context.currentPage() * context.pageSize()) + i + 1,
+                    favoriteIds.contains(project.getId()));
 
             // Клавиатура: "Детали" / "Откликнуться"
             InlineKeyboardMarkup projectKeyboard = projectKeyboards.createProjectPreviewKeyboard(project.getId());
 
-            Integer newMessageId = botExecutor.sendHtmlMessageReturnId(chatId, projectText, projectKeyboard);
-            if (newMessageId != null) {
-                messageIds.add(newMessageId);
-            }
+            botExecutor.sendTemporaryHtmlMessage(chatId, projectText, projectKeyboard);
         }
 
         // Пагинация
         InlineKeyboardMarkup paginationKeyboard = commonKeyboards.createPaginationKeyboardForContext(context);
-        Integer navId = botExecutor.sendHtmlMessageReturnId(chatId, "<b>— Навигация —</b>", paginationKeyboard);
-        if (navId != null) messageIds.add(navId);
-
-
-
-        return messageIds;
+        botExecutor.sendTemporaryHtmlMessage(chatId, "<b>— Навигация —</b>", paginationKeyboard);
     }
 
-    // 🔥 Функция рендеринга: принимает данные и возвращает список ID отправленных сообщений
-    public List<Integer> renderFavoritesPage(List<Long> pageProjectIds, PaginationContext context) {
+    // 🔥 Функция рендеринга: отправляет карточки страницы временными сообщениями
+    public void renderFavoritesPage(List<Long> pageProjectIds, PaginationContext context) {
         Long chatId = context.chatId();
-        List<Integer> messageIds = new ArrayList<>();
 
         // Получаем проекты по ID
         List<ProjectDto> pageProjects = projectService.getProjectsByIds(pageProjectIds);
@@ -162,7 +169,7 @@ public class ProjectPaginationCommand implements Command {
                 ⭐ <b>ИЗБРАННЫЕ ПРОЕКТЫ</b>
 
                 <i>Найдено %d проектов. Страница %d из %d</i>
-                """, context.entityIds().size(), context.currentPage() + 1, context.getTotalPages());
+                """, context.getTotalCount(), context.currentPage() + 1, context.getTotalPages());
 
         Integer headerId = botExecutor.getOrCreateMainMessageId(chatId);
         botExecutor.editMessageWithHtml(chatId, headerId, headerText, null);
@@ -170,25 +177,21 @@ public class ProjectPaginationCommand implements Command {
         // 2. Отправка Карточек
         for (int i = 0; i < pageProjects.size(); i++) {
             ProjectDto project = pageProjects.get(i);
-            String projectCardText = formatProjectPreview(project, (context.currentPage() * context.pageSize()) + i + 1);
+            String projectCardText = formatProjectPreview(project, (context.currentPage() * context.pageSize()) + i + 1, false);
 
             InlineKeyboardMarkup keyboard = projectKeyboards.createProjectPreviewKeyboard(project.getId());
-            Integer cardId = botExecutor.sendHtmlMessageReturnId(chatId, projectCardText, keyboard);
-            if (cardId != null) messageIds.add(cardId);
+            botExecutor.sendTemporaryHtmlMessage(chatId, projectCardText, keyboard);
         }
 
         // Пагинация
 
         InlineKeyboardMarkup paginationKeyboard = commonKeyboards.createPaginationKeyboardForContext(context);
-        Integer navId = botExecutor.sendHtmlMessageReturnId(chatId, "<b>— Навигация —</b>", paginationKeyboard);
-        if (navId != null) messageIds.add(navId);
-
-        return messageIds;
+        botExecutor.sendTemporaryHtmlMessage(chatId, "<b>— Навигация —</b>", paginationKeyboard);
     }
 
-    private String formatProjectPreview(ProjectDto project, int number) {
+    private String formatProjectPreview(ProjectDto project, int number, boolean favorite) {
         return """
-            🎯 <b>**Проект #%d**</b>
+            🎯 <b>**Проект #%d**</b>%s
 
             <blockquote><b>💼 *%s*</b>
             <b>💰 Бюджет:</b> *%.0f руб*
@@ -199,6 +202,7 @@ public class ProjectPaginationCommand implements Command {
             📝 <i>%s</i></blockquote>
             """.formatted(
                 number,
+                favorite ? " ⭐" : "",
                 project.getTitle(),
                 project.getBudget(),
                 project.getEstimatedDays(),
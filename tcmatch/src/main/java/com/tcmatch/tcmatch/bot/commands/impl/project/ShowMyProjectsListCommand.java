@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.project;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.keyboards.CommonKeyboards;
@@ -15,7 +16,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.telegram.telegrambots.meta.api.objects.replykeyboard.InlineKeyboardMarkup;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import static com.tcmatch.tcmatch.util.PaginationContextKeys.PROJECTS_PER_PAGE;
@@ -23,6 +23,7 @@ import static com.tcmatch.tcmatch.util.PaginationContextKeys.PROJECTS_PER_PAGE;
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@CallbackRoute(actionType = "project", action = "my_list")
 public class ShowMyProjectsListCommand implements Command {
 
     private final ProjectService projectService;
@@ -31,18 +32,11 @@ public class ShowMyProjectsListCommand implements Command {
     private final ProjectKeyboards projectKeyboards;
     private final PaginationManager paginationManager;
 
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        return "project".equals(actionType) && "my_list".equals(action);
-
-    }
-
     @Override
     public void execute(CommandContext context) {
         Long chatId = context.getChatId();
         try {
 
-
             // 🔥 ПОЛУЧАЕМ ID ПРОЕКТОВ ЗАКАЗЧИКА
             List<Long> projectIds = projectService.getProjectIdsByCustomerChatId(chatId);
 
@@ -93,9 +87,8 @@ public class ShowMyProjectsListCommand implements Command {
     }
 
     // 🔥 РЕНДЕРЕР ДЛЯ СТРАНИЦЫ ПРОЕКТОВ ЗАКАЗЧИКА
-    public List<Integer> renderCustomerProjectsPage(List<Long> pageProjectIds, PaginationContext context) {
+    public void renderCustomerProjectsPage(List<Long> pageProjectIds, PaginationContext context) {
         Long chatId = context.chatId();
-        List<Integer> messageIds = new ArrayList<>();
 
         // Получаем проекты по ID
         List<Project> pageProjects = projectService.findAllProjectsByIds(pageProjectIds);
@@ -108,17 +101,12 @@ public class ShowMyProjectsListCommand implements Command {
             // Клавиатура для карточки проекта
             InlineKeyboardMarkup projectKeyboard = projectKeyboards.createProjectPreviewKeyboard(project.getId());
 
-            Integer cardId = botExecutor.sendHtmlMessageReturnId(chatId, projectText, projectKeyboard);
-            if (cardId != null) messageIds.add(cardId);
+            botExecutor.sendTemporaryHtmlMessage(chatId, projectText, projectKeyboard);
         }
 
 
         InlineKeyboardMarkup paginationKeyboard = commonKeyboards.createPaginationKeyboardForContext(context);
-        Integer navId = botExecutor.sendHtmlMessageReturnId(chatId, "<b>— Навигация —</b>", paginationKeyboard);
-        if (navId != null) messageIds.add(navId);
-
-
-        return messageIds;
+        botExecutor.sendTemporaryHtmlMessage(chatId, "<b>— Навигация —</b>", paginationKeyboard);
     }
 
     // 🔥 ФОРМАТИРОВАНИЕ КАРТОЧКИ ПРОЕКТА ДЛЯ ЗАКАЗЧИКА
@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.project;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.keyboards.CommonKeyboards;
@@ -15,6 +16,7 @@ import org.springframework.stereotype.Component;
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@CallbackRoute(actionType = "project", action = "withdraw")
 public class WithdrawProjectCommand implements Command {
 
     private final BotExecutor botExecutor;
@@ -23,11 +25,6 @@ public class WithdrawProjectCommand implements Command {
     private final ProjectKeyboards projectKeyboards;
     private final ApplicationService applicationService;
 
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        return "project".equals(actionType) && "withdraw".equals(action);
-    }
-
     @Override
     public void execute(CommandContext context) {
         try {
@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.purchase;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.dispatcher.CommandDispatcher;
@@ -16,6 +17,7 @@ import org.springframework.stereotype.Component;
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@CallbackRoute(actionType = "purchase", action = "cancel")
 public class CancelPurchaseCommand implements Command {
 
     private final BotExecutor botExecutor;
@@ -26,11 +28,6 @@ public class CancelPurchaseCommand implements Command {
     @Autowired
     private CommandDispatcher commandDispatcher; // 🔥 Инжектим диспетчер
 
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        return "purchase".equals(actionType) && "cancel".equals(action);
-    }
-
     @Override
     public void execute(CommandContext context) {
         Long chatId = context.getChatId();
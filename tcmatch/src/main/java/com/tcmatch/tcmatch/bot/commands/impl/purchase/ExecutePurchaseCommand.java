@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.purchase;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.dispatcher.CommandDispatcher;
@@ -21,6 +22,7 @@ import java.math.BigDecimal;
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@CallbackRoute(actionType = "purchase", action = "execute")
 public class ExecutePurchaseCommand implements Command {
 
     private final BotExecutor botExecutor;
@@ -32,11 +34,6 @@ public class ExecutePurchaseCommand implements Command {
     @Autowired
     private CommandDispatcher commandDispatcher; // 🔥 Инжектим диспетчер
 
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        return "purchase".equals(actionType) && "execute".equals(action);
-    }
-
     @Override
     public void execute(CommandContext context) {
         Long chatId = context.getChatId();
@@ -118,7 +115,8 @@ public class ExecutePurchaseCommand implements Command {
     private boolean processPurchase(Long chatId, PurchaseConfirmationDto dto) {
         try {
             // Списываем средства
-            walletService.withdraw(chatId, dto.getAmount());
+            walletService.withdraw(chatId, dto.getAmount(),
+                    "purchase:" + dto.getPurchaseType() + ":" + dto.getTargetId());
 
             log.info("Средства списаны: chatId={}, type={}, amount={}, targetId={}",
                     chatId, dto.getPurchaseType(), dto.getAmount(), dto.getTargetId());
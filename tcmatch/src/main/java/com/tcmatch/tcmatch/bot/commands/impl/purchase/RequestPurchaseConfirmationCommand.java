@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.purchase;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.keyboards.CommonKeyboards;
@@ -20,6 +21,7 @@ import java.util.List;
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@CallbackRoute(actionType = "purchase", action = "confirm")
 public class RequestPurchaseConfirmationCommand implements Command {
 
     private final BotExecutor botExecutor;
@@ -27,11 +29,6 @@ public class RequestPurchaseConfirmationCommand implements Command {
     private final WalletService walletService;
     private final CommonKeyboards commonKeyboards;
 
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        return "purchase".equals(actionType) && "confirm".equals(action);
-    }
-
     @Override
     public void execute(CommandContext context) {
         Long chatId = context.getChatId();
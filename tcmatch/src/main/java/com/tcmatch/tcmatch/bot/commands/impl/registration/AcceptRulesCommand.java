@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.registration;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.keyboards.CommonKeyboards;
@@ -17,6 +18,7 @@ import java.util.Optional;
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@CallbackRoute(actionType = "rules", action = "accept")
 public class AcceptRulesCommand implements Command {
 
     private final BotExecutor botExecutor;
@@ -24,11 +26,6 @@ public class AcceptRulesCommand implements Command {
     private final UserService userService;
     private final CommonKeyboards commonKeyboards;
 
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        return "rules".equals(actionType) && "accept".equals(action);
-    }
-
     @Override
     public void execute(CommandContext context) {
         try {
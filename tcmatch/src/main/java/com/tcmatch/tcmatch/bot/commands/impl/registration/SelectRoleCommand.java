@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.registration;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.keyboards.CommonKeyboards;
@@ -20,6 +21,7 @@ import java.util.Optional;
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@CallbackRoute(actionType = "register", action = "role")
 public class SelectRoleCommand implements Command {
 
     private final BotExecutor botExecutor;
@@ -28,12 +30,6 @@ public class SelectRoleCommand implements Command {
     private final CommonKeyboards commonKeyboards;
     private final RegistrationKeyboard registrationKeyboard;
 
-
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        return "register".equals(actionType) && "role".equals(action);
-    }
-
     @Override
     public void execute(CommandContext context) {
         try {
@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.registration;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.keyboards.CommonKeyboards;
@@ -21,6 +22,7 @@ import java.util.Optional;
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@CallbackRoute(actionType = "rules", action = "view")
 public class ShowRulesCommand implements Command {
 
     private final BotExecutor botExecutor;
@@ -30,11 +32,6 @@ public class ShowRulesCommand implements Command {
     private final CommonKeyboards commonKeyboards;
     private final RegistrationKeyboard registrationKeyboard;
 
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        return "rules".equals(actionType) && "view".equals(action);
-    }
-
     @Override
     public void execute(CommandContext context) {
         try {
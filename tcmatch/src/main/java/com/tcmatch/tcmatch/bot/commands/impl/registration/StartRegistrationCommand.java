@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.registration;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.keyboards.CommonKeyboards;
@@ -17,6 +18,7 @@ import org.telegram.telegrambots.meta.api.objects.replykeyboard.InlineKeyboardMa
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@CallbackRoute(actionType = "register", action = "start")
 public class StartRegistrationCommand implements Command {
 
     private final UserService userService;
@@ -25,11 +27,6 @@ public class StartRegistrationCommand implements Command {
     private final BotExecutor botExecutor;
     private final UserSessionService userSessionService;
 
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        return "register".equals(actionType) && "start".equals(action);
-    }
-
     @Override
     public void execute(CommandContext context) {
 
@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.subscription;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.keyboards.CommonKeyboards;
@@ -13,17 +14,13 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 @Component
 @Slf4j
+@CallbackRoute(actionType = "subscription", action = "activate")
 public class ActivateSubscriptionCommand implements Command {
 
     private final BotExecutor botExecutor;
     private final SubscriptionService subscriptionService;
     private final CommonKeyboards  commonKeyboards;
 
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        return "subscription".equals(actionType) && "activate".equals(action);
-    }
-
     @Override
     public void execute(CommandContext context) {
         Long chatId = context.getChatId();
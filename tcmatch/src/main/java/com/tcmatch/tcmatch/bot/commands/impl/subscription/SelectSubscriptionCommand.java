@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.subscription;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.keyboards.CommonKeyboards;
@@ -25,6 +26,7 @@ import java.util.UUID;
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@CallbackRoute(actionType = "subscription", action = "select")
 public class SelectSubscriptionCommand implements Command {
 
     private final BotExecutor botExecutor;
@@ -35,11 +37,6 @@ public class SelectSubscriptionCommand implements Command {
     private final CommonKeyboards commonKeyboards;
     private final PaymentObserverService paymentObserverService; // 🔥 Добавили
 
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        return "subscription".equals(actionType) && "select".equals(action);
-    }
-
     @Override
     public void execute(CommandContext context) {
         Long chatId = context.getChatId();
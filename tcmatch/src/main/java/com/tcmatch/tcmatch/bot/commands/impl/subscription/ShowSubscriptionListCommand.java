@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.subscription;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.keyboards.SubscriptionKeyboards;
@@ -16,17 +17,13 @@ import java.util.List;
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@CallbackRoute(actionType = "subscription", action = "show_list")
 public class ShowSubscriptionListCommand implements Command {
 
     private final BotExecutor botExecutor;
     private final SubscriptionService subscriptionService;
     private final SubscriptionKeyboards subscriptionKeyboards;
 
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        return "subscription".equals(actionType) && "show_list".equals(action);
-    }
-
     @Override
     public void execute(CommandContext context) {
         Long chatId = context.getChatId();
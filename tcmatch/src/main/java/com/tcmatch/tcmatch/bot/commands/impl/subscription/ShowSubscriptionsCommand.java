@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.subscription;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.keyboards.CommonKeyboards;
@@ -15,6 +16,7 @@ import org.telegram.telegrambots.meta.api.objects.replykeyboard.InlineKeyboardMa
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@CallbackRoute(actionType = "subscription", action = "show_menu")
 public class ShowSubscriptionsCommand implements Command {
 
     private final BotExecutor botExecutor;
@@ -23,11 +25,6 @@ public class ShowSubscriptionsCommand implements Command {
     private final CommonKeyboards commonKeyboards;
     private final SubscriptionKeyboards subscriptionKeyboards; // 🔥 Будет создан ниже
 
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        return "subscription".equals(actionType) && "show_menu".equals(action);
-    }
-
     @Override
     public void execute(CommandContext context) {
         Long chatId = context.getChatId();
@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.verification;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.keyboards.CommonKeyboards;
@@ -16,6 +17,7 @@ import org.springframework.stereotype.Component;
 @Component
 @RequiredArgsConstructor
 @Slf4j
+@CallbackRoute(actionType = "verification", action = "start_github")
 public class StartGitHubVerificationCommand implements Command {
 
     private final BotExecutor botExecutor;
@@ -24,11 +26,6 @@ public class StartGitHubVerificationCommand implements Command {
     private final VerificationService verificationService;
     private final CommonKeyboards commonKeyboards;
 
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        return "verification".equals(actionType) && "start_github".equals(action);
-    }
-
     @Override
     public void execute(CommandContext context) {
         Long chatId = context.getChatId();
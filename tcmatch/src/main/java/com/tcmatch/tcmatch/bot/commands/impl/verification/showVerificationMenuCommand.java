@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.verification;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.keyboards.CommonKeyboards;
@@ -18,6 +19,7 @@ import org.telegram.telegrambots.meta.api.objects.replykeyboard.InlineKeyboardMa
 @Component
 @RequiredArgsConstructor
 @Slf4j
+@CallbackRoute(actionType = "verification", action = "show")
 public class showVerificationMenuCommand implements Command {
 
     private final VerificationKeyboards verificationKeyboards;
@@ -27,11 +29,6 @@ public class showVerificationMenuCommand implements Command {
     private final VerificationService verificationService;
     private final CommonKeyboards commonKeyboards;
 
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        return "verification".equals(actionType) && "show".equals(action);
-    }
-
     @Override
     public void execute(CommandContext context) {
         Long chatId = context.getChatId();
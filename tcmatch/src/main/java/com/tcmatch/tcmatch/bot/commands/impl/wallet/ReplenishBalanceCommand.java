@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.wallet;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.bot.keyboards.CommonKeyboards;
@@ -14,6 +15,7 @@ import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
 @Component
 @RequiredArgsConstructor
 @Slf4j
+@CallbackRoute(actionType = "wallet", action = "replenish")
 public class ReplenishBalanceCommand implements Command {
 
     private final BotExecutor botExecutor;
@@ -21,12 +23,6 @@ public class ReplenishBalanceCommand implements Command {
     private final CommonKeyboards commonKeyboards;
     private final UserSessionService userSessionService;
 
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        // 🔥 Обрабатываем нажатие на кнопку "Пополнить баланс"
-        return "wallet".equals(actionType) && "replenish".equals(action);
-    }
-
     @Override
     public void execute(CommandContext context) {
         Long chatId = context.getChatId();
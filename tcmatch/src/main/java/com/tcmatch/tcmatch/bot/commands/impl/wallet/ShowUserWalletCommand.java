@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.bot.commands.impl.wallet;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.model.dto.WalletDto;
@@ -18,16 +19,12 @@ import java.util.List;
 @Component
 @RequiredArgsConstructor
 @Slf4j
+@CallbackRoute(actionType = "wallet", action = "show")
 public class ShowUserWalletCommand implements Command {
 
     private final BotExecutor botExecutor;
     private final WalletService walletService; // 🔥 Инжектируем наш сервис кошелька
 
-    @Override
-    public boolean canHandle(String actionType, String action) {
-        return "wallet".equals(actionType) && "show".equals(action);
-    }
-
     @Override
     public void execute(CommandContext context) {
         Long chatId = context.getChatId();
@@ -1,16 +1,21 @@
 package com.tcmatch.tcmatch.bot.dispatcher;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.commands.CallbackRoute;
 import com.tcmatch.tcmatch.bot.commands.Command;
 import com.tcmatch.tcmatch.bot.commands.CommandContext;
 import com.tcmatch.tcmatch.service.NavigationService;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.annotation.Lazy;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.stereotype.Component;
 
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Component
 @Slf4j
@@ -21,33 +26,80 @@ public class CommandDispatcher {
     private final BotExecutor botExecutor;
     private final NavigationService navigationService;
 
+    // 🔥 Таблица маршрутизации "actionType:action" -> команда, строится один раз при старте
+    private final Map<String, Command> routes = new HashMap<>();
+    // 🔥 Команды без @CallbackRoute (префиксные совпадения) - проверяются только если ключа нет в таблице
+    private final List<Command> fallbackCommands = new ArrayList<>();
+
+    @PostConstruct
+    void buildRoutingTable() {
+        for (Command command : commands) {
+            CallbackRoute route = AnnotationUtils.findAnnotation(
+                    AopProxyUtils.ultimateTargetClass(command), CallbackRoute.class);
+
+            if (route == null) {
+                fallbackCommands.add(command);
+                continue;
+            }
+
+            String key = route.actionType() + ":" + route.action();
+            Command existing = routes.putIfAbsent(key, command);
+            if (existing != null) {
+                throw new IllegalStateException(String.format(
+                        "Дублирующийся маршрут команды '%s': %s и %s", key,
+                        existing.getClass().getSimpleName(), command.getClass().getSimpleName()));
+            }
+        }
+        log.info("✅ Command routing table built: {} routes, {} fallback commands",
+                routes.size(), fallbackCommands.size());
+    }
+
     public void handleCallback(Long chatId, String callbackData, Integer messageId, String userName) {
-        System.out.println(callbackData);
-        String[] parts = callbackData.split(":");
-        String actionType = parts[0];
-        String action = parts[1];
+        // 🔥 РАЗБОР БЕЗ split/join: ищем только первые два разделителя
+        int first = callbackData.indexOf(':');
+        if (first < 0) {
+            log.warn("❌ Malformed callback data: {}", callbackData);
+            botExecutor.sendTemporaryErrorMessage(chatId, "Команда не найдена", 5);
+            return;
+        }
+        int second = callbackData.indexOf(':', first + 1);
+
+        String routeKey = second < 0 ? callbackData : callbackData.substring(0, second);
+        String actionType = callbackData.substring(0, first);
+        String action = callbackData.substring(first + 1, second < 0 ? callbackData.length() : second);
         // 🔥 ПРОСТО БЕРЕМ ВСЕ ОСТАВШИЕСЯ ЧАСТИ КАК ПАРАМЕТР
-        String parameter = parts.length > 2 ?
-                String.join(":", Arrays.copyOfRange(parts, 2, parts.length)) : null;
+        String parameter = second < 0 || second == callbackData.length() - 1
+                ? null : callbackData.substring(second + 1);
 
         log.info("🔄 Command: {}:{}:{} (user: {}, chat: {})",
                 actionType, action, parameter, userName, chatId);
 
+        Command command = routes.get(routeKey);
+        if (command == null) {
+            command = findFallbackCommand(actionType, action);
+        }
+
+        if (command == null) {
+            // Если команда не найдена
+            log.warn("❌ Command not found: {}:{}", actionType, action);
+            botExecutor.sendTemporaryErrorMessage(chatId, "Команда не найдена", 5);
+            return;
+        }
+
         CommandContext context = new CommandContext(chatId, action, parameter, messageId, userName, actionType);
 
-        // Ищем подходящую команду
-        for (Command command : commands) {
+        log.info("✅ Executing: {}", command.getClass().getSimpleName());
+        command.execute(context);
+        // 🔥 СОХРАНЕНИЕ ИСТОРИИ НАВИГАЦИИ
+        navigationService.saveToNavigationHistory(chatId, actionType, action, parameter);
+    }
+
+    private Command findFallbackCommand(String actionType, String action) {
+        for (Command command : fallbackCommands) {
             if (command.canHandle(actionType, action)) {
-                log.info("✅ Executing: {}", command.getClass().getSimpleName());
-                command.execute(context);
-                // 🔥 СОХРАНЕНИЕ ИСТОРИИ НАВИГАЦИИ
-                navigationService.saveToNavigationHistory(chatId, actionType, action, parameter);
-                return;
+                return command;
             }
         }
-
-        // Если команда не найдена
-        log.warn("❌ Command not found: {}:{}", actionType, action);
-        botExecutor.sendTemporaryErrorMessage(chatId, "Команда не найдена", 5);
+        return null;
     }
-}
\ No newline at end of file
+}
@@ -2,12 +2,18 @@ package com.tcmatch.tcmatch.bot.dispatcher;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
 import com.tcmatch.tcmatch.bot.text.TextCommand;
+import com.tcmatch.tcmatch.model.enums.UserState;
+import com.tcmatch.tcmatch.service.UserSessionService;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.telegram.telegrambots.meta.api.objects.Message;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 @Component
 @Slf4j
@@ -17,6 +23,32 @@ public class TextCommandDispatcher {
     private final List<TextCommand> textCommands;
 
     private final BotExecutor botExecutor;
+    private final UserSessionService userSessionService;
+
+    // 🔥 Состояние ожидания ввода -> обработчик (строится один раз при старте)
+    private final Map<UserState, TextCommand> stateHandlers = new EnumMap<>(UserState.class);
+    // 🔥 Команды без состояния (например, /start)
+    private final List<TextCommand> statelessCommands = new ArrayList<>();
+
+    @PostConstruct
+    void buildStateIndex() {
+        for (TextCommand command : textCommands) {
+            UserState state = command.handledState();
+            if (state == null) {
+                statelessCommands.add(command);
+                continue;
+            }
+
+            TextCommand existing = stateHandlers.putIfAbsent(state, command);
+            if (existing != null) {
+                throw new IllegalStateException(String.format(
+                        "Дублирующийся обработчик текста для состояния %s: %s и %s", state,
+                        existing.getClass().getSimpleName(), command.getClass().getSimpleName()));
+            }
+        }
+        log.info("✅ Text routing index built: {} state handlers, {} stateless commands",
+                stateHandlers.size(), statelessCommands.size());
+    }
 
     public void handleTextMessage(Message message) {
 
@@ -24,16 +56,17 @@ public class TextCommandDispatcher {
         String text = message.getText();
         Integer messageId = message.getMessageId();
 
-        // Ищем подходящую текстовую команду
-        for (TextCommand command : textCommands) {
+        // 🔥 ОДИН LOOKUP: обработчик выбирается по состоянию сессии
+        TextCommand stateHandler = stateHandlers.get(userSessionService.getUserState(chatId));
+        if (stateHandler != null && stateHandler.canHandle(chatId, text)) {
+            execute(stateHandler, message);
+            return;
+        }
+
+        // Ищем подходящую текстовую команду без состояния
+        for (TextCommand command : statelessCommands) {
             if (command.canHandle(chatId, text)) {
-                try {
-                    command.execute(message);
-                    return;
-                } catch (Exception e) {
-                    log.error("❌ Error executing text command for user {}: {}", chatId, e.getMessage());
-                    botExecutor.sendTemporaryErrorMessage(chatId, "Ошибка обработки ввода", 5);
-                }
+                execute(command, message);
                 return;
             }
         }
@@ -44,6 +77,15 @@ public class TextCommandDispatcher {
         showUnknownCommandHint(chatId);
     }
 
+    private void execute(TextCommand command, Message message) {
+        try {
+            command.execute(message);
+        } catch (Exception e) {
+            log.error("❌ Error executing text command for user {}: {}", message.getChatId(), e.getMessage());
+            botExecutor.sendTemporaryErrorMessage(message.getChatId(), "Ошибка обработки ввода", 5);
+        }
+    }
+
     private void showUnknownCommandHint(Long chatId) {
         String hintText = """
             ⚠️ <b>Неизвестная команда</b>
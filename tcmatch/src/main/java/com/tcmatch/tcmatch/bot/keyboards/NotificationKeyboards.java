@@ -35,14 +35,19 @@ public class NotificationKeyboards {
      * Создает клавиатуру действий для одной карточки уведомления.
      */
     public InlineKeyboardMarkup createNotificationItemKeyboard(Long notificationId) {
+        return createNotificationItemKeyboard(notificationId, notificationService.hasCallback(notificationId));
+    }
+
+    /**
+     * То же без запроса в БД: нужна ли кнопка "Посмотреть", решает вызывающий (по превью).
+     */
+    public InlineKeyboardMarkup createNotificationItemKeyboard(Long notificationId, boolean showViewButton) {
         InlineKeyboardMarkup inlineKeyboard = new InlineKeyboardMarkup();
 
         List<InlineKeyboardButton> row = new ArrayList<>();
 
-
-
         // Кнопка "Посмотреть" (callback: notification:view:ID)
-        if (notificationService.hasCallback(notificationId))
+        if (showViewButton)
             row.add(InlineKeyboardButton.builder()
                     .text("👁️ Посмотреть")
                     .callbackData("notification:view:" + notificationId)
@@ -4,6 +4,7 @@ import com.tcmatch.tcmatch.model.User;
 import com.tcmatch.tcmatch.model.dto.ProjectDto;
 import com.tcmatch.tcmatch.model.dto.SearchRequest;
 import com.tcmatch.tcmatch.model.enums.UserRole;
+import com.tcmatch.tcmatch.service.FavoriteProjectService;
 import com.tcmatch.tcmatch.service.ProjectService;
 import com.tcmatch.tcmatch.service.UserService;
 import lombok.RequiredArgsConstructor;
@@ -20,6 +21,7 @@ public class ProjectKeyboards {
 
     private final UserService userService;
     private final ProjectService projectService;
+    private final FavoriteProjectService favoriteProjectService;
 
     // Метод для превью проекта
     public InlineKeyboardMarkup createProjectPreviewKeyboard(Long projectId) {
@@ -76,7 +78,7 @@ public class ProjectKeyboards {
                 rows.add(closeRaw);
             }
         } else {
-            boolean isFavorite = userService.isProjectFavorite(chatId, projectId);
+            boolean isFavorite = favoriteProjectService.isProjectFavorite(chatId, projectId);
             List<InlineKeyboardButton> infRow = new ArrayList<>();
             if (isFavorite) {
                 infRow.add(InlineKeyboardButton.builder()
@@ -117,7 +119,7 @@ public class ProjectKeyboards {
 
 
         // Проверяем, находится ли проект уже в избранном у пользователя
-        boolean isFavorite = userService.isProjectFavorite(chatId, projectId);
+        boolean isFavorite = favoriteProjectService.isProjectFavorite(chatId, projectId);
 
         // 🔥 ДЕТАЛИ ПРОЕКТА - ИСПОЛНИТЕЛЬ
         if (canApply) {
@@ -1,8 +1,20 @@
 package com.tcmatch.tcmatch.bot.text;
 
+import com.tcmatch.tcmatch.model.enums.UserState;
 import org.telegram.telegrambots.meta.api.objects.Message;
 
 public interface TextCommand {
+
+    /**
+     * 🔥 Состояние ожидания ввода, которое обслуживает команда.
+     * null - команда без состояния (например, /start), проверяется по тексту.
+     */
+    default UserState handledState() {
+        return null;
+    }
+
+    /** 🔥 Для команд с состоянием - только проверка самого ввода, состояние уже выбрано диспетчером */
     boolean canHandle(Long chatId, String text);
+
     void execute(Message message);
 }
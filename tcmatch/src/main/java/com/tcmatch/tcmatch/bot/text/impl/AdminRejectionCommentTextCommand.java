@@ -3,6 +3,7 @@ package com.tcmatch.tcmatch.bot.text.impl;
 import com.tcmatch.tcmatch.bot.BotExecutor;
 import com.tcmatch.tcmatch.bot.text.TextCommand;
 import com.tcmatch.tcmatch.model.UserSession;
+import com.tcmatch.tcmatch.model.enums.UserState;
 import com.tcmatch.tcmatch.service.UserSessionService;
 import com.tcmatch.tcmatch.service.VerificationService;
 import lombok.RequiredArgsConstructor;
@@ -20,12 +21,13 @@ public class AdminRejectionCommentTextCommand implements TextCommand {
     private final VerificationService verificationService;
 
     @Override
-    public boolean canHandle(Long chatId, String text) {
-        UserSession session = userSessionService.getSession(chatId);
-        if (session == null) return false;
+    public UserState handledState() {
+        return UserState.AWAITING_REJECTION_COMMENT;
+    }
 
-        // Проверяем, ждет ли админ ввода комментария для отклонения
-        return session.getFromContext("awaiting_rejection_comment") != null;
+    @Override
+    public boolean canHandle(Long chatId, String text) {
+        return true;
     }
 
     @Override
@@ -58,8 +60,8 @@ public class AdminRejectionCommentTextCommand implements TextCommand {
 
             // Очищаем состояние
             userSessionService.clearUserState(adminChatId);
-            session.removeFromContext("awaiting_rejection_comment");
-            session.removeFromContext("admin_pressed_message");
+            userSessionService.remove(adminChatId, "awaiting_rejection_comment");
+            userSessionService.remove(adminChatId, "admin_pressed_message");
 
             // Отправляем подтверждение
             botExecutor.sendTemporaryErrorMessage(adminChatId,
@@ -77,9 +79,7 @@ public class AdminRejectionCommentTextCommand implements TextCommand {
 
             // Очищаем состояние в любом случае
             userSessionService.clearUserState(adminChatId);
-            if (session != null) {
-                session.removeFromContext("awaiting_rejection_comment");
-            }
+            userSessionService.remove(adminChatId, "awaiting_rejection_comment");
         }
     }
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ import com.tcmatch.tcmatch.bot.keyboards.ApplicationKeyboards;
 import com.tcmatch.tcmatch.bot.text.TextCommand;
 import com.tcmatch.tcmatch.model.dto.ApplicationCreationState;
 import com.tcmatch.tcmatch.model.dto.ProjectDto;
+import com.tcmatch.tcmatch.model.enums.UserState;
 import com.tcmatch.tcmatch.service.ApplicationCreationService;
 import com.tcmatch.tcmatch.service.ProjectService;
 import lombok.RequiredArgsConstructor;
@@ -24,6 +25,11 @@ public class ApplicationTextCommand implements TextCommand {
     private final ProjectService projectService;
     private final ApplicationKeyboards applicationKeyboards;
 
+    @Override
+    public UserState handledState() {
+        return UserState.CREATING_APPLICATION;
+    }
+
     @Override
     public boolean canHandle(Long chatId, String text) {
         return applicationCreationService.isCreatingApplication(chatId);
@@ -4,6 +4,7 @@ import com.tcmatch.tcmatch.bot.BotExecutor;
 import com.tcmatch.tcmatch.bot.keyboards.CommonKeyboards;
 import com.tcmatch.tcmatch.bot.text.TextCommand;
 import com.tcmatch.tcmatch.model.VerificationRequest;
+import com.tcmatch.tcmatch.model.enums.UserState;
 import com.tcmatch.tcmatch.service.UserService;
 import com.tcmatch.tcmatch.service.UserSessionService;
 import com.tcmatch.tcmatch.service.VerificationService;
@@ -23,9 +24,14 @@ public class GitHubUrlTextCommand implements TextCommand {
     private final UserService userService;
     private final CommonKeyboards commonKeyboards;
 
+    @Override
+    public UserState handledState() {
+        return UserState.WAITING_GITHUB_URL;
+    }
+
     @Override
     public boolean canHandle(Long chatId, String text) {
-        return userSessionService.isWaitingForGitHub(chatId);
+        return true;
     }
 
     @Override
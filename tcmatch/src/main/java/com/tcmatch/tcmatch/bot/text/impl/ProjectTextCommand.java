@@ -4,6 +4,7 @@ import com.tcmatch.tcmatch.bot.BotExecutor;
 import com.tcmatch.tcmatch.bot.keyboards.ProjectKeyboards;
 import com.tcmatch.tcmatch.bot.text.TextCommand;
 import com.tcmatch.tcmatch.model.dto.ProjectCreationState;
+import com.tcmatch.tcmatch.model.enums.UserState;
 import com.tcmatch.tcmatch.service.ProjectCreationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -20,6 +21,11 @@ public class ProjectTextCommand implements TextCommand {
     private final ProjectCreationService projectCreationService;
     private final ProjectKeyboards projectKeyboards;
 
+    @Override
+    public UserState handledState() {
+        return UserState.CREATING_PROJECT;
+    }
+
     @Override
     public boolean canHandle(Long chatId, String text) {
         return projectCreationService.isCreatingProject(chatId);
@@ -65,7 +65,7 @@ public class StartCommand implements TextCommand {
             // 5. Создаем клавиатуру для пользователя
             InlineKeyboardMarkup keyboard = commonKeyboards.getKeyboardForUser(chatId);
 
-            userSessionService.setMainMessageId(chatId, botExecutor.sendHtmlMessageReturnId(chatId, welcomeText, keyboard));
+            botExecutor.sendMainHtmlMessage(chatId, welcomeText, keyboard);
 
             // 8. Регистрируем/обновляем пользователя
             userService.registerFromTelegram(chatId, message.getFrom().getUserName(), message.getFrom().getFirstName(), message.getFrom().getLastName());
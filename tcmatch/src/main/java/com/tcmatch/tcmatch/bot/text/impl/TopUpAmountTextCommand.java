@@ -1,8 +1,10 @@
 package com.tcmatch.tcmatch.bot.text.impl;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.ChatUpdatePipeline;
 import com.tcmatch.tcmatch.bot.keyboards.CommonKeyboards;
 import com.tcmatch.tcmatch.bot.text.TextCommand;
+import com.tcmatch.tcmatch.model.enums.UserState;
 import com.tcmatch.tcmatch.service.BalancePaymentService;
 import com.tcmatch.tcmatch.service.UserSessionService;
 import com.tcmatch.tcmatch.service.notifications.PaymentObserverService;
@@ -24,13 +26,15 @@ public class TopUpAmountTextCommand implements TextCommand {
     private final BalancePaymentService paymentService;
     private final PaymentObserverService paymentObserverService; // Добавляем
     private final CommonKeyboards commonKeyboards;
+    private final ChatUpdatePipeline updatePipeline;
 
     @Override
-    public boolean canHandle(Long chatId, String text) {
-        if (!userSessionService.isAwaitingTopUpAmount(chatId)) {
-            return false;
-        }
+    public UserState handledState() {
+        return UserState.AWAITING_TOP_UP_AMOUNT;
+    }
 
+    @Override
+    public boolean canHandle(Long chatId, String text) {
         return isNumericInput(text);
     }
 
@@ -67,63 +71,62 @@ public class TopUpAmountTextCommand implements TextCommand {
     }
 
     /**
-     * Обрабатывает пополнение баланса с использованием PaymentObserverService
+     * Обрабатывает пополнение баланса с использованием PaymentObserverService.
+     * 🔥 Поток обработки апдейтов не ждет ЮKassa: ответ возвращается на полосу чата через ChatUpdatePipeline
      */
     private void processTopUp(Long chatId, BigDecimal amount) {
-        new Thread(() -> {
-
-            Integer mainMessageId = botExecutor.getOrCreateMainMessageId(chatId);
-            try {
-                // Показываем сообщение о создании платежа
-                String processingMessage = String.format("""
-                        ⏳ <b>Создание платежа...</b>
-                        
-                        Сумма: <b>%s ₽</b>
-                        
-                        Сообщение с платежом скоро появится
-                        """, formatAmount(amount));
-
-                botExecutor.editMessageWithHtml(chatId, mainMessageId, processingMessage, commonKeyboards.createToMainMenuKeyboard());
-
-                // Генерируем платежную ссылку
-                BalancePaymentService.PaymentInfo paymentInfo =
-                        paymentService.generatePaymentUrl(chatId, amount);
-
-                // ИСПОЛЬЗУЕМ PaymentObserverService для отправки сообщения с кнопкой
-                paymentObserverService.sendPaymentLinkMessage(
-                        chatId,
-                        paymentInfo.getPaymentUrl(),
-                        amount,
-                        paymentInfo.getPaymentId()
-                );
-
-                // Очищаем состояние
-                userSessionService.clearTopUpState(chatId);
-                userSessionService.resetToMain(chatId);
-
-                log.info("Пополнение инициировано через PaymentObserverService: chatId={}, amount={}",
-                        chatId, amount);
-
-            } catch (Exception e) {
-                log.error("Ошибка создания платежа для chatId={}, amount={}: {}",
-                        chatId, amount, e.getMessage());
-
-                String errorMessage = String.format("""
-                        ❌ <b>Ошибка создания платежа</b>
-                        
-                        Не удалось создать ссылку для оплаты.
-                        Сумма: <b>%s ₽</b>
-                        
-                        Пожалуйста, попробуйте позже или обратитесь в поддержку.
-                        """, formatAmount(amount));
-
-                botExecutor.editMessageWithHtml(chatId, mainMessageId, errorMessage, commonKeyboards.createToMainMenuKeyboard());
-
-                userSessionService.clearTopUpState(chatId);
-                userSessionService.resetToMain(chatId);
-                throw e;
-            }
-        }).start();
+        Integer mainMessageId = botExecutor.getOrCreateMainMessageId(chatId);
+
+        // Показываем сообщение о создании платежа
+        String processingMessage = String.format("""
+                ⏳ <b>Создание платежа...</b>
+                
+                Сумма: <b>%s ₽</b>
+                
+                Сообщение с платежом скоро появится
+                """, formatAmount(amount));
+
+        botExecutor.editMessageWithHtml(chatId, mainMessageId, processingMessage, commonKeyboards.createToMainMenuKeyboard());
+
+        // Генерируем платежную ссылку
+        // 🔥 Колбэк приходит в пул HttpClient, а сессию меняем только на полосе чата
+        paymentService.generatePaymentUrlAsync(chatId, amount).whenComplete((paymentInfo, error) ->
+                updatePipeline.submit(chatId, () -> {
+                    try {
+                        if (error == null) {
+                            // ИСПОЛЬЗУЕМ PaymentObserverService для отправки сообщения с кнопкой
+                            paymentObserverService.sendPaymentLinkMessage(
+                                    chatId,
+                                    paymentInfo.getPaymentUrl(),
+                                    amount,
+                                    paymentInfo.getPaymentId()
+                            );
+
+                            log.info("Пополнение инициировано через PaymentObserverService: chatId={}, amount={}",
+                                    chatId, amount);
+                        } else {
+                            log.error("Ошибка создания платежа для chatId={}, amount={}: {}",
+                                    chatId, amount, error.getMessage());
+
+                            String errorMessage = String.format("""
+                                    ❌ <b>Ошибка создания платежа</b>
+                                    
+                                    Не удалось создать ссылку для оплаты.
+                                    Сумма: <b>%s ₽</b>
+                                    
+                                    Пожалуйста, попробуйте позже или обратитесь в поддержку.
+                                    """, formatAmount(amount));
+
+                            botExecutor.editMessageWithHtml(chatId, mainMessageId, errorMessage, commonKeyboards.createToMainMenuKeyboard());
+                        }
+                    } catch (Exception e) {
+                        log.error("Ошибка завершения пополнения для chatId={}: {}", chatId, e.getMessage(), e);
+                    } finally {
+                        // Очищаем состояние
+                        userSessionService.clearTopUpState(chatId);
+                        userSessionService.resetToMain(chatId);
+                    }
+                }));
     }
 
     // Остальные методы остаются без изменений:
@@ -1,6 +1,9 @@
 package com.tcmatch.tcmatch.config;
 
 import com.tcmatch.tcmatch.service.ShutdownService;
+import com.tcmatch.tcmatch.service.UserSessionService;
+import com.tcmatch.tcmatch.service.ledger.LedgerReconciliationJob;
+import com.tcmatch.tcmatch.service.notifications.NotificationRetentionJob;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -20,6 +23,9 @@ import java.util.Map;
 public class HealthCheckController {
 
     private final ShutdownService shutdownService;
+    private final UserSessionService userSessionService;
+    private final NotificationRetentionJob notificationRetentionJob;
+    private final LedgerReconciliationJob ledgerReconciliationJob;
 
     /**
      * 🔥 Ручной graceful shutdown
@@ -30,8 +36,8 @@ public class HealthCheckController {
 
         new Thread(() -> {
             try {
-                // 1. Очищаем все сообщения
-                shutdownService.cleanupAllUserMessages();
+                // 1. Сохраняем сессии пользователей
+                shutdownService.persistAllSessions();
 
                 // 2. Ждем немного
                 Thread.sleep(2000);
@@ -59,4 +65,28 @@ public class HealthCheckController {
         health.put("service", "TC Match Bot");
         return ResponseEntity.ok(health);
     }
-}
\ No newline at end of file
+
+    /**
+     * 🔥 Метрики хранилища сессий
+     */
+    @GetMapping("/sessions")
+    public ResponseEntity<Map<String, Object>> sessionMetrics() {
+        return ResponseEntity.ok(userSessionService.getSessionMetrics());
+    }
+
+    /**
+     * 🔥 Метрики архивации уведомлений
+     */
+    @GetMapping("/notifications/retention")
+    public ResponseEntity<Map<String, Object>> notificationRetentionMetrics() {
+        return ResponseEntity.ok(notificationRetentionJob.getMetrics());
+    }
+
+    /**
+     * 🔥 Метрики сверки кошельков с журналом проводок
+     */
+    @GetMapping("/ledger/reconciliation")
+    public ResponseEntity<Map<String, Object>> ledgerReconciliationMetrics() {
+        return ResponseEntity.ok(ledgerReconciliationJob.getMetrics());
+    }
+}
@@ -22,7 +22,7 @@ public class ShutdownConfig implements ApplicationListener<ApplicationReadyEvent
     public void onApplicationEvent(ApplicationReadyEvent event) {
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
             log.warn("🚨 ВЫЗВАН SHUTDOWN HOOK (SIGTERM, Ctrl+C, System.exit())");
-            shutdownService.cleanupAllUserMessages();
+            shutdownService.persistAllSessions();
         }));
 
         log.info("✅ Shutdown hook зарегистрирован");
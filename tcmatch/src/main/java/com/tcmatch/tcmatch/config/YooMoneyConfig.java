@@ -1,73 +1,45 @@
 package com.tcmatch.tcmatch.config;
 
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
-import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
-import org.springframework.web.client.RestTemplate;
 
-import javax.net.ssl.HttpsURLConnection;
 import javax.net.ssl.SSLContext;
-import javax.net.ssl.TrustManager;
-import javax.net.ssl.X509TrustManager;
-import java.io.IOException;
-import java.net.HttpURLConnection;
-import java.security.cert.X509Certificate;
+import java.net.http.HttpClient;
 import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Configuration
 public class YooMoneyConfig {
 
-    @Value("${yoomoney.shopId}")
-    private String shopId;
-
-    @Value("${yoomoney.secretKey}")
-    private String secretKey;
+    /**
+     * 🔥 Потоки для ответов ЮKassa: ограниченный пул, а не поток на каждый запрос.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService yooMoneyHttpExecutor(@Value("${yoomoney.http.threads:4}") int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "yookassa-http-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
 
     /**
-     * ✅ ИСПРАВЛЕННАЯ ВЕРСИЯ с правильным lifecycle управлением и обработкой JSON
+     * 🔥 Один HttpClient на все приложение: пул соединений с keep-alive (HTTP/2 с откатом на HTTP/1.1)
+     * и один SSLContext, созданный при старте, а не на каждое соединение.
      */
     @Bean
-    public RestTemplate yooMoneyRestTemplate(RestTemplateBuilder builder) throws Exception {
-        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory() {
-            @Override
-            protected void prepareConnection(HttpURLConnection connection, String httpMethod) throws IOException {
-                if (connection instanceof HttpsURLConnection) {
-                    HttpsURLConnection httpsConnection = (HttpsURLConnection) connection;
-                    try {
-                        httpsConnection.setSSLSocketFactory(createTrustAllSSLContext().getSocketFactory());
-                    } catch (Exception e) {
-                        throw new IOException("Failed to create SSL context", e);
-                    }
-                    httpsConnection.setHostnameVerifier((hostname, session) -> true);
-                }
-                super.prepareConnection(connection, httpMethod);
-            }
-        };
-
-        requestFactory.setConnectTimeout(Duration.ofSeconds(30));
-        requestFactory.setReadTimeout(Duration.ofSeconds(30));
-
-        return builder
-                .requestFactory(() -> requestFactory)
-                .rootUri("https://api.yookassa.ru/v3")
-                .basicAuthentication(shopId, secretKey)
+    public HttpClient yooMoneyHttpClient(@Qualifier("yooMoneyHttpExecutor") ExecutorService executor,
+                                         @Value("${yoomoney.http.connect-timeout:PT5S}") Duration connectTimeout) throws Exception {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .sslContext(SSLContext.getDefault())
+                .executor(executor)
                 .build();
     }
-
-    private SSLContext createTrustAllSSLContext() throws Exception {
-        TrustManager[] trustAllCerts = new TrustManager[]{
-                new X509TrustManager() {
-                    public X509Certificate[] getAcceptedIssuers() { return null; }
-                    public void checkClientTrusted(X509Certificate[] certs, String authType) { }
-                    public void checkServerTrusted(X509Certificate[] certs, String authType) { }
-                }
-        };
-
-        SSLContext sslContext = SSLContext.getInstance("TLS");
-        sslContext.init(null, trustAllCerts, new java.security.SecureRandom());
-        return sslContext;
-    }
-}
\ No newline at end of file
+}
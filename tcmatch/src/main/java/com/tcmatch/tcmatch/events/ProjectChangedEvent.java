@@ -0,0 +1,15 @@
+package com.tcmatch.tcmatch.events;
+
+import lombok.Getter;
+
+/**
+ * Проект создан, изменен или сменил статус (в т.ч. отменен/взят в работу).
+ */
+@Getter
+public class ProjectChangedEvent {
+    private final Long projectId;
+
+    public ProjectChangedEvent(Long projectId) {
+        this.projectId = projectId;
+    }
+}
@@ -0,0 +1,24 @@
+package com.tcmatch.tcmatch.events;
+
+import com.tcmatch.tcmatch.model.enums.SubscriptionTier;
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.time.LocalDateTime;
+
+@Getter
+public class SubscriptionExpiredEvent extends ApplicationEvent {
+    private final Long userId;
+    private final Long chatId;
+    private final SubscriptionTier previousTier;
+    private final LocalDateTime expiredAt;
+
+    public SubscriptionExpiredEvent(Object source, Long userId, Long chatId,
+                                    SubscriptionTier previousTier, LocalDateTime expiredAt) {
+        super(source);
+        this.userId = userId;
+        this.chatId = chatId;
+        this.previousTier = previousTier;
+        this.expiredAt = expiredAt;
+    }
+}
@@ -10,7 +10,11 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "applications")
+@Table(name = "applications", indexes = {
+        @Index(name = "idx_applications_project_status", columnList = "project_id, status"),
+        // Отклики фрилансера и keyset-пагинация по (applied_at, id)
+        @Index(name = "idx_applications_freelancer_applied", columnList = "freelancer_chat_id, applied_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -47,6 +51,7 @@ public class Application {
     private UserRole.ApplicationStatus status = UserRole.ApplicationStatus.PENDING;
 
     @Builder.Default
+    @Column(name = "applied_at")
     private LocalDateTime appliedAt = LocalDateTime.now();
 
     private LocalDateTime reviewedAt;
@@ -0,0 +1,41 @@
+package com.tcmatch.tcmatch.model;
+
+import com.tcmatch.tcmatch.model.enums.NotificationStatus;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Архив прочитанных уведомлений: строки переносятся сюда из горячей таблицы notification
+ * фоновой задачей хранения (NotificationRetentionJob). id сохраняется исходный.
+ */
+@Entity
+@Table(name = "notification_archive",
+        indexes = @Index(name = "idx_notification_archive_user_created", columnList = "user_chat_id, created_at"))
+@Data
+@NoArgsConstructor
+public class ArchivedNotification {
+
+    @Id
+    private Long id;
+
+    @Column(name = "user_chat_id", nullable = false)
+    private Long userChatId;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String text;
+
+    private String callbackData;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private NotificationStatus status;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
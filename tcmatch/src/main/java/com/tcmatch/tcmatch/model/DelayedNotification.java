@@ -0,0 +1,47 @@
+package com.tcmatch.tcmatch.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Уведомление, ожидающее отправки (задержка для тарифов без мгновенных уведомлений).
+ * Строка удаляется в той же транзакции, в которой создается Notification, - доставка ровно один раз.
+ */
+@Entity
+@Table(name = "delayed_notifications",
+        indexes = @Index(name = "idx_delayed_notifications_due_at", columnList = "due_at"))
+@Data
+@NoArgsConstructor
+public class DelayedNotification {
+
+    // 🔥 SEQUENCE (а не IDENTITY), чтобы Hibernate мог вставлять пачками
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "delayed_notifications_seq")
+    @SequenceGenerator(name = "delayed_notifications_seq", sequenceName = "delayed_notifications_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "recipient_chat_id", nullable = false)
+    private Long recipientChatId;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String text;
+
+    @Column(nullable = false)
+    private String callbackData;
+
+    @Column(name = "due_at", nullable = false)
+    private LocalDateTime dueAt;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    public DelayedNotification(Long recipientChatId, String text, String callbackData, LocalDateTime dueAt) {
+        this.recipientChatId = recipientChatId;
+        this.text = text;
+        this.callbackData = callbackData;
+        this.dueAt = dueAt;
+    }
+}
@@ -0,0 +1,41 @@
+package com.tcmatch.tcmatch.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Проект в избранном у пользователя. Первичный ключ (user_chat_id, project_id) дает семантику множества:
+ * повторное добавление ничего не меняет, проверка принадлежности - поиск по ключу.
+ */
+@Entity
+@Table(name = "project_favorites",
+        indexes = @Index(name = "idx_project_favorites_project", columnList = "project_id"))
+@IdClass(FavoriteProject.Key.class)
+@Data
+@NoArgsConstructor
+public class FavoriteProject {
+
+    @Id
+    @Column(name = "user_chat_id")
+    private Long userChatId;
+
+    @Id
+    @Column(name = "project_id")
+    private Long projectId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userChatId;
+        private Long projectId;
+    }
+}
@@ -0,0 +1,76 @@
+package com.tcmatch.tcmatch.model;
+
+import com.tcmatch.tcmatch.model.enums.LedgerAccountType;
+import com.tcmatch.tcmatch.model.enums.LedgerDirection;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Проводка журнала двойной записи (только добавление, строки не меняются и не удаляются).
+ * Все проводки одного перевода (transferId) в сумме дают ноль: дебеты = кредиты.
+ * Wallet.balance и Wallet.frozenBalance - кэшированные проекции счетов WALLET и ESCROW.
+ */
+@Entity
+@Immutable
+@Table(name = "ledger_entries", indexes = {
+        @Index(name = "idx_ledger_entries_owner", columnList = "owner_chat_id, account_type"),
+        @Index(name = "idx_ledger_entries_transfer", columnList = "transfer_id"),
+        @Index(name = "idx_ledger_entries_created", columnList = "created_at")
+})
+@Getter
+@NoArgsConstructor
+public class LedgerEntry {
+
+    // 🔥 SEQUENCE, чтобы проводки перевода уходили одной пачкой INSERT
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ledger_entries_seq")
+    @SequenceGenerator(name = "ledger_entries_seq", sequenceName = "ledger_entries_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "transfer_id", nullable = false)
+    private UUID transferId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "account_type", nullable = false)
+    private LedgerAccountType accountType;
+
+    // Владелец счета WALLET/ESCROW; null для счетов платформы
+    @Column(name = "owner_chat_id")
+    private Long ownerChatId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private LedgerDirection direction;
+
+    // Всегда положительная сумма, знак задает direction
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal amount;
+
+    // Основание: "order:12", "payment:<id ЮKassa>", "purchase:PROJECT_BOOST:5" и т.п.
+    @Column(nullable = false)
+    private String reference;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public LedgerEntry(UUID transferId, LedgerAccountType accountType, Long ownerChatId,
+                       LedgerDirection direction, BigDecimal amount, String reference, LocalDateTime createdAt) {
+        this.transferId = transferId;
+        this.accountType = accountType;
+        this.ownerChatId = ownerChatId;
+        this.direction = direction;
+        this.amount = amount;
+        this.reference = reference;
+        this.createdAt = createdAt;
+    }
+
+    public BigDecimal signedAmount() {
+        return direction == LedgerDirection.CREDIT ? amount : amount.negate();
+    }
+}
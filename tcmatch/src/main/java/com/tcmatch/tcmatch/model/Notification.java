@@ -8,6 +8,12 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(name = "notification", indexes = {
+        // Список и keyset-пагинация уведомлений пользователя
+        @Index(name = "idx_notification_user_created", columnList = "user_chat_id, created_at"),
+        // Непрочитанные пользователя и сверка счетчиков
+        @Index(name = "idx_notification_user_status_created", columnList = "user_chat_id, status, created_at")
+})
 @Data
 @NoArgsConstructor
 public class Notification {
@@ -29,7 +35,7 @@ public class Notification {
     @Column(nullable = false)
     private NotificationStatus status = NotificationStatus.UNREAD;
 
-    @Column(nullable = false)
+    @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
 
     // КОНСТРУКТОР ДЛЯ СОЗДАНИЯ (принимает userId, а не User entity)
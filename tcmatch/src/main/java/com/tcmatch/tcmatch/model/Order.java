@@ -15,7 +15,11 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "orders") // Важно: "order" часто является зарезервированным словом в SQL
+@Table(name = "orders", indexes = { // Важно: "order" часто является зарезервированным словом в SQL
+        @Index(name = "idx_orders_project_status", columnList = "project_id, status"),
+        @Index(name = "idx_orders_customer", columnList = "customer_chat_id"),
+        @Index(name = "idx_orders_freelancer", columnList = "freelancer_chat_id")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -41,7 +45,7 @@ public class Order {
     private Long id;
 
     // Ссылка на проект
-    @Column(nullable = false)
+    @Column(name = "project_id", nullable = false)
     private Long projectId;
 
     // Ссылка на отклик, который был принят
@@ -49,11 +53,11 @@ public class Order {
     private Long applicationId;
 
     // ID заказчика (chatId или userId, в зависимости от твоей структуры)
-    @Column(nullable = false)
+    @Column(name = "customer_chat_id", nullable = false)
     private Long customerChatId;
 
     // ID исполнителя (chatId или userId)
-    @Column(nullable = false)
+    @Column(name = "freelancer_chat_id", nullable = false)
     private Long freelancerChatId;
 
     // Бюджет, который исполнитель предложил в отклике
@@ -0,0 +1,59 @@
+package com.tcmatch.tcmatch.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Входящий вебхук ЮKassa (inbox). Контроллер только сохраняет событие и сразу отвечает 200,
+ * обработку выполняет PaymentWebhookInbox.processPending(). Пара (paymentId, status) уникальна - повторы отбрасываются.
+ */
+@Entity
+@Table(name = "payment_webhook_inbox",
+        uniqueConstraints = @UniqueConstraint(name = "uk_payment_webhook_inbox_payment_status",
+                columnNames = {"payment_id", "status"}),
+        indexes = @Index(name = "idx_payment_webhook_inbox_pending", columnList = "processed_at, next_attempt_at"))
+@Data
+@NoArgsConstructor
+public class PaymentWebhookEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payment_webhook_inbox_seq")
+    @SequenceGenerator(name = "payment_webhook_inbox_seq", sequenceName = "payment_webhook_inbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "payment_id", nullable = false)
+    private String paymentId;
+
+    @Column(nullable = false)
+    private String status;
+
+    // Исходное тело запроса - для разбора инцидентов
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String rawBody;
+
+    @Column(nullable = false)
+    private LocalDateTime receivedAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(nullable = false)
+    private int attempts = 0;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    public PaymentWebhookEvent(String paymentId, String status, String rawBody) {
+        this.paymentId = paymentId;
+        this.status = status;
+        this.rawBody = rawBody;
+        this.receivedAt = LocalDateTime.now();
+        this.nextAttemptAt = this.receivedAt;
+    }
+}
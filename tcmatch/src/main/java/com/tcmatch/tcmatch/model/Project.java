@@ -10,7 +10,12 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "projects")
+@Table(name = "projects", indexes = {
+        // Лента открытых проектов и keyset-пагинация по (created_at, id)
+        @Index(name = "idx_projects_status_created", columnList = "status, created_at"),
+        @Index(name = "idx_projects_customer_created", columnList = "customer_chat_id, created_at"),
+        @Index(name = "idx_projects_freelancer_created", columnList = "freelancer_chat_id, created_at")
+})
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -44,6 +49,7 @@ public class Project {
     private Long freelancerChatId;
 
     @Builder.Default
+    @Column(name = "created_at")
     private LocalDateTime createdAt = LocalDateTime.now();
 
     private LocalDateTime startedAt;
@@ -57,4 +63,9 @@ public class Project {
 
     @Builder.Default
     private Integer applicationsCount = 0;
+
+    // Сколько пользователей добавили проект в избранное (ведется FavoriteProjectService)
+    @Builder.Default
+    @Column(name = "favorites_count")
+    private Integer favoritesCount = 0;
 }
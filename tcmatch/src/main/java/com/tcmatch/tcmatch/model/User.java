@@ -8,8 +8,6 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
 
 @Entity
 @Table(name = "users")
@@ -87,9 +85,6 @@ public class User {
     private String experienceLevel; // "Junior", "Middle", "Senior"
     private String skills; // "Java, Spring, PostgreSQL, Docker"
 
-    @Builder.Default
-    private List<Long> favoriteProjects = new ArrayList<>();
-
     private LocalDateTime subscriptionExpiresAt;
 
     @Builder.Default
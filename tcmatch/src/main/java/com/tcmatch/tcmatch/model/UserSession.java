@@ -51,6 +51,7 @@ public class UserSession {
         this.temporaryMessageIds = new ArrayList<>();
         this.navigationHistory = new ArrayDeque<>();
         this.paymentMessages = new ArrayList<>(); // 🔥 Инициализируем
+        this.userState = UserState.NONE;
     }
 
     // 🔥 ВСПОМОГАТЕЛЬНЫЕ МЕТОДЫ
@@ -203,6 +204,13 @@ public class UserSession {
         this.pendingGitHubUrl = null;
     }
 
+    /** 🔥 Сбрасывает состояние, только если сессия все еще ждет именно этот ввод */
+    public void clearState(UserState expected) {
+        if (this.userState == expected) {
+            clearState();
+        }
+    }
+
     public boolean isWaitingForGitHub() {
         return this.userState == UserState.WAITING_GITHUB_URL;
     }
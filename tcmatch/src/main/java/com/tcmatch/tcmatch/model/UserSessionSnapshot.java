@@ -0,0 +1,36 @@
+package com.tcmatch.tcmatch.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Сохраненный снимок UserSession (компактный бинарный формат UserSessionCodec).
+ * Позволяет восстановить FSM-состояние пользователя после перезапуска.
+ */
+@Entity
+@Table(name = "user_session_snapshots")
+@Data
+@NoArgsConstructor
+public class UserSessionSnapshot {
+
+    @Id
+    @Column(name = "chat_id")
+    private Long chatId;
+
+    @Column(nullable = false, length = 1048576)
+    private byte[] payload;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // 🔥 Версия нужна и для оптимистичной блокировки, и чтобы новые снимки шли через persist без лишнего SELECT
+    @Version
+    private Long version;
+
+    public UserSessionSnapshot(Long chatId) {
+        this.chatId = chatId;
+    }
+}
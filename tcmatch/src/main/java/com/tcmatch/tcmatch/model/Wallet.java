@@ -12,7 +12,7 @@ import java.math.BigDecimal;
  * Все операции с балансом должны производиться через WalletService.
  */
 @Entity
-@Table(name = "wallets")
+@Table(name = "wallets", indexes = @Index(name = "idx_wallets_user_chat_id", columnList = "user_chatId"))
 @Data
 @NoArgsConstructor
 public class Wallet {
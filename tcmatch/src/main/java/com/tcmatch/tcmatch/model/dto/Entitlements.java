@@ -0,0 +1,39 @@
+package com.tcmatch.tcmatch.model.dto;
+
+import com.tcmatch.tcmatch.model.Subscription;
+import com.tcmatch.tcmatch.model.enums.SubscriptionTier;
+
+import java.time.LocalDateTime;
+
+/**
+ * Снимок прав пользователя по подписке (кэшируется по chatId в EntitlementCache).
+ */
+public record Entitlements(Long userId, SubscriptionTier tier, int availableApplications,
+                           LocalDateTime subscriptionEndsAt) {
+
+    public static Entitlements of(Subscription sub) {
+        return new Entitlements(sub.getUserId(), sub.getTier(), sub.getAvailableApplications(),
+                sub.getSubscriptionEndsAt());
+    }
+
+    /**
+     * Платная подписка, срок которой уже прошел (нужен сброс на FREE).
+     */
+    public boolean isExpired(LocalDateTime now) {
+        return tier != SubscriptionTier.FREE && subscriptionEndsAt != null && subscriptionEndsAt.isBefore(now);
+    }
+
+    /**
+     * Права с учетом срока: истекшая подписка, которую SubscriptionExpiryJob еще не сбросил, считается FREE.
+     */
+    public Entitlements effective(LocalDateTime now) {
+        if (!isExpired(now)) return this;
+        SubscriptionTier free = SubscriptionTier.FREE;
+        return new Entitlements(userId, free, Math.min(availableApplications, free.getMonthlyApplicationLimit()), null);
+    }
+
+    public boolean hasApplicationsLeft() {
+        // Лимит Integer.MAX_VALUE - UNLIMITED
+        return availableApplications == Integer.MAX_VALUE || availableApplications > 0;
+    }
+}
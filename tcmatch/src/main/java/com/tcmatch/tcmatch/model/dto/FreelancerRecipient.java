@@ -0,0 +1,20 @@
+package com.tcmatch.tcmatch.model.dto;
+
+import com.tcmatch.tcmatch.model.enums.SubscriptionTier;
+
+import java.time.LocalDateTime;
+
+/**
+ * Получатель рассылки о новом проекте: только нужные поля фрилансера и его подписки (одним JOIN).
+ */
+public record FreelancerRecipient(Long userId, Long chatId, SubscriptionTier tier, LocalDateTime subscriptionEndsAt) {
+
+    // 🔥 Та же логика, что в SubscriptionService.getVerifiedSubscriptionTier, но без запросов в БД
+    public SubscriptionTier effectiveTier(LocalDateTime now) {
+        if (tier == null) return SubscriptionTier.FREE;
+        if (tier != SubscriptionTier.FREE && subscriptionEndsAt != null && subscriptionEndsAt.isBefore(now)) {
+            return SubscriptionTier.FREE;
+        }
+        return tier;
+    }
+}
@@ -0,0 +1,13 @@
+package com.tcmatch.tcmatch.model.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ключ keyset-пагинации: дата сортировки + id (id разрешает одинаковые даты).
+ * Списки отсортированы от новых к старым.
+ */
+public record KeysetCursor(LocalDateTime createdAt, Long id) {
+
+    // 🔥 Курсор "до начала списка": все реальные записи старше него
+    public static final KeysetCursor HEAD = new KeysetCursor(LocalDateTime.of(9999, 12, 31, 0, 0), Long.MAX_VALUE);
+}
@@ -0,0 +1,43 @@
+package com.tcmatch.tcmatch.model.dto;
+
+import com.tcmatch.tcmatch.model.enums.NotificationStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Карточка уведомления для списка: без полного TEXT, только начало текста.
+ * Полный текст грузится при открытии уведомления (ViewNotificationCommand).
+ */
+public record NotificationPreview(Long id, LocalDateTime createdAt, NotificationStatus status,
+                                  String textPreview, Integer textLength, String callbackData) {
+
+    // 🔥 Должно совпадать с SUBSTRING в NotificationRepository.findPreviewsByIdIn
+    public static final int PREVIEW_LENGTH = 300;
+
+    public boolean isRead() {
+        return status == NotificationStatus.READ;
+    }
+
+    public boolean hasCallback() {
+        return callbackData != null && !callbackData.trim().isEmpty();
+    }
+
+    public boolean isTruncated() {
+        return textLength != null && textLength > PREVIEW_LENGTH;
+    }
+
+    /**
+     * Превью для HTML-разметки: обрезка могла разорвать тег или сущность, поэтому теги убираем,
+     * а недописанную сущность в конце отрезаем.
+     */
+    public String previewHtml() {
+        if (textPreview == null) return "";
+        if (!isTruncated()) return textPreview;
+
+        String plain = textPreview
+                .replaceAll("<[^>]*>?", "")
+                .replaceAll("&[#a-zA-Z0-9]*$", "")
+                .stripTrailing();
+        return plain + "…";
+    }
+}
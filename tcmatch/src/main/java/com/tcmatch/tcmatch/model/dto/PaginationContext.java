@@ -3,25 +3,52 @@ package com.tcmatch.tcmatch.model.dto;
 import java.util.Collections;
 import java.util.List;
 
+/**
+ * Контекст пагинации в сессии. Два режима:
+ * - по списку ID (entityIds хранит все ID) - для небольших списков вроде избранного;
+ * - keyset (entityIds == null) - хранит только границы текущей страницы и закэшированное общее число.
+ */
 public record PaginationContext<T>(
     Long chatId,
     List<Long> entityIds,                 // Полный список объектов для пагинации (Project, Application, etc.)
     String contextKey,
     String entityType,
     int currentPage,
-    int pageSize
+    int pageSize,
+    long totalCount,                      // 🔥 Для keyset-режима: общее число на момент открытия списка
+    KeysetCursor firstKey,                // 🔥 Первый элемент текущей страницы (для "Назад")
+    KeysetCursor lastKey                  // 🔥 Последний элемент текущей страницы (для "Вперед")
 ) {
+    public PaginationContext(Long chatId, List<Long> entityIds, String contextKey, String entityType,
+                             int currentPage, int pageSize) {
+        this(chatId, entityIds, contextKey, entityType, currentPage, pageSize,
+                entityIds != null ? entityIds.size() : 0, null, null);
+    }
+
     public PaginationContext withNewMessageIds(List<Integer> newMessageIds) {
         return new PaginationContext(this.chatId, this.entityIds, this.contextKey,this.entityType,
-                this.currentPage, this.pageSize);
+                this.currentPage, this.pageSize, this.totalCount, this.firstKey, this.lastKey);
     }
 
     public PaginationContext withNewPage(int newPage) {
         return new PaginationContext(this.chatId, this.entityIds, this.contextKey,this.entityType,
-                newPage, this.pageSize);
+                newPage, this.pageSize, this.totalCount, this.firstKey, this.lastKey);
+    }
+
+    public PaginationContext withKeysetPage(int newPage, KeysetCursor newFirstKey, KeysetCursor newLastKey) {
+        return new PaginationContext(this.chatId, null, this.contextKey, this.entityType,
+                newPage, this.pageSize, this.totalCount, newFirstKey, newLastKey);
     }
 
     // 🔥 ВАЖНЫЕ ХЕЛПЕР-МЕТОДЫ
+    public boolean isKeyset() {
+        return entityIds == null;
+    }
+
+    public long getTotalCount() {
+        return entityIds != null ? entityIds.size() : totalCount;
+    }
+
     public List<Long> getPageIds() {
         if (entityIds == null || entityIds.isEmpty()) {
             return Collections.emptyList();
@@ -32,8 +59,8 @@ public record PaginationContext<T>(
     }
 
     public int getTotalPages() {
-        if (entityIds == null || pageSize == 0) return 0;
-        return (int) Math.ceil((double) entityIds.size() / pageSize);
+        if (pageSize == 0) return 0;
+        return (int) Math.ceil((double) getTotalCount() / pageSize);
     }
 
     public boolean hasNextPage() {
@@ -52,4 +79,8 @@ public record PaginationContext<T>(
     public static PaginationContext forApplications(Long chatId, List<Long> applicationIds, String contextKey, int pageSize) {
         return new PaginationContext(chatId, applicationIds, contextKey, "APPLICATION", 0, pageSize);
     }
+
+    public static PaginationContext forKeyset(Long chatId, String contextKey, String entityType, long totalCount, int pageSize) {
+        return new PaginationContext(chatId, null, contextKey, entityType, 0, pageSize, totalCount, null, null);
+    }
 }
@@ -36,6 +36,10 @@ public class SearchRequest implements Serializable {
                 minBudget == null;
     }
 
+    public boolean hasKeyword() {
+        return keyword != null && !keyword.isBlank();
+    }
+
     // Хелпер: Создание пустого запроса
     public static SearchRequest empty() {
         return new SearchRequest(null, null, null);
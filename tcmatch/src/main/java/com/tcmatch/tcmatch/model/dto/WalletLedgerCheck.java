@@ -0,0 +1,14 @@
+package com.tcmatch.tcmatch.model.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Кошелек рядом с суммами его счетов в журнале (снято одним запросом - согласованный срез).
+ */
+public record WalletLedgerCheck(Long userChatId, BigDecimal balance, BigDecimal frozenBalance,
+                                BigDecimal ledgerBalance, BigDecimal ledgerFrozen) {
+
+    public boolean isConsistent() {
+        return balance.compareTo(ledgerBalance) == 0 && frozenBalance.compareTo(ledgerFrozen) == 0;
+    }
+}
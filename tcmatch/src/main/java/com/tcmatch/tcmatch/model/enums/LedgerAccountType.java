@@ -0,0 +1,14 @@
+package com.tcmatch.tcmatch.model.enums;
+
+/**
+ * Счета двойной записи. WALLET и ESCROW принадлежат пользователю (ownerChatId),
+ * остальные - счета платформы и внешнего мира (ownerChatId = null).
+ */
+public enum LedgerAccountType {
+    WALLET,            // Доступный баланс пользователя (Wallet.balance)
+    ESCROW,            // Замороженные под заказы средства (Wallet.frozenBalance)
+    EXTERNAL_PAYMENTS, // Деньги, пришедшие через ЮKassa
+    PLATFORM_REVENUE,  // Оплата покупок с баланса (и возвраты по ним)
+    PLATFORM_FEES,     // Комиссия платформы с выплат по заказам
+    OPENING_BALANCE    // Стартовые/тестовые остатки и остатки до появления журнала
+}
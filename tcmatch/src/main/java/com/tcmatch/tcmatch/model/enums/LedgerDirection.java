@@ -0,0 +1,6 @@
+package com.tcmatch.tcmatch.model.enums;
+
+public enum LedgerDirection {
+    DEBIT,  // Списание со счета
+    CREDIT  // Зачисление на счет
+}
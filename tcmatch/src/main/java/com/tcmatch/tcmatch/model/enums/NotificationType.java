@@ -0,0 +1,36 @@
+package com.tcmatch.tcmatch.model.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+
+/**
+ * Тип уведомления определяется по префиксу callbackData (отдельной колонки нет).
+ * Используется политиками хранения уведомлений.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum NotificationType {
+    PROJECT("project:"),         // Новые проекты (самые массовые)
+    APPLICATION("application:"), // Отклики и их статусы
+    ORDER("order:"),             // Заказы и оплаты этапов
+    SYSTEM(null);                // Все остальное: верификация, платежи, без перехода
+
+    private final String callbackPrefix;
+
+    /**
+     * Условие WHERE для таблицы уведомлений (колонка callback_data).
+     */
+    public String sqlCondition() {
+        if (callbackPrefix != null) {
+            return "callback_data LIKE '" + callbackPrefix + "%'";
+        }
+        String others = Arrays.stream(values())
+                .filter(type -> type.callbackPrefix != null)
+                .map(type -> "callback_data NOT LIKE '" + type.callbackPrefix + "%'")
+                .reduce((a, b) -> a + " AND " + b)
+                .orElse("1 = 1");
+        return "(callback_data IS NULL OR (" + others + "))";
+    }
+}
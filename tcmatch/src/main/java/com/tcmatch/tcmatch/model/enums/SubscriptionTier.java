@@ -15,21 +15,24 @@ public enum SubscriptionTier {
             3,
             false,              // Без мгновенных уведомлений
             false,              // Без приоритета
-            0.0                 // Бесплатно
+            0.0,                // Бесплатно
+            30                  // Уведомления о проектах через 30 минут
     ),
     BASIC(
             "⭐ Базовый (Basic)",
             15,
             true,              // ✅ Мгновенные уведомления
             false,              // Без приоритета
-            159.0               // 399 руб
+            159.0,              // 399 руб
+            0                   // Без задержки
     ),
     PRO(
             "💎 Профессиональный (Pro)",
             Integer.MAX_VALUE,
             true,               // ✅ Мгновенные уведомления
             true,               // ✅ Приоритет в списке
-            399.0              // 699 руб
+            399.0,             // 699 руб
+            0                  // Без задержки
     );
 
     // 🔥 НОВОЕ ПОЛЕ: Читаемое имя
@@ -40,6 +43,7 @@ public enum SubscriptionTier {
     private final boolean hasInstantNotifications;
     private final boolean hasPriorityVisibility;
     private final double price;
+    private final int notificationDelayMinutes;
 
     /**
      * Вспомогательный метод для безопасного получения Tier по названию (например, из callback'а)
@@ -1,8 +1,15 @@
 package com.tcmatch.tcmatch.model.enums;
 
+/**
+ * 🔥 Единственное состояние "ожидания ввода" сессии.
+ * По нему TextCommandDispatcher одним lookup выбирает обработчик текста.
+ */
 public enum UserState {
     NONE,
     WAITING_GITHUB_URL,      // 🔥 Просто флаг, что ждем GitHub URL
     WAITING_SUPPORT_MESSAGE, // Можем добавить для поддержки
-    // ... другие состояния
-}
\ No newline at end of file
+    CREATING_PROJECT,        // Мастер создания проекта ждет ввод поля
+    CREATING_APPLICATION,    // Мастер создания отклика ждет ввод поля
+    AWAITING_TOP_UP_AMOUNT,  // Ждем сумму пополнения баланса
+    AWAITING_REJECTION_COMMENT, // Админ вводит комментарий к отклонению заявки
+}
@@ -0,0 +1,128 @@
+package com.tcmatch.tcmatch.payment;
+
+import com.tcmatch.tcmatch.model.PaymentWebhookEvent;
+import com.tcmatch.tcmatch.repository.PaymentWebhookEventRepository;
+import com.tcmatch.tcmatch.service.BalancePaymentService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 🔥 Inbox вебхуков ЮKassa.
+ * Контроллер только сохраняет событие (дубликаты по paymentId+status отбрасываются) и сразу отвечает 200.
+ * Планировщик разбирает inbox по одному событию на транзакцию: обработка платежа и отметка о ней
+ * коммитятся вместе, ошибка откатывает обе, и событие повторяется позже с растущей паузой.
+ */
+@Service
+@Slf4j
+public class PaymentWebhookInbox {
+
+    private final PaymentWebhookEventRepository eventRepository;
+    private final BalancePaymentService paymentService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retryBaseMs;
+
+    public PaymentWebhookInbox(PaymentWebhookEventRepository eventRepository,
+                               BalancePaymentService paymentService,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${app.payments.webhook.batch-size:100}") int batchSize,
+                               @Value("${app.payments.webhook.max-attempts:10}") int maxAttempts,
+                               @Value("${app.payments.webhook.retry-base-ms:5000}") long retryBaseMs) {
+        this.eventRepository = eventRepository;
+        this.paymentService = paymentService;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBaseMs = Math.max(0, retryBaseMs);
+    }
+
+    /**
+     * Сохраняет вебхук в inbox.
+     * @return false, если такое событие (paymentId + status) уже было получено
+     */
+    public boolean accept(String paymentId, String status, String rawBody) {
+        if (eventRepository.existsByPaymentIdAndStatus(paymentId, status)) {
+            return false;
+        }
+        try {
+            eventRepository.saveAndFlush(new PaymentWebhookEvent(paymentId, status, rawBody));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            // 🔥 Параллельный повтор того же вебхука успел раньше - уникальный индекс отбросил дубль
+            return false;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportBacklog() {
+        long pending = eventRepository.countByProcessedAtIsNull();
+        if (pending > 0) {
+            log.info("💳 {} payment webhooks are waiting in the inbox", pending);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.payments.webhook.tick-ms:1000}")
+    public void processPending() {
+        for (int i = 0; i < batchSize; i++) {
+            if (!processNext()) break;
+        }
+    }
+
+    private boolean processNext() {
+        AtomicReference<PaymentWebhookEvent> current = new AtomicReference<>();
+        try {
+            Boolean processed = transactionTemplate.execute(status -> {
+                List<PaymentWebhookEvent> events = eventRepository.findPendingForUpdate(
+                        LocalDateTime.now(), maxAttempts, PageRequest.of(0, 1));
+                if (events.isEmpty()) return false;
+
+                PaymentWebhookEvent event = events.get(0);
+                current.set(event);
+                paymentService.handlePaymentNotification(event.getPaymentId(), event.getStatus());
+                eventRepository.markProcessed(event.getId(), LocalDateTime.now());
+                return true;
+            });
+            return Boolean.TRUE.equals(processed);
+        } catch (Exception e) {
+            PaymentWebhookEvent event = current.get();
+            if (event == null) {
+                log.error("❌ Failed to read payment webhook inbox: {}", e.getMessage());
+                return false;
+            }
+            recordFailure(event, e);
+            return true;
+        }
+    }
+
+    private void recordFailure(PaymentWebhookEvent event, Exception e) {
+        int attempt = event.getAttempts() + 1;
+        long delayMs = retryBaseMs * (1L << Math.min(attempt - 1, 10));
+        String error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        if (error.length() > 1000) error = error.substring(0, 1000);
+
+        String lastError = error;
+        transactionTemplate.executeWithoutResult(status -> eventRepository.recordFailure(
+                event.getId(), lastError, LocalDateTime.now().plus(Duration.ofMillis(delayMs))));
+
+        if (attempt >= maxAttempts) {
+            log.error("❌ Payment webhook {} ({}) gave up after {} attempts: {}",
+                    event.getPaymentId(), event.getStatus(), attempt, error);
+        } else {
+            log.warn("⚠️ Payment webhook {} ({}) failed, attempt {}/{}, retry in {} ms: {}",
+                    event.getPaymentId(), event.getStatus(), attempt, maxAttempts, delayMs, error);
+        }
+    }
+}
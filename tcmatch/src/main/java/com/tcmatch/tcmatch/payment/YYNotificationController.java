@@ -1,11 +1,9 @@
 package com.tcmatch.tcmatch.payment;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.tcmatch.tcmatch.model.Transaction;
 import com.tcmatch.tcmatch.payment.yoomoney.dto.YooMoneyNotification;
 import com.tcmatch.tcmatch.repository.TransactionRepository;
-import com.tcmatch.tcmatch.service.BalancePaymentService;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -30,7 +28,8 @@ public class YYNotificationController {
     @Value("${app.base-url}")
     private String baseUrl;
 
-    private final BalancePaymentService paymentService;
+    private final PaymentWebhookInbox paymentWebhookInbox;
+    private final ObjectMapper objectMapper; // 🔥 Общий потокобезопасный маппер Spring
 
     @GetMapping("/info")
     public Map<String, String> getInfo(HttpServletRequest request) {
@@ -66,20 +65,7 @@ public class YYNotificationController {
     public ResponseEntity<Void> handleNotification(@RequestBody String rawBody) {
 
         try {
-//            log.info("📥 Получено уведомление от ЮKassa:");
-//            log.info("Raw body: {}", rawBody);
-//
-//            // Парсим JSON вручную для отладки
-            ObjectMapper mapper = new ObjectMapper();
-//            JsonNode rootNode = mapper.readTree(rawBody);
-//
-//            log.info("Parsed JSON structure:");
-//            log.info("  - type: {}", rootNode.get("type"));
-//            log.info("  - event: {}", rootNode.get("event"));
-//            log.info("  - object: {}", rootNode.get("object"));
-
-            // Пробуем парсить в DTO
-            YooMoneyNotification notification = mapper.readValue(rawBody, YooMoneyNotification.class);
+            YooMoneyNotification notification = objectMapper.readValue(rawBody, YooMoneyNotification.class);
 
             // 1. ПРОВЕРКА ПОДПИСИ (В ПРОДАКШЕНЕ - ОБЯЗАТЕЛЬНА!)
             // В реальной системе здесь должна быть проверка HMAC-подписи
@@ -100,13 +86,15 @@ public class YYNotificationController {
                 return ResponseEntity.badRequest().build();
             }
 
-            // 3. Передача данных в сервис для бизнес-логики (активации/отмены)
+            // 3. 🔥 Только сохраняем событие в inbox - пополнение выполнит PaymentWebhookInbox
             try {
-                paymentService.handlePaymentNotification(paymentId, status);
+                if (!paymentWebhookInbox.accept(paymentId, status, rawBody)) {
+                    log.info("🔁 Повторный вебхук {} ({}) - уже получен", paymentId, status);
+                }
             } catch (Exception e) {
-                // Если произошла ошибка внутри нашего сервиса (например, ошибка БД),
+                // Событие не сохранено (например, ошибка БД) -
                 // возвращаем статус 500, чтобы ЮKassa попыталась отправить уведомление повторно.
-                log.error("Критическая ошибка при обработке уведомления {}: {}", paymentId, e.getMessage());
+                log.error("Критическая ошибка при сохранении уведомления {}: {}", paymentId, e.getMessage());
                 return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
             }
 
@@ -0,0 +1,75 @@
+package com.tcmatch.tcmatch.payment.yoomoney;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+
+/**
+ * Простой предохранитель для внешнего API.
+ * После failureThreshold сбоев подряд запросы отклоняются сразу (OPEN) в течение openDuration,
+ * затем пропускается один пробный запрос (HALF_OPEN): успех закрывает предохранитель, сбой - снова открывает.
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openNanos;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures = 0;
+    private long openedAt = 0;
+    private boolean trialInFlight = false;
+
+    public CircuitBreaker(String name, int failureThreshold, Duration openDuration) {
+        this.name = name;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openNanos = openDuration.toNanos();
+    }
+
+    /**
+     * @return true, если запрос можно отправлять
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN && System.nanoTime() - openedAt >= openNanos) {
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+        }
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> {
+                if (trialInFlight) yield false;
+                trialInFlight = true;
+                yield true;
+            }
+        };
+    }
+
+    public synchronized void onSuccess() {
+        if (state != State.CLOSED) {
+            log.info("✅ Circuit breaker {} closed", name);
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            if (state != State.OPEN) {
+                log.warn("⚠️ Circuit breaker {} opened after {} failures", name, consecutiveFailures);
+            }
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+            trialInFlight = false;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+}
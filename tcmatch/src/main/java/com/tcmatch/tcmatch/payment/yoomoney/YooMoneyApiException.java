@@ -0,0 +1,24 @@
+package com.tcmatch.tcmatch.payment.yoomoney;
+
+import lombok.Getter;
+
+/**
+ * Ошибка ответа ЮKassa (HTTP-статус не 2xx или пустое тело).
+ */
+@Getter
+public class YooMoneyApiException extends RuntimeException {
+
+    private final int statusCode;
+
+    public YooMoneyApiException(int statusCode, String message) {
+        super(message);
+        this.statusCode = statusCode;
+    }
+
+    /**
+     * 5xx и 429 - временные сбои: запрос можно повторить с тем же Idempotence-Key.
+     */
+    public boolean isRetryable() {
+        return statusCode >= 500 || statusCode == 429;
+    }
+}
@@ -2,8 +2,8 @@ package com.tcmatch.tcmatch.payment.yoomoney;
 
 import com.tcmatch.tcmatch.payment.yoomoney.dto.YooMoneyPaymentResponse;
 
-import java.math.BigDecimal;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 public interface YooMoneyClient {
 
@@ -15,4 +15,9 @@ public interface YooMoneyClient {
      * @return Объект ответа, содержащий ID платежа и ссылку на оплату.
      */
     YooMoneyPaymentResponse createPayment(Double amount, String description, UUID idempotenceKey);
-}
\ No newline at end of file
+
+    /**
+     * То же, что createPayment, но без блокировки вызывающего потока.
+     */
+    CompletableFuture<YooMoneyPaymentResponse> createPaymentAsync(Double amount, String description, UUID idempotenceKey);
+}
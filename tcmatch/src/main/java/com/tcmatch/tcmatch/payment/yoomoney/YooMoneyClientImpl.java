@@ -1,44 +1,82 @@
 package com.tcmatch.tcmatch.payment.yoomoney;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.tcmatch.tcmatch.payment.yoomoney.dto.YooMoneyPaymentResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.HttpServerErrorException;
-import org.springframework.web.client.ResourceAccessException;
-import org.springframework.web.client.RestTemplate;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
-import java.util.*;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 @Service
 @Slf4j
 public class YooMoneyClientImpl implements YooMoneyClient {
 
-    private final RestTemplate restTemplate;
-
-    @Value("${yoomoney.shopId}")
-    private String shopId;
-
-    @Value("${yoomoney.secretKey}")
-    private String secretKey;
-
-    @Value("${yoomoney.returnUrl}")
-    private String returnUrl;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final CircuitBreaker circuitBreaker;
+    private final URI paymentsUri;
+    private final String authorization;
+    private final String returnUrl;
+    private final Duration requestTimeout;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
 
     // ✅ КРИТИЧНО: Используем @Qualifier для получения именованного бина
-    public YooMoneyClientImpl(@Qualifier("yooMoneyRestTemplate") RestTemplate restTemplate) {
-        this.restTemplate = restTemplate;
+    public YooMoneyClientImpl(@Qualifier("yooMoneyHttpClient") HttpClient httpClient,
+                              ObjectMapper objectMapper,
+                              @Value("${yoomoney.apiUrl:https://api.yookassa.ru/v3}") String apiUrl,
+                              @Value("${yoomoney.shopId}") String shopId,
+                              @Value("${yoomoney.secretKey}") String secretKey,
+                              @Value("${yoomoney.returnUrl}") String returnUrl,
+                              @Value("${yoomoney.http.request-timeout:PT10S}") Duration requestTimeout,
+                              @Value("${yoomoney.http.max-attempts:3}") int maxAttempts,
+                              @Value("${yoomoney.http.retry-backoff-ms:300}") long retryBackoffMs,
+                              @Value("${yoomoney.http.breaker-failure-threshold:5}") int breakerFailureThreshold,
+                              @Value("${yoomoney.http.breaker-open-duration:PT30S}") Duration breakerOpenDuration) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.paymentsUri = URI.create(apiUrl + "/payments");
+        this.authorization = "Basic " + Base64.getEncoder()
+                .encodeToString((shopId + ":" + secretKey).getBytes(StandardCharsets.UTF_8));
+        this.returnUrl = returnUrl;
+        this.requestTimeout = requestTimeout;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoffMs = Math.max(0, retryBackoffMs);
+        this.circuitBreaker = new CircuitBreaker("yookassa", breakerFailureThreshold, breakerOpenDuration);
     }
 
     @Override
     public YooMoneyPaymentResponse createPayment(Double amount, String description, UUID idempotenceKey) {
+        try {
+            return createPaymentAsync(amount, description, idempotenceKey).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Запрос к платежному шлюзу прерван", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Не удалось установить связь с платежным шлюзом: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
 
+    @Override
+    public CompletableFuture<YooMoneyPaymentResponse> createPaymentAsync(Double amount, String description, UUID idempotenceKey) {
         // 🔥 Убедитесь, что здесь Double, а не BigDecimal
         String formattedAmount = String.format(Locale.ROOT, "%.2f", amount);
 
@@ -51,50 +89,96 @@ public class YooMoneyClientImpl implements YooMoneyClient {
         requestBody.put("description", description);
         requestBody.put("confirmation", Map.of("type", "redirect", "return_url", returnUrl));
 
-        HttpHeaders headers = new HttpHeaders();
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(paymentsUri)
+                    .timeout(requestTimeout)
+                    .header("Authorization", authorization)
+                    .header("Idempotence-Key", idempotenceKey.toString())
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(requestBody)))
+                    .build();
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
 
-        headers.set("Idempotence-Key", idempotenceKey.toString());
-        headers.setContentType(MediaType.APPLICATION_JSON);
+        // 🔥 Шлюз недавно не отвечал - не ждем таймаута, сразу отказываем
+        if (!circuitBreaker.tryAcquire()) {
+            log.warn("⚠️ ЮKassa временно недоступна (circuit breaker открыт), платеж не создан");
+            return CompletableFuture.failedFuture(new YooMoneyApiException(503, "Платежный шлюз временно недоступен"));
+        }
 
-        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
+        log.info("📤 Отправка запроса в ЮKassa: amount={}, description={}", formattedAmount, description);
 
-        try {
-            log.info("📤 Отправка запроса в ЮKassa: amount={}, description={}", formattedAmount, description);
-
-            ResponseEntity<YooMoneyPaymentResponse> response = restTemplate.exchange(
-                    "/payments",
-                    HttpMethod.POST,
-                    entity,
-                    YooMoneyPaymentResponse.class
-            );
-
-            log.info("📥 Получен ответ от ЮKassa: status={}", response.getStatusCode());
-
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                YooMoneyPaymentResponse responseBody = response.getBody();
-
-                // 🔥 ДЕТАЛЬНОЕ ЛОГИРОВАНИЕ ОТВЕТА
-                log.info("✅ Ответ от ЮKassa:");
-                log.info("  - ID: {}", responseBody.getId());
-                log.info("  - Status: {}", responseBody.getStatus());
-                log.info("  - Confirmation: {}", responseBody.getConfirmation());
-
-                if (responseBody.getConfirmation() != null) {
-                    log.info("  - Confirmation Type: {}", responseBody.getConfirmation().getType());
-                    log.info("  - Confirmation URL: {}", responseBody.getConfirmation().getConfirmationUrl());
-                } else {
-                    log.warn("⚠️ Confirmation is NULL в ответе!");
-                }
-
-                return responseBody;
+        return send(request, 1).whenComplete((response, error) -> {
+            if (error == null) {
+                circuitBreaker.onSuccess();
+                log.info("✅ Ответ от ЮKassa: id={}, status={}", response.getId(), response.getStatus());
+            } else if (isRetryable(unwrap(error))) {
+                circuitBreaker.onFailure();
+                log.error("❌ YooKassa connection error: {}", unwrap(error).getMessage());
             } else {
-                log.error("❌ YooKassa API Error. Status: {}, Body: {}",
-                        response.getStatusCode(), response.getBody());
-                throw new RuntimeException("Ошибка API ЮKassa: " + response.getStatusCode());
+                // 4xx - ошибка запроса, шлюз при этом работает
+                circuitBreaker.onSuccess();
+                log.error("❌ YooKassa API Error: {}", unwrap(error).getMessage());
             }
-        } catch (Exception e) {
-            log.error("❌ YooKassa connection error: {}", e.getMessage(), e);
-            throw new RuntimeException("Не удалось установить связь с платежным шлюзом: " + e.getMessage());
+        });
+    }
+
+    /**
+     * Отправка с ограниченным числом повторов. Повтор безопасен: ЮKassa не создаст
+     * второй платеж с тем же Idempotence-Key.
+     */
+    private CompletableFuture<YooMoneyPaymentResponse> send(HttpRequest request, int attempt) {
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(this::parseResponse)
+                .handle((response, error) -> {
+                    if (error == null) {
+                        return CompletableFuture.completedFuture(response);
+                    }
+                    Throwable cause = unwrap(error);
+                    if (attempt >= maxAttempts || !isRetryable(cause)) {
+                        return CompletableFuture.<YooMoneyPaymentResponse>failedFuture(cause);
+                    }
+                    long delayMs = retryBackoffMs * attempt;
+                    log.warn("⚠️ ЮKassa: попытка {}/{} не удалась ({}), повтор через {} мс",
+                            attempt, maxAttempts, cause.getMessage(), delayMs);
+                    return CompletableFuture.runAsync(() -> { },
+                                    CompletableFuture.delayedExecutor(delayMs, TimeUnit.MILLISECONDS))
+                            .thenCompose(ignored -> send(request, attempt + 1));
+                })
+                .thenCompose(Function.identity());
+    }
+
+    private YooMoneyPaymentResponse parseResponse(HttpResponse<String> response) {
+        log.info("📥 Получен ответ от ЮKassa: status={}", response.statusCode());
+
+        if (response.statusCode() / 100 != 2 || response.body() == null || response.body().isBlank()) {
+            throw new YooMoneyApiException(response.statusCode(),
+                    "Ошибка API ЮKassa: " + response.statusCode() + " " + response.body());
+        }
+        try {
+            YooMoneyPaymentResponse body = objectMapper.readValue(response.body(), YooMoneyPaymentResponse.class);
+            if (body.getConfirmation() == null) {
+                log.warn("⚠️ Confirmation is NULL в ответе!");
+            }
+            return body;
+        } catch (IOException e) {
+            throw new YooMoneyApiException(response.statusCode(), "Некорректный ответ ЮKassa: " + e.getMessage());
+        }
+    }
+
+    private boolean isRetryable(Throwable error) {
+        if (error instanceof YooMoneyApiException apiError) {
+            return apiError.isRetryable();
+        }
+        return error instanceof IOException; // Таймауты и сетевые ошибки
+    }
+
+    private Throwable unwrap(Throwable error) {
+        while ((error instanceof CompletionException || error instanceof ExecutionException) && error.getCause() != null) {
+            error = error.getCause();
         }
+        return error;
     }
-}
\ No newline at end of file
+}
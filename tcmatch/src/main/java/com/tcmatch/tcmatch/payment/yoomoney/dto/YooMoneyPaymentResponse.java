@@ -1,11 +1,13 @@
 package com.tcmatch.tcmatch.payment.yoomoney.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Data
 @NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true) // 🔥 В ответе ЮKassa много полей, нам нужны только эти
 public class YooMoneyPaymentResponse {
     private String id; // ID платежа
     private String status;
@@ -13,6 +15,7 @@ public class YooMoneyPaymentResponse {
 
     @Data
     @NoArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
     public static class Confirmation {
         private String type;
 
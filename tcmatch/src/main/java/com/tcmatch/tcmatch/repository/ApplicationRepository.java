@@ -1,11 +1,14 @@
 package com.tcmatch.tcmatch.repository;
 
 import com.tcmatch.tcmatch.model.Application;
+import com.tcmatch.tcmatch.model.dto.KeysetCursor;
 import com.tcmatch.tcmatch.model.enums.UserRole;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -42,4 +45,29 @@ public interface ApplicationRepository extends JpaRepository<Application, Long>
     List<Application> findByFreelancerChatIdOrderByAppliedAtDesc(Long chatId);
 
     List<Application> findByFreelancerChatIdAndStatus(Long chatId, UserRole.ApplicationStatus status);
+
+    // 🔥 KEYSET-ПАГИНАЦИЯ ОТКЛИКОВ ИСПОЛНИТЕЛЯ (сортировка по appliedAt)
+    long countByFreelancerChatId(Long freelancerChatId);
+
+    @Query("""
+        SELECT new com.tcmatch.tcmatch.model.dto.KeysetCursor(a.appliedAt, a.id) FROM Application a
+        WHERE a.freelancerChatId = :chatId
+        AND (a.appliedAt < :appliedAt OR (a.appliedAt = :appliedAt AND a.id < :id))
+        ORDER BY a.appliedAt DESC, a.id DESC
+    """)
+    List<KeysetCursor> findFreelancerKeysOlderThan(@Param("chatId") Long chatId,
+                                                   @Param("appliedAt") LocalDateTime appliedAt,
+                                                   @Param("id") Long id,
+                                                   Pageable pageable);
+
+    @Query("""
+        SELECT new com.tcmatch.tcmatch.model.dto.KeysetCursor(a.appliedAt, a.id) FROM Application a
+        WHERE a.freelancerChatId = :chatId
+        AND (a.appliedAt > :appliedAt OR (a.appliedAt = :appliedAt AND a.id > :id))
+        ORDER BY a.appliedAt ASC, a.id ASC
+    """)
+    List<KeysetCursor> findFreelancerKeysNewerThan(@Param("chatId") Long chatId,
+                                                   @Param("appliedAt") LocalDateTime appliedAt,
+                                                   @Param("id") Long id,
+                                                   Pageable pageable);
 }
@@ -0,0 +1,26 @@
+package com.tcmatch.tcmatch.repository;
+
+import com.tcmatch.tcmatch.model.DelayedNotification;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface DelayedNotificationRepository extends JpaRepository<DelayedNotification, Long> {
+
+    // 🔥 Наступившие строки с блокировкой FOR UPDATE SKIP LOCKED (-2):
+    // несколько экземпляров приложения не заберут одну и ту же строку
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT d FROM DelayedNotification d WHERE d.dueAt <= :now ORDER BY d.dueAt ASC, d.id ASC")
+    List<DelayedNotification> findDueForUpdate(@Param("now") LocalDateTime now, Pageable pageable);
+
+    long countByDueAtBefore(LocalDateTime moment);
+}
@@ -0,0 +1,47 @@
+package com.tcmatch.tcmatch.repository;
+
+import com.tcmatch.tcmatch.model.FavoriteProject;
+import com.tcmatch.tcmatch.model.enums.UserRole;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface FavoriteProjectRepository extends JpaRepository<FavoriteProject, FavoriteProject.Key> {
+
+    boolean existsByUserChatIdAndProjectId(Long userChatId, Long projectId);
+
+    long countByUserChatId(Long userChatId);
+
+    // 🔥 Добавляет строку, только если проект существует и еще не в избранном: 1 - добавлен, 0 - уже был.
+    // ON CONFLICT по первичному ключу атомарен: двойной тап не упирается в нарушение PK.
+    // Hibernate переводит его в ON CONFLICT DO NOTHING на PostgreSQL и в MERGE на H2.
+    @Modifying
+    @Query("""
+        INSERT INTO FavoriteProject (userChatId, projectId, createdAt)
+        SELECT :chatId, p.id, :now FROM Project p
+        WHERE p.id = :projectId
+        ON CONFLICT (userChatId, projectId) DO NOTHING
+    """)
+    int insertIfAbsent(@Param("chatId") Long chatId, @Param("projectId") Long projectId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM FavoriteProject f WHERE f.userChatId = :chatId AND f.projectId = :projectId")
+    int deleteFavorite(@Param("chatId") Long chatId, @Param("projectId") Long projectId);
+
+    // 🔥 Какие из проектов страницы в избранном - один запрос на страницу
+    @Query("SELECT f.projectId FROM FavoriteProject f WHERE f.userChatId = :chatId AND f.projectId IN :projectIds")
+    List<Long> findFavoriteProjectIdsAmong(@Param("chatId") Long chatId, @Param("projectIds") Collection<Long> projectIds);
+
+    // Избранные проекты в нужном статусе, последние добавленные первыми
+    @Query("""
+        SELECT f.projectId FROM FavoriteProject f, Project p
+        WHERE p.id = f.projectId AND f.userChatId = :chatId AND p.status = :status
+        ORDER BY f.createdAt DESC
+    """)
+    List<Long> findProjectIdsByStatus(@Param("chatId") Long chatId, @Param("status") UserRole.ProjectStatus status);
+}
@@ -0,0 +1,44 @@
+package com.tcmatch.tcmatch.repository;
+
+import com.tcmatch.tcmatch.model.LedgerEntry;
+import com.tcmatch.tcmatch.model.dto.WalletLedgerCheck;
+import com.tcmatch.tcmatch.model.enums.LedgerAccountType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, Long> {
+
+    // 🔥 Для инкрементальной сверки: чьи счета менялись с момента since
+    @Query("""
+        SELECT DISTINCT e.ownerChatId FROM LedgerEntry e
+        WHERE e.createdAt >= :since AND e.ownerChatId IS NOT NULL
+    """)
+    List<Long> findOwnersTouchedSince(@Param("since") LocalDateTime since);
+
+    boolean existsByOwnerChatIdAndReference(Long ownerChatId, String reference);
+
+    @Query("""
+        SELECT COALESCE(SUM(CASE WHEN e.direction = 'CREDIT' THEN e.amount ELSE -e.amount END), 0)
+        FROM LedgerEntry e
+        WHERE e.ownerChatId = :ownerChatId AND e.accountType = :accountType
+    """)
+    BigDecimal sumForOwner(@Param("ownerChatId") Long ownerChatId, @Param("accountType") LedgerAccountType accountType);
+
+    // 🔥 Кошелек и суммы его счетов одним запросом
+    @Query("""
+        SELECT new com.tcmatch.tcmatch.model.dto.WalletLedgerCheck(
+            w.userChatId, w.balance, w.frozenBalance,
+            COALESCE((SELECT SUM(CASE WHEN e.direction = 'CREDIT' THEN e.amount ELSE -e.amount END)
+                      FROM LedgerEntry e WHERE e.ownerChatId = w.userChatId AND e.accountType = 'WALLET'), 0),
+            COALESCE((SELECT SUM(CASE WHEN e.direction = 'CREDIT' THEN e.amount ELSE -e.amount END)
+                      FROM LedgerEntry e WHERE e.ownerChatId = w.userChatId AND e.accountType = 'ESCROW'), 0))
+        FROM Wallet w
+        WHERE w.userChatId IN :userChatIds
+    """)
+    List<WalletLedgerCheck> checkWallets(@Param("userChatIds") List<Long> userChatIds);
+}
@@ -0,0 +1,53 @@
+package com.tcmatch.tcmatch.repository;
+
+import com.tcmatch.tcmatch.model.enums.NotificationStatus;
+import com.tcmatch.tcmatch.model.enums.NotificationType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 🔥 Перенос уведомлений из горячей таблицы notification в notification_archive.
+ * Работает на уровне SQL (INSERT ... SELECT + DELETE), без загрузки TEXT в память приложения.
+ */
+@Repository
+@RequiredArgsConstructor
+public class NotificationArchiveRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * ID прочитанных уведомлений типа старше cutoff - не больше limit штук.
+     */
+    public List<Long> findArchivableIds(NotificationType type, LocalDateTime cutoff, int limit) {
+        String sql = "SELECT id FROM notification WHERE status = :status AND created_at < :cutoff AND "
+                + type.sqlCondition() + " ORDER BY id LIMIT :limit";
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("status", NotificationStatus.READ.name())
+                .addValue("cutoff", Timestamp.valueOf(cutoff))
+                .addValue("limit", limit);
+        return jdbcTemplate.queryForList(sql, params, Long.class);
+    }
+
+    /**
+     * Копирует строки в архив и удаляет их из горячей таблицы. Вызывать внутри транзакции.
+     */
+    public int moveToArchive(List<Long> ids, LocalDateTime archivedAt) {
+        if (ids.isEmpty()) return 0;
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("archivedAt", Timestamp.valueOf(archivedAt));
+        jdbcTemplate.update("""
+                INSERT INTO notification_archive (id, user_chat_id, text, callback_data, status, created_at, archived_at)
+                SELECT id, user_chat_id, text, callback_data, status, created_at, :archivedAt
+                FROM notification WHERE id IN (:ids)
+                """, params);
+        return jdbcTemplate.update("DELETE FROM notification WHERE id IN (:ids)", params);
+    }
+}
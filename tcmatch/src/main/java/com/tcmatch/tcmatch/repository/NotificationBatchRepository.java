@@ -0,0 +1,42 @@
+package com.tcmatch.tcmatch.repository;
+
+import com.tcmatch.tcmatch.model.enums.NotificationStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 🔥 Пакетная вставка уведомлений.
+ * Notification использует IDENTITY, а с ним Hibernate не батчит INSERT - поэтому вставляем через JDBC batch.
+ */
+@Repository
+@RequiredArgsConstructor
+public class NotificationBatchRepository {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO notification (user_chat_id, text, callback_data, status, created_at)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Одно и то же уведомление для многих пользователей.
+     */
+    public void insertForUsers(List<Long> userChatIds, String text, String callbackData) {
+        if (userChatIds.isEmpty()) return;
+
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, userChatIds, userChatIds.size(), (ps, userChatId) -> {
+            ps.setLong(1, userChatId);
+            ps.setString(2, text);
+            ps.setString(3, callbackData);
+            ps.setString(4, NotificationStatus.UNREAD.name());
+            ps.setTimestamp(5, createdAt);
+        });
+    }
+}
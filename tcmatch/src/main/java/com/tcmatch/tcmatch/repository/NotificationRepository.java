@@ -1,12 +1,15 @@
 package com.tcmatch.tcmatch.repository;
 
 import com.tcmatch.tcmatch.model.Notification;
+import com.tcmatch.tcmatch.model.dto.KeysetCursor;
+import com.tcmatch.tcmatch.model.dto.NotificationPreview;
 import com.tcmatch.tcmatch.model.enums.NotificationStatus;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
@@ -19,7 +22,51 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     // ДЛЯ ПОДСЧЕТА НЕПРОЧИТАННЫХ
     long countByUserChatIdAndStatus(Long userChatId, NotificationStatus status);
 
+    // 🔥 Сверка кэша счетчиков: [userChatId, count] для пачки пользователей одним запросом
+    @Query("""
+        SELECT n.userChatId, COUNT(n) FROM Notification n
+        WHERE n.userChatId IN :userChatIds AND n.status = :status
+        GROUP BY n.userChatId
+    """)
+    List<Object[]> countByUserChatIdsAndStatus(@Param("userChatIds") List<Long> userChatIds,
+                                               @Param("status") NotificationStatus status);
+
     // 🔥 НОВЫЙ МЕТОД: Получение ТОЛЬКО ID для пагинации
     @Query("SELECT n.id FROM Notification n WHERE n.userChatId = :userChatId ORDER BY n.createdAt DESC")
     List<Long> findIdByUserIdOrderByCreatedAtDesc(@Param("userChatId") Long userChatId);
+
+    // 🔥 Страница Центра уведомлений одним запросом в порядке keyset, без полного TEXT
+    @Query("""
+        SELECT new com.tcmatch.tcmatch.model.dto.NotificationPreview(
+            n.Id, n.createdAt, n.status, SUBSTRING(n.text, 1, 300), LENGTH(n.text), n.callbackData)
+        FROM Notification n
+        WHERE n.Id IN :ids
+        ORDER BY n.createdAt DESC, n.Id DESC
+    """)
+    List<NotificationPreview> findPreviewsByIdIn(@Param("ids") List<Long> ids);
+
+    // 🔥 KEYSET-ПАГИНАЦИЯ: ключи страницы старше/новее курсора
+    long countByUserChatId(Long userChatId);
+
+    @Query("""
+        SELECT new com.tcmatch.tcmatch.model.dto.KeysetCursor(n.createdAt, n.Id) FROM Notification n
+        WHERE n.userChatId = :userChatId
+        AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.Id < :id))
+        ORDER BY n.createdAt DESC, n.Id DESC
+    """)
+    List<KeysetCursor> findKeysOlderThan(@Param("userChatId") Long userChatId,
+                                         @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") Long id,
+                                         Pageable pageable);
+
+    @Query("""
+        SELECT new com.tcmatch.tcmatch.model.dto.KeysetCursor(n.createdAt, n.Id) FROM Notification n
+        WHERE n.userChatId = :userChatId
+        AND (n.createdAt > :createdAt OR (n.createdAt = :createdAt AND n.Id > :id))
+        ORDER BY n.createdAt ASC, n.Id ASC
+    """)
+    List<KeysetCursor> findKeysNewerThan(@Param("userChatId") Long userChatId,
+                                         @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") Long id,
+                                         Pageable pageable);
 }
@@ -5,6 +5,7 @@ import com.tcmatch.tcmatch.model.User;
 import com.tcmatch.tcmatch.model.enums.OrderStatus;
 import com.tcmatch.tcmatch.model.enums.UserRole;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -26,4 +27,11 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     // 🔥 НОВЫЙ МЕТОД: Поиск заказа по ID проекта
     // (Предполагаем, что у проекта может быть только один АКТИВНЫЙ заказ)
     Optional<Order> findByProjectIdAndStatus(Long projectId, OrderStatus status);
+
+    // 🔥 Атомарный переход статуса Escrow: 0 строк - заказ уже не в ожидаемом статусе (повтор/гонка)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE com.tcmatch.tcmatch.model.Order o SET o.escrowStatus = :to WHERE o.id = :orderId AND o.escrowStatus = :from")
+    int transitionEscrowStatus(@Param("orderId") Long orderId,
+                               @Param("from") Order.EscrowStatus from,
+                               @Param("to") Order.EscrowStatus to);
 }
@@ -0,0 +1,48 @@
+package com.tcmatch.tcmatch.repository;
+
+import com.tcmatch.tcmatch.model.PaymentWebhookEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface PaymentWebhookEventRepository extends JpaRepository<PaymentWebhookEvent, Long> {
+
+    // 🔥 FOR UPDATE SKIP LOCKED (-2): несколько экземпляров не обработают одно событие одновременно
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("""
+        SELECT e FROM PaymentWebhookEvent e
+        WHERE e.processedAt IS NULL AND e.attempts < :maxAttempts AND e.nextAttemptAt <= :now
+        ORDER BY e.id ASC
+    """)
+    List<PaymentWebhookEvent> findPendingForUpdate(@Param("now") LocalDateTime now,
+                                                   @Param("maxAttempts") int maxAttempts,
+                                                   Pageable pageable);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        UPDATE PaymentWebhookEvent e
+        SET e.attempts = e.attempts + 1, e.lastError = :error, e.nextAttemptAt = :nextAttemptAt
+        WHERE e.id = :id
+    """)
+    int recordFailure(@Param("id") Long id,
+                      @Param("error") String error,
+                      @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE PaymentWebhookEvent e SET e.processedAt = :processedAt, e.attempts = e.attempts + 1 WHERE e.id = :id")
+    int markProcessed(@Param("id") Long id, @Param("processedAt") LocalDateTime processedAt);
+
+    boolean existsByPaymentIdAndStatus(String paymentId, String status);
+
+    long countByProcessedAtIsNull();
+}
@@ -1,13 +1,16 @@
 package com.tcmatch.tcmatch.repository;
 
 import com.tcmatch.tcmatch.model.Project;
+import com.tcmatch.tcmatch.model.dto.KeysetCursor;
 import com.tcmatch.tcmatch.model.enums.UserRole;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,14 +28,6 @@ public interface ProjectRepository extends JpaRepository<Project, Long>, JpaSpec
     // Найти проекты по статусу и customerChatId
     List<Project> findByCustomerChatIdAndStatusOrderByCreatedAtDesc(Long customerChatId, UserRole.ProjectStatus status);
 
-    // Поиск проектов по ключевым словам в названии и описании
-    @Query("SELECT p FROM Project p WHERE p.status = 'OPEN' AND " +
-            "(LOWER(p.title) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
-            "LOWER(p.description) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
-            "LOWER(p.requiredSkills) LIKE LOWER(CONCAT('%', :query, '%'))) " +
-            "ORDER BY p.createdAt DESC")
-    List<Project> searchOpenProjects(@Param("query") String query);
-
     // Проверка прав заказчика
     @Query("SELECT CASE WHEN COUNT(p) > 0 THEN true ELSE false END " +
             "FROM Project p WHERE p.id = :projectId AND p.customerChatId = :chatId")
@@ -45,6 +40,11 @@ public interface ProjectRepository extends JpaRepository<Project, Long>, JpaSpec
     @Query("UPDATE Project p SET p.viewsCount = p.viewsCount + 1 WHERE p.id = :projectId")
     void incrementViewsCount(@Param("projectId") Long projectId);
 
+    // 🔥 Счетчик добавлений в избранное (учитывается в ранжировании поиска)
+    @Modifying
+    @Query("UPDATE Project p SET p.favoritesCount = COALESCE(p.favoritesCount, 0) + :delta WHERE p.id = :projectId")
+    void adjustFavoritesCount(@Param("projectId") Long projectId, @Param("delta") int delta);
+
     Optional<Project> findById(Long id);
 
     /**
@@ -55,28 +55,6 @@ public interface ProjectRepository extends JpaRepository<Project, Long>, JpaSpec
     List<Project> findAllByStatusOrderByCreatedAtDesc(UserRole.ProjectStatus status);
 
 
-    @Query("""
-        SELECT p FROM Project p 
-        WHERE p.status = 'OPEN' 
-        AND (:keyword IS NULL OR :keyword = '' OR LOWER(p.title) LIKE LOWER(CONCAT('%', :keyword, '%')))
-        AND (:minBudget IS NULL OR p.budget >= :minBudget)
-        ORDER BY p.createdAt DESC
-    """)
-    List<Project> findActiveProjectsByFilters(
-            @Param("keyword") String keyword,
-            @Param("minBudget") Integer minBudget
-    );
-
-    @Query("SELECT p FROM Project p WHERE " +
-            "p.status = 'OPEN' AND " +
-            "(:keyword IS NULL OR :keyword = '' OR " +
-            "LOWER(p.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-            "LOWER(p.description) LIKE LOWER(CONCAT('%', :keyword, '%'))) AND " +
-            "(:minBudget IS NULL OR p.budget >= :minBudget)")
-    List<Project> findActiveProjectsByFilters(@Param("keyword") String keyword,
-                                              @Param("requiredSkills") List<String> requiredSkills,
-                                              @Param("minBudget") Integer minBudget);
-
     // 🔥 МЕТОД ДЛЯ ПОИСКА ПРОЕКТОВ ПОЛЬЗОВАТЕЛЯ (ЗАКАЗЧИКА)
     @Query("SELECT p FROM Project p WHERE p.customerChatId = :customerChatId")
     List<Project> findByCustomerChatId(@Param("customerChatId") Long customerChatId);
@@ -89,4 +67,36 @@ public interface ProjectRepository extends JpaRepository<Project, Long>, JpaSpec
     List<Project> findByRequiredSkillsContaining(@Param("requiredSkills") String skill);
 
     List<Project> findByIdIn(List<Long> ids);
+
+    // 🔥 KEYSET-ПАГИНАЦИЯ ПОИСКА БЕЗ КЛЮЧЕВОГО СЛОВА (слова ищет ProjectSearchEngine)
+    @Query("""
+        SELECT COUNT(p) FROM Project p
+        WHERE p.status = 'OPEN'
+        AND (:minBudget IS NULL OR p.budget >= :minBudget)
+    """)
+    long countOpenProjects(@Param("minBudget") Integer minBudget);
+
+    @Query("""
+        SELECT new com.tcmatch.tcmatch.model.dto.KeysetCursor(p.createdAt, p.id) FROM Project p
+        WHERE p.status = 'OPEN'
+        AND (:minBudget IS NULL OR p.budget >= :minBudget)
+        AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id))
+        ORDER BY p.createdAt DESC, p.id DESC
+    """)
+    List<KeysetCursor> findOpenProjectKeysOlderThan(@Param("minBudget") Integer minBudget,
+                                                    @Param("createdAt") LocalDateTime createdAt,
+                                                    @Param("id") Long id,
+                                                    Pageable pageable);
+
+    @Query("""
+        SELECT new com.tcmatch.tcmatch.model.dto.KeysetCursor(p.createdAt, p.id) FROM Project p
+        WHERE p.status = 'OPEN'
+        AND (:minBudget IS NULL OR p.budget >= :minBudget)
+        AND (p.createdAt > :createdAt OR (p.createdAt = :createdAt AND p.id > :id))
+        ORDER BY p.createdAt ASC, p.id ASC
+    """)
+    List<KeysetCursor> findOpenProjectKeysNewerThan(@Param("minBudget") Integer minBudget,
+                                                    @Param("createdAt") LocalDateTime createdAt,
+                                                    @Param("id") Long id,
+                                                    Pageable pageable);
 }
@@ -1,7 +1,16 @@
 package com.tcmatch.tcmatch.repository;
 
 import com.tcmatch.tcmatch.model.Subscription;
+import com.tcmatch.tcmatch.model.enums.SubscriptionTier;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -11,6 +20,55 @@ public interface SubscriptionRepository extends JpaRepository<Subscription, Long
     // Найти подписку по ID пользователя
     Optional<Subscription> findByUserId(Long userChatId);
 
-    // 🔥 Найти все подписки, которые истекли (для Scheduler'а)
-    List<Subscription> findBySubscriptionEndsAtBefore(LocalDateTime now);
+    // 🔥 Атомарное списание отклика: проверка и уменьшение одной командой, без read-modify-write.
+    // Безлимит (:unlimited) не уменьшается. Возвращает 1 при успехе, 0 - если откликов не осталось
+    @Modifying(flushAutomatically = true)
+    @Query("""
+        UPDATE Subscription s
+        SET s.availableApplications = CASE WHEN s.availableApplications = :unlimited
+                                           THEN s.availableApplications
+                                           ELSE s.availableApplications - 1 END
+        WHERE s.userId = (SELECT u.id FROM User u WHERE u.chatId = :chatId)
+        AND s.availableApplications > 0
+    """)
+    int consumeApplication(@Param("chatId") Long chatId, @Param("unlimited") int unlimited);
+
+    // Возврат отклика (компенсация списания); безлимит не трогаем
+    @Modifying(flushAutomatically = true)
+    @Query("""
+        UPDATE Subscription s
+        SET s.availableApplications = s.availableApplications + 1
+        WHERE s.userId = (SELECT u.id FROM User u WHERE u.chatId = :chatId)
+        AND s.availableApplications < :unlimited
+    """)
+    int refundApplication(@Param("chatId") Long chatId, @Param("unlimited") int unlimited);
+
+    // 🔥 Истекшие платные подписки пачкой, с блокировкой FOR UPDATE SKIP LOCKED (-2):
+    // продление, пришедшее во время обработки пачки, дождется коммита и не будет сброшено
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("""
+        SELECT s FROM Subscription s
+        WHERE s.tier <> 'FREE' AND s.subscriptionEndsAt < :now
+        ORDER BY s.id ASC
+    """)
+    List<Subscription> findExpiredForUpdate(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // 🔥 Сброс пачки на тариф одним UPDATE (условие повторено - защита от уже продленных)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        UPDATE Subscription s
+        SET s.tier = :tier,
+            s.availableApplications = :applications,
+            s.hasInstantNotifications = :instantNotifications,
+            s.hasPriorityVisibility = :priorityVisibility,
+            s.subscriptionEndsAt = NULL
+        WHERE s.id IN :ids AND s.tier <> :tier AND s.subscriptionEndsAt < :now
+    """)
+    int downgradeExpired(@Param("ids") List<Long> ids,
+                         @Param("now") LocalDateTime now,
+                         @Param("tier") SubscriptionTier tier,
+                         @Param("applications") int applications,
+                         @Param("instantNotifications") boolean instantNotifications,
+                         @Param("priorityVisibility") boolean priorityVisibility);
 }
@@ -1,12 +1,28 @@
 package com.tcmatch.tcmatch.repository;
 
 import com.tcmatch.tcmatch.model.Transaction;
+import com.tcmatch.tcmatch.model.enums.TransactionStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
 
     // Ищем транзакцию по ID платежа ЮKassa для обработки вебхука
     Optional<Transaction> findByPaymentId(String paymentId);
-}
\ No newline at end of file
+
+    // 🔥 Атомарный переход статуса: повторный вебхук не пройдет условие WHERE и не пополнит баланс дважды
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        UPDATE Transaction t SET t.status = :to, t.processedAt = :processedAt
+        WHERE t.paymentId = :paymentId AND t.status = :from
+    """)
+    int transitionStatus(@Param("paymentId") String paymentId,
+                         @Param("from") TransactionStatus from,
+                         @Param("to") TransactionStatus to,
+                         @Param("processedAt") LocalDateTime processedAt);
+}
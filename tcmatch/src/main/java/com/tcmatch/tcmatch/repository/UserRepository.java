@@ -1,7 +1,11 @@
 package com.tcmatch.tcmatch.repository;
 
 import com.tcmatch.tcmatch.model.User;
+import com.tcmatch.tcmatch.model.dto.FreelancerRecipient;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -16,5 +20,20 @@ public interface UserRepository extends JpaRepository<User, Long> {
     // 🔥 МЕТОД ДЛЯ ПАКЕТНОЙ ЗАГРУЗКИ ПО CHAT_ID
     List<User> findByChatIdIn(List<Long> chatIds);
 
-
+    // 🔥 РАССЫЛКА О НОВОМ ПРОЕКТЕ: фрилансеры страницами по id вместе с тарифом, без загрузки сущностей
+    @Query("""
+        SELECT new com.tcmatch.tcmatch.model.dto.FreelancerRecipient(u.id, u.chatId, s.tier, s.subscriptionEndsAt)
+        FROM User u LEFT JOIN Subscription s ON s.userId = u.id
+        WHERE u.role = 'FREELANCER'
+        AND (:excludedChatId IS NULL OR u.chatId <> :excludedChatId)
+        AND u.id > :afterId
+        ORDER BY u.id ASC
+    """)
+    List<FreelancerRecipient> findFreelancerRecipientsAfter(@Param("excludedChatId") Long excludedChatId,
+                                                            @Param("afterId") Long afterId,
+                                                            Pageable pageable);
+
+    // 🔥 Пары [id, chatId] пачкой (например, для событий по подпискам, где известен только userId)
+    @Query("SELECT u.id, u.chatId FROM User u WHERE u.id IN :ids")
+    List<Object[]> findChatIdsByIds(@Param("ids") List<Long> ids);
 }
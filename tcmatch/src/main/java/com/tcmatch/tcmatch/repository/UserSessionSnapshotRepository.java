@@ -0,0 +1,7 @@
+package com.tcmatch.tcmatch.repository;
+
+import com.tcmatch.tcmatch.model.UserSessionSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface UserSessionSnapshotRepository extends JpaRepository<UserSessionSnapshot, Long> {
+}
@@ -1,8 +1,16 @@
 package com.tcmatch.tcmatch.repository;
 
 import com.tcmatch.tcmatch.model.Wallet;
+import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 
 public interface WalletRepository extends JpaRepository<Wallet, Long> {
@@ -11,4 +19,56 @@ public interface WalletRepository extends JpaRepository<Wallet, Long> {
      * Находит кошелек по ID пользователя.
      */
     Optional<Wallet> findByUserChatId(Long userChatId);
-}
\ No newline at end of file
+
+    // =================================================================
+    // 🔥 АТОМАРНЫЕ ИЗМЕНЕНИЯ БАЛАНСА: одна команда UPDATE, без чтения-изменения-записи.
+    // Условие в WHERE проверяется под блокировкой строки, поэтому параллельные списания
+    // не уводят баланс в минус и не теряют обновления. Возвращают число измененных строк (0 или 1).
+    // =================================================================
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Wallet w SET w.balance = w.balance + :amount WHERE w.userChatId = :userChatId")
+    int credit(@Param("userChatId") Long userChatId, @Param("amount") BigDecimal amount);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        UPDATE Wallet w SET w.balance = w.balance - :amount
+        WHERE w.userChatId = :userChatId AND w.balance >= :amount
+    """)
+    int debitIfSufficient(@Param("userChatId") Long userChatId, @Param("amount") BigDecimal amount);
+
+    // Escrow: доступный баланс -> замороженный
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        UPDATE Wallet w SET w.balance = w.balance - :amount, w.frozenBalance = w.frozenBalance + :amount
+        WHERE w.userChatId = :userChatId AND w.balance >= :amount
+    """)
+    int freezeIfSufficient(@Param("userChatId") Long userChatId, @Param("amount") BigDecimal amount);
+
+    // Escrow: списание замороженных средств при выплате
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        UPDATE Wallet w SET w.frozenBalance = w.frozenBalance - :amount
+        WHERE w.userChatId = :userChatId AND w.frozenBalance >= :amount
+    """)
+    int debitFrozenIfSufficient(@Param("userChatId") Long userChatId, @Param("amount") BigDecimal amount);
+
+    // 🔥 Строка кошелька под блокировкой: открытие остатка не пересекается с живыми операциями и другими инстансами
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM Wallet w WHERE w.id = :id")
+    Optional<Wallet> findByIdForUpdate(@Param("id") Long id);
+
+    // Кошельки без проводки начального остатка, чья проекция расходится с журналом (средства до появления журнала)
+    @Query("""
+        SELECT w FROM Wallet w
+        WHERE w.id > :afterId
+        AND NOT EXISTS (SELECT e.id FROM LedgerEntry e
+                        WHERE e.ownerChatId = w.userChatId AND e.reference LIKE 'wallet:opening:%')
+        AND (w.balance <> COALESCE((SELECT SUM(CASE WHEN e.direction = 'CREDIT' THEN e.amount ELSE -e.amount END)
+                                    FROM LedgerEntry e WHERE e.ownerChatId = w.userChatId AND e.accountType = 'WALLET'), 0)
+             OR w.frozenBalance <> COALESCE((SELECT SUM(CASE WHEN e.direction = 'CREDIT' THEN e.amount ELSE -e.amount END)
+                                    FROM LedgerEntry e WHERE e.ownerChatId = w.userChatId AND e.accountType = 'ESCROW'), 0))
+        ORDER BY w.id
+    """)
+    List<Wallet> findWalletsWithoutOpeningBalance(@Param("afterId") Long afterId, Pageable pageable);
+}
@@ -1,6 +1,7 @@
 package com.tcmatch.tcmatch.service;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.OutboundMessageQueue.Priority;
 import com.tcmatch.tcmatch.events.NewVerificationRequestEvent;
 import com.tcmatch.tcmatch.model.VerificationRequest;
 import com.tcmatch.tcmatch.model.dto.UserDto;
@@ -99,7 +100,7 @@ public class AdminNotificationService {
                 ))
                 .build();
 
-        botExecutor.sendHtmlMessageReturnId(adminChatId, message, keyboard);
+        botExecutor.sendHtmlMessageAsync(adminChatId, message, keyboard, Priority.INTERACTIVE);
     }
 
     /**
@@ -166,7 +167,7 @@ public class AdminNotificationService {
             );
 
             for (Long adminChatId : adminChatIds) {
-                botExecutor.sendHtmlMessageReturnId(adminChatId, message, null);
+                botExecutor.sendHtmlMessageAsync(adminChatId, message, null, Priority.INTERACTIVE);
             }
 
             log.info("Уведомления о новом обращении в поддержку отправлены {} админам",
@@ -2,6 +2,7 @@ package com.tcmatch.tcmatch.service;
 
 import com.tcmatch.tcmatch.bot.exceptions.DescriptionTooLongException;
 import com.tcmatch.tcmatch.model.dto.ApplicationCreationState;
+import com.tcmatch.tcmatch.model.enums.UserState;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -59,9 +60,9 @@ public class ApplicationCreationService {
     }
 
     public boolean isCreatingApplication(Long chatId) {
-        // 🔥 ПРОВЕРЯЕМ ЧЕРЕЗ USERSESSIONSERVICE
-        String currentHandler = userSessionService.getCurrentCommand(chatId);
-        return "application".equals(currentHandler) &&
+        // 🔥 ПРОВЕРЯЕМ И СОСТОЯНИЕ ОЖИДАНИЯ, И САМ ЧЕРНОВИК ОТКЛИКА
+        return userSessionService.getUserState(chatId) == UserState.CREATING_APPLICATION &&
+                "application".equals(userSessionService.getCurrentCommand(chatId)) &&
                 userSessionService.getApplicationCreationState(chatId) != null;
     }
 
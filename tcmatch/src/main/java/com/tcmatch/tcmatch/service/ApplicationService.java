@@ -66,6 +66,11 @@ public class ApplicationService {
             throw new RuntimeException("Проект уже закрыт для откликов");
         }
 
+        // 🔥 Атомарно списываем отклик до вставки: при любой ошибке ниже транзакция вернет его обратно
+        if (!subscriptionService.tryConsumeApplication(freelancerChatId)) {
+            throw new IllegalStateException("Лимит откликов исчерпан");
+        }
+
         Application application = Application.builder()
                 .projectId(projectId)
                 .freelancerChatId(freelancerChatId)
@@ -76,8 +81,6 @@ public class ApplicationService {
 
         Application savedApplication = applicationRepository.save(application);
 
-        subscriptionService.decrementApplicationCount(freelancer.getChatId());
-
         ApplicationDto applicationDto = getApplicationDtoById(application.getId());
 
         project.setApplicationsCount(project.getApplicationsCount() + 1);
@@ -223,6 +226,14 @@ public class ApplicationService {
                 .collect(Collectors.toList());
     }
 
+    // 🔥 Keyset-источник для списка "Мои отклики"
+    public KeysetPageSource freelancerApplicationPageSource(Long chatId) {
+        return KeysetPageSource.of(
+                () -> applicationRepository.countByFreelancerChatId(chatId),
+                (cursor, page) -> applicationRepository.findFreelancerKeysOlderThan(chatId, cursor.createdAt(), cursor.id(), page),
+                (cursor, page) -> applicationRepository.findFreelancerKeysNewerThan(chatId, cursor.createdAt(), cursor.id(), page));
+    }
+
     public List<ApplicationDto> getApplicationsByIds(List<Long> applicationIds) {
         if (applicationIds.isEmpty()) return Collections.emptyList();
 
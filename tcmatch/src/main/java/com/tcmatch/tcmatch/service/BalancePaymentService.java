@@ -19,6 +19,8 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Service
 @Slf4j
@@ -31,53 +33,65 @@ public class BalancePaymentService {
     // 🔥 Инжектируем наш сервис кошелька для пополнения баланса
     private final WalletService walletService;
 
-    @Transactional
     public PaymentInfo generatePaymentUrl(Long chatId, BigDecimal amountToPay) {
+        try {
+            return generatePaymentUrlAsync(chatId, amountToPay).join();
+        } catch (CompletionException e) {
+            throw (RuntimeException) e.getCause();
+        }
+    }
+
+    /**
+     * 🔥 Создание платежа без блокировки вызывающего потока: запрос в ЮKassa идет через пул HttpClient,
+     * транзакция сохраняется в колбэке (своей короткой транзакцией репозитория, без удержания соединения с БД на время HTTP).
+     */
+    public CompletableFuture<PaymentInfo> generatePaymentUrlAsync(Long chatId, BigDecimal amountToPay) {
         log.info("🔄 Начало генерации payment URL для пополнения баланса: chatId={}, amount={}",
                 chatId, amountToPay);
 
         // Использование BigDecimal для расчетов в YooKassa тоже, если API это поддерживает
         Double amountForYooKassa = amountToPay.doubleValue();
 
-        try {
-            UUID idempotenceKey = UUID.randomUUID();
-            String description = String.format("Пополнение баланса (Chat ID: %d) на сумму %s RUB",
-                    chatId, amountToPay); // Описание теперь о пополнении
-
-            log.info("📤 Создание платежа в ЮKassa: description={}, idempotenceKey={}",
-                    description, idempotenceKey);
-
-            YooMoneyPaymentResponse response = yooMoneyClient.createPayment(
-                    amountForYooKassa, // Используем double, как у вас было
-                    description,
-                    idempotenceKey
-            );
-
-            log.info("✅ Ответ от ЮKassa: paymentId={}, status={}",
-                    response.getId(), response.getStatus());
-
-            // 🔥 КРИТИЧЕСКИЙ МОМЕНТ - СОХРАНЕНИЕ
-            Transaction transaction = new Transaction(
-                    response.getId(),
-                    chatId,
-                    idempotenceKey,
-                    amountForYooKassa
-            );
-
-            Transaction saved = transactionRepository.save(transaction);
-            log.info("💾 Транзакция сохранена в БД: id={}, paymentId={}, status={}",
-                    saved.getId(), saved.getPaymentId(), saved.getStatus());
-
-            log.info("🔗 Confirmation URL: {}", response.getConfirmation().getConfirmationUrl());
-
-            return new PaymentInfo(
-                    response.getId(),
-                    response.getConfirmation().getConfirmationUrl()
-            );
-        } catch (Exception e) {
-            log.error("❌ КРИТИЧЕСКАЯ ОШИБКА при создании платежа: {}", e.getMessage(), e);
-            throw new RuntimeException("Не удалось создать ссылку для оплаты.", e);
-        }
+        UUID idempotenceKey = UUID.randomUUID();
+        String description = String.format("Пополнение баланса (Chat ID: %d) на сумму %s RUB",
+                chatId, amountToPay); // Описание теперь о пополнении
+
+        log.info("📤 Создание платежа в ЮKassa: description={}, idempotenceKey={}",
+                description, idempotenceKey);
+
+        return yooMoneyClient.createPaymentAsync(
+                        amountForYooKassa, // Используем double, как у вас было
+                        description,
+                        idempotenceKey
+                )
+                .thenApply(response -> {
+                    log.info("✅ Ответ от ЮKassa: paymentId={}, status={}",
+                            response.getId(), response.getStatus());
+
+                    // 🔥 КРИТИЧЕСКИЙ МОМЕНТ - СОХРАНЕНИЕ
+                    Transaction transaction = new Transaction(
+                            response.getId(),
+                            chatId,
+                            idempotenceKey,
+                            amountForYooKassa
+                    );
+
+                    Transaction saved = transactionRepository.save(transaction);
+                    log.info("💾 Транзакция сохранена в БД: id={}, paymentId={}, status={}",
+                            saved.getId(), saved.getPaymentId(), saved.getStatus());
+
+                    log.info("🔗 Confirmation URL: {}", response.getConfirmation().getConfirmationUrl());
+
+                    return new PaymentInfo(
+                            response.getId(),
+                            response.getConfirmation().getConfirmationUrl()
+                    );
+                })
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    log.error("❌ КРИТИЧЕСКАЯ ОШИБКА при создании платежа: {}", cause.getMessage(), cause);
+                    throw new RuntimeException("Не удалось создать ссылку для оплаты.", cause);
+                });
     }
 
     // =================================================================
@@ -108,60 +122,53 @@ public class BalancePaymentService {
 
         log.info("💰 Найдена транзакция: chatId={}, amount={}", chatId, amount);
 
+        if (tx.getStatus() != TransactionStatus.PENDING) {
+            log.info("🔁 Транзакция {} уже обработана (статус {}), вебхук {} пропущен", paymentId, tx.getStatus(), status);
+            return;
+        }
+
         if ("succeeded".equals(status)) {
-            handleSuccessfulPayment(tx, chatId, paymentId, amount);
+            handleSuccessfulPayment(chatId, paymentId, amount);
         } else if ("canceled".equals(status)) {
-            handleCanceledPayment(tx, chatId, paymentId, amount);
+            handleCanceledPayment(chatId, paymentId, amount);
         }
     }
 
     // 🔥 ИЗМЕНЕН: Удалена привязка к подписке. Теперь вызывается WalletService.deposit()
-    private void handleSuccessfulPayment(Transaction tx, Long chatId, String paymentId, Double amount) {
-        try {
-            log.info("✅ Обработка успешного платежа для пополнения: {}", paymentId);
-
-            // 🔥 ГЛАВНОЕ ИЗМЕНЕНИЕ: Пополняем баланс пользователя
-            walletService.deposit(chatId, new BigDecimal(String.valueOf(amount)));
-
-            // Обновление транзакции
-            tx.setStatus(TransactionStatus.SUCCEEDED);
-            tx.setProcessedAt(LocalDateTime.now());
-            transactionRepository.save(tx);
-
-            log.info("🎉 Баланс пользователя {} успешно пополнен на {}", chatId, amount);
-
-            // 🔥 ПУБЛИКАЦИЯ СОБЫТИЯ
-            eventPublisher.publishEvent(new PaymentCompletedEvent(
-                    this,
-                    chatId,
-                    paymentId,
-                    true,
-                    "Баланс успешно пополнен",
-                    amount
-            ));
-
-        } catch (Exception e) {
-            log.error("❌ Ошибка при пополнении баланса: {}", e.getMessage(), e);
-
-            // 🔥 ПУБЛИКАЦИЯ СОБЫТИЯ ОБ ОШИБКЕ
-            eventPublisher.publishEvent(new PaymentCompletedEvent(
-                    this,
-                    chatId,
-                    paymentId,
-                    false,
-                    "Ошибка пополнения баланса: " + e.getMessage(),
-                    amount
-            ));
+    private void handleSuccessfulPayment(Long chatId, String paymentId, Double amount) {
+        log.info("✅ Обработка успешного платежа для пополнения: {}", paymentId);
+
+        // 🔥 Сначала атомарно PENDING -> SUCCEEDED: пополнение по одному платежу выполнится ровно один раз.
+        // Ошибка пополнения откатит и статус - событие повторит PaymentWebhookInbox
+        if (transactionRepository.transitionStatus(paymentId, TransactionStatus.PENDING,
+                TransactionStatus.SUCCEEDED, LocalDateTime.now()) == 0) {
+            log.info("🔁 Платеж {} уже обработан параллельно", paymentId);
+            return;
         }
+
+        walletService.deposit(chatId, new BigDecimal(String.valueOf(amount)), "payment:" + paymentId);
+
+        log.info("🎉 Баланс пользователя {} успешно пополнен на {}", chatId, amount);
+
+        // 🔥 ПУБЛИКАЦИЯ СОБЫТИЯ (слушатель получит его после коммита)
+        eventPublisher.publishEvent(new PaymentCompletedEvent(
+                this,
+                chatId,
+                paymentId,
+                true,
+                "Баланс успешно пополнен",
+                amount
+        ));
     }
 
-    private void handleCanceledPayment(Transaction tx, Long chatId, String paymentId, Double amount) {
+    private void handleCanceledPayment(Long chatId, String paymentId, Double amount) {
         log.info("❌ Обработка отмененного платежа: {}", paymentId);
 
-        // Обновление транзакции
-        tx.setStatus(TransactionStatus.CANCELED);
-        tx.setProcessedAt(LocalDateTime.now());
-        transactionRepository.save(tx);
+        if (transactionRepository.transitionStatus(paymentId, TransactionStatus.PENDING,
+                TransactionStatus.CANCELED, LocalDateTime.now()) == 0) {
+            log.info("🔁 Платеж {} уже обработан параллельно", paymentId);
+            return;
+        }
 
         log.warn("💸 Платеж {} отменен", paymentId);
 
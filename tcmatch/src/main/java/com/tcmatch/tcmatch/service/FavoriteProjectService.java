@@ -0,0 +1,85 @@
+package com.tcmatch.tcmatch.service;
+
+import com.tcmatch.tcmatch.events.ProjectChangedEvent;
+import com.tcmatch.tcmatch.model.enums.UserRole;
+import com.tcmatch.tcmatch.repository.FavoriteProjectRepository;
+import com.tcmatch.tcmatch.repository.ProjectRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 🔥 Избранные проекты пользователей (таблица project_favorites).
+ * Добавление и удаление - одна строка по ключу, без загрузки пользователя;
+ * счетчик projects.favorites_count меняется в той же транзакции и влияет на ранжирование поиска.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class FavoriteProjectService {
+
+    private final FavoriteProjectRepository favoriteProjectRepository;
+    private final ProjectRepository projectRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * @return false, если проект уже в избранном или не существует
+     */
+    @Transactional
+    public boolean addFavoriteProject(Long chatId, Long projectId) {
+        if (favoriteProjectRepository.insertIfAbsent(chatId, projectId, LocalDateTime.now()) == 0) {
+            return false;
+        }
+        projectRepository.adjustFavoritesCount(projectId, 1);
+        eventPublisher.publishEvent(new ProjectChangedEvent(projectId));
+        return true;
+    }
+
+    /**
+     * @return false, если проекта не было в избранном
+     */
+    @Transactional
+    public boolean removeFavoriteProject(Long chatId, Long projectId) {
+        if (favoriteProjectRepository.deleteFavorite(chatId, projectId) == 0) {
+            return false;
+        }
+        projectRepository.adjustFavoritesCount(projectId, -1);
+        eventPublisher.publishEvent(new ProjectChangedEvent(projectId));
+        return true;
+    }
+
+    @Transactional(readOnly = true)
+    public boolean isProjectFavorite(Long chatId, Long projectId) {
+        return favoriteProjectRepository.existsByUserChatIdAndProjectId(chatId, projectId);
+    }
+
+    /**
+     * Какие из переданных проектов в избранном у пользователя (один запрос на страницу карточек).
+     */
+    @Transactional(readOnly = true)
+    public Set<Long> findFavoriteProjectIds(Long chatId, Collection<Long> projectIds) {
+        if (projectIds.isEmpty()) return Set.of();
+        return new HashSet<>(favoriteProjectRepository.findFavoriteProjectIdsAmong(chatId, projectIds));
+    }
+
+    /**
+     * ID открытых избранных проектов, последние добавленные первыми.
+     */
+    @Transactional(readOnly = true)
+    public List<Long> getOpenFavoriteProjectIds(Long chatId) {
+        return favoriteProjectRepository.findProjectIdsByStatus(chatId, UserRole.ProjectStatus.OPEN);
+    }
+
+    @Transactional(readOnly = true)
+    public long countFavoriteProjects(Long chatId) {
+        return favoriteProjectRepository.countByUserChatId(chatId);
+    }
+}
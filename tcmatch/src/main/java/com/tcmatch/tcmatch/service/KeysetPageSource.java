@@ -0,0 +1,54 @@
+package com.tcmatch.tcmatch.service;
+
+import com.tcmatch.tcmatch.model.dto.KeysetCursor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.LongSupplier;
+
+/**
+ * 🔥 Источник данных для keyset-пагинации (PaginationManager.renderKeysetPage).
+ * Все методы возвращают ключи в порядке от новых к старым.
+ */
+public interface KeysetPageSource {
+
+    long count();
+
+    /** Следующая страница: записи старше курсора */
+    List<KeysetCursor> fetchAfter(KeysetCursor cursor, int limit);
+
+    /** Предыдущая страница: записи новее курсора */
+    List<KeysetCursor> fetchBefore(KeysetCursor cursor, int limit);
+
+    /**
+     * Собирает источник из запросов репозитория.
+     * newer должен сортировать по возрастанию (чтобы LIMIT взял ближайшие к курсору записи),
+     * здесь порядок разворачивается обратно.
+     */
+    static KeysetPageSource of(LongSupplier count,
+                               BiFunction<KeysetCursor, Pageable, List<KeysetCursor>> older,
+                               BiFunction<KeysetCursor, Pageable, List<KeysetCursor>> newer) {
+        return new KeysetPageSource() {
+            @Override
+            public long count() {
+                return count.getAsLong();
+            }
+
+            @Override
+            public List<KeysetCursor> fetchAfter(KeysetCursor cursor, int limit) {
+                return older.apply(cursor, PageRequest.of(0, limit));
+            }
+
+            @Override
+            public List<KeysetCursor> fetchBefore(KeysetCursor cursor, int limit) {
+                List<KeysetCursor> keys = new ArrayList<>(newer.apply(cursor, PageRequest.of(0, limit)));
+                Collections.reverse(keys);
+                return keys;
+            }
+        };
+    }
+}
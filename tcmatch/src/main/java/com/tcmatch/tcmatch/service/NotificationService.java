@@ -6,21 +6,25 @@ import com.tcmatch.tcmatch.events.ApplicationStatusChangedEvent;
 import com.tcmatch.tcmatch.events.NewApplicationEvent;
 import com.tcmatch.tcmatch.events.NewProjectEvent;
 import com.tcmatch.tcmatch.model.Notification;
-import com.tcmatch.tcmatch.model.User;
 import com.tcmatch.tcmatch.model.dto.ApplicationDto;
+import com.tcmatch.tcmatch.model.dto.NotificationPreview;
 import com.tcmatch.tcmatch.model.dto.ProjectDto;
 import com.tcmatch.tcmatch.model.dto.UserDto;
 import com.tcmatch.tcmatch.model.enums.NotificationStatus;
 import com.tcmatch.tcmatch.model.enums.SubscriptionTier;
 import com.tcmatch.tcmatch.model.enums.UserRole;
+import com.tcmatch.tcmatch.repository.NotificationBatchRepository;
 import com.tcmatch.tcmatch.repository.NotificationRepository;
+import com.tcmatch.tcmatch.service.notifications.SmartPushCoalescer;
+import com.tcmatch.tcmatch.service.notifications.UnreadCounterCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -32,12 +36,15 @@ import java.util.concurrent.TimeUnit;
 public class NotificationService {
 
     private final NotificationRepository notificationRepository;
+    private final NotificationBatchRepository notificationBatchRepository;
     private final UserService userService;
     private final ProjectService projectService;
     private final BotExecutor botExecutor;
     private final UserSessionService userSessionService; // 🔥 Используем для ID пуша
     private final NotificationKeyboards notificationKeyboards; // 🔥 Нужен для кнопки "В Центр"
     private final SubscriptionService subscriptionService;
+    private final SmartPushCoalescer smartPushCoalescer;
+    private final UnreadCounterCache unreadCounterCache;
 
     @Transactional
     @Async
@@ -48,50 +55,67 @@ public class NotificationService {
         Notification notification = new Notification(userChatId, text, callbackData); // 🔥 ИЗМЕНЕНИЕ
         notificationRepository.save(notification);
 
-        // ... (остальная логика)
-
-        // 2. ЗАПУСКАЕМ ЛОГИКУ "УМНОГО ПУША"
-        // Нам нужен chatId, поэтому здесь все еще требуется обращение к UserService,
-        // чтобы получить chatId по userId из БД
-        User user = userService.findByChatId(userChatId).orElseThrow(() -> new RuntimeException("User not found"));
-        triggerSmartPush(user.getChatId());
+        // 2. ЗАПУСКАЕМ ЛОГИКУ "УМНОГО ПУША" (после коммита, склеивается с соседними уведомлениями)
+        triggerSmartPush(List.of(userChatId), text);
     }
 
     /**
-     * 🔥 ЛОГИКА "УМНОГО ПУША" (Удаление старого + Отправка нового)
+     * 🔥 Одно уведомление сразу многим пользователям: один пакетный INSERT и пуш каждому.
      */
-    @Async
-    public void triggerSmartPush(Long chatId) {
-
-        Integer oldPushMessageId = userSessionService.getLastPushMessageId(chatId);
+    @Transactional
+    public void createNotifications(List<Long> userChatIds, String text, String callbackData) {
+        if (userChatIds.isEmpty()) return;
 
-        // 1. Удаляем старый пуш, чтобы вызвать ПУШ (звук/вибрацию) в Telegram
-        if (oldPushMessageId != null) {
-            botExecutor.deleteMessage(chatId, oldPushMessageId);
-        }
+        notificationBatchRepository.insertForUsers(userChatIds, text, callbackData);
 
-        // 2. Собираем текст для нового "пуша"
-        String pushText = buildPushSummary(chatId);
+        triggerSmartPush(userChatIds, text);
+    }
 
-        // 3. Отправляем НОВОЕ сообщение
-        Integer newPushMessageId = botExecutor.sendHtmlMessageReturnId(
-                chatId,
-                pushText,
-                notificationKeyboards.createGoToNotificationCenterKeyboard() // Тебе нужно будет создать эту клавиатуру
-        );
+    /**
+     * 🔥 ЛОГИКА "УМНОГО ПУША": после коммита увеличиваем счетчики и отдаем уведомления в окно склейки.
+     * Откат транзакции не должен оставить пуш без уведомления.
+     */
+    private void triggerSmartPush(List<Long> chatIds, String text) {
+        List<Long> recipients = List.copyOf(chatIds);
+        runAfterCommit(() -> recipients.forEach(chatId -> {
+            unreadCounterCache.increment(chatId);
+            smartPushCoalescer.submit(chatId, text);
+        }));
+    }
 
-        // 4. Сохраняем ID нового "пуша" в сессию
-        if (newPushMessageId != null) {
-            userSessionService.setLastPushMessageId(chatId, newPushMessageId);
-            log.debug("New push message ID {} saved for user {}", newPushMessageId, chatId);
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
         }
     }
 
+    /**
+     * 🔥 Бейдж непрочитанных: чтение из кэша счетчиков, без COUNT-запроса.
+     */
+    public long getUnreadCount(Long chatId) {
+        return unreadCounterCache.get(chatId);
+    }
+
     public List<Long> getAllNotificationIds(Long userChatId) {
         // Используем новый метод репозитория
         return notificationRepository.findIdByUserIdOrderByCreatedAtDesc(userChatId);
     }
 
+    // 🔥 Keyset-источник для Центра уведомлений: без загрузки всех ID
+    public KeysetPageSource notificationPageSource(Long userChatId) {
+        return KeysetPageSource.of(
+                () -> notificationRepository.countByUserChatId(userChatId),
+                (cursor, page) -> notificationRepository.findKeysOlderThan(userChatId, cursor.createdAt(), cursor.id(), page),
+                (cursor, page) -> notificationRepository.findKeysNewerThan(userChatId, cursor.createdAt(), cursor.id(), page));
+    }
+
     public Notification findById(Long notificationId) {
         return notificationRepository.findById(notificationId).orElseThrow(() -> new RuntimeException("Notification not found"));
     }
@@ -99,7 +123,11 @@ public class NotificationService {
     @Transactional
     public void markAsRead(Long notificationId) {
         notificationRepository.findById(notificationId)
-                .ifPresent(n -> n.setStatus(NotificationStatus.READ));
+                .filter(n -> n.getStatus() == NotificationStatus.UNREAD)
+                .ifPresent(n -> {
+                    n.setStatus(NotificationStatus.READ);
+                    runAfterCommit(() -> unreadCounterCache.decrement(n.getUserChatId()));
+                });
     }
 
     /**
@@ -112,6 +140,14 @@ public class NotificationService {
         return notificationRepository.findAllById(notificationIds);
     }
 
+    /**
+     * 🔥 Превью уведомлений страницы: один запрос, порядок createdAt DESC, id DESC.
+     */
+    public List<NotificationPreview> getNotificationPreviews(List<Long> notificationIds) {
+        if (notificationIds.isEmpty()) return List.of();
+        return notificationRepository.findPreviewsByIdIn(notificationIds);
+    }
+
     /**
      * 🔥 3. Очищает ID push-сообщения из сессии и удаляет его из чата.
      */
@@ -119,6 +155,7 @@ public class NotificationService {
     public void clearPushMessageAndSession(Long chatId) {
         // Используем метод, который ты добавил в UserSessionService
         Integer messageId = userSessionService.getLastPushMessageId(chatId);
+        smartPushCoalescer.reset(chatId);
 
         if (messageId != null) {
             // 1. Удаляем сообщение из чата
@@ -138,37 +175,14 @@ public class NotificationService {
 
     @Transactional
     public void deleteNotification(Long notificationId) {
+        notificationRepository.findById(notificationId)
+                .filter(n -> n.getStatus() == NotificationStatus.UNREAD)
+                .ifPresent(n -> runAfterCommit(() -> unreadCounterCache.decrement(n.getUserChatId())));
         notificationRepository.deleteById(notificationId);
         // Или можно пометить как DELETED, если не хочешь удалять:
         // notificationRepository.findById(notificationId).ifPresent(n -> n.setStatus(NotificationStatus.DELETED));
     }
 
-    // ... (Метод для сборки текста push-уведомления)
-    private String buildPushSummary(Long chatId) {
-        // Здесь нам нужен ID пользователя, а не chatId
-        User user = userService.findByChatId(chatId).orElseThrow();
-
-        // Получаем последние 3 непрочитанных
-        List<Notification> unread = notificationRepository.findByUserChatIdAndStatusOrderByCreatedAtDesc(
-                user.getChatId(),
-                NotificationStatus.UNREAD,
-                PageRequest.of(0, 3)
-        );
-        long totalUnread = notificationRepository.countByUserChatIdAndStatus(user.getChatId(), NotificationStatus.UNREAD);
-
-        StringBuilder sb = new StringBuilder("🔔 **НОВЫЕ СОБЫТИЯ В ВАШЕМ АККАУНТЕ**\n\n");
-
-        for (Notification n : unread) {
-            sb.append("• ").append(n.getText()).append("\n");
-        }
-
-        if (totalUnread > unread.size()) {
-            sb.append(String.format("\n... и еще <b>%d</b> непрочитанных.", totalUnread - unread.size()));
-        }
-
-        return sb.toString();
-    }
-
     /**
      * 🔥 ПРОВЕРИТЬ, ИМЕЕТ ЛИ УВЕДОМЛЕНИЕ CALLBACK
      */
@@ -1,13 +1,14 @@
 package com.tcmatch.tcmatch.service;
 
 import com.tcmatch.tcmatch.bot.TCMatchBot;
+import com.tcmatch.tcmatch.model.dto.KeysetCursor;
 import com.tcmatch.tcmatch.model.dto.PaginationContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.function.BiFunction;
+import java.util.function.BiConsumer;
 
 @Service
 @RequiredArgsConstructor
@@ -31,13 +32,13 @@ public class PaginationManager {
             String entityType,       // "PROJECT" или "APPLICATION"
             String direction,        // "init", "next", "prev"
             int pageSize,
-            BiFunction<List<Long>, PaginationContext, List<Integer>> renderer
+            BiConsumer<List<Long>, PaginationContext> renderer
     ) {
         String sessionKey = CONTEXT_PREFIX + contextKey;
         PaginationContext currentContext = userSessionService.getFromContext(chatId, sessionKey, PaginationContext.class);
 
         // 1. ИНИЦИАЛИЗАЦИЯ
-        if ("init".equals(direction) || currentContext == null) {
+        if ("init".equals(direction) || currentContext == null || currentContext.isKeyset()) {
             if (entityIds == null || entityIds.isEmpty()) {
                 log.warn("⚠️ Пустой список ID для пагинации {}: {}", chatId, contextKey);
                 handleEmptyResults(chatId, contextKey);
@@ -64,14 +65,8 @@ public class PaginationManager {
             return;
         }
 
-        // 3. 🔥 УДАЛЯЕМ СТАРЫЕ СООБЩЕНИЯ (Централизованно через UserSessionService)
-        // 1. Получаем ID и очищаем сессию в одном вызове из сервиса
-        List<Integer> messageIds = userSessionService.getAndClearTemporaryMessageIds(chatId);
-        // 2. Если ID есть, используем BotExecutor для отправки команды
-        if (!messageIds.isEmpty()) {
-            // 🔥 Вызов нового метода на BotExecutor
-            bot.deleteMessages(chatId, messageIds);
-        }
+        // 3. 🔥 УДАЛЯЕМ СТАРЫЕ СООБЩЕНИЯ (включая те, что еще отправляются)
+        bot.deletePreviousMessages(chatId);
 
         // 4. 🔥 ПОЛУЧАЕМ ID ДЛЯ НОВОЙ СТРАНИЦЫ (используем newPage, а не currentContext)
         // 🔥 ИСПРАВЛЕННЫЙ БЛОК: 4. ПОЛУЧАЕМ ID И РАССЧИТЫВАЕМ ИНДЕКСЫ
@@ -102,19 +97,72 @@ public class PaginationManager {
         // 6. СОХРАНЯЕМ НОВЫЙ КОНТЕКСТ
         PaginationContext newContext = currentContext.withNewPage(newPage);
 
-        // 6. 🔥 РЕНДЕРИНГ (Возвращает ID новых сообщений)
-        List<Integer> newMessageIds = renderer.apply(pageIds, newContext);
+        // 6. 🔥 РЕНДЕРИНГ: карточки уходят временными сообщениями, их ID бот сам запомнит в сессии
+        renderer.accept(pageIds, newContext);
+
+        userSessionService.putToContext(chatId, sessionKey, newContext);
+
+        log.debug("📄 Отрендерена страница {}: {} {}/{}",
+                contextKey, newPage + 1, newContext.getTotalPages(), entityType);
+    }
+
+    // -----------------------------------------------------------------
+    // 1.1 KEYSET-ПАГИНАЦИЯ: в сессии только границы страницы и общее число
+    // -----------------------------------------------------------------
+    public void renderKeysetPage(
+            Long chatId,
+            String contextKey,
+            String entityType,
+            String direction,        // "init", "next", "prev"
+            int pageSize,
+            KeysetPageSource source,
+            BiConsumer<List<Long>, PaginationContext> renderer
+    ) {
+        String sessionKey = CONTEXT_PREFIX + contextKey;
+        PaginationContext currentContext = userSessionService.getFromContext(chatId, sessionKey, PaginationContext.class);
+
+        List<KeysetCursor> pageKeys;
+        int newPage;
 
-        // 7. 🔥 СОХРАНЯЕМ НОВЫЕ ID СООБЩЕНИЙ В СЕССИЮ
-        if (newMessageIds != null) {
-            for (Integer messageId : newMessageIds) {
-                userSessionService.addTemporaryMessageId(chatId, messageId);
+        if ("init".equals(direction) || currentContext == null || !currentContext.isKeyset()) {
+            // 1. ИНИЦИАЛИЗАЦИЯ: один COUNT на открытие списка
+            long totalCount = source.count();
+            if (totalCount == 0) {
+                log.warn("⚠️ Пустой результат для пагинации {}: {}", chatId, contextKey);
+                handleEmptyResults(chatId, contextKey);
+                return;
             }
+            currentContext = PaginationContext.forKeyset(chatId, contextKey, entityType, totalCount, pageSize);
+            pageKeys = source.fetchAfter(KeysetCursor.HEAD, pageSize);
+            newPage = 0;
+        } else if ("next".equals(direction) && currentContext.hasNextPage()) {
+            pageKeys = source.fetchAfter(currentContext.lastKey(), pageSize);
+            newPage = currentContext.currentPage() + 1;
+        } else if ("prev".equals(direction) && currentContext.hasPreviousPage()) {
+            pageKeys = source.fetchBefore(currentContext.firstKey(), pageSize);
+            newPage = currentContext.currentPage() - 1;
+        } else {
+            // Страница не изменилась
+            return;
         }
 
+        if (pageKeys.isEmpty()) {
+            log.warn("⚠️ Пустая страница для пагинации {}: страница {}", contextKey, newPage);
+            return;
+        }
+
+        // 2. УДАЛЯЕМ СТАРЫЕ СООБЩЕНИЯ
+        bot.deletePreviousMessages(chatId);
+
+        // 3. РЕНДЕРИНГ
+        PaginationContext newContext = currentContext.withKeysetPage(
+                newPage, pageKeys.get(0), pageKeys.get(pageKeys.size() - 1));
+        List<Long> pageIds = pageKeys.stream().map(KeysetCursor::id).toList();
+        renderer.accept(pageIds, newContext);
+
         userSessionService.putToContext(chatId, sessionKey, newContext);
 
-        log.debug("📄 Отрендерена страница {}: {} {}/{}",
+        log.debug("📄 Отрендерена keyset-страница {}: {} {}/{}",
                 contextKey, newPage + 1, newContext.getTotalPages(), entityType);
     }
 
@@ -146,10 +194,8 @@ public class PaginationManager {
     // -----------------------------------------------------------------
 
     private void deleteOldMessages(Long chatId, List<Integer> messageIds) {
-        if (messageIds != null) {
-            for (Integer id : messageIds) {
-                bot.deleteMessage(chatId, id);
-            }
+        if (messageIds != null && !messageIds.isEmpty()) {
+            bot.deleteMessages(chatId, messageIds);
         }
     }
 }
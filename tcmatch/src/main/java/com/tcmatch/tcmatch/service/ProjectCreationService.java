@@ -2,6 +2,7 @@ package com.tcmatch.tcmatch.service;
 
 
 import com.tcmatch.tcmatch.model.dto.ProjectCreationState;
+import com.tcmatch.tcmatch.model.enums.UserState;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -47,10 +48,10 @@ public class ProjectCreationService {
     }
 
     public boolean isCreatingProject(Long chatId) {
-        String currentHandler = userSessionService.getCurrentCommand(chatId);
-        String currentAction = userSessionService.getCurrentAction(chatId);
-        return "project".equals(currentHandler) &&
-                "create".equals(currentAction) &&
+        // 🔥 Одного userState мало: после ухода с мастера он может остаться, а черновика уже нет
+        return userSessionService.getUserState(chatId) == UserState.CREATING_PROJECT &&
+                "project".equals(userSessionService.getCurrentCommand(chatId)) &&
+                "create".equals(userSessionService.getCurrentAction(chatId)) &&
                 userSessionService.getProjectCreationState(chatId) != null;
     }
 
@@ -2,6 +2,7 @@ package com.tcmatch.tcmatch.service;
 
 
 import com.tcmatch.tcmatch.events.NewProjectEvent;
+import com.tcmatch.tcmatch.events.ProjectChangedEvent;
 import com.tcmatch.tcmatch.model.Project;
 import com.tcmatch.tcmatch.model.User;
 import com.tcmatch.tcmatch.model.dto.ProjectDto;
@@ -9,6 +10,8 @@ import com.tcmatch.tcmatch.model.dto.SearchRequest;
 import com.tcmatch.tcmatch.model.dto.UserDto;
 import com.tcmatch.tcmatch.model.enums.UserRole;
 import com.tcmatch.tcmatch.repository.ProjectRepository;
+import com.tcmatch.tcmatch.service.search.OpenProjectCatalog;
+import com.tcmatch.tcmatch.service.search.ProjectSearchEngine;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
@@ -29,8 +32,16 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ProjectService {
 
+    // 🔥 Полнотекстовый поиск отдает не больше стольких самых релевантных проектов
+    private static final int SEARCH_RESULTS_LIMIT = 200;
+    private static final int URGENT_MAX_DAYS = 7;
+    private static final double JUNIOR_MAX_BUDGET = 15000;
+
     private final ProjectRepository projectRepository;
     private final ApplicationEventPublisher eventPublisher;
+    private final ProjectSearchEngine searchEngine;
+    private final OpenProjectCatalog openProjectCatalog;
+    private final FavoriteProjectService favoriteProjectService;
 
     private final UserService userService;
 
@@ -58,6 +69,7 @@ public class ProjectService {
                 .build();
 
         Project savedProject = projectRepository.save(project);
+        eventPublisher.publishEvent(new ProjectChangedEvent(savedProject.getId()));
 
         eventPublisher.publishEvent(new NewProjectEvent(getProjectDtoById(project.getId()).orElseThrow(() -> new RuntimeException("Проект не найден")), project.getCustomerChatId()));
 
@@ -75,7 +87,7 @@ public class ProjectService {
             return Collections.emptyList();
         } else if ("all".equals(filter.trim())) {
             // 🔥 "all" - ВОЗВРАЩАЕМ ВСЕ ОТКРЫТЫЕ ПРОЕКТЫ
-            return getOpenProjects();
+            return findProjectsInOrder(openProjectCatalog.openProjectIds());
         } else {
             // 🔥 ДРУГИЕ ФИЛЬТРЫ - ВЫПОЛНЯЕМ ПОИСК
             return applySpecialFilters(filter.trim());
@@ -83,47 +95,40 @@ public class ProjectService {
     }
 
     private List<Project> applySpecialFilters(String filter) {
-        List<Project> allOpenProjects = getOpenProjects();
-
+        // 🔥 На фильтры отвечает каталог открытых проектов в памяти, из БД грузим только найденные
         if (filter.startsWith("budget:")) {
-            return filterByBudget(allOpenProjects, filter);
+            return findProjectsInOrder(filterByBudget(filter));
         } else if ("urgent".equals(filter)) {
-            return filterUrgentProjects(allOpenProjects);
+            return findProjectsInOrder(filterUrgentProjects());
         } else if ("junior".equals(filter)) {
-            return filterJuniorProjects(allOpenProjects);
+            return findProjectsInOrder(filterJuniorProjects());
         } else {
             // 🔥 ЕСЛИ НЕ СПЕЦИАЛЬНЫЙ ФИЛЬТР - ИЩЕМ ПО ТЕКСТУ
-            return projectRepository.searchOpenProjects(filter);
+            return findProjectsInOrder(searchEngine.search(filter, null, SEARCH_RESULTS_LIMIT));
         }
     }
 
-    private List<Project> filterByBudget(List<Project> projects, String budgetFilter) {
+    private List<Long> filterByBudget(String budgetFilter) {
         try {
             // Извлекаем число из "budget:10000"
             String budgetStr = budgetFilter.substring("budget:".length());
             double maxBudget = Double.parseDouble(budgetStr);
 
-            return projects.stream()
-                    .filter(project -> project.getBudget() != null && project.getBudget() <= maxBudget)
-                    .collect(Collectors.toList());
+            return openProjectCatalog.idsWithBudgetAtMost(maxBudget);
         } catch (Exception e) {
             log.error("❌ Ошибка парсинга бюджета из фильтра: {}", budgetFilter);
             return Collections.emptyList();
         }
     }
 
-    private List<Project> filterUrgentProjects(List<Project> projects) {
+    private List<Long> filterUrgentProjects() {
         // 🔥 СРОЧНЫЕ ПРОЕКТЫ - те, у которых срок меньше 7 дней
-        return projects.stream()
-                .filter(project -> project.getEstimatedDays() != null && project.getEstimatedDays() <= 7)
-                .collect(Collectors.toList());
+        return openProjectCatalog.idsWithEstimatedDaysAtMost(URGENT_MAX_DAYS);
     }
 
-    private List<Project> filterJuniorProjects(List<Project> projects) {
+    private List<Long> filterJuniorProjects() {
         // 🔥 ПРОЕКТЫ ДЛЯ НАЧИНАЮЩИХ - бюджет до 15000
-        return projects.stream()
-                .filter(project -> project.getBudget() != null && project.getBudget() <= 15000)
-                .collect(Collectors.toList());
+        return openProjectCatalog.idsWithBudgetAtMost(JUNIOR_MAX_BUDGET);
     }
 
     public List<Project> getUserProjects(Long chatId) {
@@ -175,6 +180,7 @@ public class ProjectService {
         } else if (newStatus == UserRole.ProjectStatus.COMPLETED) {
             project.setCompletedAt(LocalDateTime.now());
         }
+        eventPublisher.publishEvent(new ProjectChangedEvent(projectId));
         return projectRepository.save(project);
     }
 
@@ -196,13 +202,16 @@ public class ProjectService {
         if (requiredSkills != null) project.setRequiredSkills(requiredSkills);
 
         Project updatedProject = projectRepository.save(project);
+        eventPublisher.publishEvent(new ProjectChangedEvent(projectId));
         log.info("✅ Поля проекта обновлены: {}", projectId);
         return updatedProject;
     }
 
     @Transactional
     public Project updateProject(Project project) {
-        return projectRepository.save(project);
+        Project saved = projectRepository.save(project);
+        eventPublisher.publishEvent(new ProjectChangedEvent(saved.getId()));
+        return saved;
     }
 
     @Transactional
@@ -217,6 +226,7 @@ public class ProjectService {
         project.setStatus(UserRole.ProjectStatus.IN_PROGRESS);
         project.setStartedAt(LocalDateTime.now());
 
+        eventPublisher.publishEvent(new ProjectChangedEvent(projectId));
         return projectRepository.save(project);
     }
 
@@ -242,15 +252,32 @@ public class ProjectService {
     }
 
     public List<Long> searchActiveProjectIds(SearchRequest searchRequest) {
+        // 🔥 По ключевому слову - сразу ID из поискового индекса, уже по релевантности
+        if (searchRequest != null && searchRequest.hasKeyword()) {
+            return searchEngine.search(searchRequest.getKeyword(), searchRequest.getMinBudget(), SEARCH_RESULTS_LIMIT);
+        }
         List<Project> projects = searchActiveProjects(searchRequest);
         return projects.stream()
                 .map(Project::getId)
                 .collect(Collectors.toList());
     }
 
+    // 🔥 Keyset-источник для поиска без ключевого слова (только фильтры, по дате).
+    // Поиск по словам идет через searchEngine и ранжируется по релевантности.
+    public KeysetPageSource searchPageSource(SearchRequest searchRequest) {
+        Integer minBudget = searchRequest != null ? searchRequest.getMinBudget() : null;
+
+        return KeysetPageSource.of(
+                () -> projectRepository.countOpenProjects(minBudget),
+                (cursor, page) -> projectRepository.findOpenProjectKeysOlderThan(
+                        minBudget, cursor.createdAt(), cursor.id(), page),
+                (cursor, page) -> projectRepository.findOpenProjectKeysNewerThan(
+                        minBudget, cursor.createdAt(), cursor.id(), page));
+    }
+
     public List<Project> getFavoriteProjectsPage(Long chatId, int page, int pageSize) {
-        // 1. Получить все ID избранных проектов из UserService
-        List<Long> favoriteIds = userService.getFavoriteProjectIds(chatId);
+        // 1. Получить ID открытых избранных проектов
+        List<Long> favoriteIds = favoriteProjectService.getOpenFavoriteProjectIds(chatId);
 
         // 2. Определить диапазон ID для текущей страницы
         int start = page * pageSize;
@@ -265,16 +292,13 @@ public class ProjectService {
         List<Project> projects = findAllProjectsByIds(pageIds);
 
         return projects.stream()
-                .filter(p -> p.getStatus() == UserRole.ProjectStatus.OPEN)
                 .sorted(Comparator.comparing(Project::getCreatedAt).reversed())
                 .collect(Collectors.toList());
     }
 
     public int getFavoriteProjectsCount(Long chatId) {
-        // В идеале этот метод должен загружать все избранные ID и фильтровать
-        // количество активных, но для простоты, пока используем общий размер.
-        // Если требуется точный подсчет, придется загружать и фильтровать все проекты.
-        return userService.getFavoriteProjectIds(chatId).size();
+        // Общее число избранных, включая уже закрытые проекты
+        return (int) favoriteProjectService.countFavoriteProjects(chatId);
     }
 
     @Transactional(readOnly = true)
@@ -284,17 +308,17 @@ public class ProjectService {
             return projectRepository.findAllByStatusOrderByCreatedAtDesc(status);
         }
 
+        // 🔥 Ключевое слово - через полнотекстовый индекс (без LIKE '%...%')
+        if (request.hasKeyword()) {
+            return findProjectsInOrder(
+                    searchEngine.search(request.getKeyword(), request.getMinBudget(), SEARCH_RESULTS_LIMIT));
+        }
+
         // 🔥 Создание спецификации (динамического запроса)
         Specification<Project> spec = (root, query, cb) ->
                 cb.equal(root.get("status"), "OPEN"
         );
 
-        if (request.getKeyword() != null && !request.getKeyword().isEmpty()) {
-            spec = spec.and((root, query, cb) ->
-                    cb.like(cb.lower(root.get("title")), "%" + request.getKeyword().toLowerCase() + "%")
-            );
-        }
-
         if (request.getMinBudget() != null) {
             spec = spec.and((root, query, cb) ->
                     cb.greaterThanOrEqualTo(root.get("budget"), request.getMinBudget())
@@ -308,36 +332,27 @@ public class ProjectService {
         return projectRepository.findAll(spec, sort);
     }
 
-    // ProjectService.java - ДОБАВЛЯЕМ МЕТОДЫ ДЛЯ ID
-    public List<Long> getFavoriteProjectIds(Long chatId) {
-        // 1. Получаем все избранные ID (используем существующий метод)
-        // (Этот метод загружает ID из сущности User)
-        List<Long> allFavoriteIds = userService.getFavoriteProjectIds(chatId);
-
-        if (allFavoriteIds.isEmpty()) {
-            return List.of();
-        }
-
-        // 2. Загружаем сами сущности проектов по их ID
-        List<Project> favoriteProjects = projectRepository.findByIdIn(allFavoriteIds);
+    // 🔥 Загружает проекты одним запросом, сохраняя порядок ID (порядок релевантности)
+    private List<Project> findProjectsInOrder(List<Long> projectIds) {
+        if (projectIds.isEmpty()) return Collections.emptyList();
 
-        // 3. 🔥 ФИЛЬТРУЕМ на уровне сервиса по статусу OPEN
-        return favoriteProjects.stream()
-                .filter(project -> project.getStatus() == UserRole.ProjectStatus.OPEN)
-                .map(Project::getId)
+        Map<Long, Project> byId = projectRepository.findAllById(projectIds).stream()
+                .collect(Collectors.toMap(Project::getId, Function.identity()));
+        return projectIds.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
 
+    // ProjectService.java - ДОБАВЛЯЕМ МЕТОДЫ ДЛЯ ID
+    public List<Long> getFavoriteProjectIds(Long chatId) {
+        // 🔥 Только открытые проекты - фильтр по статусу в том же запросе, без загрузки сущностей
+        return favoriteProjectService.getOpenFavoriteProjectIds(chatId);
+    }
+
     @Transactional(readOnly = true)
     public List<Long> searchProjectIds(SearchRequest searchRequest) {
-        List<Project> projects = projectRepository.findActiveProjectsByFilters(
-                searchRequest.getKeyword(),
-                searchRequest.getRequiredSkills(),
-                searchRequest.getMinBudget()
-        );
-        return projects.stream()
-                .map(Project::getId)
-                .collect(Collectors.toList());
+        return searchActiveProjectIds(searchRequest);
     }
 
     @Transactional(readOnly = true)
@@ -424,6 +439,7 @@ public class ProjectService {
 //            project.setUpdatedAt(LocalDateTime.now());
 
             projectRepository.save(project);
+            eventPublisher.publishEvent(new ProjectChangedEvent(projectId));
 
             log.info("✅ Проект {} отменен пользователем {}", projectId, customerChatId);
 
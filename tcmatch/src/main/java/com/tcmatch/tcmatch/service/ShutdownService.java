@@ -2,6 +2,7 @@ package com.tcmatch.tcmatch.service;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
 import com.tcmatch.tcmatch.model.UserSession;
+import com.tcmatch.tcmatch.service.session.SessionWriteBehind;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationListener;
@@ -24,15 +25,30 @@ public class ShutdownService implements ApplicationListener<ContextClosedEvent>
 
     private final UserSessionService userSessionService;
     private final BotExecutor botExecutor;
+    private final SessionWriteBehind sessionWriteBehind;
     private final ExecutorService cleanupExecutor = Executors.newFixedThreadPool(10);
 
     @Override
     public void onApplicationEvent(ContextClosedEvent event) {
         log.info("🚨 Получен сигнал завершения работы приложения");
-        cleanupAllUserMessages();
+        // 🔥 Сообщения не удаляем: после перезапуска пользователь продолжит с того же экрана
+        persistAllSessions();
         shutdownExecutor();
     }
 
+    /**
+     * 🔥 Сохранение всех активных сессий перед остановкой
+     */
+    public void persistAllSessions() {
+        try {
+            Map<Long, UserSession> allSessions = userSessionService.getAllSessions();
+            log.info("💾 Сохраняем {} активных сессий...", allSessions.size());
+            sessionWriteBehind.flushAll(allSessions.values());
+        } catch (Exception e) {
+            log.error("❌ Ошибка сохранения сессий при остановке: {}", e.getMessage(), e);
+        }
+    }
+
     /**
      * 🔥 Очистка всех сообщений всех пользователей
      */
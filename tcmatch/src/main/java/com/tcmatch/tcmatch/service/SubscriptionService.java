@@ -1,15 +1,19 @@
 package com.tcmatch.tcmatch.service;
 
 import com.tcmatch.tcmatch.model.Subscription;
+import com.tcmatch.tcmatch.model.dto.Entitlements;
 import com.tcmatch.tcmatch.model.enums.SubscriptionTier;
 import com.tcmatch.tcmatch.repository.SubscriptionRepository;
+import com.tcmatch.tcmatch.service.subscription.EntitlementCache;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.Builder;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -25,6 +29,8 @@ public class SubscriptionService {
 
     private final SubscriptionRepository subscriptionRepository;
     private final UserService userService;
+    private final EntitlementCache entitlementCache;
+    private final PlatformTransactionManager transactionManager;
 
     @Transactional
     public void initializeNewUserSubscription(Long userId) {
@@ -49,9 +55,25 @@ public class SubscriptionService {
                 .getId();
     }
 
+    /**
+     * 🔥 Права пользователя из кэша. Только чтение: истекшие подписки сбрасывает SubscriptionExpiryJob,
+     * а до его запуска такая подписка просто считается FREE.
+     */
+    public Entitlements getEntitlements(Long chatId) {
+        return entitlementCache.get(chatId, this::loadEntitlements).effective(LocalDateTime.now());
+    }
+
+    // Только при промахе кэша: read-only транзакция (можно направить на реплику)
+    private Entitlements loadEntitlements(Long chatId) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return readOnly.execute(status -> Entitlements.of(getSubscription(getUserIdByChatId(chatId))));
+    }
+
     /**
      * Получает текущую подписку пользователя.
      */
+    @Transactional(readOnly = true)
     public Subscription getSubscription(Long userId) {
         return subscriptionRepository.findByUserId(userId)
                 .orElseThrow(() -> new EntityNotFoundException("Подписка пользователя не найдена: " + userId));
@@ -63,15 +85,7 @@ public class SubscriptionService {
      */
     public boolean hasSufficientApplications(Long chatId) {
         try {
-            Long userId = getUserIdByChatId(chatId);
-            Subscription sub = getSubscription(userId);
-
-            // Если лимит Integer.MAX_VALUE (UNLIMITED), всегда true
-            if (sub.getAvailableApplications() == Integer.MAX_VALUE) {
-                return true;
-            }
-            return sub.getAvailableApplications() > 0;
-
+            return getEntitlements(chatId).hasApplicationsLeft();
         } catch (EntityNotFoundException e) {
             log.error("Subscription not found for user {}. Assuming 0 attempts.", chatId);
             return false;
@@ -79,26 +93,39 @@ public class SubscriptionService {
     }
 
     /**
-     * 🔥 ГЛАВНЫЙ МЕТОД: Уменьшает количество доступных откликов на 1.
-     * Должен вызываться после успешной проверки hasSufficientApplications.
+     * 🔥 ГЛАВНЫЙ МЕТОД: Атомарно списывает один отклик (UPDATE ... WHERE available > 0).
+     * @return false, если откликов не осталось - параллельные запросы не уйдут в минус
      */
     @Transactional
-    public void decrementApplicationCount(Long chatId) {
-        Long userId = getUserIdByChatId(chatId);
-        Subscription sub = getSubscription(userId);
-
-        if (sub.getAvailableApplications() <= 0) {
-            // Этого не должно случиться, но это защита
-            throw new IllegalStateException("Нет доступных откликов для пользователя: " + userId);
+    public boolean tryConsumeApplication(Long chatId) {
+        boolean consumed = subscriptionRepository.consumeApplication(chatId, Integer.MAX_VALUE) == 1;
+        if (consumed) {
+            entitlementCache.invalidate(chatId);
         }
+        return consumed;
+    }
 
-        // UNLIMITED не уменьшаем
-        if (sub.getAvailableApplications() != Integer.MAX_VALUE) {
-            sub.setAvailableApplications(sub.getAvailableApplications() - 1);
+    /**
+     * Возвращает списанный отклик (например, если отклик не удалось создать вне транзакции списания).
+     */
+    @Transactional
+    public void refundApplication(Long chatId) {
+        if (subscriptionRepository.refundApplication(chatId, Integer.MAX_VALUE) == 1) {
+            entitlementCache.invalidate(chatId);
+            log.info("Refunded application for user {}", chatId);
         }
+    }
 
-        subscriptionRepository.save(sub);
-        log.info("Decremented application count for user {}. Remaining: {}", userId, sub.getAvailableApplications());
+    /**
+     * Уменьшает количество доступных откликов на 1.
+     * @throws IllegalStateException если откликов не осталось
+     */
+    @Transactional
+    public void decrementApplicationCount(Long chatId) {
+        if (!tryConsumeApplication(chatId)) {
+            throw new IllegalStateException("Нет доступных откликов для пользователя: " + chatId);
+        }
+        log.info("Decremented application count for user {}", chatId);
     }
 
     /**
@@ -140,9 +167,10 @@ public class SubscriptionService {
         sub.setLastPaymentAt(now);
 
         subscriptionRepository.save(sub);
+        entitlementCache.invalidate(chatId);
         log.info("User {} successfully upgraded to {}. Expires at {}", userId, newTier, sub.getSubscriptionEndsAt());    }
 
-    // В будущем этот метод можно вызвать из планировщика (Scheduler), чтобы сбрасывать истекшие подписки
+    // Сброс одной подписки; массовый сброс по расписанию - SubscriptionExpiryJob
     @Transactional
     public void resetExpiredSubscription(Subscription sub) {
         if (sub.getTier() == SubscriptionTier.FREE) {
@@ -157,6 +185,7 @@ public class SubscriptionService {
         sub.setSubscriptionEndsAt(null);
 
         subscriptionRepository.save(sub);
+        entitlementCache.invalidateByUserId(sub.getUserId());
     }
 
     // 🔥 1. Вспомогательный класс для передачи статистики (замена SubscriptionCheckResult)
@@ -173,22 +202,21 @@ public class SubscriptionService {
     }
 
     public SubscriptionStatsDto getSubscriptionStats(Long chatId) {
-        Long userId = getUserIdByChatId(chatId);
-        Subscription sub = getSubscription(userId);
-        SubscriptionTier tier = sub.getTier();
+        Entitlements sub = getEntitlements(chatId);
+        SubscriptionTier tier = sub.tier();
 
         int monthlyLimit = tier.getMonthlyApplicationLimit() == Integer.MAX_VALUE
                 ? -1 // Условное обозначение UNLIMITED
                 : tier.getMonthlyApplicationLimit();
 
         // Дата обновления: либо дата окончания (для платных), либо 1 число следующего месяца (для FREE/истекших)
-        LocalDateTime resetDate = sub.getSubscriptionEndsAt() != null
-                ? sub.getSubscriptionEndsAt()
+        LocalDateTime resetDate = sub.subscriptionEndsAt() != null
+                ? sub.subscriptionEndsAt()
                 : LocalDateTime.now().plusMonths(1).withDayOfMonth(1).withHour(0).withMinute(0);
 
         return new SubscriptionStatsDto(
                 tier,
-                sub.getAvailableApplications(),
+                sub.availableApplications(),
                 monthlyLimit,
                 resetDate
         );
@@ -209,30 +237,10 @@ public class SubscriptionService {
     }
 
     /**
-     * 🔥 Проверяет, не истекла ли платная подписка, и возвращает активный Tier.
-     * Вызывает resetExpiredSubscription, если необходимо.
+     * 🔥 Возвращает активный Tier с учетом срока подписки (без записи в БД).
      */
-    @Transactional
     public SubscriptionTier getVerifiedSubscriptionTier(Long chatId) {
-        Long userId = getUserIdByChatId(chatId);
-        Subscription sub = getSubscription(userId);
-
-        // 1. Проверяем, платная ли подписка и есть ли дата окончания
-        if (sub.getTier() != SubscriptionTier.FREE && sub.getSubscriptionEndsAt() != null) {
-
-            // 2. Проверяем, истекла ли подписка
-            if (sub.getSubscriptionEndsAt().isBefore(LocalDateTime.now())) {
-
-                // 3. Если истекла, сбрасываем ее на FREE.
-                // Мы вызываем метод, который ты уже реализовал ранее (или должен был)
-                resetExpiredSubscription(sub);
-
-                return SubscriptionTier.FREE;
-            }
-        }
-
-        // Если не платная или еще активна, возвращаем текущий Tier
-        return sub.getTier();
+        return getEntitlements(chatId).tier();
     }
 
     // =================================================================
@@ -243,21 +251,15 @@ public class SubscriptionService {
      * Возвращает имя текущего тарифа пользователя.
      */
     public String getCurrentTariffName(Long chatId) {
-        // Сначала проверяем, не истекла ли подписка, и получаем активный Tier.
-        SubscriptionTier tier = getVerifiedSubscriptionTier(chatId);
+        // Сначала проверяем, не истекла ли подписка, и получаем активный Tier и дату окончания.
+        Entitlements entitlements = getEntitlements(chatId);
 
-        // Получаем дату окончания для отображения
         String endDateInfo = "";
-        try {
-            Subscription sub = getSubscription(getUserIdByChatId(chatId));
-            if (sub.getSubscriptionEndsAt() != null) {
-                endDateInfo = " (до " + sub.getSubscriptionEndsAt().format(DateTimeFormatter.ofPattern("dd.MM.yyyy")) + ")";
-            }
-        } catch (EntityNotFoundException ignored) {
-            // Игнорируем.
+        if (entitlements.subscriptionEndsAt() != null) {
+            endDateInfo = " (до " + entitlements.subscriptionEndsAt().format(DateTimeFormatter.ofPattern("dd.MM.yyyy")) + ")";
         }
 
-        return tier.getDisplayName() + endDateInfo;
+        return entitlements.tier().getDisplayName() + endDateInfo;
     }
 
     /**
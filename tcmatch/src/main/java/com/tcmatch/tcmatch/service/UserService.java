@@ -255,55 +255,6 @@ public class UserService {
         return savedUser;
     }
 
-    public List<Long> getFavoriteProjectIds(Long chatId) {
-        User user = userRepository.findByChatId(chatId)
-                .orElseThrow(() -> new RuntimeException("Пользователь не найден"));
-        return user.getFavoriteProjects();
-    }
-
-    @Transactional
-    public boolean addFavoriteProject(Long chatId, Long projectId) {
-        try {
-            User user = userRepository.findByChatId(chatId)
-                    .orElseThrow(() -> new RuntimeException("Пользователь не найден"));
-            List<Long> favoriteProjects = user.getFavoriteProjects();
-
-            favoriteProjects.add(projectId);
-            user.setFavoriteProjects(favoriteProjects);
-
-            userRepository.save(user);
-        } catch (Exception e) {
-            log.error("❌ ошибка добавления проекта %d в избранное у пользователя %s".formatted(projectId, chatId));
-            return false;
-        }
-        return true;
-    }
-
-    @Transactional
-    public boolean removeFavoriteProject(Long chatId, Long projectId) {
-        try {
-            User user = userRepository.findByChatId(chatId)
-                    .orElseThrow(() -> new RuntimeException("Пользователь не найден"));
-            List<Long> favoriteProjects = user.getFavoriteProjects();
-
-            favoriteProjects.remove(projectId);
-            user.setFavoriteProjects(favoriteProjects);
-
-            userRepository.save(user);
-        } catch (Exception e) {
-            log.error("❌ ошибка удаления проекта %d из избранного у пользователя %s".formatted(projectId, chatId));
-            return false;
-        }
-        return true;
-    }
-
-    public boolean isProjectFavorite(Long chatId, Long projectId) {
-        User user = userRepository.findByChatId(chatId)
-                .orElseThrow(() -> new RuntimeException("Пользователь не найден"));
-        List<Long> favoriteProjects = user.getFavoriteProjects();
-        return favoriteProjects.contains(projectId);
-    }
-
     public Optional<User> findByChatId(Long chatId) {
         return userRepository.findByChatId(chatId);
     }
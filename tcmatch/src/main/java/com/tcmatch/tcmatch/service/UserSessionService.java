@@ -1,22 +1,31 @@
 package com.tcmatch.tcmatch.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import com.tcmatch.tcmatch.bot.BotExecutor;
 import com.tcmatch.tcmatch.model.UserSession;
 import com.tcmatch.tcmatch.model.dto.ApplicationCreationState;
 import com.tcmatch.tcmatch.model.dto.OrderCreationState;
 import com.tcmatch.tcmatch.model.dto.ProjectCreationState;
 import com.tcmatch.tcmatch.model.dto.PurchaseConfirmationDto;
-import lombok.RequiredArgsConstructor;
+import com.tcmatch.tcmatch.model.enums.UserState;
+import com.tcmatch.tcmatch.service.session.SessionEvictionListener;
+import com.tcmatch.tcmatch.service.session.SessionWriteBehind;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 @Service
 @Slf4j
@@ -26,19 +35,73 @@ public class UserSessionService {
     @Autowired
     private BotExecutor botExecutor;
 
-    private final Map<Long, UserSession> userSessions = new ConcurrentHashMap<>();
+    // 🔥 Ограниченное хранилище: W-TinyLFU по размеру + вытеснение по простою
+    private final Cache<Long, UserSession> sessionCache;
+    private final ConcurrentMap<Long, UserSession> userSessions;
+    private final ObjectProvider<SessionEvictionListener> evictionListeners;
+    private final SessionWriteBehind writeBehind;
+
+    public UserSessionService(
+            @Value("${app.session.max-size:50000}") long maxSessions,
+            @Value("${app.session.idle-timeout:PT2H}") Duration idleTimeout,
+            ObjectProvider<SessionEvictionListener> evictionListeners,
+            SessionWriteBehind writeBehind) {
+        this.evictionListeners = evictionListeners;
+        this.writeBehind = writeBehind;
+        this.sessionCache = Caffeine.newBuilder()
+                .maximumSize(maxSessions)
+                .expireAfterAccess(idleTimeout)
+                .scheduler(Scheduler.systemScheduler())
+                .recordStats()
+                // 🔥 evictionListener выполняется атомарно с вытеснением: повторная загрузка сессии
+                // этого чата дождется его и увидит вытесненную сессию, а не устаревший снимок
+                .evictionListener((Long chatId, UserSession session, RemovalCause cause) -> {
+                    if (session != null) {
+                        onSessionEvicted(chatId, session, cause);
+                    }
+                })
+                .build();
+        this.userSessions = sessionCache.asMap();
+        log.info("🗂️ Session store: max {} sessions, idle timeout {}", maxSessions, idleTimeout);
+    }
+
+    private void onSessionEvicted(Long chatId, UserSession session, RemovalCause cause) {
+        log.debug("♻️ Session evicted for user {} ({})", chatId, cause);
+        evictionListeners.orderedStream().forEach(listener -> {
+            try {
+                listener.onSessionEvicted(chatId, session);
+            } catch (Exception e) {
+                log.warn("⚠️ Eviction listener {} failed for user {}: {}",
+                        listener.getClass().getSimpleName(), chatId, e.getMessage());
+            }
+        });
+    }
 
     // 🔥 ОСНОВНЫЕ МЕТОДЫ ДОСТУПА К СЕССИИ
 
     public UserSession getSession(Long chatId) {
-        return userSessions.computeIfAbsent(chatId, k -> {
-            log.info("🆕 Created new session for user: {}", chatId);
-            return new UserSession(chatId);
-        });
+        return sessionCache.get(chatId, this::loadOrCreateSession);
     }
 
-    public UserSession getSessionAndUpdateActivity(Long chatId) {
+    // 🔥 Сессию получают, чтобы изменить: ставим в очередь на отложенную запись (чтение ее не помечает)
+    private UserSession getSessionForUpdate(Long chatId) {
         UserSession session = getSession(chatId);
+        writeBehind.markDirty(session);
+        return session;
+    }
+
+    private UserSession loadOrCreateSession(Long chatId) {
+        UserSession restored = writeBehind.loadOrNull(chatId);
+        if (restored != null) {
+            log.info("♻️ Restored session for user: {}", chatId);
+            return restored;
+        }
+        log.info("🆕 Created new session for user: {}", chatId);
+        return new UserSession(chatId);
+    }
+
+    public UserSession getSessionAndUpdateActivity(Long chatId) {
+        UserSession session = getSessionForUpdate(chatId);
         session.updateActivity();
         return session;
     }
@@ -73,7 +136,7 @@ public class UserSessionService {
     }
 
     public void clearState(Long chatId) {
-        UserSession session = getSession(chatId);
+        UserSession session = getSessionForUpdate(chatId);
         session.setCurrentCommand(null);
         session.setCurrentAction(null);
         session.clearContext();
@@ -82,7 +145,7 @@ public class UserSessionService {
     }
 
     public void clearCommandState(Long chatId, String command) {
-        UserSession session = getSession(chatId);
+        UserSession session = getSessionForUpdate(chatId);
         if (command.equals(session.getCurrentCommand())) {
             session.setCurrentCommand(null);
             session.setCurrentAction(null);
@@ -116,7 +179,7 @@ public class UserSessionService {
     }
 
     public void clearTemporaryMessages(Long chatId) {
-        UserSession session = getSession(chatId);
+        UserSession session = getSessionForUpdate(chatId);
         List<Integer> messageIds = session.getTemporaryMessageIds();
         if (!messageIds.isEmpty()) {
             log.debug("🗑️ Clearing {} temporary messages for user: {}", messageIds.size(), chatId);
@@ -154,6 +217,9 @@ public class UserSessionService {
     public void setProjectCreationState(Long chatId, ProjectCreationState state) {
         UserSession session = getSessionAndUpdateActivity(chatId);
         session.setProjectCreationState(state);
+        if (state != null) {
+            session.setUserState(UserState.CREATING_PROJECT);
+        }
         log.debug("🏗️ Set project creation state for user: {}", chatId);
     }
 
@@ -163,14 +229,18 @@ public class UserSessionService {
     }
 
     public void clearProjectCreationState(Long chatId) {
-        UserSession session = getSession(chatId);
+        UserSession session = getSessionForUpdate(chatId);
         session.setProjectCreationState(null);
+        session.clearState(UserState.CREATING_PROJECT);
         log.debug("🧹 Cleared project creation state for user: {}", chatId);
     }
 
     public void setApplicationCreationState(Long chatId, ApplicationCreationState state) {
         UserSession session = getSessionAndUpdateActivity(chatId);
         session.setApplicationCreationState(state);
+        if (state != null) {
+            session.setUserState(UserState.CREATING_APPLICATION);
+        }
         log.debug("📝 Set application creation state for user: {}", chatId);
     }
 
@@ -180,8 +250,9 @@ public class UserSessionService {
     }
 
     public void clearApplicationCreationState(Long chatId) {
-        UserSession session = getSession(chatId);
+        UserSession session = getSessionForUpdate(chatId);
         session.setApplicationCreationState(null);
+        session.clearState(UserState.CREATING_APPLICATION);
         log.debug("🧹 Cleared application creation state for user: {}", chatId);
     }
 
@@ -193,7 +264,7 @@ public class UserSessionService {
     }
 
     public String popFromNavigationHistory(Long chatId) {
-        UserSession session = getSession(chatId);
+        UserSession session = getSessionForUpdate(chatId);
         return session.popFromHistory();
     }
 
@@ -204,7 +275,7 @@ public class UserSessionService {
 
     // 🔥 МЕТОД ДЛЯ УДАЛЕНИЯ ОПРЕДЕЛЕННОЙ ГЛУБИНЫ ИСТОРИИ
     public void clearHistoryBeyondDepth(Long chatId, int maxDepth) {
-        UserSession session = getSession(chatId);
+        UserSession session = getSessionForUpdate(chatId);
         Deque<String> history = session.getNavigationHistory();
 
         if (history != null && history.size() > maxDepth) {
@@ -223,7 +294,7 @@ public class UserSessionService {
 
     // 🔥 МЕТОД ДЛЯ УДАЛЕНИЯ ЭКРАНОВ ОПРЕДЕЛЕННОГО ТИПА
     public void removeScreensOfType(Long chatId, String screenType) {
-        UserSession session = getSession(chatId);
+        UserSession session = getSessionForUpdate(chatId);
         Deque<String> history = session.getNavigationHistory();
 
         if (history != null && !history.isEmpty()) {
@@ -243,7 +314,7 @@ public class UserSessionService {
 
     // 🔥 МЕТОД ДЛЯ ПОЛНОЙ ОЧИСТКИ ИСТОРИИ С СОХРАНЕНИЕМ ГЛАВНОГО ЭКРАНА
     public void resetToMain(Long chatId) {
-        UserSession session = getSession(chatId);
+        UserSession session = getSessionForUpdate(chatId);
 
         // 🔥 СБРАСЫВАЕМ ИСТОРИЮ НАВИГАЦИИ
         session.setNavigationHistory(new ArrayDeque<>());
@@ -272,6 +343,7 @@ public class UserSessionService {
             // Зависит от того, как у вас реализована навигация
             userSessions.computeIfPresent(chatId, (key, session) -> {
                 session.setNavigationHistory(new ArrayDeque<>());
+                writeBehind.markDirty(session);
                 return session;
             });
 
@@ -282,32 +354,6 @@ public class UserSessionService {
         }
     }
 
-    // 🔥 АВТООЧИСТКА СТАРЫХ СЕССИЙ
-
-//    @Scheduled(fixedRate = 600000) // 10 минут
-//    public void cleanupOldSessions() {
-//        synchronized (userSessions) {
-//            LocalDateTime cutoffTime = LocalDateTime.now().minus(1, ChronoUnit.HOURS);
-//            int initialSize = userSessions.size();
-//
-//            userSessions.entrySet().removeIf(entry -> {
-//                UserSession session = entry.getValue();
-//                boolean shouldRemove = session.getLastActivityAt().isBefore(cutoffTime);
-//                if (shouldRemove) {
-//                    log.debug("🧹 Removing old session for user: {} (last activity: {})",
-//                            entry.getKey(), session.getLastActivityAt());
-//                }
-//                return shouldRemove;
-//            });
-//
-//            int finalSize = userSessions.size();
-//            if (initialSize != finalSize) {
-//                log.info("🧹 Session cleanup: {} -> {} sessions (removed: {})",
-//                        initialSize, finalSize, initialSize - finalSize);
-//            }
-//        }
-//    }
-
     // 🔥 ДИАГНОСТИКА
 
     public void printSessionState(Long chatId) {
@@ -321,6 +367,22 @@ public class UserSessionService {
         }
     }
 
+    /**
+     * 🔥 Метрики хранилища сессий: размер, вытеснения, hit rate и занятая куча
+     */
+    public Map<String, Object> getSessionMetrics() {
+        CacheStats stats = sessionCache.stats();
+        Runtime runtime = Runtime.getRuntime();
+
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("sessions", sessionCache.estimatedSize());
+        metrics.put("evictions", stats.evictionCount());
+        metrics.put("hitRate", stats.hitRate());
+        metrics.put("heapUsedMb", (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024));
+        metrics.put("heapMaxMb", runtime.maxMemory() / (1024 * 1024));
+        return metrics;
+    }
+
     public Map<Long, UserSession> getAllSessions() {
         return new ConcurrentHashMap<>(userSessions);
     }
@@ -330,8 +392,8 @@ public class UserSessionService {
      */
     public void clearAllSessions() {
         synchronized (userSessions) {
-            int size = userSessions.size();
-            userSessions.clear();
+            long size = sessionCache.estimatedSize();
+            sessionCache.invalidateAll();
             log.info("🧹 Очищены все сессии пользователей: {}", size);
         }
     }
@@ -347,6 +409,7 @@ public class UserSessionService {
         if (session != null) {
             // 🔥 Вызываем ваш существующий метод из UserSession:
             session.removeFromContext(key);
+            writeBehind.markDirty(session);
             log.debug("🗑️ Removed context key '{}' for user {}", key, chatId);
         }
     }
@@ -369,6 +432,7 @@ public class UserSessionService {
 
         // 🔥 Очищаем список ID в UserSession, чтобы не удалять их повторно
         session.clearTemporaryMessages();
+        writeBehind.markDirty(session);
 
         return idsToDelete;
     }
@@ -379,12 +443,12 @@ public class UserSessionService {
     }
 
     public void setLastPushMessageId(Long chatId, Integer messageId) {
-        UserSession session = getSession(chatId);
+        UserSession session = getSessionForUpdate(chatId);
         session.setLastPushMessageId(messageId);
     }
 
     public void setOrderCreationState(Long chatId, OrderCreationState state) {
-        UserSession session = getSession(chatId);
+        UserSession session = getSessionForUpdate(chatId);
         session.setOrderCreationState(state);
     }
 
@@ -394,13 +458,13 @@ public class UserSessionService {
     }
 
     public void clearOrderCreationState(Long chatId) {
-        UserSession session = getSession(chatId);
+        UserSession session = getSessionForUpdate(chatId);
         session.setOrderCreationState(null);
     }
 
     public void clearCurrentCommand(Long chatId) {
         // 1. Получаем объект сессии (предполагаем, что есть такой метод)
-        UserSession session = getSession(chatId);
+        UserSession session = getSessionForUpdate(chatId);
 
         if (session != null && session.getCurrentCommand() != null) {
             // 2. Устанавливаем команду в null (или пустую строку, в зависимости от реализации)
@@ -434,7 +498,7 @@ public class UserSessionService {
      * Удалить платежное сообщение
      */
     public void removePaymentMessage(Long chatId, String paymentId) {
-        UserSession session = getSession(chatId);
+        UserSession session = getSessionForUpdate(chatId);
         session.removePaymentMessage(paymentId);
         log.info("🗑️ Удалено платежное сообщение: chatId={}, paymentId={}", chatId, paymentId);
     }
@@ -459,7 +523,7 @@ public class UserSessionService {
      * Очистить все платежные сообщения пользователя
      */
     public void clearPaymentMessages(Long chatId) {
-        UserSession session = getSession(chatId);
+        UserSession session = getSessionForUpdate(chatId);
         List<UserSession.PaymentMessageInfo> messages = session.getActivePaymentMessages();
 
         if (!messages.isEmpty()) {
@@ -473,7 +537,7 @@ public class UserSessionService {
      * Удалить истекшие платежные сообщения
      */
     public void cleanupExpiredPaymentMessages(Long chatId) {
-        UserSession session = getSession(chatId);
+        UserSession session = getSessionForUpdate(chatId);
         List<UserSession.PaymentMessageInfo> messages = session.getActivePaymentMessages();
 
         int expiredCount = 0;
@@ -517,8 +581,16 @@ public class UserSessionService {
         }
     }
 
+    /**
+     * 🔥 Текущее состояние ожидания ввода (одно поле сессии)
+     */
+    public UserState getUserState(Long chatId) {
+        UserState state = getSession(chatId).getUserState();
+        return state != null ? state : UserState.NONE;
+    }
+
     public void setWaitingForGitHub(Long chatId) {
-        UserSession session = getSession(chatId);
+        UserSession session = getSessionForUpdate(chatId);
         session.setWaitingForGitHub();
         log.debug("User {} now waiting for GitHub URL", chatId);
     }
@@ -532,7 +604,7 @@ public class UserSessionService {
      * 🔥 ПРОСТОЙ МЕТОД: Очистить состояние
      */
     public void clearUserState(Long chatId) {
-        UserSession session = getSession(chatId);
+        UserSession session = getSessionForUpdate(chatId);
         if (session != null) {
             session.clearState();
         }
@@ -542,7 +614,7 @@ public class UserSessionService {
      * 🔥 ПРОСТОЙ МЕТОД: Сохранить временный GitHub URL
      */
     public void savePendingGitHubUrl(Long chatId, String githubUrl) {
-        UserSession session = getSession(chatId);
+        UserSession session = getSessionForUpdate(chatId);
         session.setPendingGitHubUrl(githubUrl);
     }
 
@@ -550,7 +622,7 @@ public class UserSessionService {
      * 🔥 ПРОСТОЙ МЕТОД: Получить и очистить временный GitHub URL
      */
     public String getAndClearPendingGitHubUrl(Long chatId) {
-        UserSession session = getSession(chatId);
+        UserSession session = getSessionForUpdate(chatId);
         if (session == null) return null;
 
         String url = session.getPendingGitHubUrl();
@@ -563,8 +635,9 @@ public class UserSessionService {
      * 🔥 Установить ожидание комментария для отклонения заявки
      */
     public void setAwaitingRejectionComment(Long adminChatId, Long requestId) {
-        UserSession session = getSession(adminChatId);
+        UserSession session = getSessionForUpdate(adminChatId);
         session.putToContext("awaiting_rejection_comment", requestId);
+        session.setUserState(UserState.AWAITING_REJECTION_COMMENT);
         log.debug("Админ {} ожидает комментарий для заявки {}", adminChatId, requestId);
     }
 
@@ -573,7 +646,7 @@ public class UserSessionService {
      */
     public boolean isAwaitingRejectionComment(Long adminChatId) {
         UserSession session = getSession(adminChatId);
-        return session != null && session.getFromContext("awaiting_rejection_comment") != null;
+        return session != null && session.getUserState() == UserState.AWAITING_REJECTION_COMMENT;
     }
 
     /**
@@ -588,9 +661,9 @@ public class UserSessionService {
     }
 
     public void setAwaitingTopUpAmount(Long chatId, Integer callbackMessageId) {
-        UserSession session = getSession(chatId);
+        UserSession session = getSessionForUpdate(chatId);
 
-        session.putToContext("awaiting_top_up_amount", true);
+        session.setUserState(UserState.AWAITING_TOP_UP_AMOUNT);
         log.info("Установлено состояние ожидания суммы пополнения для chatId={}",
                 chatId);
     }
@@ -602,21 +675,21 @@ public class UserSessionService {
         UserSession session = getSession(chatId);
         if (session == null) return false;
 
-        return (boolean) session.getFromContext("awaiting_top_up_amount").equals(true);
+        return session.getUserState() == UserState.AWAITING_TOP_UP_AMOUNT;
     }
 
     /**
      * Очищает состояние пополнения
      */
     public void clearTopUpState(Long chatId) {
-        UserSession session = getSession(chatId);
+        UserSession session = getSessionForUpdate(chatId);
         if (session != null) {
-            session.removeFromContext("awaiting_top_up_amount");
+            session.clearState(UserState.AWAITING_TOP_UP_AMOUNT);
         }
     }
 
     public void setPurchaseConfirmation(Long chatId, PurchaseConfirmationDto dto) {
-        UserSession session = getSession(chatId);
+        UserSession session = getSessionForUpdate(chatId);
 
         session.putToContext("purchase_confirmation", dto);
         session.putToContext("purchase_confirmation_time", System.currentTimeMillis());
@@ -630,7 +703,7 @@ public class UserSessionService {
     }
 
     public void clearPurchaseConfirmation(Long chatId) {
-        UserSession session = getSession(chatId);
+        UserSession session = getSessionForUpdate(chatId);
         if (session != null) {
             session.removeFromContext("purchase_confirmation");
             session.removeFromContext("purchase_confirmation_time");
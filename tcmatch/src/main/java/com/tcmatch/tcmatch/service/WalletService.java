@@ -4,15 +4,19 @@ import com.tcmatch.tcmatch.bot.exceptions.InsufficientFundsException;
 import com.tcmatch.tcmatch.model.Order;
 import com.tcmatch.tcmatch.model.Wallet;
 import com.tcmatch.tcmatch.model.dto.WalletDto;
+import com.tcmatch.tcmatch.model.enums.LedgerAccountType;
 import com.tcmatch.tcmatch.repository.OrderRepository;
 import com.tcmatch.tcmatch.repository.TransactionRepository;
 import com.tcmatch.tcmatch.repository.WalletRepository;
+import com.tcmatch.tcmatch.service.ledger.LedgerService;
+import com.tcmatch.tcmatch.service.ledger.LedgerService.Leg;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -22,6 +26,7 @@ public class WalletService {
     private final WalletRepository walletRepository;
     private final OrderRepository orderRepository; // Нужен для обновления статуса Escrow в заказе
     private final TransactionRepository transactionRepository;
+    private final LedgerService ledgerService; // 🔥 Каждое движение денег - UPDATE проекции + проводки журнала
 
     // Комиссия платформы (10% - тестовая)
     private static final BigDecimal SERVICE_FEE_PERCENT = new BigDecimal("0.10");
@@ -34,9 +39,17 @@ public class WalletService {
         Wallet wallet = new Wallet();
         wallet.setUserChatId(userChatId);
         // Присваиваем 5000 руб. тестовых денег для удобства тестирования Escrow
-        wallet.setBalance(new BigDecimal("200.00"));
+        BigDecimal openingBalance = new BigDecimal("200.00");
+        wallet.setBalance(openingBalance);
+        Wallet saved = walletRepository.save(wallet);
+
+        ledgerService.transfer("wallet:init",
+                LedgerAccountType.OPENING_BALANCE, null,
+                LedgerAccountType.WALLET, userChatId,
+                openingBalance);
+
         log.info("Инициализация: Создан кошелек для {} с тестовым балансом.", userChatId);
-        return walletRepository.save(wallet);
+        return saved;
     }
 
     /**
@@ -44,12 +57,29 @@ public class WalletService {
      */
     @Transactional
     public Wallet deposit(Long userChatId, BigDecimal amount) {
-        Wallet wallet = walletRepository.findByUserChatId(userChatId)
-                .orElseThrow(() -> new RuntimeException("Кошелек не найден для ChatId: " + userChatId));
+        return deposit(userChatId, amount, "deposit");
+    }
+
+    /**
+     * Пополнение с основанием для журнала (например, "payment:<id ЮKassa>").
+     */
+    @Transactional
+    public Wallet deposit(Long userChatId, BigDecimal amount, String reference) {
+        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Сумма пополнения должна быть больше нуля");
+        }
+        // 🔥 Атомарный UPDATE: параллельные пополнения не теряются
+        if (walletRepository.credit(userChatId, amount) == 0) {
+            throw new RuntimeException("Кошелек не найден для ChatId: " + userChatId);
+        }
+        ledgerService.transfer(reference,
+                LedgerAccountType.EXTERNAL_PAYMENTS, null,
+                LedgerAccountType.WALLET, userChatId,
+                amount);
 
-        wallet.setBalance(wallet.getBalance().add(amount));
         log.info("Пополнение: Пользователь {} пополнил баланс на {}", userChatId, amount);
-        return walletRepository.save(wallet);
+        return walletRepository.findByUserChatId(userChatId)
+                .orElseThrow(() -> new RuntimeException("Кошелек не найден для ChatId: " + userChatId));
     }
 
     /**
@@ -66,23 +96,24 @@ public class WalletService {
         BigDecimal amount = BigDecimal.valueOf(order.getTotalBudget());
         Long customerChatId = order.getCustomerChatId();
 
-        Wallet customerWallet = walletRepository.findByUserChatId(customerChatId)
-                .orElseThrow(() -> new RuntimeException("Кошелек заказчика не найден ChatId: " + customerChatId));
-
-        if (customerWallet.getBalance().compareTo(amount) < 0) {
-            // Используем кастомное исключение для обработки в контроллере
-            throw new InsufficientFundsException("Недостаточно средств на балансе для заморозки: " + amount);
+        // 🔥 Сначала переводим заказ PENDING -> FROZEN: повторный вызов не заморозит деньги дважды
+        if (orderRepository.transitionEscrowStatus(orderId, Order.EscrowStatus.PENDING, Order.EscrowStatus.FROZEN) == 0) {
+            throw new IllegalStateException("Средства по заказу " + orderId + " уже заморожены или заказ закрыт");
         }
 
-        // Списываем с доступного баланса и добавляем в замороженный
-        customerWallet.setBalance(customerWallet.getBalance().subtract(amount));
-        customerWallet.setFrozenBalance(customerWallet.getFrozenBalance().add(amount));
-
-        // Отмечаем заказ как имеющий замороженные средства
-        order.setEscrowStatus(Order.EscrowStatus.FROZEN);
+        // Списываем с доступного баланса и добавляем в замороженный - одной командой
+        if (walletRepository.freezeIfSufficient(customerChatId, amount) == 0) {
+            Wallet customerWallet = walletRepository.findByUserChatId(customerChatId)
+                    .orElseThrow(() -> new RuntimeException("Кошелек заказчика не найден ChatId: " + customerChatId));
+            // Используем кастомное исключение для обработки в контроллере (транзакция откатит и статус заказа)
+            throw new InsufficientFundsException("Недостаточно средств на балансе для заморозки: " + amount,
+                    amount, customerWallet.getBalance());
+        }
 
-        walletRepository.save(customerWallet);
-        orderRepository.save(order);
+        ledgerService.transfer("order:" + orderId,
+                LedgerAccountType.WALLET, customerChatId,
+                LedgerAccountType.ESCROW, customerChatId,
+                amount);
 
         log.info("ESCROW HOLD: Заморожены {} для заказа {} (Заказчик: {})", amount, orderId, customerChatId);
     }
@@ -109,7 +140,8 @@ public class WalletService {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new RuntimeException("Заказ не найден ID: " + orderId));
 
-        if (order.getEscrowStatus() != Order.EscrowStatus.FROZEN) {
+        // 🔥 Атомарный переход FROZEN -> RELEASED: двойная выплата по одному заказу невозможна
+        if (orderRepository.transitionEscrowStatus(orderId, Order.EscrowStatus.FROZEN, Order.EscrowStatus.RELEASED) == 0) {
             throw new RuntimeException("Ошибка: Средства по заказу не были заморожены.");
         }
 
@@ -118,30 +150,24 @@ public class WalletService {
         Long freelancerChatId = order.getFreelancerChatId();
 
         // 1. Размораживаем средства у Заказчика (просто уменьшаем frozen_balance)
-        Wallet customerWallet = walletRepository.findByUserChatId(customerChatId)
-                .orElseThrow(() -> new RuntimeException("Кошелек заказчика не найден"));
-
-        if (customerWallet.getFrozenBalance().compareTo(projectBudget) < 0) {
+        if (walletRepository.debitFrozenIfSufficient(customerChatId, projectBudget) == 0) {
             throw new RuntimeException("Ошибка Escrow: Недостаточно замороженных средств для разморозки.");
         }
-        customerWallet.setFrozenBalance(customerWallet.getFrozenBalance().subtract(projectBudget));
 
         // 2. Рассчитываем комиссию и сумму к выплате
         BigDecimal fee = projectBudget.multiply(SERVICE_FEE_PERCENT); // 10%
         BigDecimal payoutAmount = projectBudget.subtract(fee);
 
         // 3. Зачисляем средства на кошелек Фрилансера
-        Wallet freelancerWallet = walletRepository.findByUserChatId(freelancerChatId)
-                .orElseThrow(() -> new RuntimeException("Кошелек фрилансера не найден"));
-
-        freelancerWallet.setBalance(freelancerWallet.getBalance().add(payoutAmount));
-
-        // 4. Обновляем статус заказа
-        order.setEscrowStatus(Order.EscrowStatus.RELEASED);
+        if (walletRepository.credit(freelancerChatId, payoutAmount) == 0) {
+            throw new RuntimeException("Кошелек фрилансера не найден");
+        }
 
-        walletRepository.save(customerWallet);
-        walletRepository.save(freelancerWallet);
-        orderRepository.save(order);
+        // 4. Проводки: эскроу заказчика -> кошелек фрилансера + комиссия платформы
+        ledgerService.post("order:" + orderId, List.of(
+                Leg.debit(LedgerAccountType.ESCROW, customerChatId, projectBudget),
+                Leg.credit(LedgerAccountType.WALLET, freelancerChatId, payoutAmount),
+                Leg.credit(LedgerAccountType.PLATFORM_FEES, null, fee)));
 
         log.info("ESCROW RELEASE: Заказ {} завершен. Выплачено фрилансеру {} (Комиссия: {})",
                 orderId, payoutAmount, fee);
@@ -177,6 +203,14 @@ public class WalletService {
      */
     @Transactional
     public void withdraw(Long chatId, BigDecimal amount) {
+        withdraw(chatId, amount, "withdraw");
+    }
+
+    /**
+     * Списание с основанием для журнала (например, "purchase:PROJECT_BOOST:5").
+     */
+    @Transactional
+    public void withdraw(Long chatId, BigDecimal amount, String reference) {
         log.info("Списание средств: chatId={}, amount={}", chatId, amount);
 
         // Проверяем входные параметры
@@ -184,12 +218,10 @@ public class WalletService {
             throw new IllegalArgumentException("Сумма списания должна быть больше нуля");
         }
 
-        // Получаем кошелек пользователя
-        Wallet wallet = walletRepository.findByUserChatId(chatId)
-                .orElseThrow(() -> new RuntimeException("Кошелек не найден для ChatId: " + chatId));
-
-        // Проверяем достаточность средств
-        if (wallet.getBalance().compareTo(amount) < 0) {
+        // 🔥 Проверка и списание одной командой: WHERE balance >= amount
+        if (walletRepository.debitIfSufficient(chatId, amount) == 0) {
+            Wallet wallet = walletRepository.findByUserChatId(chatId)
+                    .orElseThrow(() -> new RuntimeException("Кошелек не найден для ChatId: " + chatId));
             throw new InsufficientFundsException(
                     "Недостаточно средств на балансе. " +
                             "Требуется: " + amount + " ₽, " +
@@ -199,17 +231,12 @@ public class WalletService {
             );
         }
 
-        // Списываем средства
-        BigDecimal newBalance = wallet.getBalance().subtract(amount);
-        wallet.setBalance(newBalance);
-        walletRepository.save(wallet);
+        ledgerService.transfer(reference,
+                LedgerAccountType.WALLET, chatId,
+                LedgerAccountType.PLATFORM_REVENUE, null,
+                amount);
 
-        // Логируем операцию (можно создать запись в истории транзакций)
-        log.info("Средства списаны: chatId={}, amount={}, новый баланс={}",
-                chatId, amount, newBalance);
-
-        // 🔥 МОЖНО СОЗДАТЬ ТРАНЗАКЦИЮ В ИСТОРИИ
-        // transactionService.createWithdrawalTransaction(chatId, amount);
+        log.info("Средства списаны: chatId={}, amount={}", chatId, amount);
     }
 
     /**
@@ -217,23 +244,26 @@ public class WalletService {
      */
     @Transactional
     public void refund(Long chatId, BigDecimal amount) {
+        refund(chatId, amount, "refund");
+    }
+
+    @Transactional
+    public void refund(Long chatId, BigDecimal amount, String reference) {
         log.info("Возврат средств: chatId={}, amount={}", chatId, amount);
 
         if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
             throw new IllegalArgumentException("Сумма возврата должна быть больше нуля");
         }
 
-        Wallet wallet = walletRepository.findByUserChatId(chatId)
-                .orElseThrow(() -> new RuntimeException("Кошелек не найден"));
-
-        BigDecimal newBalance = wallet.getBalance().add(amount);
-        wallet.setBalance(newBalance);
-        walletRepository.save(wallet);
+        if (walletRepository.credit(chatId, amount) == 0) {
+            throw new RuntimeException("Кошелек не найден");
+        }
 
-        log.info("Средства возвращены: chatId={}, amount={}, новый баланс={}",
-                chatId, amount, newBalance);
+        ledgerService.transfer(reference,
+                LedgerAccountType.PLATFORM_REVENUE, null,
+                LedgerAccountType.WALLET, chatId,
+                amount);
 
-        // 🔥 МОЖНО СОЗДАТЬ ЗАПИСЬ О ВОЗВРАТЕ
-        // transactionService.createRefundTransaction(chatId, amount);
+        log.info("Средства возвращены: chatId={}, amount={}", chatId, amount);
     }
 }
\ No newline at end of file
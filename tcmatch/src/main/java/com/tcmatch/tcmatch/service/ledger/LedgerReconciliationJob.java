@@ -0,0 +1,182 @@
+package com.tcmatch.tcmatch.service.ledger;
+
+import com.tcmatch.tcmatch.model.Wallet;
+import com.tcmatch.tcmatch.model.dto.WalletLedgerCheck;
+import com.tcmatch.tcmatch.model.enums.LedgerAccountType;
+import com.tcmatch.tcmatch.repository.LedgerEntryRepository;
+import com.tcmatch.tcmatch.repository.WalletRepository;
+import com.tcmatch.tcmatch.service.ledger.LedgerService.Leg;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 🔥 Сверка кошельков с журналом проводок.
+ * Проверяются только владельцы, по чьим счетам были проводки с прошлого запуска (с запасом grace
+ * на транзакции, которые еще не были закоммичены). Первый запуск после старта смотрит назад
+ * на initial-lookback: полная сверка всего журнала на каждом рестарте не нужна.
+ */
+@Service
+@Slf4j
+public class LedgerReconciliationJob {
+
+    private static final String OPENING_REFERENCE_PREFIX = "wallet:opening:";
+
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final WalletRepository walletRepository;
+    private final LedgerService ledgerService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration grace;
+    // Первый запуск (checkpoint == null) проверяет проводки за это окно
+    private final Duration initialLookback;
+
+    private volatile LocalDateTime checkpoint;
+
+    // 🔥 Метрики для /api/admin/ledger/reconciliation
+    private final AtomicLong checkedTotal = new AtomicLong();
+    private final AtomicLong mismatchesTotal = new AtomicLong();
+    private final AtomicLong lastRunChecked = new AtomicLong();
+    private final AtomicLong lastRunMismatches = new AtomicLong();
+    private final AtomicReference<LocalDateTime> lastRunAt = new AtomicReference<>();
+
+    public LedgerReconciliationJob(LedgerEntryRepository ledgerEntryRepository,
+                                   WalletRepository walletRepository,
+                                   LedgerService ledgerService,
+                                   TransactionTemplate transactionTemplate,
+                                   @Value("${app.ledger.reconcile.batch-size:500}") int batchSize,
+                                   @Value("${app.ledger.reconcile.grace-ms:60000}") long graceMs,
+                                   @Value("${app.ledger.reconcile.initial-lookback-ms:86400000}") long initialLookbackMs) {
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.walletRepository = walletRepository;
+        this.ledgerService = ledgerService;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = Math.max(1, batchSize);
+        this.grace = Duration.ofMillis(Math.max(0, graceMs));
+        this.initialLookback = Duration.ofMillis(Math.max(0, initialLookbackMs));
+    }
+
+    /**
+     * Кошельки, созданные до появления журнала, получают проводку начального остатка.
+     * Операции, успевшие пройти по кошельку до открытия, уже есть и в балансе, и в журнале,
+     * поэтому открывается разница "проекция - сумма журнала". Каждый кошелек - в своей транзакции под
+     * блокировкой строки, с повторной проверкой проводки открытия: второй инстанс не откроет остаток дважды.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void openMissingBalances() {
+        long afterId = 0;
+        int opened = 0;
+        while (true) {
+            List<Wallet> wallets = walletRepository.findWalletsWithoutOpeningBalance(afterId, PageRequest.of(0, batchSize));
+            if (wallets.isEmpty()) break;
+
+            for (Wallet candidate : wallets) {
+                if (Boolean.TRUE.equals(transactionTemplate.execute(status -> openBalanceLocked(candidate.getId())))) {
+                    opened++;
+                }
+            }
+            afterId = wallets.get(wallets.size() - 1).getId();
+        }
+        if (opened > 0) {
+            log.info("📒 Opening ledger balances posted for {} wallets", opened);
+        }
+    }
+
+    private boolean openBalanceLocked(Long walletId) {
+        Wallet wallet = walletRepository.findByIdForUpdate(walletId).orElse(null);
+        if (wallet == null) return false;
+
+        Long chatId = wallet.getUserChatId();
+        String reference = OPENING_REFERENCE_PREFIX + chatId;
+        // Под блокировкой видны уже закоммиченные проводки живых операций и другого инстанса
+        if (ledgerEntryRepository.existsByOwnerChatIdAndReference(chatId, reference)) {
+            return false;
+        }
+
+        BigDecimal balanceGap = orZero(wallet.getBalance())
+                .subtract(ledgerEntryRepository.sumForOwner(chatId, LedgerAccountType.WALLET));
+        BigDecimal frozenGap = orZero(wallet.getFrozenBalance())
+                .subtract(ledgerEntryRepository.sumForOwner(chatId, LedgerAccountType.ESCROW));
+
+        List<Leg> legs = new ArrayList<>();
+        addLeg(legs, LedgerAccountType.WALLET, chatId, balanceGap);
+        addLeg(legs, LedgerAccountType.ESCROW, chatId, frozenGap);
+        if (legs.isEmpty()) return false; // Проекция уже совпадает с журналом
+
+        // Контрсчет начальных остатков уравновешивает перевод
+        addLeg(legs, LedgerAccountType.OPENING_BALANCE, null, balanceGap.add(frozenGap).negate());
+        ledgerService.post(reference, legs);
+        return true;
+    }
+
+    private static void addLeg(List<Leg> legs, LedgerAccountType accountType, Long chatId, BigDecimal amount) {
+        if (amount.signum() > 0) {
+            legs.add(Leg.credit(accountType, chatId, amount));
+        } else if (amount.signum() < 0) {
+            legs.add(Leg.debit(accountType, chatId, amount.negate()));
+        }
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+
+    @Scheduled(fixedDelayString = "${app.ledger.reconcile.interval-ms:300000}",
+            initialDelayString = "${app.ledger.reconcile.interval-ms:300000}")
+    public void reconcile() {
+        LocalDateTime runStartedAt = LocalDateTime.now();
+        LocalDateTime since = checkpoint == null ? runStartedAt.minus(initialLookback) : checkpoint.minus(grace);
+
+        List<Long> owners = ledgerEntryRepository.findOwnersTouchedSince(since);
+        long mismatches = 0;
+        for (int from = 0; from < owners.size(); from += batchSize) {
+            List<Long> chunk = owners.subList(from, Math.min(from + batchSize, owners.size()));
+            for (WalletLedgerCheck check : ledgerEntryRepository.checkWallets(chunk)) {
+                if (!check.isConsistent()) {
+                    mismatches++;
+                    log.error("❌ Wallet {} differs from ledger: balance {} vs {}, frozen {} vs {}",
+                            check.userChatId(), check.balance(), check.ledgerBalance(),
+                            check.frozenBalance(), check.ledgerFrozen());
+                }
+            }
+        }
+
+        checkpoint = runStartedAt;
+        checkedTotal.addAndGet(owners.size());
+        mismatchesTotal.addAndGet(mismatches);
+        lastRunChecked.set(owners.size());
+        lastRunMismatches.set(mismatches);
+        lastRunAt.set(runStartedAt);
+
+        if (mismatches > 0) {
+            log.warn("⚠️ Ledger reconciliation: {} of {} wallets differ", mismatches, owners.size());
+        } else {
+            log.debug("✅ Ledger reconciliation: {} wallets consistent", owners.size());
+        }
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("checkedTotal", checkedTotal.get());
+        metrics.put("mismatchesTotal", mismatchesTotal.get());
+        metrics.put("lastRunChecked", lastRunChecked.get());
+        metrics.put("lastRunMismatches", lastRunMismatches.get());
+        metrics.put("lastRunAt", lastRunAt.get());
+        return metrics;
+    }
+}
@@ -0,0 +1,86 @@
+package com.tcmatch.tcmatch.service.ledger;
+
+import com.tcmatch.tcmatch.model.LedgerEntry;
+import com.tcmatch.tcmatch.model.enums.LedgerAccountType;
+import com.tcmatch.tcmatch.model.enums.LedgerDirection;
+import com.tcmatch.tcmatch.repository.LedgerEntryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 🔥 Журнал двойной записи движений по кошелькам.
+ * Перевод - набор проводок с общим transferId, дебеты равны кредитам.
+ * Проводки перевода сохраняются одной пачкой в транзакции вызывающего (вместе с атомарным UPDATE кошелька).
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class LedgerService {
+
+    private final LedgerEntryRepository ledgerEntryRepository;
+
+    /**
+     * Одна сторона перевода.
+     */
+    public record Leg(LedgerAccountType accountType, Long ownerChatId, LedgerDirection direction, BigDecimal amount) {
+
+        public static Leg debit(LedgerAccountType accountType, Long ownerChatId, BigDecimal amount) {
+            return new Leg(accountType, ownerChatId, LedgerDirection.DEBIT, amount);
+        }
+
+        public static Leg credit(LedgerAccountType accountType, Long ownerChatId, BigDecimal amount) {
+            return new Leg(accountType, ownerChatId, LedgerDirection.CREDIT, amount);
+        }
+    }
+
+    /**
+     * Простой перевод со счета на счет.
+     */
+    @Transactional
+    public UUID transfer(String reference,
+                         LedgerAccountType fromType, Long fromOwner,
+                         LedgerAccountType toType, Long toOwner,
+                         BigDecimal amount) {
+        return post(reference, List.of(
+                Leg.debit(fromType, fromOwner, amount),
+                Leg.credit(toType, toOwner, amount)));
+    }
+
+    @Transactional
+    public UUID post(String reference, List<Leg> legs) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (Leg leg : legs) {
+            if (leg.amount() == null || leg.amount().signum() <= 0) {
+                throw new IllegalArgumentException("Сумма проводки должна быть больше нуля: " + reference);
+            }
+            total = leg.direction() == LedgerDirection.CREDIT ? total.add(leg.amount()) : total.subtract(leg.amount());
+        }
+        if (total.signum() != 0) {
+            throw new IllegalStateException("Перевод не сбалансирован (" + total + "): " + reference);
+        }
+
+        UUID transferId = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+        List<LedgerEntry> entries = new ArrayList<>(legs.size());
+        for (Leg leg : legs) {
+            entries.add(new LedgerEntry(transferId, leg.accountType(), leg.ownerChatId(),
+                    leg.direction(), leg.amount(), reference, now));
+        }
+        ledgerEntryRepository.saveAll(entries);
+
+        log.debug("📒 Ledger transfer {} ({}): {} entries", transferId, reference, entries.size());
+        return transferId;
+    }
+
+    public BigDecimal balanceOf(Long ownerChatId, LedgerAccountType accountType) {
+        return ledgerEntryRepository.sumForOwner(ownerChatId, accountType);
+    }
+}
@@ -0,0 +1,102 @@
+package com.tcmatch.tcmatch.service.notifications;
+
+import com.tcmatch.tcmatch.model.DelayedNotification;
+import com.tcmatch.tcmatch.repository.DelayedNotificationRepository;
+import com.tcmatch.tcmatch.service.NotificationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 🔥 Постоянная очередь отложенных уведомлений.
+ * Строки лежат в таблице delayed_notifications (переживают перезапуск), планировщик раз в тик
+ * забирает наступившие строки пачками, создает уведомления и удаляет строки в одной транзакции.
+ */
+@Service
+@Slf4j
+public class DelayedNotificationQueue {
+
+    private final DelayedNotificationRepository delayedNotificationRepository;
+    private final NotificationService notificationService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public DelayedNotificationQueue(DelayedNotificationRepository delayedNotificationRepository,
+                                    NotificationService notificationService,
+                                    TransactionTemplate transactionTemplate,
+                                    @Value("${app.notifications.delayed.batch-size:500}") int batchSize) {
+        this.delayedNotificationRepository = delayedNotificationRepository;
+        this.notificationService = notificationService;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Ставит одно уведомление нескольким получателям с одинаковой задержкой.
+     */
+    @Transactional
+    public void enqueue(List<Long> recipientChatIds, String text, String callbackData, Duration delay) {
+        if (recipientChatIds.isEmpty()) return;
+
+        LocalDateTime dueAt = LocalDateTime.now().plus(delay);
+        delayedNotificationRepository.saveAll(recipientChatIds.stream()
+                .map(chatId -> new DelayedNotification(chatId, text, callbackData, dueAt))
+                .toList());
+        log.debug("⏰ Queued {} delayed notifications due at {}", recipientChatIds.size(), dueAt);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportBacklog() {
+        long overdue = delayedNotificationRepository.countByDueAtBefore(LocalDateTime.now());
+        if (overdue > 0) {
+            log.info("⏰ {} delayed notifications became due while the bot was down, delivering", overdue);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.delayed.tick-ms:1000}")
+    public void dispatchDue() {
+        try {
+            Integer delivered;
+            do {
+                delivered = transactionTemplate.execute(status -> drainBatch());
+            } while (delivered != null && delivered == batchSize);
+        } catch (Exception e) {
+            // 🔥 Транзакция откатилась - строки остались в таблице и уйдут в следующий тик
+            log.error("❌ Failed to dispatch delayed notifications: {}", e.getMessage());
+        }
+    }
+
+    private int drainBatch() {
+        List<DelayedNotification> due = delayedNotificationRepository.findDueForUpdate(
+                LocalDateTime.now(), PageRequest.of(0, batchSize));
+        if (due.isEmpty()) return 0;
+
+        // 🔥 Один и тот же текст многим получателям - одна пакетная вставка на группу
+        Map<Payload, List<Long>> byPayload = due.stream().collect(Collectors.groupingBy(
+                row -> new Payload(row.getText(), row.getCallbackData()),
+                LinkedHashMap::new,
+                Collectors.mapping(DelayedNotification::getRecipientChatId, Collectors.toList())));
+        byPayload.forEach((payload, chatIds) ->
+                notificationService.createNotifications(chatIds, payload.text(), payload.callbackData()));
+
+        delayedNotificationRepository.deleteAllInBatch(due);
+        log.info("✅ Delivered {} delayed notifications", due.size());
+        return due.size();
+    }
+
+    private record Payload(String text, String callbackData) {
+    }
+}
@@ -0,0 +1,111 @@
+package com.tcmatch.tcmatch.service.notifications;
+
+import com.tcmatch.tcmatch.model.enums.NotificationType;
+import com.tcmatch.tcmatch.repository.NotificationArchiveRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 🔥 Политика хранения уведомлений.
+ * Прочитанные уведомления старше N дней (N - свой для каждого типа) переносятся в notification_archive
+ * небольшими пачками, каждая в своей транзакции, чтобы не держать долгих блокировок горячей таблицы.
+ */
+@Service
+@Slf4j
+public class NotificationRetentionJob {
+
+    private final NotificationArchiveRepository archiveRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<NotificationType, Integer> retentionDays = new EnumMap<>(NotificationType.class);
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    // 🔥 Метрики для /api/admin/notifications/retention
+    private final Map<NotificationType, AtomicLong> movedTotal = new EnumMap<>(NotificationType.class);
+    private final AtomicLong lastRunMoved = new AtomicLong();
+    private final AtomicLong lastRunMillis = new AtomicLong();
+    private final AtomicReference<LocalDateTime> lastRunAt = new AtomicReference<>();
+
+    public NotificationRetentionJob(NotificationArchiveRepository archiveRepository,
+                                    TransactionTemplate transactionTemplate,
+                                    Environment environment,
+                                    @Value("${app.notifications.retention.default-days:90}") int defaultDays,
+                                    @Value("${app.notifications.retention.batch-size:1000}") int batchSize,
+                                    @Value("${app.notifications.retention.max-batches-per-run:100}") int maxBatchesPerRun) {
+        this.archiveRepository = archiveRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxBatchesPerRun = Math.max(1, maxBatchesPerRun);
+
+        // app.notifications.retention.days.project: 30 и т.д.; 0 - хранить вечно
+        for (NotificationType type : NotificationType.values()) {
+            String key = "app.notifications.retention.days." + type.name().toLowerCase();
+            retentionDays.put(type, environment.getProperty(key, Integer.class, defaultDays));
+            movedTotal.put(type, new AtomicLong());
+        }
+        log.info("🗄️ Notification retention policies (days): {}", retentionDays);
+    }
+
+    @Scheduled(cron = "${app.notifications.retention.cron:0 30 3 * * *}")
+    public void archiveOldNotifications() {
+        long started = System.nanoTime();
+        long moved = 0;
+
+        for (NotificationType type : NotificationType.values()) {
+            int days = retentionDays.get(type);
+            if (days <= 0) continue;
+            try {
+                moved += archiveType(type, LocalDateTime.now().minusDays(days));
+            } catch (Exception e) {
+                // 🔥 Пачка откатилась целиком - строки останутся в горячей таблице до следующего запуска
+                log.error("❌ Notification archiving failed for {}: {}", type, e.getMessage());
+            }
+        }
+
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+        lastRunMoved.set(moved);
+        lastRunMillis.set(elapsedMs);
+        lastRunAt.set(LocalDateTime.now());
+        log.info("🗄️ Archived {} notifications in {} ms", moved, elapsedMs);
+    }
+
+    private long archiveType(NotificationType type, LocalDateTime cutoff) {
+        long moved = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            Integer count = transactionTemplate.execute(status -> {
+                List<Long> ids = archiveRepository.findArchivableIds(type, cutoff, batchSize);
+                return archiveRepository.moveToArchive(ids, LocalDateTime.now());
+            });
+            if (count == null || count == 0) break;
+
+            moved += count;
+            movedTotal.get(type).addAndGet(count);
+            if (count < batchSize) break;
+        }
+        return moved;
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("retentionDays", retentionDays);
+        Map<NotificationType, Long> totals = new EnumMap<>(NotificationType.class);
+        movedTotal.forEach((type, counter) -> totals.put(type, counter.get()));
+        metrics.put("movedTotal", totals);
+        metrics.put("lastRunMoved", lastRunMoved.get());
+        metrics.put("lastRunMillis", lastRunMillis.get());
+        metrics.put("lastRunAt", lastRunAt.get());
+        return metrics;
+    }
+}
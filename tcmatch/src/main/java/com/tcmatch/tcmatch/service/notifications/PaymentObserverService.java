@@ -1,6 +1,8 @@
 package com.tcmatch.tcmatch.service.notifications;
 
 import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.ChatUpdatePipeline;
+import com.tcmatch.tcmatch.bot.OutboundMessageQueue.Priority;
 import com.tcmatch.tcmatch.bot.keyboards.SubscriptionKeyboards;
 import com.tcmatch.tcmatch.bot.keyboards.WalletKeyboards;
 import com.tcmatch.tcmatch.events.PaymentCompletedEvent;
@@ -11,14 +13,15 @@ import com.tcmatch.tcmatch.service.UserSessionService;
 import com.tcmatch.tcmatch.service.WalletService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 import org.telegram.telegrambots.meta.api.objects.replykeyboard.InlineKeyboardMarkup;
 
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @Slf4j
@@ -30,12 +33,13 @@ public class PaymentObserverService {
     private final WalletKeyboards walletKeyboards;
     private final NotificationService notificationService; // 🔥 Добавили
     private final WalletService walletService; // Добавляем для получения баланса
+    private final ChatUpdatePipeline updatePipeline;
 
 
     /**
-     * 🔥 Отправка сообщения с кнопкой оплаты
+     * 🔥 Отправка сообщения с кнопкой оплаты. Future содержит messageId или null при ошибке.
      */
-    public Integer sendPaymentLinkMessage(Long chatId, String paymentUrl, BigDecimal amount, String paymentId) {
+    public CompletableFuture<Integer> sendPaymentLinkMessage(Long chatId, String paymentUrl, BigDecimal amount, String paymentId) {
 
 
         String paymentText = String.format("""
@@ -55,17 +59,20 @@ public class PaymentObserverService {
 
         InlineKeyboardMarkup keyboard = walletKeyboards.createPaymentLinkKeyboard(paymentUrl);
 
-        // Отправляем сообщение
-        Integer messageId = botExecutor.sendHtmlMessageReturnId(chatId, paymentText, keyboard);
+        // Отправляем сообщение, ID сохраняем после ответа Telegram
+        CompletableFuture<Integer> sent = botExecutor.sendHtmlMessageAsync(chatId, paymentText, keyboard, Priority.INTERACTIVE);
 
-        if (messageId != null) {
-            // 🔥 Сохраняем в UserSession отдельно от temporaryMessages
-            userSessionService.addPaymentMessage(chatId, paymentId, messageId);
-            log.info("💳 Платежное сообщение сохранено в сессии: chatId={}, paymentId={}, messageId={}",
-                    chatId, paymentId, messageId);
-        }
+        sent.thenAccept(messageId -> {
+            if (messageId == null) return;
+            // 🔥 Сохраняем в UserSession отдельно от temporaryMessages (на полосе чата)
+            updatePipeline.submit(chatId, () -> {
+                userSessionService.addPaymentMessage(chatId, paymentId, messageId);
+                log.info("💳 Платежное сообщение сохранено в сессии: chatId={}, paymentId={}, messageId={}",
+                        chatId, paymentId, messageId);
+            });
+        });
 
-        return messageId;
+        return sent;
     }
 
     /**
@@ -124,7 +131,7 @@ public class PaymentObserverService {
      * 🔥 Обработка успешной оплаты
      */
     @Async
-    @EventListener
+    @TransactionalEventListener(fallbackExecution = true)
     public void handlePaymentSuccess(PaymentCompletedEvent event) {
         if (!event.isSuccess()) return;
 
@@ -153,7 +160,7 @@ public class PaymentObserverService {
      * 🔥 Обработка отмененной оплаты
      */
     @Async
-    @EventListener
+    @TransactionalEventListener(fallbackExecution = true)
     public void handlePaymentCanceled(PaymentCompletedEvent event) {
         if (event.isSuccess()) return;
 
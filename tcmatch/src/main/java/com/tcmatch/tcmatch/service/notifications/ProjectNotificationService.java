@@ -1,22 +1,24 @@
 package com.tcmatch.tcmatch.service.notifications;
 
 import com.tcmatch.tcmatch.events.NewProjectEvent;
+import com.tcmatch.tcmatch.model.dto.FreelancerRecipient;
 import com.tcmatch.tcmatch.model.dto.ProjectDto;
-import com.tcmatch.tcmatch.model.dto.UserDto;
-import com.tcmatch.tcmatch.model.enums.SubscriptionTier;
+import com.tcmatch.tcmatch.repository.UserRepository;
 import com.tcmatch.tcmatch.service.NotificationService;
-import com.tcmatch.tcmatch.service.ProjectService;
-import com.tcmatch.tcmatch.service.SubscriptionService;
-import com.tcmatch.tcmatch.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.TimeUnit;
+import java.util.Map;
+import java.util.TreeMap;
 
 @Service
 @Slf4j
@@ -25,12 +27,16 @@ public class ProjectNotificationService {
 
     // 🔥 Инжектируем зависимости
     private final NotificationService notificationService; // Для сохранения и пуша
-    private final UserService userService;                   // Для получения списка фрилансеров
-    private final SubscriptionService subscriptionService;   // Для проверки тарифа
-    private final ProjectService projectService;             // (Опционально: если потребуется)
+    private final UserRepository userRepository;             // Фрилансеры + тариф одним запросом
+    private final DelayedNotificationQueue delayedNotificationQueue; // Задержка по тарифу, переживает перезапуск
+
+    @Value("${app.notifications.fan-out-page-size:500}")
+    private int fanOutPageSize;
 
     /**
      * 🔥 ГЛАВНЫЙ СЛУШАТЕЛЬ: ОБРАБОТКА СОБЫТИЯ О НОВОМ ПРОЕКТЕ
+     * Уведомляются все фрилансеры, как и раньше; читаются страницами (только chatId и тариф),
+     * уведомления вставляются пачками.
      */
     @Async
     @EventListener
@@ -41,34 +47,50 @@ public class ProjectNotificationService {
             // 🔥 НЕ УВЕДОМЛЯЕМ СОЗДАТЕЛЯ ПРОЕКТА
             Long creatorChatId = event.getCreatorChatId();
 
-            // 🔥 ПОЛУЧАЕМ ВСЕХ ФРИЛАНСЕРОВ
-            List<UserDto> allFreelancers = userService.getAllFreelancers();
+            String text = formatProjectNotificationText(project);
+            String callbackData = "project:details:" + project.getId();
 
-            for (UserDto freelancer : allFreelancers) {
-                // Пропускаем создателя проекта
-                if (freelancer.getChatId().equals(creatorChatId)) {
-                    continue;
+            Map<Integer, List<Long>> delayedByMinutes = new TreeMap<>();
+            int instantCount = 0;
+            int delayedCount = 0;
+            long afterId = 0L;
+
+            while (true) {
+                List<FreelancerRecipient> page = userRepository.findFreelancerRecipientsAfter(
+                        creatorChatId, afterId, PageRequest.of(0, fanOutPageSize));
+                if (page.isEmpty()) break;
+
+                LocalDateTime now = LocalDateTime.now();
+                List<Long> instantRecipients = new ArrayList<>();
+                for (FreelancerRecipient freelancer : page) {
+                    // 🔥 ПРОВЕРЯЕМ ТАРИФ ПОЛЬЗОВАТЕЛЯ (уже пришел в JOIN)
+                    int delayMinutes = freelancer.effectiveTier(now).getNotificationDelayMinutes();
+                    if (delayMinutes <= 0) {
+                        // 🔥 BASIC и PRO - мгновенно
+                        instantRecipients.add(freelancer.chatId());
+                    } else {
+                        // 🔥 FREE - с задержкой тарифа
+                        delayedByMinutes.computeIfAbsent(delayMinutes, m -> new ArrayList<>()).add(freelancer.chatId());
+                    }
                 }
 
-                // 🔥 ПРОВЕРЯЕМ ТАРИФ ПОЛЬЗОВАТЕЛЯ
-                SubscriptionTier userPlan = subscriptionService.getVerifiedSubscriptionTier(freelancer.getChatId());
-
-                if (userPlan.isHasInstantNotifications()) {
-                    // 🔥 PRO и UNLIMITED - мгновенно
-                    log.info("🚀 Мгновенное уведомление для {} (тариф: {})",
-                            freelancer.getChatId(), userPlan.name());
-                    sendProjectNotification(freelancer.getChatId(), project);
-                } else {
-                    // 🔥 FREE и BASIC - с задержкой (например, 30 минут)
-                    // Мы не используем Thread.sleep() напрямую
-                    log.info("⏰ Отложенное уведомление для {} (тариф: {})",
-                            freelancer.getChatId(), userPlan.name());
-                    // 30 минут задержки
-                    scheduleDelayedNotification(freelancer.getChatId(), project, 1L);
+                notificationService.createNotifications(instantRecipients, text, callbackData);
+                instantCount += instantRecipients.size();
+
+                // 🔥 Отложенные - в постоянную очередь, каждой странице своя пакетная вставка
+                for (Map.Entry<Integer, List<Long>> entry : delayedByMinutes.entrySet()) {
+                    delayedNotificationQueue.enqueue(entry.getValue(), text, callbackData,
+                            Duration.ofMinutes(entry.getKey()));
+                    delayedCount += entry.getValue().size();
                 }
+                delayedByMinutes.clear();
+                afterId = page.get(page.size() - 1).userId();
+
+                if (page.size() < fanOutPageSize) break;
             }
 
-            log.info("✅ Уведомления о новом проекте отправлены {} фрилансерам", allFreelancers.size());
+            log.info("✅ Уведомления о новом проекте {}: мгновенно {}, отложено {}",
+                    project.getId(), instantCount, delayedCount);
 
         } catch (Exception e) {
             log.error("❌ Ошибка уведомления о новом проекте: {}", e.getMessage(), e);
@@ -94,33 +116,6 @@ public class ProjectNotificationService {
         );
     }
 
-    /**
-     * 🔥 МЕТОД: ОТЛОЖЕННОЕ УВЕДОМЛЕНИЕ ДЛЯ БАЗОВОГО ТАРИФА
-     */
-    @Async
-    public void scheduleDelayedNotification(Long freelancerChatId, ProjectDto project, Long delayMinutes) {
-        try {
-            // 🔥 НЕ ИСПОЛЬЗУЕМ Thread.sleep() - используем CompletableFuture.delayedExecutor
-            CompletableFuture.delayedExecutor(delayMinutes, TimeUnit.MINUTES)
-                    .execute(() -> {
-                        try {
-                            // 🔥 ОТПРАВЛЯЕМ УВЕДОМЛЕНИЕ
-                            sendProjectNotification(freelancerChatId, project);
-
-                            log.info("✅ Отложенное уведомление отправлено пользователю {}", freelancerChatId);
-
-                        } catch (Exception e) {
-                            log.error("❌ Ошибка в отложенном уведомлении для пользователя {}: {}",
-                                    freelancerChatId, e.getMessage());
-                        }
-                    });
-
-        } catch (Exception e) {
-            log.error("❌ Ошибка планирования отложенного уведомления для пользователя {}: {}",
-                    freelancerChatId, e.getMessage());
-        }
-    }
-
     /**
      * 🔥 МЕТОД: ОТПРАВКА УВЕДОМЛЕНИЯ О ПРОЕКТЕ
      */
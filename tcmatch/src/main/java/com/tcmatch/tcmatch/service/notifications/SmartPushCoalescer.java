@@ -0,0 +1,174 @@
+package com.tcmatch.tcmatch.service.notifications;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.bot.OutboundMessageQueue;
+import com.tcmatch.tcmatch.bot.keyboards.NotificationKeyboards;
+import com.tcmatch.tcmatch.service.UserSessionService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🔥 "Умный пуш" с окном склейки.
+ * Уведомления одному пользователю, пришедшие в пределах окна, дают ровно один пуш
+ * (удаление старого + отправка нового). Текст пуша собирается из состояния в памяти и кэша счетчиков - без запросов в БД.
+ */
+@Component
+@Slf4j
+public class SmartPushCoalescer {
+
+    private static final int SUMMARY_SIZE = 3;
+
+    private final BotExecutor botExecutor;
+    private final UserSessionService userSessionService;
+    private final NotificationKeyboards notificationKeyboards;
+    private final UnreadCounterCache unreadCounterCache;
+    private final long windowMs;
+
+    // 🔥 Состояние живет, пока пользователь не открыл Центр уведомлений
+    private final ConcurrentMap<Long, PushState> states;
+    // 🔥 Пуш, который еще отправляется: следующий ждет его, иначе не узнает, какое сообщение удалять
+    private final ConcurrentMap<Long, CompletableFuture<Integer>> pendingPushes = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "smart-push");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public SmartPushCoalescer(BotExecutor botExecutor,
+                              UserSessionService userSessionService,
+                              NotificationKeyboards notificationKeyboards,
+                              UnreadCounterCache unreadCounterCache,
+                              @Value("${app.notifications.push-coalesce-ms:1500}") long windowMs,
+                              @Value("${app.notifications.push-state-max-size:100000}") long maxStates) {
+        this.botExecutor = botExecutor;
+        this.userSessionService = userSessionService;
+        this.notificationKeyboards = notificationKeyboards;
+        this.unreadCounterCache = unreadCounterCache;
+        this.windowMs = Math.max(0, windowMs);
+        this.states = Caffeine.newBuilder()
+                .maximumSize(maxStates)
+                .expireAfterAccess(Duration.ofDays(7))
+                .<Long, PushState>build()
+                .asMap();
+    }
+
+    /**
+     * Учитывает новое уведомление; пуш уйдет один раз по окончании окна.
+     */
+    public void submit(Long chatId, String text) {
+        PushState state = states.computeIfAbsent(chatId, id -> new PushState());
+        boolean schedule;
+        synchronized (state) {
+            state.add(text);
+            schedule = !state.flushScheduled;
+            state.flushScheduled = true;
+        }
+        if (schedule) {
+            scheduler.schedule(() -> flush(chatId, state), windowMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Пользователь открыл Центр уведомлений - следующий пуш начинается с чистого листа.
+     */
+    public void reset(Long chatId) {
+        states.remove(chatId);
+    }
+
+    private void flush(Long chatId, PushState state) {
+        // 🔥 Состояние сброшено или заменено - этот пуш уже не нужен
+        if (states.get(chatId) != state) return;
+
+        try {
+            // 🔥 Счетчик непрочитанных - из кэша, без COUNT-запроса
+            long unreadCount = unreadCounterCache.get(chatId);
+            String pushText;
+            synchronized (state) {
+                state.flushScheduled = false;
+                pushText = state.render(unreadCount);
+            }
+
+            // 🔥 Flush идут с одного потока планировщика, поэтому get/put здесь не гоняются между собой
+            CompletableFuture<Integer> previous = pendingPushes.get(chatId);
+            CompletableFuture<Integer> push = previous == null
+                    ? replacePush(chatId, pushText)
+                    : previous.exceptionally(e -> null).thenCompose(ignored -> replacePush(chatId, pushText));
+            pendingPushes.put(chatId, push);
+            push.whenComplete((messageId, error) -> pendingPushes.remove(chatId, push));
+        } catch (Exception e) {
+            synchronized (state) {
+                state.flushScheduled = false;
+            }
+            log.error("❌ Failed to send push to user {}: {}", chatId, e.getMessage());
+        }
+    }
+
+    /**
+     * Заменяет прошлый пуш новым; future завершается, когда ID нового пуша уже в сессии.
+     */
+    private CompletableFuture<Integer> replacePush(Long chatId, String pushText) {
+        Integer oldPushMessageId = userSessionService.getLastPushMessageId(chatId);
+
+        // 1. Удаляем старый пуш, чтобы вызвать ПУШ (звук/вибрацию) в Telegram
+        if (oldPushMessageId != null) {
+            botExecutor.deleteMessageAsync(chatId, oldPushMessageId, OutboundMessageQueue.Priority.BULK);
+        }
+
+        // 2. Отправляем НОВОЕ сообщение (массовый приоритет - не мешает интерактивным ответам)
+        return botExecutor.sendHtmlMessageAsync(
+                chatId,
+                pushText,
+                notificationKeyboards.createGoToNotificationCenterKeyboard(),
+                OutboundMessageQueue.Priority.BULK
+        ).thenApply(newPushMessageId -> {
+            // 3. Сохраняем ID нового "пуша" в сессию
+            if (newPushMessageId != null) {
+                userSessionService.setLastPushMessageId(chatId, newPushMessageId);
+                log.debug("New push message ID {} saved for user {}", newPushMessageId, chatId);
+            }
+            return newPushMessageId;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Последние тексты (новые первыми) с момента последнего просмотра Центра уведомлений.
+     */
+    private static final class PushState {
+        private final Deque<String> recent = new ArrayDeque<>(SUMMARY_SIZE);
+        private boolean flushScheduled;
+
+        void add(String text) {
+            if (recent.size() == SUMMARY_SIZE) recent.removeLast();
+            recent.addFirst(text != null ? text : "");
+        }
+
+        String render(long unreadCount) {
+            StringBuilder sb = new StringBuilder("🔔 **НОВЫЕ СОБЫТИЯ В ВАШЕМ АККАУНТЕ**\n\n");
+            for (String text : recent) {
+                sb.append("• ").append(text).append("\n");
+            }
+            if (unreadCount > recent.size()) {
+                sb.append(String.format("\n... и еще <b>%d</b> непрочитанных.", unreadCount - recent.size()));
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.tcmatch.tcmatch.service.notifications;
+
+import com.tcmatch.tcmatch.events.SubscriptionExpiredEvent;
+import com.tcmatch.tcmatch.service.NotificationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class SubscriptionNotificationService {
+
+    private final NotificationService notificationService;
+
+    /**
+     * 🔥 Уведомление об окончании платной подписки (после коммита сброса на FREE)
+     */
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleSubscriptionExpired(SubscriptionExpiredEvent event) {
+        if (event.getChatId() == null) return;
+
+        try {
+            String text = String.format("""
+                    ⏰ <b>Подписка закончилась</b>
+                    
+                    Срок тарифа <b>%s</b> истек, вы переведены на бесплатный тариф.
+                    Продлить подписку можно в разделе «Подписки».
+                    """, event.getPreviousTier().getDisplayName());
+
+            notificationService.createNotification(event.getChatId(), text, "");
+        } catch (Exception e) {
+            log.error("❌ Ошибка создания уведомления об окончании подписки для {}: {}",
+                    event.getChatId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.tcmatch.tcmatch.service.notifications;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tcmatch.tcmatch.model.enums.NotificationStatus;
+import com.tcmatch.tcmatch.repository.NotificationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 🔥 Счетчики непрочитанных уведомлений в памяти: chatId -> количество.
+ * Значение загружается из БД при первом обращении, дальше меняется только инкрементами/декрементами
+ * (после коммита) и периодически сверяется с БД. Бейдж и пуш читают счетчик без COUNT-запроса.
+ * Счетчиков не больше unread-max-size, давно не тронутые вытесняются; сверяются только измененные с прошлой сверки.
+ */
+@Component
+@Slf4j
+public class UnreadCounterCache {
+
+    private final NotificationRepository notificationRepository;
+    private final int reconcileBatchSize;
+    private final Cache<Long, AtomicLong> counters;
+    // 🔥 Загруженные или измененные с прошлой сверки - только их и сверяем с БД
+    private final Set<Long> touched = ConcurrentHashMap.newKeySet();
+
+    public UnreadCounterCache(NotificationRepository notificationRepository,
+                              @Value("${app.notifications.unread-reconcile-batch-size:500}") int reconcileBatchSize,
+                              @Value("${app.notifications.unread-max-size:100000}") long maxCounters,
+                              @Value("${app.notifications.unread-idle-timeout:P1D}") Duration idleTimeout) {
+        this.notificationRepository = notificationRepository;
+        this.reconcileBatchSize = Math.max(1, reconcileBatchSize);
+        this.counters = Caffeine.newBuilder()
+                .maximumSize(maxCounters)
+                .expireAfterAccess(idleTimeout)
+                .build();
+    }
+
+    /**
+     * Число непрочитанных; при первом обращении - один COUNT в БД.
+     */
+    public long get(long chatId) {
+        return counters.get(chatId, id -> {
+            touched.add(id);
+            return new AtomicLong(notificationRepository.countByUserChatIdAndStatus(id, NotificationStatus.UNREAD));
+        }).get();
+    }
+
+    /**
+     * Новые непрочитанные. Если счетчик еще не загружен - ничего не делаем, загрузка увидит строки в БД.
+     */
+    public void increment(long chatId) {
+        addIfPresent(chatId, 1);
+    }
+
+    public void decrement(long chatId) {
+        addIfPresent(chatId, -1);
+    }
+
+    public long size() {
+        return counters.estimatedSize();
+    }
+
+    private void addIfPresent(long chatId, long delta) {
+        AtomicLong counter = counters.getIfPresent(chatId);
+        if (counter == null) return;
+        counter.updateAndGet(value -> Math.max(0, value + delta));
+        touched.add(chatId);
+    }
+
+    // 🔥 Сверка с БД: исправляет расхождения от гонок загрузки и изменений мимо сервиса
+    @Scheduled(fixedDelayString = "${app.notifications.unread-reconcile-interval-ms:600000}")
+    public void reconcile() {
+        List<Long> chatIds = new ArrayList<>(touched.size());
+        for (Iterator<Long> it = touched.iterator(); it.hasNext(); ) {
+            chatIds.add(it.next());
+            it.remove();
+        }
+
+        int corrected = 0;
+        for (int from = 0; from < chatIds.size(); from += reconcileBatchSize) {
+            corrected += reconcileBatch(chatIds.subList(from, Math.min(from + reconcileBatchSize, chatIds.size())));
+        }
+        if (corrected > 0) {
+            log.info("🔔 Unread counters reconciled: {} corrected of {} checked", corrected, chatIds.size());
+        }
+    }
+
+    private int reconcileBatch(List<Long> chatIds) {
+        Map<Long, Long> actual = new HashMap<>();
+        for (Object[] row : notificationRepository.countByUserChatIdsAndStatus(chatIds, NotificationStatus.UNREAD)) {
+            actual.put((Long) row[0], (Long) row[1]);
+        }
+
+        int corrected = 0;
+        for (Long chatId : chatIds) {
+            // Вытесненный за это время счетчик не сверяем - загрузится заново
+            AtomicLong counter = counters.getIfPresent(chatId);
+            long expected = actual.getOrDefault(chatId, 0L);
+            if (counter != null && counter.getAndSet(expected) != expected) corrected++;
+        }
+        return corrected;
+    }
+}
@@ -0,0 +1,166 @@
+package com.tcmatch.tcmatch.service.search;
+
+import com.tcmatch.tcmatch.model.Project;
+import com.tcmatch.tcmatch.model.enums.UserRole;
+import com.tcmatch.tcmatch.repository.ProjectRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 🔥 Встроенный инвертированный индекс для H2/dev.
+ * Терм -> (projectId -> взвешенная частота), веса полей: заголовок 3, навыки 2, описание 1.
+ * Ранжирование - BM25-подобный TF-IDF с поправкой на число добавлений в избранное,
+ * при равенстве - более новые проекты выше.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.search.engine", havingValue = "memory", matchIfMissing = true)
+public class InMemoryProjectSearchEngine implements ProjectSearchEngine {
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int SKILLS_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final double K1 = 1.2;
+
+    private final ProjectRepository projectRepository;
+
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private final Map<Long, IndexedProject> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Project> openProjects = projectRepository.findAllByStatusOrderByCreatedAtDesc(UserRole.ProjectStatus.OPEN);
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            openProjects.forEach(this::addUnlocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("🔎 Search index built: {} projects, {} terms", openProjects.size(), postings.size());
+    }
+
+    @Override
+    public List<Long> search(String query, Integer minBudget, int limit) {
+        Set<String> queryTerms = new LinkedHashSet<>(SearchTokenizer.tokenize(query));
+        if (queryTerms.isEmpty()) return List.of();
+
+        lock.readLock().lock();
+        try {
+            // 🔥 Начинаем с самого редкого терма - меньше кандидатов
+            List<Map<Long, Integer>> termPostings = new ArrayList<>();
+            for (String term : queryTerms) {
+                Map<Long, Integer> docs = postings.get(term);
+                if (docs == null) return List.of();
+                termPostings.add(docs);
+            }
+            termPostings.sort(Comparator.comparingInt(Map::size));
+
+            int totalDocs = documents.size();
+            Map<Long, Double> scores = new HashMap<>();
+            for (Long projectId : termPostings.get(0).keySet()) {
+                IndexedProject doc = documents.get(projectId);
+                if (minBudget != null && (doc.budget() == null || doc.budget() < minBudget)) continue;
+
+                double score = 0;
+                boolean matchesAll = true;
+                for (Map<Long, Integer> docs : termPostings) {
+                    Integer tf = docs.get(projectId);
+                    if (tf == null) {
+                        matchesAll = false;
+                        break;
+                    }
+                    double idf = Math.log(1 + (totalDocs - docs.size() + 0.5) / (docs.size() + 0.5));
+                    score += idf * (tf * (K1 + 1)) / (tf + K1);
+                }
+                if (matchesAll) {
+                    scores.put(projectId, score * (1 + FAVORITES_WEIGHT * Math.log1p(doc.favoritesCount())));
+                }
+            }
+
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Double>comparingByValue().reversed()
+                            .thenComparing(e -> documents.get(e.getKey()).createdAt(),
+                                    Comparator.nullsLast(Comparator.reverseOrder())))
+                    .limit(limit)
+                    .map(Map.Entry::getKey)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void index(Project project) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(project.getId());
+            if (project.getStatus() == UserRole.ProjectStatus.OPEN) {
+                addUnlocked(project);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long projectId) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(projectId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addUnlocked(Project project) {
+        Map<String, Integer> terms = new HashMap<>();
+        addField(terms, project.getTitle(), TITLE_WEIGHT);
+        addField(terms, project.getRequiredSkills(), SKILLS_WEIGHT);
+        addField(terms, project.getDescription(), DESCRIPTION_WEIGHT);
+
+        terms.forEach((term, weight) ->
+                postings.computeIfAbsent(term, t -> new HashMap<>()).put(project.getId(), weight));
+        int favoritesCount = project.getFavoritesCount() != null ? project.getFavoritesCount() : 0;
+        documents.put(project.getId(),
+                new IndexedProject(terms.keySet(), project.getBudget(), project.getCreatedAt(), favoritesCount));
+    }
+
+    private void removeUnlocked(Long projectId) {
+        IndexedProject existing = documents.remove(projectId);
+        if (existing == null) return;
+        for (String term : existing.terms()) {
+            Map<Long, Integer> docs = postings.get(term);
+            if (docs == null) continue;
+            docs.remove(projectId);
+            if (docs.isEmpty()) postings.remove(term);
+        }
+    }
+
+    private void addField(Map<String, Integer> terms, String text, int weight) {
+        for (String term : SearchTokenizer.tokenize(text)) {
+            terms.merge(term, weight, Integer::sum);
+        }
+    }
+
+    private record IndexedProject(Set<String> terms, Double budget, LocalDateTime createdAt, int favoritesCount) {
+    }
+}
@@ -0,0 +1,224 @@
+package com.tcmatch.tcmatch.service.search;
+
+import com.tcmatch.tcmatch.events.ProjectChangedEvent;
+import com.tcmatch.tcmatch.model.Project;
+import com.tcmatch.tcmatch.model.enums.UserRole;
+import com.tcmatch.tcmatch.repository.ProjectRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 🔥 Каталог открытых проектов в памяти процесса.
+ * Колонки хранятся в примитивных массивах (порядок - createdAt DESC), плюс отсортированные
+ * индексы по бюджету и сроку. Фильтры "budget:N", "urgent" и "junior" отвечают без запроса в БД.
+ * Снимок неизменяемый и подменяется целиком (copy-on-write), поэтому чтение идет без блокировок.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class OpenProjectCatalog {
+
+    private final ProjectRepository projectRepository;
+
+    // 🔥 Исходные строки каталога; меняются только под synchronized
+    private final Map<Long, Row> rows = new HashMap<>();
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Project> openProjects = projectRepository.findAllByStatusOrderByCreatedAtDesc(UserRole.ProjectStatus.OPEN);
+        synchronized (this) {
+            rows.clear();
+            openProjects.forEach(project -> rows.put(project.getId(), Row.of(project)));
+            publish();
+        }
+        log.info("📚 Open project catalog built: {} projects", openProjects.size());
+    }
+
+    // 🔥 Создание, смена статуса, отмена и назначение исполнителя публикуют ProjectChangedEvent
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        try {
+            projectRepository.findById(event.getProjectId()).ifPresentOrElse(
+                    this::apply,
+                    () -> remove(event.getProjectId()));
+        } catch (Exception e) {
+            log.error("❌ Failed to update project catalog for {}: {}", event.getProjectId(), e.getMessage());
+        }
+    }
+
+    public synchronized void apply(Project project) {
+        Row previous = project.getStatus() == UserRole.ProjectStatus.OPEN
+                ? rows.put(project.getId(), Row.of(project))
+                : rows.remove(project.getId());
+        if (previous != null || project.getStatus() == UserRole.ProjectStatus.OPEN) {
+            publish();
+        }
+    }
+
+    public synchronized void remove(Long projectId) {
+        if (rows.remove(projectId) != null) {
+            publish();
+        }
+    }
+
+    public int size() {
+        return snapshot.ids.length;
+    }
+
+    /**
+     * Все открытые проекты, новые сверху.
+     */
+    public List<Long> openProjectIds() {
+        Snapshot current = snapshot;
+        List<Long> result = new ArrayList<>(current.ids.length);
+        for (long id : current.ids) {
+            result.add(id);
+        }
+        return result;
+    }
+
+    /**
+     * Открытые проекты с бюджетом не выше maxBudget, новые сверху.
+     */
+    public List<Long> idsWithBudgetAtMost(double maxBudget) {
+        Snapshot current = snapshot;
+        int count = upperBound(current.budgetKeys, maxBudget);
+        return current.collect(current.budgetRows, count);
+    }
+
+    /**
+     * Открытые проекты со сроком не больше maxDays дней, новые сверху.
+     */
+    public List<Long> idsWithEstimatedDaysAtMost(int maxDays) {
+        Snapshot current = snapshot;
+        int count = upperBound(current.daysKeys, maxDays);
+        return current.collect(current.daysRows, count);
+    }
+
+    private void publish() {
+        snapshot = Snapshot.build(rows.values());
+    }
+
+    // Число элементов <= key в отсортированном массиве
+    private static int upperBound(double[] sorted, double key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] <= key) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    private static int upperBound(int[] sorted, int key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] <= key) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    private record Row(long id, long createdAt, Double budget, Integer estimatedDays) {
+        static Row of(Project project) {
+            LocalDateTime createdAt = project.getCreatedAt();
+            return new Row(project.getId(),
+                    createdAt != null ? createdAt.toEpochSecond(ZoneOffset.UTC) : Long.MIN_VALUE,
+                    project.getBudget(),
+                    project.getEstimatedDays());
+        }
+    }
+
+    /**
+     * Колоночный снимок: строка i - i-й по новизне проект.
+     * budgetRows/daysRows - номера строк, отсортированные по ключу; проекты без бюджета/срока в индекс не попадают.
+     */
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = build(List.of());
+
+        final long[] ids;
+        final double[] budgetKeys;
+        final int[] budgetRows;
+        final int[] daysKeys;
+        final int[] daysRows;
+
+        private Snapshot(long[] ids, double[] budgetKeys, int[] budgetRows, int[] daysKeys, int[] daysRows) {
+            this.ids = ids;
+            this.budgetKeys = budgetKeys;
+            this.budgetRows = budgetRows;
+            this.daysKeys = daysKeys;
+            this.daysRows = daysRows;
+        }
+
+        static Snapshot build(Iterable<Row> source) {
+            List<Row> ordered = new ArrayList<>();
+            source.forEach(ordered::add);
+            ordered.sort(Comparator.comparingLong(Row::createdAt).thenComparingLong(Row::id).reversed());
+
+            int n = ordered.size();
+            long[] ids = new long[n];
+            List<Integer> withBudget = new ArrayList<>();
+            List<Integer> withDays = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                Row row = ordered.get(i);
+                ids[i] = row.id();
+                if (row.budget() != null) withBudget.add(i);
+                if (row.estimatedDays() != null) withDays.add(i);
+            }
+
+            withBudget.sort(Comparator.comparingDouble(i -> ordered.get(i).budget()));
+            withDays.sort(Comparator.comparingInt(i -> ordered.get(i).estimatedDays()));
+
+            double[] budgetKeys = new double[withBudget.size()];
+            int[] budgetRows = new int[withBudget.size()];
+            for (int i = 0; i < budgetRows.length; i++) {
+                budgetRows[i] = withBudget.get(i);
+                budgetKeys[i] = ordered.get(budgetRows[i]).budget();
+            }
+
+            int[] daysKeys = new int[withDays.size()];
+            int[] daysRows = new int[withDays.size()];
+            for (int i = 0; i < daysRows.length; i++) {
+                daysRows[i] = withDays.get(i);
+                daysKeys[i] = ordered.get(daysRows[i]).estimatedDays();
+            }
+
+            return new Snapshot(ids, budgetKeys, budgetRows, daysKeys, daysRows);
+        }
+
+        // 🔥 Отмечаем подходящие строки битами и проходим по ним по порядку - сортировка по дате сохраняется
+        List<Long> collect(int[] indexRows, int count) {
+            if (count == 0) return List.of();
+            if (count == ids.length) return Arrays.stream(ids).boxed().toList();
+
+            BitSet matched = new BitSet(ids.length);
+            for (int i = 0; i < count; i++) {
+                matched.set(indexRows[i]);
+            }
+            List<Long> result = new ArrayList<>(count);
+            for (int row = matched.nextSetBit(0); row >= 0; row = matched.nextSetBit(row + 1)) {
+                result.add(ids[row]);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.tcmatch.tcmatch.service.search;
+
+import com.tcmatch.tcmatch.model.Project;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 🔥 Поиск в PostgreSQL: генерируемая колонка tsvector (словарь 'russian') + GIN-индекс (миграции V5, V6).
+ * Колонка пересчитывается самой БД при каждом INSERT/UPDATE проекта,
+ * поэтому index/remove здесь ничего не делают.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.search.engine", havingValue = "postgres")
+public class PostgresProjectSearchEngine implements ProjectSearchEngine {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Колонку и индекс создают миграции V5/V6. Без колонки поиск не работает - не стартуем.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void verifySearchSchema() {
+        Integer columns = jdbcTemplate.queryForObject("""
+                SELECT count(*) FROM information_schema.columns
+                WHERE table_schema = current_schema() AND table_name = 'projects' AND column_name = 'search_vector'
+                """, Integer.class);
+        if (columns == null || columns == 0) {
+            throw new IllegalStateException(
+                    "Нет колонки projects.search_vector для app.search.engine=postgres: проверьте миграции Flyway (V5)");
+        }
+
+        Boolean indexValid = jdbcTemplate.query("""
+                SELECT i.indisvalid FROM pg_index i
+                JOIN pg_class c ON c.oid = i.indexrelid
+                WHERE c.relname = 'idx_projects_search_vector' AND pg_catalog.pg_table_is_visible(c.oid)
+                """, rs -> rs.next() ? rs.getBoolean(1) : null);
+        if (!Boolean.TRUE.equals(indexValid)) {
+            // Поиск работает и без индекса, но полным сканом
+            log.warn("⚠️ GIN index idx_projects_search_vector is {}: full-text search will scan projects",
+                    indexValid == null ? "missing" : "INVALID");
+            return;
+        }
+        log.info("🔎 PostgreSQL full-text index is ready");
+    }
+
+    @Override
+    public List<Long> search(String query, Integer minBudget, int limit) {
+        if (query == null || query.isBlank()) return List.of();
+
+        StringBuilder sql = new StringBuilder("""
+                SELECT p.id FROM projects p, plainto_tsquery('russian', ?) q
+                WHERE p.status = 'OPEN' AND p.search_vector @@ q
+                """);
+        List<Object> args = new ArrayList<>();
+        args.add(query);
+        if (minBudget != null) {
+            sql.append(" AND p.budget >= ?");
+            args.add(minBudget);
+        }
+        sql.append(" ORDER BY ts_rank(p.search_vector, q) * (1 + ? * ln(1 + coalesce(p.favorites_count, 0))) DESC,")
+                .append(" p.created_at DESC LIMIT ?");
+        args.add(FAVORITES_WEIGHT);
+        args.add(limit);
+
+        return jdbcTemplate.queryForList(sql.toString(), Long.class, args.toArray());
+    }
+
+    @Override
+    public void index(Project project) {
+        // tsvector пересчитывается БД
+    }
+
+    @Override
+    public void remove(Long projectId) {
+        // строка проекта сама выпадает из выборки по статусу
+    }
+}
@@ -0,0 +1,27 @@
+package com.tcmatch.tcmatch.service.search;
+
+import com.tcmatch.tcmatch.model.Project;
+
+import java.util.List;
+
+/**
+ * 🔥 Полнотекстовый поиск открытых проектов (заголовок, навыки, описание).
+ * Реализация выбирается свойством app.search.engine (memory | postgres).
+ */
+public interface ProjectSearchEngine {
+
+    /**
+     * Вклад популярности в ранжирование: релевантность * (1 + FAVORITES_WEIGHT * ln(1 + в избранном)).
+     */
+    double FAVORITES_WEIGHT = 0.1;
+
+    /**
+     * ID открытых проектов, содержащих все слова запроса, по убыванию релевантности.
+     */
+    List<Long> search(String query, Integer minBudget, int limit);
+
+    /** Добавляет или переиндексирует проект (для неоткрытых - удаляет из индекса) */
+    void index(Project project);
+
+    void remove(Long projectId);
+}
@@ -0,0 +1,31 @@
+package com.tcmatch.tcmatch.service.search;
+
+import com.tcmatch.tcmatch.events.ProjectChangedEvent;
+import com.tcmatch.tcmatch.repository.ProjectRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 🔥 Инкрементальное обновление поискового индекса после коммита изменений проекта.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ProjectSearchIndexUpdater {
+
+    private final ProjectRepository projectRepository;
+    private final ProjectSearchEngine searchEngine;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        try {
+            projectRepository.findById(event.getProjectId()).ifPresentOrElse(
+                    searchEngine::index,
+                    () -> searchEngine.remove(event.getProjectId()));
+        } catch (Exception e) {
+            log.error("❌ Failed to reindex project {}: {}", event.getProjectId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.tcmatch.tcmatch.service.search;
+
+/**
+ * 🔥 Стеммер Портера для русского языка (алгоритм Snowball).
+ * Нужен встроенному индексу, чтобы "разработка", "разработки" и "разработку" давали один терм.
+ */
+public final class RussianStemmer {
+
+    private static final String VOWELS = "аеиоуыэюя";
+
+    private static final String[] PERFECTIVE_GERUND_1 = {"вшись", "вши", "в"};
+    private static final String[] PERFECTIVE_GERUND_2 = {"ившись", "ывшись", "ивши", "ывши", "ив", "ыв"};
+    private static final String[] REFLEXIVE = {"ся", "сь"};
+    private static final String[] ADJECTIVE = {
+            "ими", "ыми", "его", "ого", "ему", "ому",
+            "ее", "ие", "ые", "ое", "ей", "ий", "ый", "ой", "ем", "им", "ым", "ом",
+            "их", "ых", "ую", "юю", "ая", "яя", "ою", "ею"};
+    private static final String[] PARTICIPLE_1 = {"ем", "нн", "вш", "ющ", "щ"};
+    private static final String[] PARTICIPLE_2 = {"ивш", "ывш", "ующ"};
+    private static final String[] VERB_1 = {
+            "ете", "йте", "ешь", "нно", "ла", "на", "ли", "ем", "ло", "но", "ет", "ют", "ны", "ть", "й", "л", "н"};
+    private static final String[] VERB_2 = {
+            "ейте", "уйте", "ила", "ыла", "ена", "ите", "или", "ыли", "ило", "ыло", "ено", "ует", "уют",
+            "ены", "ить", "ыть", "ишь", "ей", "уй", "ил", "ыл", "им", "ым", "ен", "ят", "ит", "ыт", "ую", "ю"};
+    private static final String[] NOUN = {
+            "иями", "ями", "ами", "ией", "иям", "ием", "иях",
+            "ев", "ов", "ие", "ье", "еи", "ии", "ей", "ой", "ий", "ям", "ем", "ам", "ом", "ах", "ях", "ию", "ью", "ия", "ья",
+            "а", "е", "и", "й", "о", "у", "ы", "ь", "ю", "я"};
+    private static final String[] SUPERLATIVE = {"ейше", "ейш"};
+    private static final String[] DERIVATIONAL = {"ость", "ост"};
+
+    private RussianStemmer() {
+    }
+
+    public static String stem(String word) {
+        String w = word.toLowerCase().replace('ё', 'е');
+        int rv = findRv(w);
+        if (rv >= w.length()) return w;
+
+        String prefix = w.substring(0, rv);
+        StringBuilder s = new StringBuilder(w.substring(rv));
+        int r2 = Math.max(0, findR2(w) - rv);
+
+        // Шаг 1
+        if (!removeGroup(s, PERFECTIVE_GERUND_1, true) && !removeGroup(s, PERFECTIVE_GERUND_2, false)) {
+            removeGroup(s, REFLEXIVE, false);
+            if (removeEnding(s, ADJECTIVE)) {
+                if (!removeGroup(s, PARTICIPLE_1, true)) {
+                    removeGroup(s, PARTICIPLE_2, false);
+                }
+            } else if (!removeGroup(s, VERB_1, true) && !removeGroup(s, VERB_2, false)) {
+                removeEnding(s, NOUN);
+            }
+        }
+
+        // Шаг 2
+        if (endsWith(s, "и")) {
+            s.setLength(s.length() - 1);
+        }
+
+        // Шаг 3: словообразовательный суффикс только в R2
+        for (String suffix : DERIVATIONAL) {
+            if (endsWith(s, suffix) && s.length() - suffix.length() >= r2) {
+                s.setLength(s.length() - suffix.length());
+                break;
+            }
+        }
+
+        // Шаг 4
+        if (endsWith(s, "нн")) {
+            s.setLength(s.length() - 1);
+        } else if (removeEnding(s, SUPERLATIVE)) {
+            if (endsWith(s, "нн")) s.setLength(s.length() - 1);
+        } else if (endsWith(s, "ь")) {
+            s.setLength(s.length() - 1);
+        }
+
+        return prefix + s;
+    }
+
+    // 🔥 Группа 1 окончаний удаляется только после 'а' или 'я' (сама буква остается)
+    private static boolean removeGroup(StringBuilder s, String[] endings, boolean afterAOrYa) {
+        for (String ending : endings) {
+            if (!endsWith(s, ending)) continue;
+            int start = s.length() - ending.length();
+            if (afterAOrYa) {
+                if (start == 0) continue;
+                char before = s.charAt(start - 1);
+                if (before != 'а' && before != 'я') continue;
+            }
+            s.setLength(start);
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean removeEnding(StringBuilder s, String[] endings) {
+        return removeGroup(s, endings, false);
+    }
+
+    private static boolean endsWith(StringBuilder s, String suffix) {
+        int offset = s.length() - suffix.length();
+        if (offset < 0) return false;
+        for (int i = 0; i < suffix.length(); i++) {
+            if (s.charAt(offset + i) != suffix.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    // RV - часть слова после первой гласной
+    private static int findRv(String w) {
+        for (int i = 0; i < w.length(); i++) {
+            if (isVowel(w.charAt(i))) return i + 1;
+        }
+        return w.length();
+    }
+
+    // R1 - после первой согласной, идущей за гласной; R2 - то же внутри R1
+    private static int findR2(String w) {
+        int r1 = nextRegion(w, 0);
+        return nextRegion(w, r1);
+    }
+
+    private static int nextRegion(String w, int from) {
+        for (int i = from + 1; i < w.length(); i++) {
+            if (!isVowel(w.charAt(i)) && isVowel(w.charAt(i - 1))) return i + 1;
+        }
+        return w.length();
+    }
+
+    private static boolean isVowel(char c) {
+        return VOWELS.indexOf(c) >= 0;
+    }
+}
@@ -0,0 +1,54 @@
+package com.tcmatch.tcmatch.service.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 🔥 Разбивает текст на термы: нижний регистр, ё→е, стоп-слова, русский стемминг.
+ * Латиница (названия технологий: java, spring, react) не стеммится.
+ */
+public final class SearchTokenizer {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "и", "в", "во", "на", "с", "со", "по", "для", "не", "что", "это", "как", "а", "но", "или",
+            "к", "ко", "от", "до", "из", "за", "о", "об", "у", "же", "бы", "ли", "то", "так", "все", "его",
+            "the", "and", "for", "with", "of", "to", "in", "on", "a", "an");
+
+    private SearchTokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isBlank()) return terms;
+
+        String normalized = text.toLowerCase(Locale.ROOT).replace('ё', 'е');
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean wordChar = i < normalized.length() && isWordChar(normalized.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                addTerm(terms, normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    // 🔥 '+' и '#' - часть слова: c++, c#
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '+' || c == '#';
+    }
+
+    private static void addTerm(List<String> terms, String word) {
+        if (word.length() < 2 && !Character.isDigit(word.charAt(0))) return;
+        if (STOP_WORDS.contains(word)) return;
+        terms.add(isCyrillic(word) ? RussianStemmer.stem(word) : word);
+    }
+
+    private static boolean isCyrillic(String word) {
+        return Character.UnicodeBlock.of(word.charAt(0)) == Character.UnicodeBlock.CYRILLIC;
+    }
+}
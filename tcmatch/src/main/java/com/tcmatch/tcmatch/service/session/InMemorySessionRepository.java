@@ -0,0 +1,55 @@
+package com.tcmatch.tcmatch.service.session;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tcmatch.tcmatch.model.UserSession;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 🔥 Хранилище для разработки: снимки в памяти процесса.
+ * Переживает вытеснение сессии из кэша, но не перезапуск.
+ * Снимков не больше snapshot-max-size, давно не тронутые вытесняются - heap не растет с числом пользователей.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "app.session.store", havingValue = "memory", matchIfMissing = true)
+public class InMemorySessionRepository implements SessionRepository {
+
+    private final UserSessionCodec codec;
+    private final Cache<Long, byte[]> snapshots;
+
+    public InMemorySessionRepository(
+            UserSessionCodec codec,
+            @Value("${app.session.snapshot-max-size:100000}") long maxSnapshots,
+            @Value("${app.session.snapshot-idle-timeout:P1D}") Duration idleTimeout) {
+        this.codec = codec;
+        this.snapshots = Caffeine.newBuilder()
+                .maximumSize(maxSnapshots)
+                .expireAfterAccess(idleTimeout)
+                .build();
+        log.info("🗂️ In-memory session snapshots: max {}, idle timeout {}", maxSnapshots, idleTimeout);
+    }
+
+    @Override
+    public Optional<UserSession> load(Long chatId) {
+        byte[] payload = snapshots.getIfPresent(chatId);
+        return payload == null ? Optional.empty() : Optional.of(codec.decode(payload));
+    }
+
+    @Override
+    public void saveAll(Map<Long, byte[]> payloads) {
+        snapshots.putAll(payloads);
+    }
+
+    @Override
+    public void delete(Long chatId) {
+        snapshots.invalidate(chatId);
+    }
+}
@@ -0,0 +1,69 @@
+package com.tcmatch.tcmatch.service.session;
+
+import com.tcmatch.tcmatch.model.UserSession;
+import com.tcmatch.tcmatch.model.UserSessionSnapshot;
+import com.tcmatch.tcmatch.repository.UserSessionSnapshotRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 🔥 Постоянное хранилище сессий в БД (таблица user_session_snapshots).
+ * Одна пачка = один SELECT по id + пакетные INSERT/UPDATE при flush.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.session.store", havingValue = "jdbc")
+public class JdbcSessionRepository implements SessionRepository {
+
+    private final UserSessionSnapshotRepository snapshotRepository;
+    private final UserSessionCodec codec;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<UserSession> load(Long chatId) {
+        return snapshotRepository.findById(chatId)
+                .map(snapshot -> codec.decode(snapshot.getPayload()));
+    }
+
+    @Override
+    @Transactional
+    public void saveAll(Map<Long, byte[]> payloads) {
+        if (payloads.isEmpty()) return;
+
+        Map<Long, UserSessionSnapshot> existing = snapshotRepository.findAllById(payloads.keySet()).stream()
+                .collect(Collectors.toMap(UserSessionSnapshot::getChatId, Function.identity()));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<UserSessionSnapshot> created = new ArrayList<>();
+        for (Map.Entry<Long, byte[]> payload : payloads.entrySet()) {
+            UserSessionSnapshot snapshot = existing.get(payload.getKey());
+            if (snapshot == null) {
+                snapshot = new UserSessionSnapshot(payload.getKey());
+                created.add(snapshot);
+            }
+            // 🔥 Управляемые сущности обновятся при коммите транзакции
+            snapshot.setPayload(payload.getValue());
+            snapshot.setUpdatedAt(now);
+        }
+        snapshotRepository.saveAll(created);
+        log.debug("💾 Saved {} session snapshots ({} new)", payloads.size(), created.size());
+    }
+
+    @Override
+    @Transactional
+    public void delete(Long chatId) {
+        snapshotRepository.deleteById(chatId);
+    }
+}
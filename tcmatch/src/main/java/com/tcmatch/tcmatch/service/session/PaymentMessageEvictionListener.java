@@ -0,0 +1,37 @@
+package com.tcmatch.tcmatch.service.session;
+
+import com.tcmatch.tcmatch.bot.BotExecutor;
+import com.tcmatch.tcmatch.model.UserSession;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 🔥 После вытеснения сессии плановая очистка платежных сообщений ее уже не увидит,
+ * поэтому удаляем устаревшие ссылки на оплату сразу.
+ * Выполняется до записи снимка, чтобы в него не попали удаленные сообщения.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class PaymentMessageEvictionListener implements SessionEvictionListener {
+
+    @Lazy
+    @Autowired
+    private BotExecutor botExecutor;
+
+    @Override
+    public void onSessionEvicted(Long chatId, UserSession session) {
+        List<Integer> paymentMessageIds = session.getPaymentMessageIds();
+        if (paymentMessageIds.isEmpty()) return;
+
+        botExecutor.deleteMessages(chatId, paymentMessageIds);
+        session.clearPaymentMessages();
+        log.debug("🧹 Удалено {} платежных сообщений вытесненной сессии {}", paymentMessageIds.size(), chatId);
+    }
+}
@@ -0,0 +1,11 @@
+package com.tcmatch.tcmatch.service.session;
+
+import com.tcmatch.tcmatch.model.UserSession;
+
+/**
+ * 🔥 Слушатель вытеснения сессии из памяти (по размеру или простою).
+ * Реализации сохраняют/дочищают то, что должно пережить вытеснение.
+ */
+public interface SessionEvictionListener {
+    void onSessionEvicted(Long chatId, UserSession session);
+}
@@ -0,0 +1,20 @@
+package com.tcmatch.tcmatch.service.session;
+
+import com.tcmatch.tcmatch.model.UserSession;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 🔥 Хранилище снимков сессий: переживает вытеснение из памяти и перезапуск сервера.
+ * Реализация выбирается свойством app.session.store (memory | jdbc).
+ */
+public interface SessionRepository {
+
+    Optional<UserSession> load(Long chatId);
+
+    /** 🔥 Пакетная запись уже сериализованных снимков (chatId -> payload) - вызывается только из write-behind */
+    void saveAll(Map<Long, byte[]> snapshots);
+
+    void delete(Long chatId);
+}
@@ -0,0 +1,144 @@
+package com.tcmatch.tcmatch.service.session;
+
+import com.tcmatch.tcmatch.bot.ChatUpdatePipeline;
+import com.tcmatch.tcmatch.model.UserSession;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 🔥 Отложенная (write-behind) запись сессий.
+ * Апдейт-поток только помечает сессию "грязной"; запись идет пачками в фоновом потоке планировщика,
+ * при вытеснении и при остановке. Сериализация выполняется на полосе чата (ChatUpdatePipeline),
+ * где сессию меняют апдейты, поэтому в снимок не попадает наполовину измененное состояние.
+ */
+@Component
+@Slf4j
+public class SessionWriteBehind implements SessionEvictionListener {
+
+    private final SessionRepository sessionRepository;
+    private final UserSessionCodec codec;
+    private final ChatUpdatePipeline updatePipeline;
+    private final int batchSize;
+
+    private final Map<Long, UserSession> dirtySessions = new ConcurrentHashMap<>();
+    // 🔥 Вытесненные сессии, чей снимок еще не записан: загрузка берет их, а не старый снимок из хранилища
+    private final Map<Long, UserSession> evictedSessions = new ConcurrentHashMap<>();
+
+    public SessionWriteBehind(SessionRepository sessionRepository,
+                              UserSessionCodec codec,
+                              ChatUpdatePipeline updatePipeline,
+                              @Value("${app.session.flush-batch-size:500}") int batchSize) {
+        this.sessionRepository = sessionRepository;
+        this.codec = codec;
+        this.updatePipeline = updatePipeline;
+        this.batchSize = Math.max(1, batchSize);
+        log.info("💾 Session write-behind: store {}, batch {}",
+                sessionRepository.getClass().getSimpleName(), this.batchSize);
+    }
+
+    /** 🔥 Дешевая пометка из апдейт-потока: без сериализации и ввода-вывода */
+    public void markDirty(UserSession session) {
+        dirtySessions.put(session.getChatId(), session);
+    }
+
+    /** 🔥 Ленивая загрузка при первом обращении к сессии после перезапуска */
+    public UserSession loadOrNull(Long chatId) {
+        UserSession evicted = evictedSessions.remove(chatId);
+        if (evicted != null) {
+            return evicted;
+        }
+        try {
+            return sessionRepository.load(chatId).orElse(null);
+        } catch (Exception e) {
+            log.warn("⚠️ Failed to restore session for user {}: {}", chatId, e.getMessage());
+            return null;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.session.flush-interval-ms:5000}")
+    public void flushDirty() {
+        if (dirtySessions.isEmpty()) return;
+
+        List<UserSession> batch = new ArrayList<>(batchSize);
+        Iterator<Map.Entry<Long, UserSession>> iterator = dirtySessions.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Long, UserSession> entry = iterator.next();
+            // 🔥 remove(key, value): повторная пометка во время записи не теряется
+            if (dirtySessions.remove(entry.getKey(), entry.getValue())) {
+                batch.add(entry.getValue());
+            }
+            if (batch.size() >= batchSize) {
+                write(batch, encodeAll(batch));
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        write(batch, encodeAll(batch));
+    }
+
+    /** 🔥 Синхронная запись всех сессий при остановке приложения */
+    public void flushAll(Collection<UserSession> sessions) {
+        sessions.forEach(this::markDirty);
+        flushDirty();
+        log.info("💾 Flushed {} sessions to {}", sessions.size(), sessionRepository.getClass().getSimpleName());
+    }
+
+    @Override
+    public void onSessionEvicted(Long chatId, UserSession session) {
+        dirtySessions.remove(chatId, session);
+        evictedSessions.put(chatId, session);
+        // 🔥 Не ждем полосу: вытеснение может прийти с полосы этого же чата
+        encode(session).whenComplete((payload, error) -> {
+            if (error == null) {
+                write(List.of(session), Map.of(chatId, payload));
+            } else {
+                log.error("❌ Failed to encode evicted session {}: {}", chatId, error.getMessage());
+                dirtySessions.putIfAbsent(chatId, session);
+            }
+            evictedSessions.remove(chatId, session);
+        });
+    }
+
+    private CompletableFuture<byte[]> encode(UserSession session) {
+        return updatePipeline.supply(session.getChatId(), () -> codec.encode(session));
+    }
+
+    // 🔥 Все снимки пачки сериализуются параллельно на своих полосах, поток записи только ждет
+    private Map<Long, byte[]> encodeAll(List<UserSession> batch) {
+        Map<UserSession, CompletableFuture<byte[]>> pending = new LinkedHashMap<>();
+        for (UserSession session : batch) {
+            pending.put(session, encode(session));
+        }
+
+        Map<Long, byte[]> payloads = new LinkedHashMap<>();
+        pending.forEach((session, payload) -> {
+            try {
+                payloads.put(session.getChatId(), payload.join());
+            } catch (Exception e) {
+                log.error("❌ Failed to encode session {}: {}", session.getChatId(), e.getMessage());
+                dirtySessions.putIfAbsent(session.getChatId(), session);
+            }
+        });
+        return payloads;
+    }
+
+    private void write(List<UserSession> batch, Map<Long, byte[]> payloads) {
+        if (payloads.isEmpty()) return;
+        try {
+            sessionRepository.saveAll(payloads);
+        } catch (Exception e) {
+            log.error("❌ Failed to persist {} sessions: {}", payloads.size(), e.getMessage());
+            batch.forEach(session -> dirtySessions.putIfAbsent(session.getChatId(), session));
+        }
+    }
+}
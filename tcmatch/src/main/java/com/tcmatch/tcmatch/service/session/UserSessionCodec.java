@@ -0,0 +1,428 @@
+package com.tcmatch.tcmatch.service.session;
+
+import com.tcmatch.tcmatch.model.UserSession;
+import com.tcmatch.tcmatch.model.dto.ApplicationCreationState;
+import com.tcmatch.tcmatch.model.dto.KeysetCursor;
+import com.tcmatch.tcmatch.model.dto.OrderCreationState;
+import com.tcmatch.tcmatch.model.dto.PaginationContext;
+import com.tcmatch.tcmatch.model.dto.ProjectCreationState;
+import com.tcmatch.tcmatch.model.dto.SearchRequest;
+import com.tcmatch.tcmatch.model.enums.PaymentType;
+import com.tcmatch.tcmatch.model.enums.UserState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 🔥 Компактная бинарная сериализация UserSession (DataOutputStream, без Java Serialization).
+ * В контексте сохраняются только известные типы значений; результаты поиска
+ * и подтверждения покупок живут минуты и после перезапуска не нужны.
+ */
+@Component
+@Slf4j
+public class UserSessionCodec {
+
+    private static final byte FORMAT_VERSION = 2;
+
+    private static final byte TAG_STRING = 1;
+    private static final byte TAG_LONG = 2;
+    private static final byte TAG_INTEGER = 3;
+    private static final byte TAG_BOOLEAN = 4;
+    private static final byte TAG_PAGINATION = 5;
+    private static final byte TAG_SEARCH_REQUEST = 6;
+
+    public byte[] encode(UserSession session) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeLong(session.getChatId());
+            writeDateTime(out, session.getCreatedAt());
+            writeDateTime(out, session.getLastActivityAt());
+
+            writeString(out, session.getCurrentCommand());
+            writeString(out, session.getCurrentAction());
+            writeEnum(out, session.getUserState());
+            writeString(out, session.getPendingGitHubUrl());
+
+            writeInteger(out, session.getMainMessageId());
+            writeInteger(out, session.getLastPushMessageId());
+            // 🔥 Копии коллекций: апдейт-поток может менять их во время записи
+            writeIntegers(out, new ArrayList<>(session.getTemporaryMessageIds()));
+            writeStrings(out, new ArrayList<>(session.getNavigationHistory()));
+            writePaymentMessages(out, new ArrayList<>(session.getPaymentMessages()));
+
+            writeProjectCreationState(out, session.getProjectCreationState());
+            writeApplicationCreationState(out, session.getApplicationCreationState());
+            writeOrderCreationState(out, session.getOrderCreationState());
+            writeContext(out, session.getContext());
+        } catch (IOException e) {
+            throw new IllegalStateException("Не удалось сериализовать сессию " + session.getChatId(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public UserSession decode(byte[] payload) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            byte version = in.readByte();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalStateException("Неизвестная версия формата сессии: " + version);
+            }
+
+            UserSession session = new UserSession(in.readLong());
+            session.setCreatedAt(readDateTime(in));
+            session.setLastActivityAt(readDateTime(in));
+
+            session.setCurrentCommand(readString(in));
+            session.setCurrentAction(readString(in));
+            UserState userState = readEnum(in, UserState.class);
+            session.setUserState(userState != null ? userState : UserState.NONE);
+            session.setPendingGitHubUrl(readString(in));
+
+            session.setMainMessageId(readInteger(in));
+            session.setLastPushMessageId(readInteger(in));
+            session.getTemporaryMessageIds().addAll(readIntegers(in));
+            session.getNavigationHistory().addAll(readStrings(in));
+            session.getPaymentMessages().addAll(readPaymentMessages(in));
+
+            session.setProjectCreationState(readProjectCreationState(in));
+            session.setApplicationCreationState(readApplicationCreationState(in));
+            session.setOrderCreationState(readOrderCreationState(in));
+            readContext(in, session);
+            return session;
+        } catch (IOException e) {
+            throw new IllegalStateException("Поврежденный снимок сессии", e);
+        }
+    }
+
+    // 🔥 СОСТОЯНИЯ МАСТЕРОВ
+
+    private void writeProjectCreationState(DataOutputStream out, ProjectCreationState state) throws IOException {
+        out.writeBoolean(state != null);
+        if (state == null) return;
+        writeLong(out, state.getChatId());
+        writeEnum(out, state.getCurrentStep());
+        out.writeBoolean(state.isEditing());
+        writeString(out, state.getTitle());
+        writeString(out, state.getDescription());
+        writeDouble(out, state.getBudget());
+        writeInteger(out, state.getEstimatedDays());
+        writeString(out, state.getRequiredSkills());
+        writeInteger(out, state.getMessageIdToDelete());
+    }
+
+    private ProjectCreationState readProjectCreationState(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) return null;
+        ProjectCreationState state = new ProjectCreationState(readLong(in));
+        state.setCurrentStep(readEnum(in, ProjectCreationState.ProjectCreationStep.class));
+        state.setEditing(in.readBoolean());
+        state.setTitle(readString(in));
+        state.setDescription(readString(in));
+        state.setBudget(readDouble(in));
+        state.setEstimatedDays(readInteger(in));
+        state.setRequiredSkills(readString(in));
+        state.setMessageIdToDelete(readInteger(in));
+        return state;
+    }
+
+    private void writeApplicationCreationState(DataOutputStream out, ApplicationCreationState state) throws IOException {
+        out.writeBoolean(state != null);
+        if (state == null) return;
+        writeLong(out, state.getChatId());
+        writeLong(out, state.getProjectId());
+        writeEnum(out, state.getCurrentStep());
+        writeString(out, state.getCoverLetter());
+        writeDouble(out, state.getProposedBudget());
+        writeInteger(out, state.getProposedDays());
+        writeDateTime(out, state.getCreatedAt());
+        out.writeBoolean(state.isEditing());
+        writeInteger(out, state.getMessageIdToDelete());
+    }
+
+    private ApplicationCreationState readApplicationCreationState(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) return null;
+        ApplicationCreationState state = new ApplicationCreationState(readLong(in), readLong(in));
+        state.setCurrentStep(readEnum(in, ApplicationCreationState.ApplicationCreationStep.class));
+        state.setCoverLetter(readString(in));
+        state.setProposedBudget(readDouble(in));
+        state.setProposedDays(readInteger(in));
+        state.setCreatedAt(readDateTime(in));
+        state.setEditing(in.readBoolean());
+        state.setMessageIdToDelete(readInteger(in));
+        return state;
+    }
+
+    private void writeOrderCreationState(DataOutputStream out, OrderCreationState state) throws IOException {
+        out.writeBoolean(state != null);
+        if (state == null) return;
+        writeLong(out, state.getCustomerChatId());
+        writeLong(out, state.getApplicationId());
+        writeLong(out, state.getProjectId());
+        writeEnum(out, state.getPaymentType());
+        writeInteger(out, state.getMilestoneCount());
+        writeEnum(out, state.getCurrentStep());
+    }
+
+    private OrderCreationState readOrderCreationState(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) return null;
+        OrderCreationState state = new OrderCreationState();
+        state.setCustomerChatId(readLong(in));
+        state.setApplicationId(readLong(in));
+        state.setProjectId(readLong(in));
+        state.setPaymentType(readEnum(in, PaymentType.class));
+        state.setMilestoneCount(readInteger(in));
+        state.setCurrentStep(readEnum(in, OrderCreationState.CreationStep.class));
+        return state;
+    }
+
+    private void writePaymentMessages(DataOutputStream out, List<UserSession.PaymentMessageInfo> messages) throws IOException {
+        out.writeInt(messages.size());
+        for (UserSession.PaymentMessageInfo message : messages) {
+            writeString(out, message.getPaymentId());
+            writeInteger(out, message.getMessageId());
+            writeDateTime(out, message.getCreatedAt());
+        }
+    }
+
+    private List<UserSession.PaymentMessageInfo> readPaymentMessages(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        List<UserSession.PaymentMessageInfo> messages = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            messages.add(new UserSession.PaymentMessageInfo(readString(in), readInteger(in), readDateTime(in)));
+        }
+        return messages;
+    }
+
+    // 🔥 КОНТЕКСТ: только поддерживаемые типы, остальное пропускаем
+
+    private void writeContext(DataOutputStream out, Map<String, Object> context) throws IOException {
+        List<Map.Entry<String, Object>> entries = new ArrayList<>();
+        for (Map.Entry<String, Object> entry : context.entrySet()) {
+            if (tagOf(entry.getValue()) != 0) {
+                entries.add(Map.entry(entry.getKey(), entry.getValue()));
+            }
+        }
+
+        out.writeInt(entries.size());
+        for (Map.Entry<String, Object> entry : entries) {
+            writeString(out, entry.getKey());
+            Object value = entry.getValue();
+            byte tag = tagOf(value);
+            out.writeByte(tag);
+            switch (tag) {
+                case TAG_STRING -> writeString(out, (String) value);
+                case TAG_LONG -> out.writeLong((Long) value);
+                case TAG_INTEGER -> out.writeInt((Integer) value);
+                case TAG_BOOLEAN -> out.writeBoolean((Boolean) value);
+                case TAG_PAGINATION -> writePagination(out, (PaginationContext<?>) value);
+                case TAG_SEARCH_REQUEST -> writeSearchRequest(out, (SearchRequest) value);
+                default -> throw new IllegalStateException("Неизвестный тег значения: " + tag);
+            }
+        }
+    }
+
+    private void readContext(DataInputStream in, UserSession session) throws IOException {
+        int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            String key = readString(in);
+            byte tag = in.readByte();
+            Object value = switch (tag) {
+                case TAG_STRING -> readString(in);
+                case TAG_LONG -> in.readLong();
+                case TAG_INTEGER -> in.readInt();
+                case TAG_BOOLEAN -> in.readBoolean();
+                case TAG_PAGINATION -> readPagination(in);
+                case TAG_SEARCH_REQUEST -> readSearchRequest(in);
+                default -> throw new IllegalStateException("Неизвестный тег значения: " + tag);
+            };
+            if (key != null && value != null) {
+                session.putToContext(key, value);
+            }
+        }
+    }
+
+    private byte tagOf(Object value) {
+        if (value instanceof String) return TAG_STRING;
+        if (value instanceof Long) return TAG_LONG;
+        if (value instanceof Integer) return TAG_INTEGER;
+        if (value instanceof Boolean) return TAG_BOOLEAN;
+        if (value instanceof PaginationContext<?>) return TAG_PAGINATION;
+        if (value instanceof SearchRequest) return TAG_SEARCH_REQUEST;
+        return 0;
+    }
+
+    private void writePagination(DataOutputStream out, PaginationContext<?> pagination) throws IOException {
+        writeLong(out, pagination.chatId());
+        // 🔥 -1 = keyset-режим (списка ID нет)
+        List<Long> ids = pagination.entityIds();
+        out.writeInt(ids != null ? ids.size() : -1);
+        if (ids != null) {
+            for (Long id : ids) {
+                out.writeLong(id);
+            }
+        }
+        writeString(out, pagination.contextKey());
+        writeString(out, pagination.entityType());
+        out.writeInt(pagination.currentPage());
+        out.writeInt(pagination.pageSize());
+        out.writeLong(pagination.totalCount());
+        writeCursor(out, pagination.firstKey());
+        writeCursor(out, pagination.lastKey());
+    }
+
+    private PaginationContext<?> readPagination(DataInputStream in) throws IOException {
+        Long chatId = readLong(in);
+        int size = in.readInt();
+        List<Long> ids = size < 0 ? null : new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ids.add(in.readLong());
+        }
+        return new PaginationContext<>(chatId, ids, readString(in), readString(in), in.readInt(), in.readInt(),
+                in.readLong(), readCursor(in), readCursor(in));
+    }
+
+    private void writeCursor(DataOutputStream out, KeysetCursor cursor) throws IOException {
+        out.writeBoolean(cursor != null);
+        if (cursor == null) return;
+        writeDateTime(out, cursor.createdAt());
+        writeLong(out, cursor.id());
+    }
+
+    private KeysetCursor readCursor(DataInputStream in) throws IOException {
+        return in.readBoolean() ? new KeysetCursor(readDateTime(in), readLong(in)) : null;
+    }
+
+    private void writeSearchRequest(DataOutputStream out, SearchRequest request) throws IOException {
+        writeString(out, request.getKeyword());
+        out.writeBoolean(request.getRequiredSkills() != null);
+        if (request.getRequiredSkills() != null) {
+            writeStrings(out, request.getRequiredSkills());
+        }
+        writeInteger(out, request.getMinBudget());
+    }
+
+    private SearchRequest readSearchRequest(DataInputStream in) throws IOException {
+        String keyword = readString(in);
+        List<String> skills = in.readBoolean() ? readStrings(in) : null;
+        return new SearchRequest(keyword, skills, readInteger(in));
+    }
+
+    // 🔥 ПРИМИТИВЫ С ПОДДЕРЖКОЙ NULL
+
+    private void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        // 🔥 Не writeUTF: у него лимит 64 КБ, а описание проекта может быть длинным
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) return null;
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void writeStrings(DataOutputStream out, List<String> values) throws IOException {
+        out.writeInt(values.size());
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    private List<String> readStrings(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        List<String> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(readString(in));
+        }
+        return values;
+    }
+
+    private void writeIntegers(DataOutputStream out, List<Integer> values) throws IOException {
+        List<Integer> present = values.stream().filter(v -> v != null).toList();
+        out.writeInt(present.size());
+        for (Integer value : present) {
+            out.writeInt(value);
+        }
+    }
+
+    private List<Integer> readIntegers(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        List<Integer> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(in.readInt());
+        }
+        return values;
+    }
+
+    private void writeInteger(DataOutputStream out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) out.writeInt(value);
+    }
+
+    private Integer readInteger(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readInt() : null;
+    }
+
+    private void writeLong(DataOutputStream out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) out.writeLong(value);
+    }
+
+    private Long readLong(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+
+    private void writeDouble(DataOutputStream out, Double value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) out.writeDouble(value);
+    }
+
+    private Double readDouble(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readDouble() : null;
+    }
+
+    private void writeDateTime(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(value.getNano());
+        }
+    }
+
+    private LocalDateTime readDateTime(DataInputStream in) throws IOException {
+        return in.readBoolean() ? LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC) : null;
+    }
+
+    private void writeEnum(DataOutputStream out, Enum<?> value) throws IOException {
+        // 🔥 По имени, а не ordinal: переупорядочивание констант не ломает старые снимки
+        writeString(out, value != null ? value.name() : null);
+    }
+
+    private <E extends Enum<E>> E readEnum(DataInputStream in, Class<E> type) throws IOException {
+        String name = readString(in);
+        if (name == null) return null;
+        try {
+            return Enum.valueOf(type, name);
+        } catch (IllegalArgumentException e) {
+            log.warn("⚠️ Unknown {} value in session snapshot: {}", type.getSimpleName(), name);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.tcmatch.tcmatch.service.subscription;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tcmatch.tcmatch.model.dto.Entitlements;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * 🔥 Read-through кэш прав по подписке: chatId -> тариф, остаток откликов, дата окончания.
+ * Попадание в кэш не делает ни одного запроса (раньше: User по chatId + Subscription на каждую проверку).
+ * Любое изменение подписки сбрасывает запись сразу и еще раз после коммита,
+ * чтобы параллельное чтение не закэшировало старое значение до конца транзакции.
+ */
+@Component
+@Slf4j
+public class EntitlementCache {
+
+    private final Cache<Long, Entitlements> byChatId;
+    // userId -> chatId: сброс по Subscription, в которой есть только userId
+    private final Cache<Long, Long> chatIdByUserId;
+
+    public EntitlementCache(@Value("${app.subscriptions.entitlement-cache.max-size:50000}") long maxSize,
+                            @Value("${app.subscriptions.entitlement-cache.ttl:PT10M}") Duration ttl) {
+        this.byChatId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+        this.chatIdByUserId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+        log.info("🎫 Entitlement cache: max {} users, ttl {}", maxSize, ttl);
+    }
+
+    public Entitlements get(Long chatId, Function<Long, Entitlements> loader) {
+        return byChatId.get(chatId, id -> {
+            Entitlements loaded = loader.apply(id);
+            chatIdByUserId.put(loaded.userId(), id);
+            return loaded;
+        });
+    }
+
+    public void invalidate(Long chatId) {
+        byChatId.invalidate(chatId);
+        afterCommit(() -> byChatId.invalidate(chatId));
+    }
+
+    public void invalidateByUserId(Long userId) {
+        Long chatId = chatIdByUserId.getIfPresent(userId);
+        if (chatId != null) {
+            invalidate(chatId);
+        }
+    }
+
+    public void invalidateAll() {
+        byChatId.invalidateAll();
+        afterCommit(byChatId::invalidateAll);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+    }
+}
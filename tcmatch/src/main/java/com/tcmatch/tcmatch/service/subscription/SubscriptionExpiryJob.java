@@ -0,0 +1,100 @@
+package com.tcmatch.tcmatch.service.subscription;
+
+import com.tcmatch.tcmatch.events.SubscriptionExpiredEvent;
+import com.tcmatch.tcmatch.model.Subscription;
+import com.tcmatch.tcmatch.model.enums.SubscriptionTier;
+import com.tcmatch.tcmatch.repository.SubscriptionRepository;
+import com.tcmatch.tcmatch.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 🔥 Плановый сброс истекших подписок на FREE.
+ * Истекшие подписки забираются пачками (FOR UPDATE SKIP LOCKED) и сбрасываются одним UPDATE на пачку,
+ * каждая пачка в своей транзакции. На каждого пользователя публикуется SubscriptionExpiredEvent.
+ * Пути чтения больше ничего не пишут - до запуска задачи они просто считают такую подписку FREE.
+ */
+@Service
+@Slf4j
+public class SubscriptionExpiryJob {
+
+    private final SubscriptionRepository subscriptionRepository;
+    private final UserRepository userRepository;
+    private final EntitlementCache entitlementCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    public SubscriptionExpiryJob(SubscriptionRepository subscriptionRepository,
+                                 UserRepository userRepository,
+                                 EntitlementCache entitlementCache,
+                                 ApplicationEventPublisher eventPublisher,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${app.subscriptions.expiry.batch-size:500}") int batchSize,
+                                 @Value("${app.subscriptions.expiry.max-batches-per-run:100}") int maxBatchesPerRun) {
+        this.subscriptionRepository = subscriptionRepository;
+        this.userRepository = userRepository;
+        this.entitlementCache = entitlementCache;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxBatchesPerRun = Math.max(1, maxBatchesPerRun);
+    }
+
+    @Scheduled(fixedDelayString = "${app.subscriptions.expiry.interval-ms:60000}")
+    public void expireSubscriptions() {
+        long expired = 0;
+        try {
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                Integer count = transactionTemplate.execute(status -> expireBatch(LocalDateTime.now()));
+                if (count == null || count == 0) break;
+
+                expired += count;
+                if (count < batchSize) break;
+            }
+        } catch (Exception e) {
+            // 🔥 Пачка откатилась целиком - подписки будут сброшены в следующий запуск
+            log.error("❌ Subscription expiry failed: {}", e.getMessage());
+        }
+        if (expired > 0) {
+            log.info("⏰ Downgraded {} expired subscriptions to FREE", expired);
+        }
+    }
+
+    private int expireBatch(LocalDateTime now) {
+        List<Subscription> batch = subscriptionRepository.findExpiredForUpdate(now, PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) return 0;
+
+        SubscriptionTier free = SubscriptionTier.FREE;
+        List<Long> ids = batch.stream().map(Subscription::getId).toList();
+        int updated = subscriptionRepository.downgradeExpired(ids, now, free,
+                free.getMonthlyApplicationLimit(), free.isHasInstantNotifications(), free.isHasPriorityVisibility());
+
+        Map<Long, Long> chatIdByUserId = new HashMap<>();
+        for (Object[] row : userRepository.findChatIdsByIds(batch.stream().map(Subscription::getUserId).toList())) {
+            chatIdByUserId.put((Long) row[0], (Long) row[1]);
+        }
+
+        // Строки заблокированы с момента выборки - пачка и UPDATE совпадают
+        for (Subscription sub : batch) {
+            Long chatId = chatIdByUserId.get(sub.getUserId());
+            if (chatId != null) {
+                entitlementCache.invalidate(chatId);
+            }
+            eventPublisher.publishEvent(new SubscriptionExpiredEvent(
+                    this, sub.getUserId(), chatId, sub.getTier(), sub.getSubscriptionEndsAt()));
+        }
+        return updated;
+    }
+}
@@ -8,6 +8,7 @@ public class PaginationContextKeys {
 
     // Константы для Проектов (ProjectHandler, ProjectSearchService)
     public static final String PROJECT_SEARCH_CONTEXT_KEY = "project_search";
+    public static final String PROJECT_SEARCH_REQUEST_KEY = "search_request_data"; // 🔥 SearchRequest в сессии (нужен keyset-пагинации)
     public static final String PROJECT_FAVORITES_CONTEXT_KEY = "favorites";
     public static final String MY_PROJECTS_CONTEXT_KEY = "my_projects";
 
@@ -0,0 +1,150 @@
+-- Базовая схема PostgreSQL: таблицы, которые ddl-auto создавал до перехода на Flyway.
+-- Базы, созданные раньше через ddl-auto, помечаются этой версией (baseline-on-migrate) без выполнения скрипта,
+-- поэтому все, что появилось позже (новые таблицы, колонки, индексы), добавляется только скриптами V2+.
+
+CREATE TABLE IF NOT EXISTS users (
+    id                        BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    chat_id                   BIGINT       NOT NULL,
+    user_name                 VARCHAR(255),
+    first_name                VARCHAR(255),
+    last_name                 VARCHAR(255),
+    role                      VARCHAR(255),
+    status                    VARCHAR(255),
+    rating                    FLOAT(53),
+    registered_at             TIMESTAMP(6),
+    registration_status       VARCHAR(255),
+    last_activity_at          TIMESTAMP(6),
+    rules_viewed_at           TIMESTAMP(6),
+    rules_accepted_at         TIMESTAMP(6),
+    github_url                VARCHAR(255),
+    professional_rating       FLOAT(53),
+    success_rate              FLOAT(53),
+    timeliness_rate           FLOAT(53),
+    completed_projects_count  INTEGER,
+    successful_projects_count INTEGER,
+    on_time_projects_count    INTEGER,
+    total_projects_count      INTEGER,
+    is_verified               BOOLEAN,
+    verification_method       VARCHAR(255),
+    verified_at               TIMESTAMP(6),
+    is_under_review           BOOLEAN,
+    review_reason             VARCHAR(255),
+    review_until              TIMESTAMP(6),
+    specialization            VARCHAR(255),
+    experience_level          VARCHAR(255),
+    skills                    VARCHAR(255),
+    favorite_projects         BIGINT ARRAY,
+    subscription_expires_at   TIMESTAMP(6),
+    used_applications         INTEGER      NOT NULL,
+    period_start              TIMESTAMP(6),
+    period_end                TIMESTAMP(6),
+    created_at                TIMESTAMP(6),
+    updated_at                TIMESTAMP(6),
+    CONSTRAINT uk_users_chat_id UNIQUE (chat_id),
+    CONSTRAINT uk_users_user_name UNIQUE (user_name)
+);
+
+CREATE TABLE IF NOT EXISTS projects (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title              VARCHAR(255) NOT NULL,
+    description        VARCHAR(3300),
+    budget             FLOAT(53),
+    status             VARCHAR(255),
+    deadline           TIMESTAMP(6),
+    customer_chat_id   BIGINT,
+    freelancer_chat_id BIGINT,
+    created_at         TIMESTAMP(6),
+    started_at         TIMESTAMP(6),
+    completed_at       TIMESTAMP(6),
+    required_skills    VARCHAR(255),
+    estimated_days     INTEGER,
+    views_count        INTEGER,
+    applications_count INTEGER
+);
+
+CREATE TABLE IF NOT EXISTS applications (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    project_id         BIGINT,
+    freelancer_chat_id BIGINT,
+    cover_letter       VARCHAR(3200),
+    proposed_budget    FLOAT(53),
+    proposed_days      INTEGER,
+    status             VARCHAR(255),
+    applied_at         TIMESTAMP(6),
+    reviewed_at        TIMESTAMP(6),
+    customer_comment   VARCHAR(1600)
+);
+
+CREATE TABLE IF NOT EXISTS orders (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    project_id         BIGINT       NOT NULL,
+    application_id     BIGINT       NOT NULL,
+    customer_chat_id   BIGINT       NOT NULL,
+    freelancer_chat_id BIGINT       NOT NULL,
+    total_budget       FLOAT(53)    NOT NULL,
+    estimated_days     INTEGER      NOT NULL,
+    payment_type       VARCHAR(255) NOT NULL,
+    milestone_count    INTEGER      NOT NULL,
+    status             VARCHAR(255) NOT NULL,
+    escrow_status      VARCHAR(255) NOT NULL,
+    created_at         TIMESTAMP(6),
+    started_at         TIMESTAMP(6),
+    completed_at       TIMESTAMP(6),
+    cancelled_at       TIMESTAMP(6),
+    CONSTRAINT uk_orders_application_id UNIQUE (application_id)
+);
+
+CREATE TABLE IF NOT EXISTS notification (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_chat_id  BIGINT       NOT NULL,
+    text          TEXT         NOT NULL,
+    callback_data VARCHAR(255) NOT NULL,
+    status        VARCHAR(255) NOT NULL,
+    created_at    TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS wallets (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_chat_id   BIGINT         NOT NULL,
+    balance        NUMERIC(19, 4) NOT NULL,
+    frozen_balance NUMERIC(19, 4) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS subscription (
+    id                        BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id                   BIGINT       NOT NULL,
+    tier                      VARCHAR(255) NOT NULL,
+    available_applications    INTEGER      NOT NULL,
+    has_instant_notifications BOOLEAN      NOT NULL,
+    has_priority_visibility   BOOLEAN      NOT NULL,
+    subscription_ends_at      TIMESTAMP(6),
+    last_payment_at           TIMESTAMP(6),
+    CONSTRAINT uk_subscription_user_id UNIQUE (user_id)
+);
+
+CREATE TABLE IF NOT EXISTS transaction (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    payment_id      VARCHAR(255) NOT NULL,
+    chat_id         BIGINT       NOT NULL,
+    idempotence_key UUID         NOT NULL,
+    tier            VARCHAR(255),
+    amount          FLOAT(53)    NOT NULL,
+    status          VARCHAR(255) NOT NULL,
+    created_at      TIMESTAMP(6) NOT NULL,
+    processed_at    TIMESTAMP(6),
+    CONSTRAINT uk_transaction_payment_id UNIQUE (payment_id),
+    CONSTRAINT uk_transaction_idempotence_key UNIQUE (idempotence_key)
+);
+
+CREATE TABLE IF NOT EXISTS verification_requests (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_chat_id  BIGINT       NOT NULL,
+    user_name     VARCHAR(255),
+    type          VARCHAR(255) NOT NULL,
+    provided_data VARCHAR(500),
+    status        VARCHAR(255) NOT NULL,
+    admin_comment VARCHAR(500),
+    created_at    TIMESTAMP(6),
+    reviewed_at   TIMESTAMP(6),
+    reviewed_by   BIGINT
+);
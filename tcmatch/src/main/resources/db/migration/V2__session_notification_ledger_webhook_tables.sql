@@ -0,0 +1,63 @@
+-- Таблицы и последовательности, добавленные после базовой схемы V1:
+-- снимки сессий, архив и отложенные уведомления, журнал проводок, inbox вебхуков ЮKassa.
+-- IF NOT EXISTS: на базах, где их уже успел создать ddl-auto, скрипт ничего не меняет.
+
+CREATE SEQUENCE IF NOT EXISTS delayed_notifications_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS ledger_entries_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS payment_webhook_inbox_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS notification_archive (
+    id            BIGINT       NOT NULL PRIMARY KEY,
+    user_chat_id  BIGINT       NOT NULL,
+    text          TEXT         NOT NULL,
+    callback_data VARCHAR(255),
+    status        VARCHAR(255) NOT NULL,
+    created_at    TIMESTAMP(6) NOT NULL,
+    archived_at   TIMESTAMP(6) NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_notification_archive_user_created ON notification_archive (user_chat_id, created_at);
+
+CREATE TABLE IF NOT EXISTS delayed_notifications (
+    id                BIGINT       NOT NULL PRIMARY KEY,
+    recipient_chat_id BIGINT       NOT NULL,
+    text              TEXT         NOT NULL,
+    callback_data     VARCHAR(255) NOT NULL,
+    due_at            TIMESTAMP(6) NOT NULL,
+    created_at        TIMESTAMP(6) NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_delayed_notifications_due_at ON delayed_notifications (due_at);
+
+CREATE TABLE IF NOT EXISTS ledger_entries (
+    id            BIGINT         NOT NULL PRIMARY KEY,
+    transfer_id   UUID           NOT NULL,
+    account_type  VARCHAR(255)   NOT NULL,
+    owner_chat_id BIGINT,
+    direction     VARCHAR(255)   NOT NULL,
+    amount        NUMERIC(19, 4) NOT NULL,
+    reference     VARCHAR(255)   NOT NULL,
+    created_at    TIMESTAMP(6)   NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_ledger_entries_owner ON ledger_entries (owner_chat_id, account_type);
+CREATE INDEX IF NOT EXISTS idx_ledger_entries_transfer ON ledger_entries (transfer_id);
+CREATE INDEX IF NOT EXISTS idx_ledger_entries_created ON ledger_entries (created_at);
+
+CREATE TABLE IF NOT EXISTS payment_webhook_inbox (
+    id              BIGINT        NOT NULL PRIMARY KEY,
+    payment_id      VARCHAR(255)  NOT NULL,
+    status          VARCHAR(255)  NOT NULL,
+    raw_body        TEXT          NOT NULL,
+    received_at     TIMESTAMP(6)  NOT NULL,
+    processed_at    TIMESTAMP(6),
+    next_attempt_at TIMESTAMP(6)  NOT NULL,
+    attempts        INTEGER       NOT NULL,
+    last_error      VARCHAR(1000),
+    CONSTRAINT uk_payment_webhook_inbox_payment_status UNIQUE (payment_id, status)
+);
+CREATE INDEX IF NOT EXISTS idx_payment_webhook_inbox_pending ON payment_webhook_inbox (processed_at, next_attempt_at);
+
+CREATE TABLE IF NOT EXISTS user_session_snapshots (
+    chat_id    BIGINT       NOT NULL PRIMARY KEY,
+    payload    BYTEA        NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    version    BIGINT
+);
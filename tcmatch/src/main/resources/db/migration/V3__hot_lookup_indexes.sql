@@ -0,0 +1,21 @@
+-- Составные индексы под горячие выборки (репозитории Project/Application/Notification/Order/Wallet).
+-- CONCURRENTLY не блокирует запись в таблицы, поэтому скрипт выполняется вне транзакции (см. .sql.conf).
+-- Если построение прервалось, PostgreSQL оставляет INVALID-индекс: его нужно удалить (DROP INDEX CONCURRENTLY)
+-- и повторить миграцию через flyway repair.
+-- subscription(user_id) уже покрыт уникальным ограничением uk_subscription_user_id.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_projects_status_created ON projects (status, created_at);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_projects_customer_created ON projects (customer_chat_id, created_at);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_projects_freelancer_created ON projects (freelancer_chat_id, created_at);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_applications_project_status ON applications (project_id, status);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_applications_freelancer_applied ON applications (freelancer_chat_id, applied_at);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_notification_user_created ON notification (user_chat_id, created_at);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_notification_user_status_created ON notification (user_chat_id, status, created_at);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_project_status ON orders (project_id, status);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_customer ON orders (customer_chat_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_freelancer ON orders (freelancer_chat_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_wallets_user_chat_id ON wallets (user_chat_id);
@@ -0,0 +1,27 @@
+-- Избранное переезжает из массива users.favorite_projects в отдельную таблицу с ключом (user_chat_id, project_id).
+-- Число добавлений в избранное хранится в projects.favorites_count и учитывается в ранжировании поиска.
+
+CREATE TABLE IF NOT EXISTS project_favorites (
+    user_chat_id BIGINT       NOT NULL,
+    project_id   BIGINT       NOT NULL,
+    created_at   TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_project_favorites PRIMARY KEY (user_chat_id, project_id)
+);
+CREATE INDEX IF NOT EXISTS idx_project_favorites_project ON project_favorites (project_id);
+
+-- Дубли внутри массива схлопываются, ссылки на несуществующие проекты отбрасываются
+INSERT INTO project_favorites (user_chat_id, project_id, created_at)
+SELECT DISTINCT u.chat_id, f.project_id, now()
+FROM users u
+CROSS JOIN LATERAL unnest(u.favorite_projects) AS f(project_id)
+JOIN projects p ON p.id = f.project_id
+ON CONFLICT DO NOTHING;
+
+ALTER TABLE projects ADD COLUMN IF NOT EXISTS favorites_count INTEGER DEFAULT 0;
+
+UPDATE projects p
+SET favorites_count = c.cnt
+FROM (SELECT project_id, COUNT(*) AS cnt FROM project_favorites GROUP BY project_id) c
+WHERE c.project_id = p.id;
+
+ALTER TABLE users DROP COLUMN IF EXISTS favorite_projects;
@@ -0,0 +1,11 @@
+-- Полнотекстовый поиск проектов (app.search.engine=postgres): генерируемая колонка tsvector, словарь 'russian'.
+-- БД пересчитывает ее сама при каждом INSERT/UPDATE. Добавление STORED-колонки переписывает таблицу projects
+-- под эксклюзивной блокировкой - один раз, при миграции, а не при каждом старте приложения.
+-- IF NOT EXISTS: на базах, где колонку уже создал старый код при старте, скрипт ничего не меняет.
+
+ALTER TABLE projects ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('russian', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('russian', coalesce(required_skills, '')), 'B') ||
+        setweight(to_tsvector('russian', coalesce(description, '')), 'C')
+    ) STORED;
@@ -0,0 +1,6 @@
+-- GIN-индекс для поиска по projects.search_vector.
+-- CONCURRENTLY не блокирует запись в projects, поэтому скрипт выполняется вне транзакции (см. .sql.conf).
+-- Если построение прервалось, PostgreSQL оставляет INVALID-индекс: его нужно удалить (DROP INDEX CONCURRENTLY)
+-- и повторить миграцию через flyway repair.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_projects_search_vector ON projects USING GIN (search_vector);
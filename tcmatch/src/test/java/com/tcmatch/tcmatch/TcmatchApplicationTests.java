@@ -3,7 +3,7 @@ package com.tcmatch.tcmatch;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "spring.flyway.enabled=false")
 class TcmatchApplicationTests {
 
 	@Test
@@ -0,0 +1,102 @@
+package com.tcmatch.tcmatch.bot.dispatcher;
+
+import com.tcmatch.tcmatch.bot.text.TextCommand;
+import com.tcmatch.tcmatch.model.enums.UserState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.telegram.telegrambots.meta.api.objects.Message;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Выбор обработчика текста: lookup по состоянию сессии (как в TextCommandDispatcher)
+ * против прежнего линейного перебора, где каждая команда сама читает сессию в canHandle.
+ * Запуск: main() из IDE или java -cp target/test-classes:<classpath> ...TextRoutingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TextRoutingBenchmark {
+
+	private static final long CHAT_ID = 42L;
+
+	// Состояние, которое ждет сессия; последний в списке команд - худший случай для перебора
+	@Param({"CREATING_PROJECT", "AWAITING_REJECTION_COMMENT"})
+	private UserState state;
+
+	private final Map<Long, UserState> sessions = new ConcurrentHashMap<>();
+	private final List<TextCommand> commands = new ArrayList<>();
+	private final Map<UserState, TextCommand> stateHandlers = new EnumMap<>(UserState.class);
+
+	@Setup
+	public void setUp() {
+		sessions.put(CHAT_ID, state);
+		for (UserState handled : UserState.values()) {
+			if (handled == UserState.NONE) continue;
+			TextCommand command = new StatefulCommand(handled);
+			commands.add(command);
+			stateHandlers.put(handled, command);
+		}
+	}
+
+	@Benchmark
+	public TextCommand stateLookup() {
+		return stateHandlers.get(sessions.get(CHAT_ID));
+	}
+
+	@Benchmark
+	public TextCommand linearScan() {
+		for (TextCommand command : commands) {
+			if (command.canHandle(CHAT_ID, "текст")) {
+				return command;
+			}
+		}
+		return null;
+	}
+
+	public static void main(String[] args) throws Exception {
+		new Runner(new OptionsBuilder().include(TextRoutingBenchmark.class.getSimpleName()).build()).run();
+	}
+
+	// Как до индекса: команда сама сверяет состояние сессии
+	private final class StatefulCommand implements TextCommand {
+		private final UserState handled;
+
+		private StatefulCommand(UserState handled) {
+			this.handled = handled;
+		}
+
+		@Override
+		public UserState handledState() {
+			return handled;
+		}
+
+		@Override
+		public boolean canHandle(Long chatId, String text) {
+			return sessions.get(chatId) == handled;
+		}
+
+		@Override
+		public void execute(Message message) {
+		}
+	}
+}
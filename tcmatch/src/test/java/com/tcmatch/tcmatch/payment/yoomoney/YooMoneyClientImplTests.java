@@ -0,0 +1,116 @@
+package com.tcmatch.tcmatch.payment.yoomoney;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import com.tcmatch.tcmatch.payment.yoomoney.dto.YooMoneyPaymentResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class YooMoneyClientImplTests {
+
+	private static final String PAYMENT_JSON = """
+			{"id":"pay-1","status":"pending","paid":false,
+			 "confirmation":{"type":"redirect","confirmation_url":"https://pay.example/1"}}
+			""";
+
+	private HttpServer server;
+	private final Queue<Integer> statuses = new ConcurrentLinkedQueue<>();
+	private final List<String> idempotenceKeys = new CopyOnWriteArrayList<>();
+	private final List<String> authorizations = new CopyOnWriteArrayList<>();
+
+	@BeforeEach
+	void startStub() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/v3/payments", exchange -> {
+			idempotenceKeys.add(exchange.getRequestHeaders().getFirst("Idempotence-Key"));
+			authorizations.add(exchange.getRequestHeaders().getFirst("Authorization"));
+			exchange.getRequestBody().readAllBytes();
+
+			Integer status = statuses.poll();
+			int code = status != null ? status : 200;
+			byte[] body = (code == 200 ? PAYMENT_JSON : "{\"type\":\"error\"}").getBytes(StandardCharsets.UTF_8);
+			exchange.sendResponseHeaders(code, body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		});
+		server.start();
+	}
+
+	@AfterEach
+	void stopStub() {
+		server.stop(0);
+	}
+
+	private YooMoneyClientImpl client(int maxAttempts, int breakerThreshold) {
+		return new YooMoneyClientImpl(HttpClient.newHttpClient(), new ObjectMapper(),
+				"http://127.0.0.1:" + server.getAddress().getPort() + "/v3",
+				"shop", "secret", "http://localhost/return",
+				Duration.ofSeconds(5), maxAttempts, 0, breakerThreshold, Duration.ofMinutes(1));
+	}
+
+	@Test
+	void createsPayment() {
+		UUID key = UUID.randomUUID();
+
+		YooMoneyPaymentResponse response = client(3, 5).createPayment(150.0, "test", key);
+
+		assertEquals("pay-1", response.getId());
+		assertEquals("https://pay.example/1", response.getConfirmation().getConfirmationUrl());
+		assertEquals(List.of(key.toString()), idempotenceKeys);
+		assertTrue(authorizations.get(0).startsWith("Basic "));
+	}
+
+	@Test
+	void retriesServerErrorsWithSameIdempotenceKey() throws Exception {
+		statuses.add(500);
+		statuses.add(503);
+		UUID key = UUID.randomUUID();
+
+		YooMoneyPaymentResponse response = client(3, 5).createPaymentAsync(150.0, "test", key).get();
+
+		assertEquals("pay-1", response.getId());
+		assertEquals(List.of(key.toString(), key.toString(), key.toString()), idempotenceKeys);
+	}
+
+	@Test
+	void doesNotRetryClientErrors() {
+		statuses.add(400);
+
+		ExecutionException error = assertThrows(ExecutionException.class,
+				() -> client(3, 5).createPaymentAsync(150.0, "test", UUID.randomUUID()).get());
+
+		assertInstanceOf(YooMoneyApiException.class, error.getCause());
+		assertEquals(1, idempotenceKeys.size());
+	}
+
+	@Test
+	void opensCircuitAfterRepeatedFailures() {
+		YooMoneyClientImpl client = client(1, 2);
+		statuses.add(500);
+		statuses.add(500);
+
+		assertThrows(RuntimeException.class, () -> client.createPayment(150.0, "test", UUID.randomUUID()));
+		assertThrows(RuntimeException.class, () -> client.createPayment(150.0, "test", UUID.randomUUID()));
+		// Предохранитель открыт - третий запрос до заглушки не доходит
+		assertThrows(RuntimeException.class, () -> client.createPayment(150.0, "test", UUID.randomUUID()));
+
+		assertEquals(2, idempotenceKeys.size());
+	}
+}
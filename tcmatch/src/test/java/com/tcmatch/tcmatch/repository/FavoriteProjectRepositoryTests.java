@@ -0,0 +1,38 @@
+package com.tcmatch.tcmatch.repository;
+
+import com.tcmatch.tcmatch.model.Project;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Повторное добавление в избранное и ссылка на несуществующий проект дают 0 без ошибки (H2, схема от Hibernate).
+ */
+@DataJpaTest(properties = "spring.flyway.enabled=false")
+class FavoriteProjectRepositoryTests {
+
+	@Autowired
+	private FavoriteProjectRepository favoriteProjectRepository;
+
+	@Autowired
+	private ProjectRepository projectRepository;
+
+	@Test
+	void duplicateAddReturnsZero() {
+		Long projectId = projectRepository.save(Project.builder().title("Избранный проект").build()).getId();
+
+		assertEquals(1, favoriteProjectRepository.insertIfAbsent(9001L, projectId, LocalDateTime.now()));
+		assertEquals(0, favoriteProjectRepository.insertIfAbsent(9001L, projectId, LocalDateTime.now()));
+		assertEquals(1, favoriteProjectRepository.countByUserChatId(9001L));
+	}
+
+	@Test
+	void missingProjectIsNotAdded() {
+		assertEquals(0, favoriteProjectRepository.insertIfAbsent(9002L, Long.MAX_VALUE, LocalDateTime.now()));
+		assertEquals(0, favoriteProjectRepository.countByUserChatId(9002L));
+	}
+}
@@ -0,0 +1,86 @@
+package com.tcmatch.tcmatch.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Обновление существующей базы: схема, созданная ddl-auto до перехода на Flyway (без flyway_schema_history),
+ * помечается версией V1, остальные миграции накатываются поверх, после чего Hibernate сверяет маппинг (validate).
+ */
+@DataJpaTest(properties = {
+		"spring.flyway.enabled=true",
+		"spring.flyway.baseline-on-migrate=true",
+		"spring.flyway.baseline-version=1",
+		"spring.jpa.hibernate.ddl-auto=validate"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class FlywayUpgradePathTests {
+
+	private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@DynamicPropertySource
+	static void legacyDatabase(DynamicPropertyRegistry registry) throws Exception {
+		POSTGRES.start();
+		// 🔥 Копия прод-базы до Flyway: только базовые таблицы, истории миграций нет
+		try (Connection connection = DriverManager.getConnection(
+				POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+			 Statement statement = connection.createStatement()) {
+			statement.execute(new ClassPathResource("db/migration/V1__baseline_schema.sql")
+					.getContentAsString(StandardCharsets.UTF_8));
+		}
+		registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+		registry.add("spring.datasource.username", POSTGRES::getUsername);
+		registry.add("spring.datasource.password", POSTGRES::getPassword);
+	}
+
+	@Test
+	void baselinedDatabaseReceivesLaterMigrations() {
+		assertEquals("BASELINE", jdbcTemplate.queryForObject(
+				"SELECT type FROM flyway_schema_history WHERE version = '1'", String.class));
+
+		List<String> applied = jdbcTemplate.queryForList(
+				"SELECT version FROM flyway_schema_history WHERE success AND version <> '1' ORDER BY installed_rank",
+				String.class);
+		assertTrue(applied.contains("2"), () -> "Миграции после baseline: " + applied);
+
+		for (String table : List.of("notification_archive", "delayed_notifications", "ledger_entries",
+				"payment_webhook_inbox", "user_session_snapshots", "project_favorites")) {
+			assertNotNull(jdbcTemplate.queryForObject("SELECT to_regclass(?)::text", String.class, table),
+					() -> "Нет таблицы " + table);
+		}
+	}
+
+	@Test
+	void searchVectorColumnAndIndexComeFromMigrations() {
+		assertEquals(1, jdbcTemplate.queryForObject("""
+				SELECT count(*) FROM information_schema.columns
+				WHERE table_name = 'projects' AND column_name = 'search_vector'
+				""", Integer.class));
+		assertEquals(Boolean.TRUE, jdbcTemplate.queryForObject("""
+				SELECT i.indisvalid FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid
+				WHERE c.relname = 'idx_projects_search_vector'
+				""", Boolean.class));
+	}
+}
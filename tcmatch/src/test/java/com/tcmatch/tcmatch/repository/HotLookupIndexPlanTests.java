@@ -0,0 +1,88 @@
+package com.tcmatch.tcmatch.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Горячие выборки должны идти по индексам из @Table(indexes), а не полным сканом (H2, схема от Hibernate).
+ */
+@DataJpaTest(properties = "spring.flyway.enabled=false")
+class HotLookupIndexPlanTests {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private String plan(String sql) {
+		return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class).toLowerCase();
+	}
+
+	private void assertUsesIndex(String sql, String index) {
+		String plan = plan(sql);
+		assertTrue(plan.contains(index), () -> "Ожидался индекс " + index + ", план: " + plan);
+	}
+
+	@Test
+	void openProjectsFeedUsesStatusCreatedIndex() {
+		assertUsesIndex("SELECT id FROM projects WHERE status = 'OPEN' ORDER BY created_at DESC, id DESC",
+				"idx_projects_status_created");
+	}
+
+	@Test
+	void customerProjectsUseCustomerIndex() {
+		assertUsesIndex("SELECT id FROM projects WHERE customer_chat_id = 1 ORDER BY created_at DESC",
+				"idx_projects_customer_created");
+	}
+
+	@Test
+	void projectApplicationsByStatusUseProjectStatusIndex() {
+		assertUsesIndex("SELECT id FROM applications WHERE project_id = 1 AND status = 'PENDING'",
+				"idx_applications_project_status");
+	}
+
+	@Test
+	void freelancerApplicationsUseFreelancerIndex() {
+		assertUsesIndex("SELECT id FROM applications WHERE freelancer_chat_id = 1 ORDER BY applied_at DESC, id DESC",
+				"idx_applications_freelancer_applied");
+	}
+
+	@Test
+	void unreadNotificationsUseUserStatusIndex() {
+		assertUsesIndex("SELECT id FROM notification WHERE user_chat_id = 1 AND status = 'UNREAD' ORDER BY created_at DESC",
+				"idx_notification_user_status_created");
+	}
+
+	@Test
+	void notificationFeedUsesUserIndex() {
+		// Подходят оба индекса с ведущим user_chat_id - важно лишь, что это не полный скан
+		assertUsesIndex("SELECT id FROM notification WHERE user_chat_id = 1 ORDER BY created_at DESC, id DESC",
+				"idx_notification_user_");
+	}
+
+	@Test
+	void orderByProjectAndStatusUsesProjectStatusIndex() {
+		assertUsesIndex("SELECT id FROM orders WHERE project_id = 1 AND status = 'IN_PROGRESS'",
+				"idx_orders_project_status");
+	}
+
+	@Test
+	void walletByOwnerUsesUserChatIdIndex() {
+		assertUsesIndex("SELECT id FROM wallets WHERE user_chat_id = 1", "idx_wallets_user_chat_id");
+	}
+
+	@Test
+	void subscriptionByUserUsesUniqueIndex() {
+		String plan = plan("SELECT id FROM subscription WHERE user_id = 1");
+		assertFalse(plan.contains("tablescan"), () -> "Полный скан subscription, план: " + plan);
+	}
+
+	@Test
+	void favoriteMembershipUsesPrimaryKey() {
+		String plan = plan("SELECT project_id FROM project_favorites WHERE user_chat_id = 1 AND project_id IN (1, 2, 3)");
+		assertFalse(plan.contains("tablescan"), () -> "Полный скан project_favorites, план: " + plan);
+	}
+}
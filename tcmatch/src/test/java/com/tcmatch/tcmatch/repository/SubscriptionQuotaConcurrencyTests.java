@@ -0,0 +1,115 @@
+package com.tcmatch.tcmatch.repository;
+
+import com.tcmatch.tcmatch.model.Subscription;
+import com.tcmatch.tcmatch.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = "spring.flyway.enabled=false")
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // Каждый поток коммитит сам, как в приложении
+class SubscriptionQuotaConcurrencyTests {
+
+	private static final int UNLIMITED = Integer.MAX_VALUE;
+
+	@Autowired
+	private SubscriptionRepository subscriptionRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@AfterEach
+	void cleanUp() {
+		subscriptionRepository.deleteAll();
+		userRepository.deleteAll();
+	}
+
+	private Long createUser(long chatId, int availableApplications) {
+		User user = userRepository.save(User.builder().chatId(chatId).userName("quota" + chatId).build());
+		Subscription subscription = new Subscription(user.getId());
+		subscription.setAvailableApplications(availableApplications);
+		subscriptionRepository.save(subscription);
+		return user.getId();
+	}
+
+	private int available(Long userId) {
+		return subscriptionRepository.findByUserId(userId).orElseThrow().getAvailableApplications();
+	}
+
+	@Test
+	void concurrentConsumersNeverOverspend() throws Exception {
+		long chatId = 7001L;
+		Long userId = createUser(chatId, 5);
+		TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+		int threads = 16;
+		int attemptsPerThread = 10;
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicInteger consumed = new AtomicInteger();
+		List<Future<?>> futures = new ArrayList<>();
+
+		for (int i = 0; i < threads; i++) {
+			futures.add(pool.submit(() -> {
+				start.await();
+				for (int j = 0; j < attemptsPerThread; j++) {
+					Integer updated = tx.execute(status -> subscriptionRepository.consumeApplication(chatId, UNLIMITED));
+					if (updated != null && updated == 1) consumed.incrementAndGet();
+				}
+				return null;
+			}));
+		}
+		start.countDown();
+		for (Future<?> future : futures) {
+			future.get(30, TimeUnit.SECONDS);
+		}
+		pool.shutdown();
+
+		assertEquals(5, consumed.get());
+		assertEquals(0, available(userId));
+	}
+
+	@Test
+	void unlimitedQuotaIsNotDecremented() {
+		long chatId = 7002L;
+		Long userId = createUser(chatId, UNLIMITED);
+		TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+		for (int i = 0; i < 3; i++) {
+			assertEquals(1, tx.execute(status -> subscriptionRepository.consumeApplication(chatId, UNLIMITED)));
+		}
+		assertEquals(0, tx.execute(status -> subscriptionRepository.refundApplication(chatId, UNLIMITED)));
+		assertEquals(UNLIMITED, available(userId));
+	}
+
+	@Test
+	void refundReturnsConsumedApplication() {
+		long chatId = 7003L;
+		Long userId = createUser(chatId, 1);
+		TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+		assertEquals(1, tx.execute(status -> subscriptionRepository.consumeApplication(chatId, UNLIMITED)));
+		assertEquals(0, tx.execute(status -> subscriptionRepository.consumeApplication(chatId, UNLIMITED)));
+		assertEquals(1, tx.execute(status -> subscriptionRepository.refundApplication(chatId, UNLIMITED)));
+		assertEquals(1, available(userId));
+	}
+}
@@ -0,0 +1,109 @@
+package com.tcmatch.tcmatch.repository;
+
+import com.tcmatch.tcmatch.model.Wallet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Параллельные списания и заморозки по одному кошельку не уводят баланс в минус.
+ */
+@DataJpaTest(properties = "spring.flyway.enabled=false")
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // Каждый поток коммитит сам, как в приложении
+class WalletBalanceConcurrencyTests {
+
+	private static final BigDecimal AMOUNT = new BigDecimal("100.00");
+
+	@Autowired
+	private WalletRepository walletRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@AfterEach
+	void cleanUp() {
+		walletRepository.deleteAll();
+	}
+
+	private void createWallet(long chatId, String balance) {
+		Wallet wallet = new Wallet();
+		wallet.setUserChatId(chatId);
+		wallet.setBalance(new BigDecimal(balance));
+		walletRepository.save(wallet);
+	}
+
+	private Wallet wallet(long chatId) {
+		return walletRepository.findByUserChatId(chatId).orElseThrow();
+	}
+
+	// 16 потоков по 10 попыток одновременно; возвращает число успешных UPDATE
+	private int hammer(Callable<Integer> attempt) throws Exception {
+		int threads = 16;
+		int attemptsPerThread = 10;
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicInteger succeeded = new AtomicInteger();
+		List<Future<?>> futures = new ArrayList<>();
+
+		for (int i = 0; i < threads; i++) {
+			futures.add(pool.submit(() -> {
+				start.await();
+				for (int j = 0; j < attemptsPerThread; j++) {
+					Integer updated = attempt.call();
+					if (updated != null && updated == 1) succeeded.incrementAndGet();
+				}
+				return null;
+			}));
+		}
+		start.countDown();
+		for (Future<?> future : futures) {
+			future.get(30, TimeUnit.SECONDS);
+		}
+		pool.shutdown();
+		return succeeded.get();
+	}
+
+	@Test
+	void concurrentDebitsNeverOverspend() throws Exception {
+		long chatId = 8001L;
+		createWallet(chatId, "500.00");
+		TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+		int debited = hammer(() -> tx.execute(status -> walletRepository.debitIfSufficient(chatId, AMOUNT)));
+
+		assertEquals(5, debited);
+		assertEquals(0, wallet(chatId).getBalance().signum());
+	}
+
+	@Test
+	void concurrentFreezesNeverOverspend() throws Exception {
+		long chatId = 8002L;
+		createWallet(chatId, "350.00");
+		TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+		int frozen = hammer(() -> tx.execute(status -> walletRepository.freezeIfSufficient(chatId, AMOUNT)));
+
+		Wallet wallet = wallet(chatId);
+		assertEquals(3, frozen);
+		assertEquals(0, new BigDecimal("50.00").compareTo(wallet.getBalance()));
+		assertEquals(0, new BigDecimal("300.00").compareTo(wallet.getFrozenBalance()));
+	}
+}
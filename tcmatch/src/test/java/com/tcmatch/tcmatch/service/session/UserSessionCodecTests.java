@@ -0,0 +1,104 @@
+package com.tcmatch.tcmatch.service.session;
+
+import com.tcmatch.tcmatch.model.UserSession;
+import com.tcmatch.tcmatch.model.dto.KeysetCursor;
+import com.tcmatch.tcmatch.model.dto.PaginationContext;
+import com.tcmatch.tcmatch.model.dto.ProjectCreationState;
+import com.tcmatch.tcmatch.model.dto.SearchRequest;
+import com.tcmatch.tcmatch.model.enums.UserState;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Снимок сессии после encode/decode совпадает с исходной сессией; чужая версия формата отвергается.
+ */
+class UserSessionCodecTests {
+
+	private final UserSessionCodec codec = new UserSessionCodec();
+
+	@Test
+	void sessionSurvivesRoundTrip() {
+		UserSession session = new UserSession(42L);
+		session.setCurrentCommand("project");
+		session.setCurrentAction("create");
+		session.setUserState(UserState.CREATING_PROJECT);
+		session.setMainMessageId(100);
+		session.setLastPushMessageId(101);
+		session.addTemporaryMessageId(7);
+		session.addTemporaryMessageId(8);
+		session.pushToHistory("menu:main");
+		session.pushToHistory("project:list");
+		session.addPaymentMessage("pay-1", 55);
+
+		ProjectCreationState creation = new ProjectCreationState(42L);
+		creation.setCurrentStep(ProjectCreationState.ProjectCreationStep.BUDGET);
+		creation.setTitle("Телеграм-бот");
+		creation.setDescription("Описание ".repeat(10_000));
+		creation.setBudget(15000.0);
+		session.setProjectCreationState(creation);
+
+		PaginationContext<?> list = PaginationContext.forProjects(42L, List.of(3L, 2L, 1L), "favorites", 5);
+		PaginationContext<?> keyset = PaginationContext.forKeyset(42L, "search", "PROJECT", 40, 10)
+				.withKeysetPage(1, new KeysetCursor(LocalDateTime.of(2026, 1, 2, 3, 4, 5, 6_000), 9L),
+						new KeysetCursor(LocalDateTime.of(2026, 1, 1, 0, 0), 1L));
+		session.putToContext("PAGINATION_CTX_favorites", list);
+		session.putToContext("PAGINATION_CTX_search", keyset);
+		session.putToContext("searchRequest", new SearchRequest("java", List.of("spring"), 1000));
+		session.putToContext("currentScreen", "project:list");
+		session.putToContext("count", 3L);
+		session.putToContext("unsupported", new Object());
+
+		UserSession restored = codec.decode(codec.encode(session));
+
+		assertEquals(session.getChatId(), restored.getChatId());
+		assertEquals(session.getCreatedAt(), restored.getCreatedAt());
+		assertEquals(session.getLastActivityAt(), restored.getLastActivityAt());
+		assertEquals("project", restored.getCurrentCommand());
+		assertEquals("create", restored.getCurrentAction());
+		assertEquals(UserState.CREATING_PROJECT, restored.getUserState());
+		assertEquals(100, restored.getMainMessageId());
+		assertEquals(101, restored.getLastPushMessageId());
+		assertEquals(List.of(7, 8), restored.getTemporaryMessageIds());
+		assertEquals(List.copyOf(session.getNavigationHistory()), List.copyOf(restored.getNavigationHistory()));
+		assertEquals(session.getPaymentMessages(), restored.getPaymentMessages());
+		assertEquals(creation, restored.getProjectCreationState());
+		assertNull(restored.getApplicationCreationState());
+		assertNull(restored.getOrderCreationState());
+
+		assertEquals(list, restored.getFromContext("PAGINATION_CTX_favorites"));
+		assertEquals(keyset, restored.getFromContext("PAGINATION_CTX_search"));
+		assertEquals(session.getFromContext("searchRequest"), restored.getFromContext("searchRequest"));
+		assertEquals("project:list", restored.getFromContext("currentScreen"));
+		assertEquals(3L, restored.getFromContext("count"));
+		assertFalse(restored.getContext().containsKey("unsupported"));
+	}
+
+	@Test
+	void emptySessionSurvivesRoundTrip() {
+		UserSession session = new UserSession(7L);
+
+		UserSession restored = codec.decode(codec.encode(session));
+
+		assertEquals(UserState.NONE, restored.getUserState());
+		assertNull(restored.getMainMessageId());
+		assertNull(restored.getProjectCreationState());
+		assertEquals(0, restored.getContext().size());
+	}
+
+	@Test
+	void rejectsSnapshotOfAnotherFormatVersion() {
+		byte[] payload = codec.encode(new UserSession(1L));
+		assertEquals(2, payload[0], "FORMAT_VERSION в первом байте снимка");
+
+		payload[0] = 1;
+		IllegalStateException error = assertThrows(IllegalStateException.class, () -> codec.decode(payload));
+		assertEquals("Неизвестная версия формата сессии: 1", error.getMessage());
+	}
+}